@@ -0,0 +1,80 @@
+package esgi.easisell.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compare un résultat JMH (JSON) à la référence versionnée.
+ * Usage : BaselineComparison &lt;resultat.json&gt; &lt;reference.json&gt; &lt;seuil %&gt;
+ * Code de sortie 1 si un benchmark se dégrade au-delà du seuil ; sans référence, rien n'est comparé.
+ */
+public final class BaselineComparison {
+
+    private BaselineComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        File resultFile = new File(args[0]);
+        File baselineFile = new File(args[1]);
+        double threshold = Double.parseDouble(args[2]);
+
+        if (!baselineFile.exists()) {
+            System.out.printf("Aucune référence %s : copier %s pour en créer une.%n", baselineFile, resultFile);
+            return;
+        }
+
+        ObjectMapper mapper = new ObjectMapper();
+        Map<String, JsonNode> baseline = index(mapper.readTree(baselineFile));
+        Map<String, JsonNode> current = index(mapper.readTree(resultFile));
+
+        int regressions = 0;
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode reference = baseline.get(entry.getKey());
+            if (reference == null) {
+                System.out.printf("  NOUVEAU    %s%n", entry.getKey());
+                continue;
+            }
+
+            double before = reference.path("primaryMetric").path("score").asDouble();
+            double after = entry.getValue().path("primaryMetric").path("score").asDouble();
+            // Temps moyen : plus bas est meilleur ; débit : plus haut est meilleur
+            boolean lowerIsBetter = !"thrpt".equals(entry.getValue().path("mode").asText());
+            double change = before == 0 ? 0 : (after - before) / before * 100;
+            double degradation = lowerIsBetter ? change : -change;
+            boolean regressed = degradation > threshold;
+            if (regressed) {
+                regressions++;
+            }
+
+            System.out.printf("  %-10s %s : %.3f -> %.3f %s (%+.1f%%)%n",
+                    regressed ? "RÉGRESSION" : "OK", entry.getKey(), before, after,
+                    entry.getValue().path("primaryMetric").path("scoreUnit").asText(), change);
+        }
+
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) dégradé(s) de plus de %.0f%% par rapport à %s%n",
+                    regressions, threshold, baselineFile);
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, JsonNode> index(JsonNode results) {
+        Map<String, JsonNode> byKey = new LinkedHashMap<>();
+        for (JsonNode result : results) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText());
+            Iterator<Map.Entry<String, JsonNode>> params = result.path("params").fields();
+            while (params.hasNext()) {
+                Map.Entry<String, JsonNode> param = params.next();
+                key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            byKey.put(key.toString(), result);
+        }
+        return byKey;
+    }
+}
@@ -0,0 +1,167 @@
+package esgi.easisell.benchmark;
+
+import esgi.easisell.entity.Client;
+import esgi.easisell.entity.Payment;
+import esgi.easisell.entity.Product;
+import esgi.easisell.entity.Promotion;
+import esgi.easisell.entity.Sale;
+import esgi.easisell.entity.SaleItem;
+import esgi.easisell.entity.StockItem;
+import esgi.easisell.model.Money;
+import esgi.easisell.model.Quantity;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Données synthétiques des benchmarks : catalogue, paniers, lots de stock.
+ * Générées à graine fixe pour que deux exécutions mesurent exactement le même travail.
+ */
+public final class BenchmarkFixtures {
+
+    private static final BigDecimal[] VAT_RATES = {
+            new BigDecimal("5.50"), new BigDecimal("10.00"), new BigDecimal("20.00"), new BigDecimal("2.10")
+    };
+
+    private BenchmarkFixtures() {
+    }
+
+    public static Client client() {
+        Client client = new Client();
+        client.setUserId(UUID.randomUUID());
+        client.setUsername("bench@easisell.fr");
+        client.setName("Supérette Bench");
+        client.setCurrencyPreference("EUR");
+        return client;
+    }
+
+    /**
+     * Catalogue : un produit sur trois est vendu au poids
+     */
+    public static List<Product> catalog(Client client, int size, Random random) {
+        List<Product> products = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Product product = new Product();
+            product.setProductId(UUID.randomUUID());
+            product.setName("Produit " + i);
+            product.setBarcode(String.format("3%012d", i));
+            product.setUnitPrice(Money.toBigDecimal(50 + random.nextInt(5_000)));
+            product.setVatRate(VAT_RATES[random.nextInt(VAT_RATES.length)]);
+            product.setIsSoldByWeight(i % 3 == 0);
+            product.setUnitLabel(i % 3 == 0 ? "kg" : "pièce");
+            product.setClient(client);
+            products.add(product);
+        }
+        return products;
+    }
+
+    /**
+     * Vente payée de {@code lines} lignes tirées du catalogue
+     */
+    public static Sale paidSale(Client client, List<Product> catalog, int lines, Random random) {
+        Sale sale = new Sale();
+        sale.setSaleId(UUID.randomUUID());
+        sale.setSaleTimestamp(new Timestamp(System.currentTimeMillis()));
+        sale.setClient(client);
+
+        long totalCents = 0;
+        for (int i = 0; i < lines; i++) {
+            Product product = catalog.get(random.nextInt(catalog.size()));
+            long milli = product.getIsSoldByWeight()
+                    ? 100 + random.nextInt(3_000)
+                    : (1 + random.nextInt(5)) * Quantity.MILLI;
+            long lineCents = Money.lineTotal(Money.toCents(product.getUnitPrice()), milli);
+            totalCents += lineCents;
+
+            sale.getSaleItems().add(SaleItem.builder()
+                    .saleItemId(UUID.randomUUID())
+                    .sale(sale)
+                    .product(product)
+                    .quantitySold(Quantity.toBigDecimal(milli))
+                    .priceAtSale(Money.toBigDecimal(lineCents))
+                    .discountAmount(BigDecimal.ZERO)
+                    .build());
+        }
+
+        BigDecimal total = Money.toBigDecimal(totalCents);
+        sale.setTotalAmount(total);
+        sale.setBalanceDue(BigDecimal.ZERO);
+        sale.getPayments().add(Payment.builder()
+                .paymentId(UUID.randomUUID())
+                .sale(sale)
+                .type("CASH")
+                .amount(total)
+                .currency("EUR")
+                .paymentDate(sale.getSaleTimestamp())
+                .changeAmount(BigDecimal.ZERO)
+                .build());
+        return sale;
+    }
+
+    /**
+     * Promotions en cours sur une fraction du catalogue (une sur deux en pourcentage)
+     */
+    public static List<Promotion> promotions(Client client, List<Product> catalog, int every) {
+        long now = System.currentTimeMillis();
+        List<Promotion> promotions = new ArrayList<>();
+        for (int i = 0; i < catalog.size(); i += every) {
+            Promotion promotion = new Promotion();
+            promotion.setPromotionId(UUID.randomUUID());
+            promotion.setPromotionCode("BENCH-" + i);
+            promotion.setDiscountType(promotions.size() % 2 == 0 ? "PERCENTAGE" : "FIXED_AMOUNT");
+            promotion.setDiscountValue(promotions.size() % 2 == 0 ? new BigDecimal("15") : new BigDecimal("0.30"));
+            promotion.setStartDate(new Timestamp(now - 86_400_000L));
+            promotion.setEndDate(new Timestamp(now + 86_400_000L));
+            promotion.setProduct(catalog.get(i));
+            promotion.setClient(client);
+            promotions.add(promotion);
+        }
+        return promotions;
+    }
+
+    /**
+     * Lots FIFO d'un produit, de 1 à 10 unités chacun (en millièmes)
+     */
+    public static List<StockItem> lots(Client client, Product product, int count, Random random) {
+        List<StockItem> lots = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            StockItem lot = new StockItem();
+            lot.setStockItemId(UUID.randomUUID());
+            lot.setProduct(product);
+            lot.setClient(client);
+            lot.setQuantityMilli((1 + random.nextInt(10)) * Quantity.MILLI);
+            lot.setVersion(0L);
+            lots.add(lot);
+        }
+        return lots;
+    }
+
+    /**
+     * Dépôt Spring Data factice : seules les méthodes fournies répondent,
+     * toute autre requête fait échouer le benchmark plutôt que de fausser la mesure.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T repository(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer != null) {
+                return answer.apply(args);
+            }
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> type.getSimpleName() + "Stub";
+                };
+            }
+            throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+        });
+    }
+}
@@ -0,0 +1,70 @@
+package esgi.easisell.benchmark;
+
+import esgi.easisell.configuration.EmailLinksProperties;
+import esgi.easisell.entity.Client;
+import esgi.easisell.service.mail.EmailTemplateRenderer;
+import org.openjdk.jmh.annotations.*;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendus d'email par seconde (rappel de paiement), templates en cache ou relus à chaque envoi.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmailRenderingBenchmark {
+
+    @Param({"true", "false"})
+    private boolean cached;
+
+    private EmailTemplateRenderer renderer;
+    private Map<String, Object> variables;
+
+    @Setup
+    public void setUp() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding("UTF-8");
+        resolver.setCacheable(cached);
+
+        SpringTemplateEngine engine = new SpringTemplateEngine();
+        engine.setTemplateResolver(resolver);
+
+        EmailLinksProperties links = new EmailLinksProperties();
+        links.getFrontend().setUrl("https://easisell.example");
+        links.afterPropertiesSet();
+
+        renderer = new EmailTemplateRenderer(engine, links);
+        renderer.precompile();
+
+        Client client = BenchmarkFixtures.client();
+        variables = new HashMap<>();
+        variables.put("client", client);
+        variables.put("user", client);
+        variables.put("serviceName", "Abonnement caisse");
+        variables.put("amount", new BigDecimal("29.90"));
+        variables.put("currency", "EUR");
+        variables.put("dueDate", LocalDate.of(2026, 10, 30));
+        variables.put("isLate", true);
+        variables.put("paymentUrl", links.getPaymentUrl());
+        variables.put("cancellationUrl", links.getCancellationUrl());
+    }
+
+    @Benchmark
+    public String paymentReminder() {
+        return renderer.render("emails/client/rappel-paiement", variables);
+    }
+}
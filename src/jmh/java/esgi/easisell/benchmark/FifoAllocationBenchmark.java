@@ -0,0 +1,97 @@
+package esgi.easisell.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import esgi.easisell.entity.Client;
+import esgi.easisell.entity.Product;
+import esgi.easisell.entity.StockItem;
+import esgi.easisell.model.Quantity;
+import esgi.easisell.repository.OutboxEventRepository;
+import esgi.easisell.repository.StockAuditLogRepository;
+import esgi.easisell.repository.StockItemRepository;
+import esgi.easisell.service.OptimisticStockService;
+import esgi.easisell.service.StockAuditService;
+import esgi.easisell.service.metrics.CheckoutMetrics;
+import esgi.easisell.service.outbox.OutboxService;
+import esgi.easisell.service.stock.StockContentionTracker;
+import esgi.easisell.service.stock.StripedStockLock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Boucle FIFO de OptimisticStockService.decreaseStockForProduct : répartition d'une sortie
+ * sur les lots, copie d'audit et événement outbox par lot touché. Les dépôts sont en mémoire,
+ * les lots sont réinitialisés avant chaque appel.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FifoAllocationBenchmark {
+
+    @Param({"10", "100"})
+    private int lots;
+
+    private OptimisticStockService stockService;
+    private List<StockItem> stockItems;
+    private long[] initialMilli;
+    private long requestedMilli;
+    private UUID productId;
+    private UUID clientId;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        Client client = BenchmarkFixtures.client();
+        Product product = BenchmarkFixtures.catalog(client, 1, random).get(0);
+        stockItems = BenchmarkFixtures.lots(client, product, lots, random);
+
+        initialMilli = new long[lots];
+        long totalMilli = 0;
+        for (int i = 0; i < lots; i++) {
+            initialMilli[i] = stockItems.get(i).getQuantityMilli();
+            totalMilli += initialMilli[i];
+        }
+        // La sortie vide la moitié du stock : environ la moitié des lots est touchée
+        requestedMilli = totalMilli / 2 + Quantity.MILLI / 4;
+
+        StockItemRepository stockItemRepository = BenchmarkFixtures.repository(StockItemRepository.class, Map.of(
+                "findByProductProductIdAndClientUserIdOrderByExpirationDateAsc", args -> stockItems,
+                "saveAndFlush", args -> args[0]));
+        StockAuditLogRepository auditRepository = BenchmarkFixtures.repository(StockAuditLogRepository.class,
+                Map.of("save", args -> args[0]));
+        OutboxEventRepository outboxRepository = BenchmarkFixtures.repository(OutboxEventRepository.class,
+                Map.of("save", args -> args[0]));
+
+        CheckoutMetrics metrics = new CheckoutMetrics(new SimpleMeterRegistry());
+        stockService = new OptimisticStockService(
+                stockItemRepository,
+                new StockAuditService(auditRepository, metrics),
+                new OutboxService(outboxRepository, new ObjectMapper()),
+                metrics,
+                new StockContentionTracker(60_000, 12, 5, false, 0),
+                new StripedStockLock(true, 64, 2_000, metrics));
+        productId = product.getProductId();
+        clientId = client.getUserId();
+    }
+
+    @Setup(Level.Invocation)
+    public void resetLots() {
+        for (int i = 0; i < lots; i++) {
+            stockItems.get(i).setQuantityMilli(initialMilli[i]);
+        }
+    }
+
+    @Benchmark
+    public List<StockItem> decreaseStock() {
+        stockService.decreaseStockForProduct(productId, clientId, requestedMilli);
+        return stockItems;
+    }
+}
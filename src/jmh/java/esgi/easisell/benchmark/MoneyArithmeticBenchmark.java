@@ -0,0 +1,80 @@
+package esgi.easisell.benchmark;
+
+import esgi.easisell.model.Money;
+import esgi.easisell.model.Quantity;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prix de ligne et total d'un panier de 100 lignes :
+ * arithmétique en centimes / millièmes (Money, Quantity) contre BigDecimal.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MoneyArithmeticBenchmark {
+
+    @Param({"100"})
+    private int lines;
+
+    private long[] unitPriceCents;
+    private long[] quantityMilli;
+    private BigDecimal[] unitPrices;
+    private BigDecimal[] quantities;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        unitPriceCents = new long[lines];
+        quantityMilli = new long[lines];
+        unitPrices = new BigDecimal[lines];
+        quantities = new BigDecimal[lines];
+
+        for (int i = 0; i < lines; i++) {
+            long cents = 50 + random.nextInt(5_000);
+            // Un tiers de produits au poids (scale 3), le reste à la pièce
+            long milli = i % 3 == 0 ? 100 + random.nextInt(3_000) : (1 + random.nextInt(5)) * Quantity.MILLI;
+            unitPriceCents[i] = cents;
+            quantityMilli[i] = milli;
+            unitPrices[i] = Money.toBigDecimal(cents);
+            quantities[i] = Quantity.toBigDecimal(milli);
+        }
+    }
+
+    @Benchmark
+    public long basketTotalMinorUnits() {
+        long total = 0;
+        for (int i = 0; i < lines; i++) {
+            total += Money.lineTotal(unitPriceCents[i], quantityMilli[i]);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal basketTotalBigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < lines; i++) {
+            total = total.add(unitPrices[i].multiply(quantities[i]).setScale(2, RoundingMode.HALF_UP));
+        }
+        return total;
+    }
+
+    /**
+     * Conversion aux frontières incluse (entité BigDecimal → long → BigDecimal)
+     */
+    @Benchmark
+    public BigDecimal basketTotalFromEntities() {
+        long total = 0;
+        for (int i = 0; i < lines; i++) {
+            total += Money.lineTotal(Money.toCents(unitPrices[i]), Quantity.toMilli(quantities[i]));
+        }
+        return Money.toBigDecimal(total);
+    }
+}
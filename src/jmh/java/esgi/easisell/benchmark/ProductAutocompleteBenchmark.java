@@ -0,0 +1,74 @@
+package esgi.easisell.benchmark;
+
+import esgi.easisell.entity.Client;
+import esgi.easisell.entity.Product;
+import esgi.easisell.repository.ProductRepository;
+import esgi.easisell.repository.SaleItemRepository;
+import esgi.easisell.service.metrics.CheckoutMetrics;
+import esgi.easisell.service.search.ProductAutocompleteIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Frappe caisse sur ProductAutocompleteIndex.suggest : top 10 d'un catalogue entièrement en mémoire,
+ * préfixe court (sous-arbre large) et saisie de deux mots. L'index est construit dans le setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductAutocompleteBenchmark {
+
+    private static final String[] WORDS = {
+            "crème", "brûlée", "pomme", "poire", "pâte", "farine", "beurre", "lait", "yaourt", "fromage",
+            "jambon", "poulet", "bœuf", "tomate", "carotte", "salade", "chocolat", "café", "thé", "sucre"
+    };
+
+    @Param({"1000", "10000"})
+    private int products;
+
+    private ProductAutocompleteIndex index;
+    private UUID clientId;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        Client client = BenchmarkFixtures.client();
+        clientId = client.getUserId();
+        List<Product> catalog = BenchmarkFixtures.catalog(client, products, random);
+        List<Object[]> soldToday = new ArrayList<>();
+        for (Product product : catalog) {
+            product.setName(WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+                    + " " + product.getName());
+            soldToday.add(new Object[]{product.getProductId(), (long) random.nextInt(50)});
+        }
+
+        ProductRepository productRepository = BenchmarkFixtures.repository(ProductRepository.class,
+                Map.of("findByClientUserId", args -> catalog));
+        SaleItemRepository saleItemRepository = BenchmarkFixtures.repository(SaleItemRepository.class,
+                Map.of("countSaleLinesByProductSince", args -> soldToday));
+
+        index = new ProductAutocompleteIndex(productRepository, saleItemRepository,
+                new CheckoutMetrics(new SimpleMeterRegistry()), Long.MAX_VALUE, 20);
+        index.suggest(clientId, "c", 10);
+    }
+
+    @Benchmark
+    public Object shortPrefix() {
+        return index.suggest(clientId, "c", 10);
+    }
+
+    @Benchmark
+    public Object twoWords() {
+        return index.suggest(clientId, "creme bru", 10);
+    }
+}
@@ -0,0 +1,66 @@
+package esgi.easisell.benchmark;
+
+import esgi.easisell.entity.Client;
+import esgi.easisell.entity.Product;
+import esgi.easisell.repository.ProductRepository;
+import esgi.easisell.service.search.ProductSimilarityIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Suggestion de prix sur ProductSimilarityIndex.nearest : 10 plus proches voisins par trigrammes
+ * dans un catalogue en mémoire jusqu'à 100 000 produits. L'index est construit dans le setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductSimilarityBenchmark {
+
+    private static final String[] WORDS = {
+            "crème", "brûlée", "pomme", "poire", "pâte", "farine", "beurre", "lait", "yaourt", "fromage",
+            "jambon", "poulet", "bœuf", "tomate", "carotte", "salade", "chocolat", "café", "thé", "sucre"
+    };
+
+    @Param({"10000", "100000"})
+    private int products;
+
+    private ProductSimilarityIndex index;
+    private UUID clientId;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        Client client = BenchmarkFixtures.client();
+        clientId = client.getUserId();
+        List<Object[]> references = new ArrayList<>(products);
+        for (Product product : BenchmarkFixtures.catalog(client, products, random)) {
+            String name = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+                    + " " + product.getName();
+            references.add(new Object[]{product.getProductId(), name, product.getUnitLabel(), product.getUnitPrice()});
+        }
+
+        ProductRepository productRepository = BenchmarkFixtures.repository(ProductRepository.class,
+                Map.of("findPriceReferencesByClientUserId", args -> references));
+        index = new ProductSimilarityIndex(productRepository, 10, 0.3, Long.MAX_VALUE);
+        index.nearest(clientId, "pomme", null);
+    }
+
+    @Benchmark
+    public Object nearestByName() {
+        return index.nearest(clientId, "pommes tomates", null);
+    }
+
+    @Benchmark
+    public Object nearestByNameAndUnit() {
+        return index.nearest(clientId, "fromage jambon", "kg");
+    }
+}
@@ -0,0 +1,72 @@
+package esgi.easisell.benchmark;
+
+import esgi.easisell.dto.ReceiptDTO;
+import esgi.easisell.dto.SaleDetailsDTO;
+import esgi.easisell.entity.Client;
+import esgi.easisell.entity.Product;
+import esgi.easisell.entity.Sale;
+import esgi.easisell.entity.SaleItem;
+import esgi.easisell.mapper.SaleDetailsMapper;
+import esgi.easisell.mapper.SaleItemMapper;
+import esgi.easisell.model.Money;
+import esgi.easisell.service.ReceiptGenerator;
+import esgi.easisell.service.tax.TaxAccumulator;
+import esgi.easisell.service.tax.TaxBreakdown;
+import esgi.easisell.service.tax.TaxRateResolver;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construction du ticket (ReceiptGenerator) et des DTO de vente (SaleDetailsMapper, SaleItemMapper)
+ * pour une vente payée de 100 lignes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReceiptMappingBenchmark {
+
+    @Param({"100"})
+    private int lines;
+
+    private Sale sale;
+    private TaxBreakdown taxes;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        Client client = BenchmarkFixtures.client();
+        List<Product> catalog = BenchmarkFixtures.catalog(client, 500, random);
+        sale = BenchmarkFixtures.paidSale(client, catalog, lines, random);
+
+        TaxAccumulator accumulator = new TaxAccumulator();
+        for (SaleItem item : sale.getSaleItems()) {
+            accumulator.add(TaxRateResolver.toBasisPoints(item.getProduct().getVatRate()),
+                    Money.toCents(item.getPriceAtSale()));
+        }
+        taxes = accumulator.toBreakdown();
+    }
+
+    @Benchmark
+    public ReceiptDTO receipt() {
+        return ReceiptGenerator.generate(sale, taxes);
+    }
+
+    @Benchmark
+    public SaleDetailsDTO saleDetails() {
+        return SaleDetailsMapper.toDTO(sale);
+    }
+
+    @Benchmark
+    public void saleItems(Blackhole blackhole) {
+        for (SaleItem item : sale.getSaleItems()) {
+            blackhole.consume(SaleItemMapper.toResponseDTO(item));
+        }
+    }
+}
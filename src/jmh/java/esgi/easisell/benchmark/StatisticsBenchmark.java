@@ -0,0 +1,64 @@
+package esgi.easisell.benchmark;
+
+import esgi.easisell.dto.StatisticsDto;
+import esgi.easisell.entity.Client;
+import esgi.easisell.entity.Product;
+import esgi.easisell.entity.Sale;
+import esgi.easisell.repository.SaleRepository;
+import esgi.easisell.service.StatisticsService;
+import esgi.easisell.service.metrics.CheckoutMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Agrégation de StatisticsService (CA, volume, produit phare) sur un mois de ventes synthétiques ;
+ * le dépôt renvoie la liste en mémoire, seule l'agrégation est mesurée.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StatisticsBenchmark {
+
+    @Param({"1000", "10000"})
+    private int sales;
+
+    private StatisticsService statisticsService;
+    private UUID clientId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        Client client = BenchmarkFixtures.client();
+        List<Product> catalog = BenchmarkFixtures.catalog(client, 500, random);
+
+        List<Sale> history = new ArrayList<>(sales);
+        for (int i = 0; i < sales; i++) {
+            history.add(BenchmarkFixtures.paidSale(client, catalog, 1 + random.nextInt(20), random));
+        }
+
+        SaleRepository saleRepository = BenchmarkFixtures.repository(SaleRepository.class,
+                Map.of("findSalesForStatistics", args -> history));
+        statisticsService = new StatisticsService(saleRepository, new CheckoutMetrics(new SimpleMeterRegistry()));
+        clientId = client.getUserId();
+        endDate = LocalDate.now();
+        startDate = endDate.minusMonths(1);
+    }
+
+    @Benchmark
+    public StatisticsDto dateRange() {
+        return statisticsService.getStatisticsForDateRange(clientId, startDate, endDate);
+    }
+}
@@ -0,0 +1,86 @@
+package esgi.easisell.benchmark;
+
+import esgi.easisell.service.tax.TaxAccumulator;
+import esgi.easisell.service.tax.TaxBreakdown;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ventilation TVA d'un panier de 100 lignes :
+ * cumul en centimes (TaxAccumulator) contre une implémentation BigDecimal naïve.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaxCalculationBenchmark {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+    private static final int[] FRENCH_RATES = {550, 1000, 2000, 210};
+
+    @Param({"100"})
+    private int lines;
+
+    private long[] grossCents;
+    private int[] rateBasisPoints;
+    private BigDecimal[] grossAmounts;
+    private BigDecimal[] ratePercents;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        grossCents = new long[lines];
+        rateBasisPoints = new int[lines];
+        grossAmounts = new BigDecimal[lines];
+        ratePercents = new BigDecimal[lines];
+
+        for (int i = 0; i < lines; i++) {
+            long cents = 50 + random.nextInt(5_000);
+            int rate = FRENCH_RATES[random.nextInt(FRENCH_RATES.length)];
+            grossCents[i] = cents;
+            rateBasisPoints[i] = rate;
+            grossAmounts[i] = BigDecimal.valueOf(cents, 2);
+            ratePercents[i] = BigDecimal.valueOf(rate, 2);
+        }
+    }
+
+    @Benchmark
+    public TaxBreakdown minorUnits() {
+        TaxAccumulator accumulator = new TaxAccumulator();
+        for (int i = 0; i < lines; i++) {
+            accumulator.add(rateBasisPoints[i], grossCents[i]);
+        }
+        return accumulator.toBreakdown();
+    }
+
+    @Benchmark
+    public void naiveBigDecimal(Blackhole blackhole) {
+        Map<BigDecimal, BigDecimal> grossByRate = new HashMap<>();
+        Map<BigDecimal, BigDecimal> taxByRate = new HashMap<>();
+        BigDecimal totalTax = BigDecimal.ZERO;
+
+        for (int i = 0; i < lines; i++) {
+            BigDecimal rate = ratePercents[i];
+            BigDecimal gross = grossAmounts[i];
+            BigDecimal tax = gross.multiply(rate)
+                    .divide(HUNDRED.add(rate), 2, RoundingMode.HALF_UP);
+
+            grossByRate.merge(rate, gross, BigDecimal::add);
+            taxByRate.merge(rate, tax, BigDecimal::add);
+            totalTax = totalTax.add(tax);
+        }
+
+        blackhole.consume(grossByRate);
+        blackhole.consume(taxByRate);
+        blackhole.consume(totalTax);
+    }
+}
@@ -0,0 +1,80 @@
+package esgi.easisell.service;
+
+import esgi.easisell.benchmark.BenchmarkFixtures;
+import esgi.easisell.dto.SaleTotalDTO;
+import esgi.easisell.entity.Client;
+import esgi.easisell.entity.Product;
+import esgi.easisell.entity.Promotion;
+import esgi.easisell.entity.Sale;
+import esgi.easisell.repository.CategoryRepository;
+import esgi.easisell.repository.PromotionRepository;
+import esgi.easisell.service.promotion.PromotionEngine;
+import esgi.easisell.service.tax.TaxCalculator;
+import esgi.easisell.service.tax.TaxRateResolver;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tarification d'un panier par SalePriceCalculatorImpl (index promotions chargé, TVA par produit).
+ * Dans le paquet service : l'implémentation n'est pas publique.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SalePricingBenchmark {
+
+    @Param({"100"})
+    private int lines;
+
+    private SalePriceCalculatorImpl calculator;
+    private Sale sale;
+    private Product[] products;
+    private BigDecimal[] quantities;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        Client client = BenchmarkFixtures.client();
+        List<Product> catalog = BenchmarkFixtures.catalog(client, 500, random);
+        List<Promotion> promotions = BenchmarkFixtures.promotions(client, catalog, 10);
+
+        PromotionRepository promotionRepository = BenchmarkFixtures.repository(PromotionRepository.class,
+                Map.of("findCurrentAndUpcoming", args -> promotions));
+        CategoryRepository categoryRepository = BenchmarkFixtures.repository(CategoryRepository.class, Map.of());
+
+        calculator = new SalePriceCalculatorImpl(
+                new PromotionEngine(promotionRepository),
+                new TaxCalculator(new TaxRateResolver(categoryRepository, new BigDecimal("20.00"))));
+
+        sale = BenchmarkFixtures.paidSale(client, catalog, lines, random);
+        products = new Product[lines];
+        quantities = new BigDecimal[lines];
+        for (int i = 0; i < lines; i++) {
+            products[i] = sale.getSaleItems().get(i).getProduct();
+            quantities[i] = sale.getSaleItems().get(i).getQuantitySold();
+        }
+        // Compilation de l'index promotions hors mesure
+        calculator.calculateItemPrice(products[0], quantities[0]);
+    }
+
+    @Benchmark
+    public void itemPrices(Blackhole blackhole) {
+        for (int i = 0; i < lines; i++) {
+            blackhole.consume(calculator.calculateItemPrice(products[i], quantities[i]));
+        }
+    }
+
+    @Benchmark
+    public SaleTotalDTO saleTotal() {
+        return calculator.calculateSaleTotal(sale);
+    }
+}
@@ -0,0 +1,194 @@
+/**
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ * PROJET EASISELL - PLATEFORME DE GESTION COMMERCIALE
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ * @file        : CatalogSyncLoadIT.java
+ * @description : Synchronisation paginée du catalogue pendant des modifications
+ * @author      : Chancy MOUYABI
+ * @version     : v1.0.0
+ * @date        : 19/10/2026
+ * @package     : esgi.easisell.load
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ */
+package esgi.easisell.load;
+
+import esgi.easisell.dto.CatalogProductDTO;
+import esgi.easisell.dto.CatalogSyncDTO;
+import esgi.easisell.dto.CategoryDTO;
+import esgi.easisell.entity.Category;
+import esgi.easisell.entity.Client;
+import esgi.easisell.entity.Product;
+import esgi.easisell.repository.ClientRepository;
+import esgi.easisell.repository.ProductRepository;
+import esgi.easisell.service.CatalogSyncService;
+import esgi.easisell.service.CategoryService;
+import esgi.easisell.service.ProductService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Synchronisation complète du catalogue par pages pendant que le back-office modifie et supprime
+ * des produits déjà reçus : chaque modification fait repasser un produit en fin de parcours.
+ * Vérifie qu'aucun produit n'est sauté, que les produits modifiés sont renvoyés dans leur nouvelle
+ * version, et que la synchronisation suivante reçoit la suppression faite pendant le parcours.
+ * Vérifie aussi que la version du catalogue (ETag) suit le renommage d'une catégorie.
+ */
+@SpringBootTest
+@ActiveProfiles("load")
+class CatalogSyncLoadIT {
+
+    private static final int PAGE_SIZE = 25;
+
+    @Autowired
+    private CatalogSyncService catalogSyncService;
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private CategoryService categoryService;
+    @Autowired
+    private ClientRepository clientRepository;
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Value("${easisell.load.catalog.products}")
+    private int productCount;
+
+    /**
+     * Test sync survives concurrent edits.
+     */
+    @Test
+    @DisplayName("✅ Synchronisation paginée - aucun produit sauté malgré les modifications en cours")
+    void testSyncSurvivesConcurrentEdits() {
+        Client client = createClient();
+        Set<UUID> catalog = createCatalog(client);
+        UUID clientId = client.getUserId();
+
+        Set<UUID> received = new HashSet<>();
+        Set<UUID> edited = new HashSet<>();
+        Set<UUID> receivedAfterEdit = new HashSet<>();
+        UUID deletedDuringSync = null;
+        String cursor = null;
+        int pages = 0;
+        CatalogSyncDTO page;
+        do {
+            page = catalogSyncService.getCatalogPage(clientId, null, cursor, PAGE_SIZE, "load");
+            pages++;
+            for (CatalogProductDTO product : page.getProducts()) {
+                if (!received.add(product.getProductId()) || edited.contains(product.getProductId())) {
+                    receivedAfterEdit.add(product.getProductId());
+                }
+            }
+
+            // Le back-office modifie deux produits de la page reçue : en OFFSET, les pages suivantes reculaient d'autant
+            List<CatalogProductDTO> products = page.getProducts();
+            if (page.isHasMore() && products.size() >= 2) {
+                for (CatalogProductDTO product : products.subList(0, 2)) {
+                    if (!edited.contains(product.getProductId())) {
+                        edit(product.getProductId());
+                        edited.add(product.getProductId());
+                    }
+                }
+            }
+            if (deletedDuringSync == null && pages == 2) {
+                deletedDuringSync = products.get(products.size() - 1).getProductId();
+                assertTrue(productService.deleteProduct(deletedDuringSync));
+                catalog.remove(deletedDuringSync);
+            }
+            cursor = page.getNextCursor();
+        } while (page.isHasMore());
+
+        Set<UUID> missing = new HashSet<>(catalog);
+        missing.removeAll(received);
+        assertTrue(missing.isEmpty(), missing.size() + " produits sautés pendant la synchronisation");
+        assertEquals(edited, receivedAfterEdit, "Les produits modifiés doivent être renvoyés dans leur nouvelle version");
+        assertNull(page.getNextCursor());
+
+        // Synchronisation suivante : la suppression faite pendant le parcours est reçue
+        CatalogSyncDTO next = catalogSyncService.getCatalogPage(clientId, page.getNextChangedSince(), null,
+                PAGE_SIZE, "load");
+        assertTrue(next.getDeletedProductIds().contains(deletedDuringSync));
+
+        System.out.printf("%nSynchronisation catalogue : %d produits en %d pages de %d, %d modifiés en cours%n",
+                catalog.size(), pages, PAGE_SIZE, edited.size());
+    }
+
+    /**
+     * Test version follows category rename.
+     */
+    @Test
+    @DisplayName("✅ Version du catalogue - change au renommage d'une catégorie")
+    void testVersionFollowsCategoryRename() throws InterruptedException {
+        Client client = createClient();
+        CategoryDTO categoryDTO = new CategoryDTO();
+        categoryDTO.setName("Épicerie");
+        categoryDTO.setClientId(client.getUserId().toString());
+        Category category = categoryService.createCategory(categoryDTO);
+        createCatalog(client);
+        String before = catalogSyncService.getVersion(client.getUserId());
+
+        // Aucun produit touché : seul le nom de catégorie des réponses produits change
+        Thread.sleep(5);
+        categoryDTO.setName("Épicerie fine");
+        assertTrue(categoryService.updateCategory(category.getCategoryId(), categoryDTO).isPresent());
+
+        assertNotEquals(before, catalogSyncService.getVersion(client.getUserId()));
+    }
+
+    /**
+     * Test invalid cursor.
+     */
+    @Test
+    @DisplayName("✅ Curseur illisible refusé")
+    void testInvalidCursor() {
+        UUID clientId = UUID.randomUUID();
+        assertThrows(IllegalArgumentException.class,
+                () -> catalogSyncService.getCatalogPage(clientId, null, "pas-un-curseur", PAGE_SIZE, "load"));
+    }
+
+    private void edit(UUID productId) {
+        Product product = productRepository.findById(productId).orElseThrow();
+        product.setUnitPrice(product.getUnitPrice().add(new BigDecimal("0.10")));
+        productRepository.save(product);
+    }
+
+    private Client createClient() {
+        Client client = new Client();
+        client.setUsername("catalog-" + UUID.randomUUID() + "@easisell.fr");
+        client.setPassword("load");
+        client.setRole("CLIENT");
+        client.setName("Supérette Catalogue");
+        client.setContractStatus("ACTIVE");
+        client.setCurrencyPreference("EUR");
+        return clientRepository.save(client);
+    }
+
+    private Set<UUID> createCatalog(Client client) {
+        List<Product> products = new ArrayList<>(productCount);
+        for (int i = 0; i < productCount; i++) {
+            Product product = new Product();
+            product.setName("Produit catalogue " + i);
+            product.setBarcode(String.format("3%012d", i));
+            product.setUnitPrice(new BigDecimal("2.49"));
+            product.setIsSoldByWeight(false);
+            product.setUnitLabel("pièce");
+            product.setClient(client);
+            products.add(product);
+        }
+        Set<UUID> ids = new HashSet<>();
+        productRepository.saveAll(products).forEach(product -> ids.add(product.getProductId()));
+        return ids;
+    }
+}
@@ -0,0 +1,71 @@
+package esgi.easisell.load;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compteurs partagés par les caisses simulées et rendu du rapport final.
+ */
+class LoadReport {
+
+    final ConcurrentLinkedQueue<Long> saleLatenciesNanos = new ConcurrentLinkedQueue<>();
+    final AtomicLong completedSales = new AtomicLong();
+    final AtomicLong rejectedSales = new AtomicLong();
+    final AtomicLong failedSales = new AtomicLong();
+    final AtomicLong paymentConflicts = new AtomicLong();
+    final AtomicLong stockConflicts = new AtomicLong();
+    final Map<String, AtomicLong> failureCauses = new ConcurrentHashMap<>();
+
+    /**
+     * Vente en échec : comptée, avec sa cause (type et message) pour le rapport
+     */
+    void failed(RuntimeException e) {
+        failedSales.incrementAndGet();
+        failureCauses.computeIfAbsent(e.getClass().getSimpleName() + " : " + e.getMessage(),
+                cause -> new AtomicLong()).incrementAndGet();
+    }
+
+    String render(int tills, double skew, long elapsedNanos) {
+        long[] latencies = saleLatenciesNanos.stream().mapToLong(Long::longValue).sorted().toArray();
+        double seconds = elapsedNanos / 1_000_000_000.0;
+
+        return String.format("""
+
+                ━━━━━━━━━━ TEST DE CHARGE MULTI-CAISSES ━━━━━━━━━━
+                Caisses             : %d (skew %.2f)
+                Durée               : %.2f s
+                Ventes finalisées   : %d (%.1f ventes/s)
+                Ventes refusées     : %d (stock insuffisant)
+                Ventes en échec     : %d
+                Latence vente p50   : %.1f ms
+                Latence vente p99   : %.1f ms
+                Latence vente max   : %.1f ms
+                Conflits paiement   : %d (nouvelle tentative côté caisse)
+                Conflits stock      : %d (easisell.stock.conflict)
+                %s━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+                """,
+                tills, skew, seconds,
+                completedSales.get(), completedSales.get() / seconds,
+                rejectedSales.get(), failedSales.get(),
+                percentileMillis(latencies, 0.50), percentileMillis(latencies, 0.99),
+                percentileMillis(latencies, 1.0),
+                paymentConflicts.get(), stockConflicts.get(), renderFailureCauses());
+    }
+
+    private String renderFailureCauses() {
+        StringBuilder causes = new StringBuilder();
+        failureCauses.forEach((cause, count) ->
+                causes.append(String.format("Échec x%d : %s%n", count.get(), cause)));
+        return causes.toString();
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,87 @@
+/**
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ * PROJET EASISELL - PLATEFORME DE GESTION COMMERCIALE
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ * @file        : MailDispatchLoadIT.java
+ * @description : Envoi d'emails en masse vers un serveur SMTP local
+ * @author      : Chancy MOUYABI
+ * @version     : v1.0.0
+ * @date        : 19/10/2026
+ * @package     : esgi.easisell.load
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ */
+package esgi.easisell.load;
+
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import esgi.easisell.service.mail.MailDispatcher;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Rafale d'emails déjà rendus (comme les confie EmailOutboxPoller) vers GreenMail (SMTP local, port 3025) :
+ * tous les messages arrivent, et les sessions SMTP sont réutilisées d'un message à l'autre.
+ */
+@SpringBootTest
+@ActiveProfiles("load")
+class MailDispatchLoadIT {
+
+    // Identifiants de spring.mail.* acceptés tels quels : pas de compte à créer sur le serveur local
+    @RegisterExtension
+    static final GreenMailExtension SMTP = new GreenMailExtension(ServerSetupTest.SMTP)
+            .withConfiguration(GreenMailConfiguration.aConfig().withDisabledAuthentication());
+
+    @Autowired
+    private MailDispatcher mailDispatcher;
+
+    @Value("${easisell.load.mail.messages}")
+    private int messages;
+
+    /**
+     * Test mail dispatch.
+     */
+    @Test
+    @DisplayName("✅ Rafale d'emails - livraison complète et sessions SMTP réutilisées")
+    void testMailDispatch() {
+        long begin = System.nanoTime();
+        List<CompletableFuture<Void>> sends = new ArrayList<>(messages);
+        for (int i = 0; i < messages; i++) {
+            sends.add(mailDispatcher.submit("client-" + i + "@easisell.fr",
+                    "Rappel de paiement pour votre service Abonnement caisse",
+                    "<html><body><p>Supérette " + i + " : 29.90 EUR avant le 30/10/2026</p></body></html>"));
+        }
+
+        CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).join();
+        assertTrue(SMTP.waitForIncomingEmail(60_000, messages), "Emails non reçus dans le délai");
+        double seconds = (System.nanoTime() - begin) / 1_000_000_000.0;
+
+        Map<String, Object> metrics = mailDispatcher.getMetrics();
+        System.out.printf("""
+
+                ━━━━━━━━━━ DISTRIBUTION DES EMAILS ━━━━━━━━━━
+                Emails reçus        : %d en %.2f s (%.1f emails/s)
+                Sessions SMTP       : %s
+                Lots                : %s
+                Abandonnés          : %s
+                ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+                %n""", SMTP.getReceivedMessages().length, seconds, messages / seconds,
+                metrics.get("connections"), metrics.get("batches"), metrics.get("rejected"));
+
+        assertEquals(messages, SMTP.getReceivedMessages().length);
+        assertEquals(0L, metrics.get("rejected"));
+        assertTrue((long) metrics.get("connections") < messages, "Une session SMTP par email");
+    }
+}
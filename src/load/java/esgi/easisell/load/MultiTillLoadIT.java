@@ -0,0 +1,271 @@
+/**
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ * PROJET EASISELL - PLATEFORME DE GESTION COMMERCIALE
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ * @file        : MultiTillLoadIT.java
+ * @description : Test de charge multi-caisses sur base embarquée
+ * @author      : Chancy MOUYABI
+ * @version     : v1.0.0
+ * @date        : 19/10/2026
+ * @package     : esgi.easisell.load
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ */
+package esgi.easisell.load;
+
+import esgi.easisell.dto.SaleResponseDTO;
+import esgi.easisell.entity.Client;
+import esgi.easisell.entity.Product;
+import esgi.easisell.entity.StockItem;
+import esgi.easisell.exception.InsufficientStockException;
+import esgi.easisell.exception.PaymentFailedException;
+import esgi.easisell.model.Quantity;
+import esgi.easisell.repository.ClientRepository;
+import esgi.easisell.repository.ProductRepository;
+import esgi.easisell.repository.StockItemRepository;
+import esgi.easisell.service.SaleService;
+import esgi.easisell.service.metrics.CheckoutMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test de charge multi-caisses : N caisses scannent et encaissent en parallèle sur un catalogue partagé,
+ * avec un tirage des produits plus ou moins concentré (easisell.load.skew).
+ * Mesure le débit, les latences p50 / p99 et les conflits de verrouillage optimiste, puis vérifie
+ * les invariants du stock : aucun lot négatif, aucune décrémentation perdue.
+ */
+@SpringBootTest
+@ActiveProfiles("load")
+class MultiTillLoadIT {
+
+    private static final LoadReport REPORT = new LoadReport();
+
+    @Autowired
+    private SaleService saleService;
+    @Autowired
+    private ClientRepository clientRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private StockItemRepository stockItemRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${easisell.load.tills}")
+    private int tills;
+    @Value("${easisell.load.sales-per-till}")
+    private int salesPerTill;
+    @Value("${easisell.load.items-per-sale}")
+    private int itemsPerSale;
+    @Value("${easisell.load.products}")
+    private int productCount;
+    @Value("${easisell.load.lots-per-product}")
+    private int lotsPerProduct;
+    @Value("${easisell.load.units-per-lot}")
+    private int unitsPerLot;
+    @Value("${easisell.load.skew}")
+    private double skew;
+    @Value("${easisell.load.payment-attempts}")
+    private int paymentAttempts;
+
+    /**
+     * Test multi till load.
+     */
+    @Test
+    @DisplayName("✅ Charge multi-caisses - débit, latences et cohérence du stock")
+    void testMultiTillLoad() throws InterruptedException {
+        Client client = createClient();
+        List<Product> catalog = createCatalog(client);
+        Map<UUID, Long> initialMilli = new HashMap<>();
+        for (Product product : catalog) {
+            initialMilli.put(product.getProductId(), (long) lotsPerProduct * unitsPerLot * Quantity.MILLI);
+        }
+        SkewedProductPicker<Product> picker = new SkewedProductPicker<>(catalog, skew);
+
+        ExecutorService executor = Executors.newFixedThreadPool(tills);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(tills);
+        for (int till = 0; till < tills; till++) {
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < salesPerTill; i++) {
+                        runSale(client.getUserId(), picker);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        assertTrue(done.await(10, TimeUnit.MINUTES), "Les caisses n'ont pas terminé dans le délai");
+        long elapsed = System.nanoTime() - begin;
+        executor.shutdown();
+
+        Counter conflicts = meterRegistry.find(CheckoutMetrics.STOCK_CONFLICT)
+                .tag("tenant", client.getUserId().toString()).counter();
+        REPORT.stockConflicts.set(conflicts != null ? (long) conflicts.count() : 0L);
+        System.out.println(REPORT.render(tills, skew, elapsed));
+
+        assertStockInvariants(client.getUserId(), initialMilli);
+        assertTrue(REPORT.completedSales.get() > 0, "Aucune vente finalisée");
+    }
+
+    /**
+     * Une vente de caisse : ouverture, scans, encaissement en espèces du montant exact
+     */
+    private void runSale(UUID clientId, SkewedProductPicker<Product> picker) {
+        long begin = System.nanoTime();
+        try {
+            SaleResponseDTO sale = saleService.createNewSale(clientId);
+            int scanned = 0;
+            for (int i = 0; i < itemsPerSale; i++) {
+                Product product = picker.next();
+                try {
+                    saleService.addProductByIdToSale(sale.getSaleId(), product.getProductId(), quantityFor(product));
+                    scanned++;
+                } catch (InsufficientStockException e) {
+                    // Article épuisé : la caisse passe au suivant
+                }
+            }
+            if (scanned == 0) {
+                REPORT.rejectedSales.incrementAndGet();
+                return;
+            }
+
+            if (pay(sale.getSaleId())) {
+                REPORT.completedSales.incrementAndGet();
+                REPORT.saleLatenciesNanos.add(System.nanoTime() - begin);
+            }
+        } catch (RuntimeException e) {
+            REPORT.failed(e);
+        }
+    }
+
+    private boolean pay(UUID saleId) {
+        for (int attempt = 1; attempt <= paymentAttempts; attempt++) {
+            BigDecimal total = saleService.calculateSaleTotal(saleId).getTotalAmount();
+            try {
+                saleService.processPayment(saleId, "CASH", total, "EUR");
+                return true;
+            } catch (OptimisticLockingFailureException e) {
+                REPORT.paymentConflicts.incrementAndGet();
+            } catch (PaymentFailedException e) {
+                if (e.getMessage() != null && e.getMessage().contains("Stock insuffisant")) {
+                    REPORT.rejectedSales.incrementAndGet();
+                    return false;
+                }
+                if (e.getMessage() == null || !e.getMessage().contains("Conflit")) {
+                    throw e;
+                }
+                REPORT.paymentConflicts.incrementAndGet();
+            }
+        }
+        REPORT.failedSales.incrementAndGet();
+        return false;
+    }
+
+    private BigDecimal quantityFor(Product product) {
+        if (Boolean.TRUE.equals(product.getIsSoldByWeight())) {
+            // 0.100 à 1.500 kg
+            return Quantity.toBigDecimal(100 + ThreadLocalRandom.current().nextInt(1_401));
+        }
+        return BigDecimal.ONE;
+    }
+
+    /**
+     * Invariants : aucun lot négatif, et stock restant = stock initial - quantités des ventes soldées
+     */
+    private void assertStockInvariants(UUID clientId, Map<UUID, Long> initialMilli) {
+        Integer negativeLots = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM stock_item WHERE quantity_milli < 0", Integer.class);
+        assertEquals(0, negativeLots, "Stock négatif détecté");
+
+        Map<UUID, Long> soldMilli = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT si.product_id, SUM(si.quantity_sold) FROM sale_item si " +
+                        "JOIN sale s ON s.sale_id = si.sale_id " +
+                        "WHERE s.balance_due = 0 AND EXISTS (SELECT 1 FROM payment p WHERE p.sale_id = s.sale_id) " +
+                        "GROUP BY si.product_id",
+                rs -> {
+                    soldMilli.put(rs.getObject(1, UUID.class), Quantity.toMilli(rs.getBigDecimal(2)));
+                });
+
+        List<String> lostDecrements = new ArrayList<>();
+        for (Map.Entry<UUID, Long> entry : initialMilli.entrySet()) {
+            long expected = entry.getValue() - soldMilli.getOrDefault(entry.getKey(), 0L);
+            long actual = stockItemRepository.getTotalStockMilliByProduct(clientId, entry.getKey());
+            if (expected != actual) {
+                lostDecrements.add(String.format("%s : attendu %s, en base %s",
+                        entry.getKey(), Quantity.format(expected), Quantity.format(actual)));
+            }
+        }
+        assertTrue(lostDecrements.isEmpty(), "Décrémentations perdues : " + lostDecrements);
+    }
+
+    private Client createClient() {
+        Client client = new Client();
+        client.setUsername("load-" + UUID.randomUUID() + "@easisell.fr");
+        client.setPassword("load");
+        client.setRole("CLIENT");
+        client.setName("Supérette Charge");
+        client.setContractStatus("ACTIVE");
+        client.setCurrencyPreference("EUR");
+        return clientRepository.save(client);
+    }
+
+    /**
+     * Catalogue partagé ; un produit sur cinq est vendu au poids
+     */
+    private List<Product> createCatalog(Client client) {
+        List<Product> catalog = new ArrayList<>(productCount);
+        for (int i = 0; i < productCount; i++) {
+            Product product = new Product();
+            product.setName("Produit charge " + i);
+            product.setBarcode(String.format("2%012d", i));
+            product.setUnitPrice(new BigDecimal("1.99").add(BigDecimal.valueOf(i % 10)));
+            product.setIsSoldByWeight(i % 5 == 0);
+            product.setUnitLabel(i % 5 == 0 ? "kg" : "pièce");
+            product.setClient(client);
+            product = productRepository.save(product);
+
+            for (int lot = 0; lot < lotsPerProduct; lot++) {
+                StockItem stockItem = new StockItem();
+                stockItem.setProduct(product);
+                stockItem.setClient(client);
+                stockItem.setQuantityMilli((long) unitsPerLot * Quantity.MILLI);
+                stockItem.setPurchasePrice(BigDecimal.ONE);
+                stockItemRepository.save(stockItem);
+            }
+            catalog.add(product);
+        }
+        return catalog;
+    }
+}
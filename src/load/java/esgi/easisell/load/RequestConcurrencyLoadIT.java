@@ -0,0 +1,148 @@
+/**
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ * PROJET EASISELL - PLATEFORME DE GESTION COMMERCIALE
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ * @file        : RequestConcurrencyLoadIT.java
+ * @description : Concurrence HTTP en threads de plateforme ou virtuels
+ * @author      : Chancy MOUYABI
+ * @version     : v1.0.0
+ * @date        : 19/10/2026
+ * @package     : esgi.easisell.load
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ */
+package esgi.easisell.load;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Concurrence des requêtes HTTP à pool Hikari égal : chaque requête tient une connexion JDBC
+ * le temps d'un aller-retour base simulé (easisell.load.http.db-latency-ms).
+ * En threads de plateforme, les requêtes en cours plafonnent à server.tomcat.threads.max ;
+ * avec spring.threads.virtual.enabled=true (Java 21), seul le pool JDBC les limite.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("load")
+class RequestConcurrencyLoadIT {
+
+    private static final String PATH = "/load/db-roundtrip";
+    private static final AtomicInteger IN_FLIGHT = new AtomicInteger();
+    private static final AtomicInteger PEAK = new AtomicInteger();
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${server.tomcat.threads.max}")
+    private int tomcatThreads;
+    @Value("${spring.datasource.hikari.maximum-pool-size}")
+    private int poolSize;
+    @Value("${easisell.load.http.requests}")
+    private int requests;
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    /**
+     * Point d'entrée de mesure, servi avant la chaîne de sécurité : lecture puis attente réseau simulée,
+     * connexion JDBC tenue tout du long comme sur RDS
+     */
+    @TestConfiguration
+    static class DbRoundTripConfig {
+        @Bean
+        FilterRegistrationBean<OncePerRequestFilter> dbRoundTripFilter(
+                TransactionTemplate transactionTemplate, JdbcTemplate jdbcTemplate,
+                @Value("${easisell.load.http.db-latency-ms}") long latencyMs) {
+            OncePerRequestFilter filter = new OncePerRequestFilter() {
+                @Override
+                protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                                FilterChain chain) {
+                    PEAK.accumulateAndGet(IN_FLIGHT.incrementAndGet(), Math::max);
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> {
+                            jdbcTemplate.queryForObject("SELECT COUNT(*) FROM product", Long.class);
+                            try {
+                                Thread.sleep(latencyMs);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        });
+                        response.setStatus(HttpServletResponse.SC_OK);
+                    } finally {
+                        IN_FLIGHT.decrementAndGet();
+                    }
+                }
+            };
+            FilterRegistrationBean<OncePerRequestFilter> registration = new FilterRegistrationBean<>(filter);
+            registration.addUrlPatterns(PATH);
+            registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+            return registration;
+        }
+    }
+
+    /**
+     * Test request concurrency.
+     */
+    @Test
+    @DisplayName("✅ Concurrence HTTP - plafond Tomcat levé par les threads virtuels")
+    void testRequestConcurrency() {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + PATH)).build();
+
+        long begin = System.nanoTime();
+        List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+        }
+        long failed = responses.stream().map(CompletableFuture::join).filter(r -> r.statusCode() != 200).count();
+        long elapsed = System.nanoTime() - begin;
+
+        System.out.println(render(elapsed));
+
+        assertEquals(0, failed, "Requêtes en échec");
+        if (virtualThreads) {
+            assertTrue(PEAK.get() > tomcatThreads, "Concurrence encore plafonnée par Tomcat : " + PEAK.get());
+        } else {
+            assertTrue(PEAK.get() <= tomcatThreads, "Plus de requêtes en cours que de threads Tomcat : " + PEAK.get());
+        }
+    }
+
+    private String render(long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        return String.format("""
+
+                ━━━━━━━━━━ CONCURRENCE DES REQUÊTES HTTP ━━━━━━━━━━
+                Threads             : %s
+                Threads Tomcat max  : %d
+                Pool Hikari         : %d
+                Requêtes            : %d en %.2f s (%.1f req/s)
+                Requêtes en cours   : %d au maximum
+                ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+                """,
+                virtualThreads ? "virtuels" : "plateforme", tomcatThreads, poolSize,
+                requests, seconds, requests / seconds, PEAK.get());
+    }
+}
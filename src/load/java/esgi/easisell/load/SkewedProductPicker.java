@@ -0,0 +1,33 @@
+package esgi.easisell.load;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Tirage des produits selon une loi de Zipf : P(i) ∝ 1 / (i + 1)^skew.
+ * skew = 0 donne un tirage uniforme ; au-delà de 1, quelques produits concentrent les ventes.
+ */
+class SkewedProductPicker<T> {
+
+    private final List<T> items;
+    private final double[] cumulative;
+
+    SkewedProductPicker(List<T> items, double skew) {
+        this.items = items;
+        this.cumulative = new double[items.size()];
+        double total = 0;
+        for (int i = 0; i < items.size(); i++) {
+            total += 1.0 / Math.pow(i + 1, skew);
+            cumulative[i] = total;
+        }
+        for (int i = 0; i < cumulative.length; i++) {
+            cumulative[i] /= total;
+        }
+    }
+
+    T next() {
+        int index = Arrays.binarySearch(cumulative, ThreadLocalRandom.current().nextDouble());
+        return items.get(Math.min(index >= 0 ? index : -index - 1, items.size() - 1));
+    }
+}
@@ -0,0 +1,91 @@
+package esgi.easisell.configuration;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * ✅ URLS DES EMAILS (app.*.url)
+ * Liées une seule fois au démarrage ; les URLs absentes sont déduites de app.frontend.url.
+ */
+@Component
+@ConfigurationProperties(prefix = "app")
+@Getter
+@Setter
+public class EmailLinksProperties implements InitializingBean {
+
+    private static final String DEFAULT_FRONTEND_URL = "http://localhost:3000";
+    private static final String DEFAULT_LOGO_URL = "https://via.placeholder.com/150";
+
+    private Link frontend = new Link();
+    private Link payment = new Link();
+    private Link cancellation = new Link();
+    private Link reactivation = new Link();
+    private Link contact = new Link();
+    private Link terms = new Link();
+    private Link logo = new Link();
+
+    /**
+     * Variables communes à tous les templates (logo, contact, conditions), calculées une fois
+     */
+    @Setter(AccessLevel.NONE)
+    private Map<String, Object> commonVariables = Map.of();
+
+    @Override
+    public void afterPropertiesSet() {
+        commonVariables = Map.of(
+                "logoUrl", getLogoUrl(),
+                "contactUrl", getContactUrl(),
+                "termsUrl", getTermsUrl());
+    }
+
+    public String getFrontendUrl() {
+        return frontend.url != null ? frontend.url : DEFAULT_FRONTEND_URL;
+    }
+
+    /**
+     * URL du front suivie d'un chemin (ex: "/login", "/admin/users")
+     */
+    public String frontendUrl(String path) {
+        return getFrontendUrl() + path;
+    }
+
+    public String getPaymentUrl() {
+        return resolve(payment, "/payment");
+    }
+
+    public String getCancellationUrl() {
+        return resolve(cancellation, "/cancel");
+    }
+
+    public String getReactivationUrl() {
+        return resolve(reactivation, "/reactivate");
+    }
+
+    public String getContactUrl() {
+        return resolve(contact, "/contact");
+    }
+
+    public String getTermsUrl() {
+        return resolve(terms, "/terms");
+    }
+
+    public String getLogoUrl() {
+        return logo.url != null ? logo.url : DEFAULT_LOGO_URL;
+    }
+
+    private String resolve(Link link, String defaultPath) {
+        return link.url != null ? link.url : frontendUrl(defaultPath);
+    }
+
+    @Getter
+    @Setter
+    public static class Link {
+        private String url;
+    }
+}
@@ -0,0 +1,32 @@
+package esgi.easisell.configuration;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Remplace l'open-in-view automatique (désactivé via spring.jpa.open-in-view=false).
+ * Le paiement en est exclu : la session ouverte pendant toute la requête garderait une
+ * connexion du pool pendant l'autorisation auprès de la passerelle.
+ */
+@Configuration
+public class OpenEntityManagerInViewConfig {
+
+    @Bean
+    public WebMvcConfigurer openEntityManagerInViewConfigurer(EntityManagerFactory entityManagerFactory) {
+        OpenEntityManagerInViewInterceptor interceptor = new OpenEntityManagerInViewInterceptor();
+        interceptor.setEntityManagerFactory(entityManagerFactory);
+
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addWebRequestInterceptor(interceptor)
+                        .addPathPatterns("/**")
+                        .excludePathPatterns("/api/sales/*/payment");
+            }
+        };
+    }
+}
@@ -0,0 +1,33 @@
+package esgi.easisell.configuration;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Horodatage des produits existants pour la synchronisation incrémentale du catalogue.
+ * ddl-auto=update crée la colonne last_modified vide : les produits antérieurs sont datés
+ * du démarrage, ce qui les fait figurer dans la prochaine synchronisation de chaque caisse.
+ * Exécutée avant le démarrage du serveur web : un produit sans date échapperait au curseur
+ * (lastModified, productId) de la pagination du catalogue.
+ * Idempotent : seules les lignes sans date sont touchées.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductLastModifiedMigration implements SmartInitializingSingleton {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        int products = jdbcTemplate.update(
+                "UPDATE product SET last_modified = CURRENT_TIMESTAMP WHERE last_modified IS NULL");
+
+        if (products > 0) {
+            log.info("🗂️ Migration catalogue : {} produits horodatés", products);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package esgi.easisell.configuration;
+
+import esgi.easisell.model.SearchText;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Migration de la recherche produits vers l'index FULLTEXT.
+ * ddl-auto=update crée les colonnes search_* vides mais ne sait pas créer d'index FULLTEXT :
+ * on remplit les colonnes des produits existants (normalisation Java, identique à l'entité),
+ * puis on crée l'index s'il n'existe pas encore.
+ * Exécutée avant le démarrage du serveur web : aucune recherche ne passe à côté des produits existants
+ * (colonnes search_* encore NULL) ni ne tombe sur un index FULLTEXT absent.
+ * Idempotent : seules les lignes non encore normalisées sont touchées.
+ */
+@Component
+@Slf4j
+public class ProductSearchIndexMigration implements SmartInitializingSingleton {
+
+    static final String INDEX_NAME = "ft_product_search";
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean fulltext;
+
+    public ProductSearchIndexMigration(JdbcTemplate jdbcTemplate,
+                                       @Value("${easisell.search.fulltext.enabled:true}") boolean fulltext) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fulltext = fulltext;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        int products = backfill();
+        if (products > 0) {
+            log.info("🔎 Migration recherche produits : {} produits normalisés", products);
+        }
+
+        if (fulltext && !indexExists()) {
+            jdbcTemplate.execute("ALTER TABLE product ADD FULLTEXT INDEX " + INDEX_NAME +
+                    " (search_name, search_brand, search_description)");
+            log.info("🔎 Index FULLTEXT {} créé sur la table product", INDEX_NAME);
+        }
+    }
+
+    private int backfill() {
+        int total = 0;
+        while (true) {
+            List<Object[]> batch = jdbcTemplate.query(
+                    "SELECT product_id, name, brand, description FROM product WHERE search_name IS NULL LIMIT " + BATCH_SIZE,
+                    (rs, rowNum) -> new Object[]{
+                            SearchText.normalize(rs.getString("name")),
+                            SearchText.normalize(rs.getString("brand")),
+                            SearchText.normalize(rs.getString("description")),
+                            rs.getBytes("product_id")
+                    });
+            if (batch.isEmpty()) {
+                return total;
+            }
+            jdbcTemplate.batchUpdate(
+                    "UPDATE product SET search_name = ?, search_brand = ?, search_description = ? WHERE product_id = ?",
+                    batch);
+            total += batch.size();
+        }
+    }
+
+    private boolean indexExists() {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.statistics " +
+                        "WHERE table_schema = DATABASE() AND table_name = 'product' AND index_name = ?",
+                Integer.class, INDEX_NAME);
+        return count != null && count > 0;
+    }
+}
@@ -2,6 +2,7 @@ package esgi.easisell.configuration;
 
 import esgi.easisell.filter.JwtFilter;
 import esgi.easisell.service.CustomUserDetailsService;
+import esgi.easisell.service.metrics.CheckoutMetrics;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -23,6 +24,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
     private final CustomUserDetailsService customUserDetailsService;
     private final JwtUtils jwtUtils;
+    private final CheckoutMetrics checkoutMetrics;
 
     @Bean
     public PasswordEncoder passwordEncoder(){
@@ -63,6 +65,10 @@ public class SecurityConfig {
                                 .requestMatchers("/swagger-resources/**").permitAll()
                                 .requestMatchers("/webjars/**").permitAll()
 
+                                // Actuator : santé publique, métriques (Prometheus) réservées aux admins
+                                .requestMatchers("/actuator/health").permitAll()
+                                .requestMatchers("/actuator/**").hasRole("ADMIN")
+
                                 .requestMatchers(HttpMethod.PUT, "/api/users/clients/*/password").hasAnyRole("CLIENT", "ADMIN")
                                 .requestMatchers(HttpMethod.PUT, "/api/users/admins/*/password").hasRole("ADMIN")
                                 .requestMatchers(HttpMethod.PUT, "/api/users/admin/clients/*/password").hasRole("ADMIN")
@@ -76,7 +82,7 @@ public class SecurityConfig {
                                 .requestMatchers("/api/users/**").hasRole("ADMIN")
 
                                 .anyRequest().authenticated())
-                .addFilterBefore(new JwtFilter(customUserDetailsService,jwtUtils), UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(new JwtFilter(customUserDetailsService,jwtUtils,checkoutMetrics), UsernamePasswordAuthenticationFilter.class)
                 .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package esgi.easisell.configuration;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Migration des lots de stock vers les quantités en millièmes d'unité.
+ * Le schéma est géré par ddl-auto=update : les colonnes *_milli sont créées vides,
+ * on les remplit au démarrage à partir des anciennes quantités entières.
+ * Exécutée une fois tous les beans créés (schéma à jour) mais avant le démarrage du serveur web :
+ * aucune requête ne voit un lot dont quantity_milli est encore NULL (stock invisible, vente refusée).
+ * Idempotent : seules les lignes non encore converties sont touchées.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StockQuantityMigration implements SmartInitializingSingleton {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        int stockItems = jdbcTemplate.update(
+                "UPDATE stock_item SET quantity_milli = quantity * 1000 " +
+                        "WHERE quantity_milli IS NULL AND quantity IS NOT NULL");
+
+        int oldQuantities = jdbcTemplate.update(
+                "UPDATE stock_audit_log SET old_quantity_milli = old_quantity * 1000 " +
+                        "WHERE old_quantity_milli IS NULL AND old_quantity IS NOT NULL");
+
+        int newQuantities = jdbcTemplate.update(
+                "UPDATE stock_audit_log SET new_quantity_milli = new_quantity * 1000 " +
+                        "WHERE new_quantity_milli IS NULL AND new_quantity IS NOT NULL");
+
+        if (stockItems + oldQuantities + newQuantities > 0) {
+            log.info("📦 Migration stock en millièmes : {} lots, {} entrées d'audit converties",
+                    stockItems, Math.max(oldQuantities, newQuantities));
+        }
+    }
+}
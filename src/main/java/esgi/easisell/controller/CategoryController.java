@@ -62,19 +62,20 @@ public class CategoryController {
     }
 
     /**
-     * Récupérer toutes les catégories du système
-     * GET /api/categories
+     * Récupérer toutes les catégories du système, page par page
+     * GET /api/categories?page=0&size=100
      *
-     * ATTENTION : Endpoint admin - retourne TOUTES les catégories
+     * ATTENTION : Endpoint admin - parcourt les catégories de TOUS les clients
      *
-     * @return la liste complète des catégories
+     * @param page numéro de page (à partir de 0)
+     * @param size taille de page
+     * @return une page de catégories (projection : client et nombre de produits calculés en base)
      */
     @GetMapping
-    public ResponseEntity<List<CategoryResponseDTO>> getAllCategories() {
-        List<CategoryResponseDTO> categories = categoryService.getAllCategories().stream()
-                .map(this::convertToResponseDTO)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(categories);
+    public ResponseEntity<List<CategoryResponseDTO>> getAllCategories(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size) {
+        return ResponseEntity.ok(categoryService.getAllCategories(page, size));
     }
 
     /**
@@ -224,6 +225,7 @@ public class CategoryController {
         dto.setClientId(category.getClient().getUserId());
         dto.setClientName(category.getClient().getName());
         dto.setProductCount(category.getProducts() != null ? category.getProducts().size() : 0);
+        dto.setVatRate(category.getVatRate());
         return dto;
     }
 }
\ No newline at end of file
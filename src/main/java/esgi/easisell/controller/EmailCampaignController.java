@@ -0,0 +1,118 @@
+package esgi.easisell.controller;
+
+import esgi.easisell.dto.PaymentReminderCampaignDTO;
+import esgi.easisell.entity.EmailCampaign;
+import esgi.easisell.service.mail.PaymentReminderCampaignService;
+import esgi.easisell.utils.SecurityUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/email-campaigns")
+@RequiredArgsConstructor
+@Slf4j
+public class EmailCampaignController {
+
+    private final PaymentReminderCampaignService campaignService;
+    private final SecurityUtils securityUtils;
+
+    /**
+     * ADMIN ONLY - Lancer une campagne de rappels de paiement pour tous les clients d'un statut de contrat
+     * POST /api/email-campaigns/payment-reminders
+     */
+    @PostMapping("/payment-reminders")
+    public ResponseEntity<?> startPaymentReminders(@RequestBody PaymentReminderCampaignDTO request) {
+        if (!securityUtils.isCurrentUserAdmin()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("error", "Accès réservé aux administrateurs"));
+        }
+
+        try {
+            EmailCampaign campaign = campaignService.start(request);
+            return ResponseEntity.accepted().body(campaign);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * ADMIN ONLY - Campagnes récentes
+     * GET /api/email-campaigns
+     */
+    @GetMapping
+    public ResponseEntity<?> getCampaigns() {
+        if (!securityUtils.isCurrentUserAdmin()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("error", "Accès réservé aux administrateurs"));
+        }
+
+        List<EmailCampaign> campaigns = campaignService.getRecentCampaigns();
+        return ResponseEntity.ok(Map.of(
+                "campaigns", campaigns,
+                "count", campaigns.size()
+        ));
+    }
+
+    /**
+     * ADMIN ONLY - Avancement d'une campagne (mis en file, envoyés, lettres mortes)
+     * GET /api/email-campaigns/{campaignId}
+     */
+    @GetMapping("/{campaignId}")
+    public ResponseEntity<?> getProgress(@PathVariable UUID campaignId) {
+        if (!securityUtils.isCurrentUserAdmin()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("error", "Accès réservé aux administrateurs"));
+        }
+
+        try {
+            return ResponseEntity.ok(campaignService.getProgress(campaignId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * ADMIN ONLY - Annuler une campagne en cours (les rappels déjà en file partent quand même)
+     * POST /api/email-campaigns/{campaignId}/cancel
+     */
+    @PostMapping("/{campaignId}/cancel")
+    public ResponseEntity<?> cancel(@PathVariable UUID campaignId) {
+        if (!securityUtils.isCurrentUserAdmin()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("error", "Accès réservé aux administrateurs"));
+        }
+
+        try {
+            return ResponseEntity.ok(campaignService.cancel(campaignId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * ADMIN ONLY - Relancer une campagne en échec, au dernier client traité
+     * POST /api/email-campaigns/{campaignId}/resume
+     */
+    @PostMapping("/{campaignId}/resume")
+    public ResponseEntity<?> resume(@PathVariable UUID campaignId) {
+        if (!securityUtils.isCurrentUserAdmin()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("error", "Accès réservé aux administrateurs"));
+        }
+
+        try {
+            return ResponseEntity.accepted().body(campaignService.resume(campaignId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+}
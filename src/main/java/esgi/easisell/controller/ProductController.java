@@ -1,10 +1,19 @@
 package esgi.easisell.controller;
 
+import esgi.easisell.dto.CatalogSyncDTO;
 import esgi.easisell.dto.ProductDTO;
 import esgi.easisell.dto.ProductResponseDTO;
+import esgi.easisell.dto.ProductSuggestionDTO;
+import esgi.easisell.dto.ProductSummaryDTO;
+import esgi.easisell.service.CatalogSyncService;
 import esgi.easisell.service.ProductService;
+import esgi.easisell.service.ProductStatsService;
+import esgi.easisell.service.search.ProductSimilarityIndex;
+import esgi.easisell.utils.ETags;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -35,7 +44,12 @@ import java.util.stream.Collectors;
 @RequestMapping("/api/products")
 public class ProductController {
 
+    // Le catalogue change : la caisse revalide à chaque fois (304 si la version n'a pas bougé)
+    private static final CacheControl CATALOG_CACHE = CacheControl.noCache().cachePrivate();
+
     private final ProductService productService;
+    private final CatalogSyncService catalogSyncService;
+    private final ProductStatsService productStatsService;
 
     // ========== ENDPOINTS EXISTANTS (inchangés) ==========
 
@@ -51,19 +65,25 @@ public class ProductController {
                 productDTO.getUnitPrice(),
                 productDTO.getUnitLabel());
 
-        ProductResponseDTO result = productService.createProduct(productDTO);
-        return result != null
-                ? ResponseEntity.status(HttpStatus.CREATED).body(result)
-                : ResponseEntity.badRequest().body("Erreur lors de la création du produit");
+        try {
+            ProductResponseDTO result = productService.createProduct(productDTO);
+            return result != null
+                    ? ResponseEntity.status(HttpStatus.CREATED).body(result)
+                    : ResponseEntity.badRequest().body("Erreur lors de la création du produit");
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     /**
-     * Récupérer tous les produits du système
-     * GET /api/products
+     * Récupérer tous les produits du système, page par page
+     * GET /api/products?page=0&size=100
      */
     @GetMapping
-    public ResponseEntity<List<ProductResponseDTO>> getAllProducts() {
-        List<ProductResponseDTO> products = productService.getAllProducts();
+    public ResponseEntity<List<ProductResponseDTO>> getAllProducts(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size) {
+        List<ProductResponseDTO> products = productService.getAllProducts(page, size);
         return ResponseEntity.ok(products);
     }
 
@@ -82,11 +102,45 @@ public class ProductController {
     /**
      * Récupérer tous les produits d'un client spécifique
      * GET /api/products/client/{clientId}
+     * Requête conditionnelle : If-None-Match sur la version du catalogue → 304
      */
     @GetMapping("/client/{clientId}")
-    public ResponseEntity<List<ProductResponseDTO>> getProductsByClient(@PathVariable UUID clientId) {
+    public ResponseEntity<List<ProductResponseDTO>> getProductsByClient(
+            @PathVariable UUID clientId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String version = catalogSyncService.getVersion(clientId);
+        if (ETags.matches(ifNoneMatch, version)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(version).cacheControl(CATALOG_CACHE).build();
+        }
+
         List<ProductResponseDTO> products = productService.getProductsByClient(clientId);
-        return ResponseEntity.ok(products);
+        return ResponseEntity.ok().eTag(version).cacheControl(CATALOG_CACHE).body(products);
+    }
+
+    /**
+     * Catalogue des caisses : projection paginée par curseur, complète ou incrémentale
+     * GET /api/products/client/{clientId}/catalog?size=500&changedSince={epochMs}
+     * puis ...&cursor={nextCursor} tant que hasMore
+     * Requête conditionnelle : If-None-Match sur la version du catalogue → 304
+     */
+    @GetMapping("/client/{clientId}/catalog")
+    public ResponseEntity<?> getCatalog(
+            @PathVariable UUID clientId,
+            @RequestParam(required = false) Long changedSince,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "500") int size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String version = catalogSyncService.getVersion(clientId);
+        if (ETags.matches(ifNoneMatch, version)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(version).cacheControl(CATALOG_CACHE).build();
+        }
+
+        try {
+            CatalogSyncDTO catalog = catalogSyncService.getCatalogPage(clientId, changedSince, cursor, size, version);
+            return ResponseEntity.ok().eTag(version).cacheControl(CATALOG_CACHE).body(catalog);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     /**
@@ -112,10 +166,14 @@ public class ProductController {
                 productDTO.getUnitPrice(),
                 productDTO.getUnitLabel());
 
-        ProductResponseDTO result = productService.updateProduct(productId, productDTO);
-        return result != null
-                ? ResponseEntity.ok(result)
-                : ResponseEntity.badRequest().body("Erreur lors de la mise à jour du produit");
+        try {
+            ProductResponseDTO result = productService.updateProduct(productId, productDTO);
+            return result != null
+                    ? ResponseEntity.ok(result)
+                    : ResponseEntity.badRequest().body("Erreur lors de la mise à jour du produit");
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
     }
 
     /**
@@ -142,6 +200,18 @@ public class ProductController {
         return ResponseEntity.ok(products);
     }
 
+    /**
+     * Autocomplétion caisse : suggestions légères, classées par ventes du jour
+     * GET /api/products/autocomplete?clientId={id}&q={saisie}&limit={k}
+     */
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<ProductSuggestionDTO>> autocompleteProducts(
+            @RequestParam UUID clientId,
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(productService.autocompleteProducts(clientId, q, limit));
+    }
+
     /**
      * Trouver un produit par son code-barres
      * GET /api/products/barcode?clientId={id}&barcode={code}
@@ -236,15 +306,26 @@ public class ProductController {
     public ResponseEntity<Map<String, List<ProductResponseDTO>>> getProductsByUnit(@RequestParam UUID clientId) {
         log.info("📋 Groupement des produits par unité pour le client: {}", clientId);
 
-        List<ProductResponseDTO> allProducts = productService.getProductsByClient(clientId);
-        Map<String, List<ProductResponseDTO>> productsByUnit = allProducts.stream()
-                .collect(Collectors.groupingBy(product ->
-                        product.getUnitLabel() != null ? product.getUnitLabel() : "unité"));
+        Map<String, List<ProductResponseDTO>> productsByUnit = productService.getProductsGroupedByUnit(clientId);
 
         log.info("✅ Produits groupés en {} unités différentes", productsByUnit.size());
         return ResponseEntity.ok(productsByUnit);
     }
 
+    /**
+     * 📄 Vues légères paginées, filtrables par type de vente et unité
+     * GET /api/products/summaries?clientId={uuid}&soldByWeight={true|false}&unitLabel={unite}&page=0&size=50
+     */
+    @GetMapping("/summaries")
+    public ResponseEntity<List<ProductSummaryDTO>> getProductSummaries(
+            @RequestParam UUID clientId,
+            @RequestParam(required = false) Boolean soldByWeight,
+            @RequestParam(required = false) String unitLabel,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(productService.getProductSummaries(clientId, soldByWeight, unitLabel, page, size));
+    }
+
     /**
      * 💰 Calculer le prix pour une quantité donnée
      * GET /api/products/{productId}/calculate-price?quantity=2.350
@@ -402,33 +483,10 @@ public class ProductController {
         log.info("📊 Génération des statistiques pour le client: {}", clientId);
 
         try {
-            List<ProductResponseDTO> allProducts = productService.getProductsByClient(clientId);
-
-            long totalProducts = allProducts.size();
-            long weightProducts = allProducts.stream()
-                    .filter(p -> p.getIsSoldByWeight() != null && p.getIsSoldByWeight())
-                    .count();
-            long pieceProducts = totalProducts - weightProducts;
-
-            // Grouper par unité
-            Map<String, Long> unitStats = allProducts.stream()
-                    .collect(Collectors.groupingBy(
-                            p -> p.getUnitLabel() != null ? p.getUnitLabel() : "unité",
-                            Collectors.counting()
-                    ));
-
-            // Prix moyen par type
-            double avgWeightPrice = allProducts.stream()
-                    .filter(p -> p.getIsSoldByWeight() != null && p.getIsSoldByWeight())
-                    .mapToDouble(p -> p.getUnitPrice().doubleValue())
-                    .average()
-                    .orElse(0.0);
-
-            double avgPiecePrice = allProducts.stream()
-                    .filter(p -> p.getIsSoldByWeight() == null || !p.getIsSoldByWeight())
-                    .mapToDouble(p -> p.getUnitPrice().doubleValue())
-                    .average()
-                    .orElse(0.0);
+            ProductStatsService.Snapshot snapshot = productStatsService.getStats(clientId);
+            long totalProducts = snapshot.totalProducts();
+            long weightProducts = snapshot.weightProducts();
+            long pieceProducts = snapshot.pieceProducts();
 
             Map<String, Object> stats = Map.of(
                     "clientId", clientId,
@@ -437,10 +495,10 @@ public class ProductController {
                     "pieceProducts", pieceProducts,
                     "weightPercentage", totalProducts > 0 ? Math.round((weightProducts * 100.0) / totalProducts) : 0,
                     "piecePercentage", totalProducts > 0 ? Math.round((pieceProducts * 100.0) / totalProducts) : 0,
-                    "unitDistribution", unitStats,
-                    "avgWeightPrice", Math.round(avgWeightPrice * 100.0) / 100.0,
-                    "avgPiecePrice", Math.round(avgPiecePrice * 100.0) / 100.0,
-                    "timestamp", System.currentTimeMillis()
+                    "unitDistribution", snapshot.unitDistribution(),
+                    "avgWeightPrice", snapshot.avgWeightPrice().doubleValue(),
+                    "avgPiecePrice", snapshot.avgPiecePrice().doubleValue(),
+                    "timestamp", snapshot.computedAt()
             );
 
             log.info("✅ Statistiques générées: {} produits total ({} poids, {} pièces)",
@@ -533,20 +591,8 @@ public class ProductController {
         log.info("🏷️ Suggestion de prix pour: {} (unité: {})", name, unitLabel);
 
         try {
-            List<ProductResponseDTO> allProducts = productService.getProductsByClient(clientId);
-
-            // Rechercher des produits similaires par nom
-            List<ProductResponseDTO> similarProducts = allProducts.stream()
-                    .filter(p -> p.getName().toLowerCase().contains(name.toLowerCase()) ||
-                            name.toLowerCase().contains(p.getName().toLowerCase()))
-                    .collect(Collectors.toList());
-
-            // Si une unité est spécifiée, filtrer par unité
-            if (unitLabel != null && !unitLabel.isEmpty()) {
-                similarProducts = similarProducts.stream()
-                        .filter(p -> unitLabel.equalsIgnoreCase(p.getUnitLabel()))
-                        .collect(Collectors.toList());
-            }
+            ProductSimilarityIndex.Result similar = productService.findSimilarProducts(clientId, name, unitLabel);
+            List<ProductSimilarityIndex.SimilarProduct> similarProducts = similar.nearest();
 
             if (similarProducts.isEmpty()) {
                 return ResponseEntity.ok(Map.of(
@@ -556,14 +602,15 @@ public class ProductController {
                 ));
             }
 
-            // Calculer prix moyen
-            double avgPrice = similarProducts.stream()
-                    .mapToDouble(p -> p.getUnitPrice().doubleValue())
-                    .average()
-                    .orElse(0.0);
-
-            BigDecimal recommendedPrice = BigDecimal.valueOf(avgPrice)
-                    .setScale(2, RoundingMode.HALF_UP);
+            // Moyenne des prix des k plus proches, pondérée par leur similarité
+            BigDecimal weightedSum = BigDecimal.ZERO;
+            BigDecimal totalWeight = BigDecimal.ZERO;
+            for (ProductSimilarityIndex.SimilarProduct p : similarProducts) {
+                BigDecimal weight = BigDecimal.valueOf(p.score());
+                weightedSum = weightedSum.add(p.unitPrice().multiply(weight));
+                totalWeight = totalWeight.add(weight);
+            }
+            BigDecimal recommendedPrice = weightedSum.divide(totalWeight, 2, RoundingMode.HALF_UP);
 
             Map<String, Object> response = Map.of(
                     "suggestion", "Prix basé sur " + similarProducts.size() + " produits similaires",
@@ -574,12 +621,13 @@ public class ProductController {
                     "similarProducts", similarProducts.stream()
                             .limit(5) // Limiter à 5 exemples
                             .map(p -> Map.of(
-                                    "name", p.getName(),
-                                    "price", p.getUnitPrice(),
-                                    "formattedPrice", p.getFormattedPrice()
+                                    "name", p.name(),
+                                    "price", p.unitPrice(),
+                                    "formattedPrice", String.format("%.2f €/%s", p.unitPrice(), p.unitLabel()),
+                                    "score", BigDecimal.valueOf(p.score()).setScale(3, RoundingMode.HALF_UP)
                             ))
                             .collect(Collectors.toList()),
-                    "totalSimilar", similarProducts.size()
+                    "totalSimilar", similar.totalSimilar()
             );
 
             log.info("✅ Prix suggéré: {} € basé sur {} produits similaires",
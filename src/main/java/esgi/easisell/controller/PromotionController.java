@@ -0,0 +1,152 @@
+package esgi.easisell.controller;
+
+import esgi.easisell.dto.PromotionDTO;
+import esgi.easisell.dto.PromotionResponseDTO;
+import esgi.easisell.entity.Promotion;
+import esgi.easisell.service.PromotionService;
+import esgi.easisell.service.promotion.PromotionEngine;
+import esgi.easisell.utils.SecurityUtils;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+@Slf4j
+public class PromotionController {
+
+    private final PromotionService promotionService;
+    private final PromotionEngine promotionEngine;
+    private final SecurityUtils securityUtils;
+
+    /**
+     * 1. Récupérer les promotions d'un client
+     * GET /api/clients/{clientId}/promotions
+     */
+    @GetMapping("/clients/{clientId}/promotions")
+    public ResponseEntity<?> getPromotionsByClientId(@PathVariable UUID clientId, HttpServletRequest request) {
+        // 🛡️ SÉCURITÉ : Vérifier l'accès
+        if (!securityUtils.canAccessClientData(clientId, request)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("error", "Accès non autorisé à ce client"));
+        }
+
+        List<PromotionResponseDTO> promotions = promotionService.getPromotionsByClientId(clientId);
+        return ResponseEntity.ok(promotions);
+    }
+
+    /**
+     * 2. Créer une promotion
+     * POST /api/clients/{clientId}/promotions
+     */
+    @PostMapping("/clients/{clientId}/promotions")
+    public ResponseEntity<?> createPromotion(
+            @PathVariable UUID clientId,
+            @RequestBody PromotionDTO promotionDTO,
+            HttpServletRequest request) {
+
+        // 🛡️ SÉCURITÉ : Vérifier l'accès
+        if (!securityUtils.canAccessClientData(clientId, request)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("error", "Accès non autorisé à ce client"));
+        }
+
+        try {
+            Optional<PromotionResponseDTO> promotionOpt = promotionService.createPromotion(clientId, promotionDTO);
+
+            if (promotionOpt.isPresent()) {
+                PromotionResponseDTO promotion = promotionOpt.get();
+                URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                        .path("/{id}")
+                        .buildAndExpand(promotion.getPromotionId())
+                        .toUri();
+                return ResponseEntity.created(location).body(promotion);
+            } else {
+                return ResponseEntity.badRequest()
+                        .body(Map.of("error", "Client non trouvé"));
+            }
+        } catch (Exception e) {
+            log.error("Erreur lors de la création de la promotion", e);
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * 3. Mettre à jour une promotion
+     * PUT /api/promotions/{id}
+     */
+    @PutMapping("/promotions/{id}")
+    public ResponseEntity<?> updatePromotion(@PathVariable UUID id,
+                                             @RequestBody PromotionDTO promotionDTO,
+                                             HttpServletRequest request) {
+        Optional<Promotion> promotionOpt = promotionService.getPromotionById(id);
+
+        if (promotionOpt.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        // 🛡️ SÉCURITÉ : Vérifier l'accès
+        if (!securityUtils.canAccessClientData(promotionOpt.get().getClient().getUserId(), request)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("error", "Accès non autorisé à cette promotion"));
+        }
+
+        try {
+            return promotionService.updatePromotion(id, promotionDTO)
+                    .<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (Exception e) {
+            log.error("Erreur lors de la mise à jour de la promotion", e);
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * 4. Supprimer une promotion
+     * DELETE /api/promotions/{id}
+     */
+    @DeleteMapping("/promotions/{id}")
+    public ResponseEntity<?> deletePromotion(@PathVariable UUID id, HttpServletRequest request) {
+        Optional<Promotion> promotionOpt = promotionService.getPromotionById(id);
+
+        if (promotionOpt.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        // 🛡️ SÉCURITÉ : Vérifier l'accès
+        if (!securityUtils.canAccessClientData(promotionOpt.get().getClient().getUserId(), request)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("error", "Accès non autorisé à cette promotion"));
+        }
+
+        promotionService.deletePromotion(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * 5. État de l'index de promotions du moteur de prix
+     * GET /api/clients/{clientId}/promotions/index
+     */
+    @GetMapping("/clients/{clientId}/promotions/index")
+    public ResponseEntity<?> getPromotionIndexStats(@PathVariable UUID clientId, HttpServletRequest request) {
+        if (!securityUtils.canAccessClientData(clientId, request)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("error", "Accès non autorisé à ce client"));
+        }
+
+        return ResponseEntity.ok(promotionEngine.getIndexStats(clientId));
+    }
+}
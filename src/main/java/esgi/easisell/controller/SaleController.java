@@ -1,11 +1,18 @@
 package esgi.easisell.controller;
 
 import esgi.easisell.dto.*;
+import esgi.easisell.entity.SaleReceipt;
+import esgi.easisell.model.Quantity;
+import esgi.easisell.service.ReceiptRenderService;
 import esgi.easisell.service.SaleService;
+import esgi.easisell.utils.ETags;
 import esgi.easisell.utils.SecurityUtils;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import esgi.easisell.service.OptimisticStockService;
@@ -14,6 +21,7 @@ import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/sales")
@@ -23,12 +31,21 @@ public class SaleController {
     private final SaleService saleService;
     private final SecurityUtils securityUtils;
     private final OptimisticStockService optimisticStockService;
+    private final ReceiptRenderService receiptRenderService;
+
+    // Un ticket de vente payée ne change plus : cache immuable côté caisse
+    private static final CacheControl RECEIPT_CACHE = CacheControl.maxAge(365, TimeUnit.DAYS)
+            .cachePrivate()
+            .immutable();
 
     // Constructeur explicite avec log
-    public SaleController(SaleService saleService, SecurityUtils securityUtils, OptimisticStockService optimisticStockService) {
+    public SaleController(SaleService saleService, SecurityUtils securityUtils,
+                          OptimisticStockService optimisticStockService,
+                          ReceiptRenderService receiptRenderService) {
         this.saleService = saleService;
         this.securityUtils = securityUtils;
         this.optimisticStockService = optimisticStockService;
+        this.receiptRenderService = receiptRenderService;
         log.info("========== SaleController initialisé ! ==========");
     }
 
@@ -220,6 +237,55 @@ public class SaleController {
         }
     }
 
+    /**
+     * Marquer une vente comme différée (paiement en plusieurs fois)
+     * PUT /api/sales/{saleId}/deferred
+     */
+    @PutMapping("/{saleId}/deferred")
+    public ResponseEntity<?> markSaleAsDeferred(
+            @PathVariable UUID saleId,
+            @RequestParam(defaultValue = "true") boolean deferred,
+            HttpServletRequest request) {
+
+        if (!canAccessSale(saleId, request)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("error", "Accès non autorisé à cette vente"));
+        }
+
+        try {
+            SaleResponseDTO sale = saleService.markSaleAsDeferred(saleId, deferred);
+            return ResponseEntity.ok(sale);
+        } catch (Exception e) {
+            log.error("Erreur lors du passage en vente différée", e);
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Ventes différées avec un reste à payer
+     * GET /api/sales/client/{clientId}/deferred
+     */
+    @GetMapping("/client/{clientId}/deferred")
+    public ResponseEntity<?> getDeferredSales(
+            @PathVariable UUID clientId,
+            HttpServletRequest request) {
+
+        if (!securityUtils.canAccessClientData(clientId, request)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("error", "Accès non autorisé à ce client"));
+        }
+
+        try {
+            List<SaleResponseDTO> sales = saleService.getDeferredSalesWithBalance(clientId);
+            return ResponseEntity.ok(sales);
+        } catch (Exception e) {
+            log.error("Erreur lors de la récupération des ventes différées", e);
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
     // ========== CONSULTATION ==========
 
     /**
@@ -355,6 +421,7 @@ public class SaleController {
     @GetMapping("/{saleId}/receipt")
     public ResponseEntity<?> getReceipt(
             @PathVariable UUID saleId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
             HttpServletRequest request) {
 
         if (!canAccessSale(saleId, request)) {
@@ -363,8 +430,19 @@ public class SaleController {
         }
 
         try {
-            ReceiptDTO receipt = saleService.generateReceiptData(saleId);
-            return ResponseEntity.ok(receipt);
+            SaleReceipt receipt = receiptRenderService.getReceipt(saleId);
+            if (ETags.matches(ifNoneMatch, receipt.getEtag())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(receipt.getEtag())
+                        .cacheControl(RECEIPT_CACHE)
+                        .build();
+            }
+
+            return ResponseEntity.ok()
+                    .eTag(receipt.getEtag())
+                    .cacheControl(RECEIPT_CACHE)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(receipt.getReceiptJson());
         } catch (Exception e) {
             log.error("Erreur lors de la génération du ticket", e);
             return ResponseEntity.badRequest()
@@ -372,6 +450,44 @@ public class SaleController {
         }
     }
 
+    /**
+     * Ticket au format ESC/POS, prêt pour une imprimante thermique
+     * GET /api/sales/{saleId}/receipt/escpos
+     */
+    @GetMapping("/{saleId}/receipt/escpos")
+    public ResponseEntity<?> getReceiptEscPos(
+            @PathVariable UUID saleId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            HttpServletRequest request) {
+
+        if (!canAccessSale(saleId, request)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("error", "Accès non autorisé à cette vente"));
+        }
+
+        try {
+            SaleReceipt receipt = receiptRenderService.getReceipt(saleId);
+            if (ETags.matches(ifNoneMatch, receipt.getEtag())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(receipt.getEtag())
+                        .cacheControl(RECEIPT_CACHE)
+                        .build();
+            }
+
+            return ResponseEntity.ok()
+                    .eTag(receipt.getEtag())
+                    .cacheControl(RECEIPT_CACHE)
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                    .header(HttpHeaders.CONTENT_DISPOSITION,
+                            "inline; filename=\"" + receipt.getReceiptNumber() + ".bin\"")
+                    .body(receipt.getEscPosPayload());
+        } catch (Exception e) {
+            log.error("Erreur lors de la génération du ticket ESC/POS", e);
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+
     // ========== MÉTHODES UTILITAIRES ==========
 
     /**
@@ -412,7 +528,7 @@ public class SaleController {
         }
 
         boolean available = saleService.checkProductAvailability(productId, clientId, quantity);
-        int currentStock = optimisticStockService.getTotalStockQuantity(productId, clientId);
+        BigDecimal currentStock = Quantity.toBigDecimal(optimisticStockService.getTotalStockMilli(productId, clientId));
 
         return ResponseEntity.ok(Map.of(
                 "available", available,
@@ -0,0 +1,83 @@
+package esgi.easisell.controller;
+
+import esgi.easisell.entity.SaleEventDeadLetter;
+import esgi.easisell.event.SaleEventPipeline;
+import esgi.easisell.repository.SaleEventDeadLetterRepository;
+import esgi.easisell.utils.SecurityUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/sale-events")
+@RequiredArgsConstructor
+@Slf4j
+public class SaleEventController {
+
+    private final SaleEventPipeline saleEventPipeline;
+    private final SaleEventDeadLetterRepository deadLetterRepository;
+    private final SecurityUtils securityUtils;
+
+    /**
+     * ADMIN ONLY - Métriques du pipeline (files, retard, échecs)
+     * GET /api/sale-events/metrics
+     */
+    @GetMapping("/metrics")
+    public ResponseEntity<?> getMetrics() {
+        if (!securityUtils.isCurrentUserAdmin()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("error", "Accès réservé aux administrateurs"));
+        }
+
+        return ResponseEntity.ok(saleEventPipeline.getMetrics());
+    }
+
+    /**
+     * ADMIN ONLY - Lettres mortes (les plus anciennes, ou celles d'un client)
+     * GET /api/sale-events/dead-letters
+     */
+    @GetMapping("/dead-letters")
+    public ResponseEntity<?> getDeadLetters(@RequestParam(required = false) UUID clientId) {
+        if (!securityUtils.isCurrentUserAdmin()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("error", "Accès réservé aux administrateurs"));
+        }
+
+        List<SaleEventDeadLetter> deadLetters = clientId != null
+                ? deadLetterRepository.findByClientIdOrderByCreatedAtDesc(clientId)
+                : deadLetterRepository.findTop100ByOrderByCreatedAtAsc();
+
+        return ResponseEntity.ok(Map.of(
+                "deadLetters", deadLetters,
+                "count", deadLetters.size()
+        ));
+    }
+
+    /**
+     * ADMIN ONLY - Rejouer une lettre morte
+     * POST /api/sale-events/dead-letters/{deadLetterId}/replay
+     */
+    @PostMapping("/dead-letters/{deadLetterId}/replay")
+    public ResponseEntity<?> replay(@PathVariable Long deadLetterId) {
+        if (!securityUtils.isCurrentUserAdmin()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("error", "Accès réservé aux administrateurs"));
+        }
+
+        try {
+            saleEventPipeline.replay(deadLetterId);
+            return ResponseEntity.accepted()
+                    .body(Map.of("message", "Événement remis en file"));
+        } catch (Exception e) {
+            log.error("Erreur lors du rejeu de la lettre morte {}", deadLetterId, e);
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", e.getMessage()));
+        }
+    }
+}
@@ -4,13 +4,16 @@ import esgi.easisell.dto.CreateStockItemDTO;
 import esgi.easisell.dto.StockItemResponseDTO;
 import esgi.easisell.dto.UpdateStockItemDTO;
 import esgi.easisell.entity.StockItem;
+import esgi.easisell.model.Quantity;
 import esgi.easisell.service.StockItemService;
+import esgi.easisell.service.stock.StockContentionTracker;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
@@ -25,6 +28,7 @@ import java.util.stream.Collectors;
 public class StockController {
 
     private final StockItemService stockItemService;
+    private final StockContentionTracker contentionTracker;
 
     @PostMapping
     public ResponseEntity<?> createStockItem(@RequestBody CreateStockItemDTO createStockItemDTO) {
@@ -73,8 +77,8 @@ public class StockController {
 
     @PatchMapping("/{stockItemId}/adjust-quantity")
     public ResponseEntity<?> adjustStockQuantity(@PathVariable UUID stockItemId,
-                                                 @RequestParam int quantityChange) {
-        boolean success = stockItemService.adjustStockQuantity(stockItemId, quantityChange);
+                                                 @RequestParam BigDecimal quantityChange) {
+        boolean success = stockItemService.adjustStockQuantity(stockItemId, Quantity.toMilli(quantityChange));
         if (success) {
             return ResponseEntity.ok(Map.of("message", "Quantité ajustée avec succès"));
         } else {
@@ -114,10 +118,10 @@ public class StockController {
     }
 
     @GetMapping("/client/{clientId}/product/{productId}/total-quantity")
-    public ResponseEntity<Map<String, Integer>> getTotalStockQuantity(
+    public ResponseEntity<Map<String, BigDecimal>> getTotalStockQuantity(
             @PathVariable UUID clientId,
             @PathVariable UUID productId) {
-        int totalQuantity = stockItemService.getTotalStockQuantityByProduct(clientId, productId);
+        BigDecimal totalQuantity = stockItemService.getTotalStockQuantityByProduct(clientId, productId);
         return ResponseEntity.ok(Map.of("totalQuantity", totalQuantity));
     }
 
@@ -152,7 +156,7 @@ public class StockController {
         dto.setHasBarcode(stockItem.getProduct().getBarcode() != null &&
                 !stockItem.getProduct().getBarcode().trim().isEmpty());
         dto.setClientId(stockItem.getClient().getUserId().toString()); // Corrigé : getUserId()
-        dto.setQuantity(stockItem.getQuantity());
+        dto.setQuantity(stockItem.getQuantityInUnits());
         dto.setReorderThreshold(stockItem.getReorderThreshold());
         dto.setPurchaseDate(stockItem.getPurchaseDate());
         dto.setExpirationDate(stockItem.getExpirationDate());
@@ -165,7 +169,7 @@ public class StockController {
 
         // Calculer les indicateurs
         dto.setLowStock(stockItem.getReorderThreshold() != null &&
-                stockItem.getQuantity() <= stockItem.getReorderThreshold());
+                stockItem.getQuantityMilli() <= stockItem.getReorderThreshold() * Quantity.MILLI);
 
         // Vérifier si l'item expire bientôt (7 jours par défaut)
         if (stockItem.getExpirationDate() != null) {
@@ -253,4 +257,21 @@ public class StockController {
                     .body(Map.of("error", e.getMessage()));
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Produits les plus contestés entre caisses (conflits de version sur la fenêtre glissante)
+     * GET /api/stock/client/{clientId}/contention
+     */
+    @GetMapping("/client/{clientId}/contention")
+    public ResponseEntity<?> getContendedProducts(
+            @PathVariable UUID clientId,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        return ResponseEntity.ok(Map.of(
+                "windowMs", contentionTracker.getWindowMs(),
+                "adaptive", contentionTracker.isAdaptive(),
+                "products", contentionTracker.hottest(clientId, limit),
+                "timestamp", System.currentTimeMillis()
+        ));
+    }
+}
@@ -0,0 +1,29 @@
+package esgi.easisell.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.UUID;
+
+/**
+ * Produit tel que synchronisé par les caisses : projection JPQL, ce qu'il faut pour vendre
+ * (prix, TVA, unité, code-barres) sans les informations du client
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogProductDTO {
+    private UUID productId;
+    private String name;
+    private String barcode;
+    private String brand;
+    private BigDecimal unitPrice;
+    private BigDecimal vatRate;
+    private UUID categoryId;
+    private Boolean isSoldByWeight;
+    private String unitLabel;
+    private Timestamp lastModified;
+}
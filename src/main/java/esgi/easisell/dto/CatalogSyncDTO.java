@@ -0,0 +1,43 @@
+package esgi.easisell.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Page de synchronisation du catalogue d'un client (complète, ou incrémentale avec changedSince)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogSyncDTO {
+
+    /**
+     * Version du catalogue du client (identique à l'ETag)
+     */
+    private String version;
+
+    private List<CatalogProductDTO> products;
+
+    /**
+     * Produits supprimés depuis changedSince (première page d'une synchronisation incrémentale)
+     */
+    private List<UUID> deletedProductIds;
+
+    private int size;
+    private boolean hasMore;
+
+    /**
+     * Curseur opaque de la page suivante (paramètre cursor), null sur la dernière page
+     */
+    private String nextCursor;
+
+    /**
+     * Valeur de changedSince à envoyer à la prochaine synchronisation (epoch ms, début de la synchronisation
+     * avec marge de recouvrement)
+     */
+    private long nextChangedSince;
+}
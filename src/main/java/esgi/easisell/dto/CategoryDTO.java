@@ -2,6 +2,8 @@ package esgi.easisell.dto;
 
 import lombok.Data;
 
+import java.math.BigDecimal;
+
 /**
  * DTO pour la création et la mise à jour des catégories
  */
@@ -9,4 +11,10 @@ import lombok.Data;
 public class CategoryDTO {
     private String name;
     private String clientId;
+    private BigDecimal vatRate;
+
+    /**
+     * Mise à jour : true pour supprimer le taux propre de la catégorie (retour au taux par défaut)
+     */
+    private Boolean clearVatRate;
 }
\ No newline at end of file
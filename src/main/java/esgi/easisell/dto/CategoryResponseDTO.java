@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
 import java.util.UUID;
 
 @Data
@@ -15,4 +16,5 @@ public class CategoryResponseDTO {
     private UUID clientId;
     private String clientName;
     private int productCount;
+    private BigDecimal vatRate;
 }
\ No newline at end of file
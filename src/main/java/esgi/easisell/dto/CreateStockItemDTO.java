@@ -9,7 +9,7 @@ import java.time.LocalDateTime;
 public class CreateStockItemDTO {
     private String productId;
     private String clientId;
-    private Integer quantity;
+    private BigDecimal quantity;
     private Integer reorderThreshold;
     private LocalDateTime purchaseDate;
     private LocalDateTime expirationDate;
@@ -0,0 +1,16 @@
+package esgi.easisell.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+public class PaymentReminderCampaignDTO {
+    private String contractStatus;
+    private String serviceName;
+    private BigDecimal amount;
+    private String currency;
+    private LocalDate dueDate;
+    private boolean isLate;
+}
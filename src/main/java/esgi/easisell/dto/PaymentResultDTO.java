@@ -16,6 +16,8 @@ public class PaymentResultDTO {
     private UUID saleId;
     private BigDecimal amountPaid;
     private BigDecimal changeAmount;
+    private BigDecimal remainingBalance;
+    private Boolean saleCompleted;
     private String currency;
     private String message;
     private String errorMessage;
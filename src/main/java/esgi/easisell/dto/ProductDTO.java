@@ -10,6 +10,12 @@ public class ProductDTO {
     private String barcode;
     private String brand;
     private BigDecimal unitPrice;
+    private BigDecimal vatRate;
+
+    /**
+     * Mise à jour : true pour supprimer le taux propre du produit (retour au taux de la catégorie)
+     */
+    private Boolean clearVatRate;
     private String categoryId;
     private String clientId;
     private Boolean isSoldByWeight = false;
@@ -12,6 +12,7 @@ public class ProductResponseDTO {
     private String barcode;
     private String brand;
     private BigDecimal unitPrice;
+    private BigDecimal vatRate;
 
     // Informations de la catégorie (aplaties)
     private UUID categoryId;
@@ -33,6 +34,7 @@ public class ProductResponseDTO {
         this.barcode = product.getBarcode();
         this.brand = product.getBrand();
         this.unitPrice = product.getUnitPrice();
+        this.vatRate = product.getVatRate();
 
         // Aplatir la catégorie
         if (product.getCategory() != null) {
@@ -0,0 +1,29 @@
+package esgi.easisell.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Suggestion de l'autocomplétion caisse : juste de quoi afficher et ajouter le produit au panier
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSuggestionDTO {
+    private UUID productId;
+    private String name;
+    private String brand;
+    private String barcode;
+    private BigDecimal unitPrice;
+    private Boolean isSoldByWeight;
+    private String unitLabel;
+
+    /**
+     * Lignes de vente du jour : critère de classement des suggestions
+     */
+    private long soldToday;
+}
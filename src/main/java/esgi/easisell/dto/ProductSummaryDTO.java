@@ -0,0 +1,31 @@
+package esgi.easisell.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Vue légère d'un produit pour les listes paginées : projection JPQL, sans catégorie ni client
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSummaryDTO {
+    private UUID productId;
+    private String name;
+    private String barcode;
+    private String brand;
+    private BigDecimal unitPrice;
+    private Boolean isSoldByWeight;
+    private String unitLabel;
+
+    /**
+     * Prix formaté : "4.50 €/kg", "2.80 €/pièce"
+     */
+    public String getFormattedPrice() {
+        return String.format("%.2f €/%s", unitPrice, unitLabel);
+    }
+}
@@ -0,0 +1,18 @@
+package esgi.easisell.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.UUID;
+
+@Data
+public class PromotionDTO {
+    private String promotionCode;
+    private String description;
+    private String discountType;
+    private BigDecimal discountValue;
+    private Timestamp startDate;
+    private Timestamp endDate;
+    private UUID productId;
+}
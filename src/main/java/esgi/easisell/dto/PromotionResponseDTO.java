@@ -0,0 +1,35 @@
+package esgi.easisell.dto;
+
+import esgi.easisell.entity.Promotion;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.UUID;
+
+@Data
+public class PromotionResponseDTO {
+    private UUID promotionId;
+    private String promotionCode;
+    private String description;
+    private String discountType;
+    private BigDecimal discountValue;
+    private Timestamp startDate;
+    private Timestamp endDate;
+    private UUID productId;
+    private String productName;
+    private UUID clientId;
+
+    public PromotionResponseDTO(Promotion promotion) {
+        this.promotionId = promotion.getPromotionId();
+        this.promotionCode = promotion.getPromotionCode();
+        this.description = promotion.getDescription();
+        this.discountType = promotion.getDiscountType();
+        this.discountValue = promotion.getDiscountValue();
+        this.startDate = promotion.getStartDate();
+        this.endDate = promotion.getEndDate();
+        this.productId = promotion.getProduct().getProductId();
+        this.productName = promotion.getProduct().getName();
+        this.clientId = promotion.getClient().getUserId();
+    }
+}
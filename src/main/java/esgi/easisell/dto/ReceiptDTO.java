@@ -20,6 +20,7 @@ public class ReceiptDTO {
     private List<ReceiptItemDTO> items;
     private BigDecimal subtotal;
     private BigDecimal taxAmount;
+    private List<TaxLineDTO> taxLines;
     private BigDecimal totalAmount;
     private List<PaymentInfoDTO> payments;
     private BigDecimal changeAmount;
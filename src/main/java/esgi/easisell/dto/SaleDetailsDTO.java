@@ -21,4 +21,5 @@ public class SaleDetailsDTO {
     private List<SaleItemResponseDTO> items;
     private List<PaymentInfoDTO> payments;
     private Boolean isPaid;
+    private BigDecimal balanceDue;
 }
\ No newline at end of file
@@ -20,6 +20,7 @@ public class SaleItemResponseDTO {
     private BigDecimal unitPrice;
     private BigDecimal priceAtSale;
     private BigDecimal totalPrice;
+    private BigDecimal discountAmount;
 
     // ========== NOUVELLES PROPRIÉTÉS POUR UNITÉS ==========
 
@@ -21,4 +21,5 @@ public class SaleResponseDTO {
     private String clientUsername;
     private int itemCount;
     private Boolean isPaid;
+    private BigDecimal balanceDue;
 }
\ No newline at end of file
@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 @Data
 @Builder
@@ -13,7 +14,11 @@ import java.math.BigDecimal;
 @AllArgsConstructor
 public class SaleTotalDTO {
     private BigDecimal subtotal;
+    /**
+     * TVA incluse dans les prix (TTC)
+     */
     private BigDecimal taxAmount;
+    private List<TaxLineDTO> taxLines;
     private BigDecimal discountAmount;
     private BigDecimal totalAmount;
     private String currency;
@@ -12,7 +12,7 @@ public class StockItemResponseDTO {
     private String productName;
     private String productBarcode;
     private String clientId;
-    private Integer quantity;
+    private BigDecimal quantity;
     private Integer reorderThreshold;
     private Timestamp purchaseDate;
     private Timestamp expirationDate;
@@ -0,0 +1,25 @@
+package esgi.easisell.dto;
+
+import esgi.easisell.service.tax.TaxBucket;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Ligne de ventilation de TVA : taux, base HT, TVA et total TTC
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaxLineDTO {
+    private BigDecimal rate;
+    private BigDecimal netAmount;
+    private BigDecimal taxAmount;
+    private BigDecimal grossAmount;
+
+    public static TaxLineDTO from(TaxBucket bucket) {
+        return new TaxLineDTO(bucket.rate(), bucket.netAmount(), bucket.taxAmount(), bucket.grossAmount());
+    }
+}
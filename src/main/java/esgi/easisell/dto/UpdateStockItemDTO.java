@@ -7,7 +7,7 @@ import java.time.LocalDateTime;
 
 @Data
 public class UpdateStockItemDTO {
-    private Integer quantity;
+    private BigDecimal quantity;
     private Integer reorderThreshold;
     private LocalDateTime purchaseDate;
     private LocalDateTime expirationDate;
@@ -16,6 +16,8 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.math.BigDecimal;
+import java.sql.Timestamp;
 import java.util.*;
 
 @Data
@@ -32,6 +34,18 @@ public class Category {
     @Column(nullable = false)
     private String name;
 
+    /**
+     * Taux de TVA en pourcentage (ex. 5.50, 20.00) ; null = taux par défaut
+     */
+    @Column(name = "vat_rate", precision = 5, scale = 2)
+    private BigDecimal vatRate;
+
+    /**
+     * Dernière modification : le nom de catégorie figure dans le catalogue, elle entre dans sa version (ETag)
+     */
+    @Column(name = "last_modified")
+    private Timestamp lastModified;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "client_id", nullable = false)
     @ToString.Exclude
@@ -42,4 +56,10 @@ public class Category {
     @ToString.Exclude
     @JsonIgnoreProperties({"category", "client", "stockItems", "promotions"})
     private List<Product> products = new ArrayList<>();
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        this.lastModified = new Timestamp(System.currentTimeMillis());
+    }
 }
\ No newline at end of file
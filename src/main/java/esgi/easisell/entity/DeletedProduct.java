@@ -0,0 +1,44 @@
+package esgi.easisell.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+
+/**
+ * Trace d'un produit supprimé : permet aux caisses en synchronisation incrémentale
+ * (changedSince) de retirer le produit de leur catalogue local.
+ */
+@Entity
+@Table(name = "DELETED_PRODUCTS",
+        indexes = {
+                @Index(name = "idx_deleted_product_client_date", columnList = "client_id, deleted_at")
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeletedProduct {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "product_id", nullable = false)
+    private UUID productId;
+
+    @Column(name = "client_id", nullable = false)
+    private UUID clientId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private Timestamp deletedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (this.deletedAt == null) {
+            this.deletedAt = new Timestamp(System.currentTimeMillis());
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package esgi.easisell.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Campagne de rappels de paiement : les clients ciblés sont parcourus par ordre d'identifiant,
+ * et le curseur (last_client_id) avance dans la même transaction que les emails mis en outbox.
+ * Après un arrêt brutal, la campagne reprend au curseur sans doublon.
+ */
+@Entity
+@Table(name = "EMAIL_CAMPAIGN", indexes = {
+        @Index(name = "idx_email_campaign_status", columnList = "status, updated_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmailCampaign {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "campaign_id")
+    private UUID campaignId;
+
+    @Column(name = "contract_status", nullable = false)
+    private String contractStatus;
+
+    @Column(name = "service_name", nullable = false)
+    private String serviceName;
+
+    @Column(name = "amount", nullable = false, precision = 10, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "currency", nullable = false, length = 10)
+    private String currency;
+
+    @Column(name = "due_date", nullable = false)
+    private LocalDate dueDate;
+
+    @Column(name = "is_late", nullable = false)
+    @Builder.Default
+    private Boolean late = false;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    @Builder.Default
+    private Status status = Status.RUNNING;
+
+    @Column(name = "total_targets", nullable = false)
+    @Builder.Default
+    private Integer totalTargets = 0;
+
+    @Column(name = "queued_count", nullable = false)
+    @Builder.Default
+    private Integer queuedCount = 0;
+
+    @Column(name = "skipped_count", nullable = false)
+    @Builder.Default
+    private Integer skippedCount = 0;
+
+    /**
+     * Dernier client traité (curseur de reprise)
+     */
+    @Column(name = "last_client_id")
+    private UUID lastClientId;
+
+    @Column(name = "owner_node", length = 100)
+    private String ownerNode;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Version
+    @Column(name = "version")
+    private Long version;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Timestamp createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Timestamp updatedAt;
+
+    @Column(name = "completed_at")
+    private Timestamp completedAt;
+
+    public enum Status {
+        RUNNING, COMPLETED, FAILED, CANCELLED
+    }
+}
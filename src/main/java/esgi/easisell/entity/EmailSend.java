@@ -14,16 +14,29 @@ package esgi.easisell.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
 
 import java.sql.Timestamp;
 import java.util.UUID;
 
+/**
+ * Envoi d'un email à un destinataire, servant aussi d'outbox : la ligne est insérée en PENDING
+ * sur le chemin HTTP, puis réservée et envoyée par EmailOutboxPoller.
+ */
 @Data
 @Entity
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "EMAIL_SEND")
+@Table(name = "EMAIL_SEND", indexes = {
+        @Index(name = "idx_email_send_due", columnList = "status, next_attempt_at")
+})
 public class EmailSend {
+
+    public static final String STATUS_PENDING = "PENDING";
+    public static final String STATUS_SENDING = "SENDING";
+    public static final String STATUS_SENT = "SENT";
+    public static final String STATUS_DEAD = "DEAD";
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     @Column(name = "email_send_id")
@@ -35,11 +48,23 @@ public class EmailSend {
     private Email email;
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "client_id", nullable = false)
+    @JoinColumn(name = "client_id")
     @ToString.Exclude
     private Client client;
 
-    @Column(nullable = false)
+    /**
+     * Adresse de destination (les notifications admin n'ont pas de client associé)
+     */
+    @Column(name = "recipient", nullable = false)
+    private String recipient;
+
+    /**
+     * Campagne d'origine (rappels en masse), pour le suivi de progression
+     */
+    @Column(name = "campaign_id")
+    private UUID campaignId;
+
+    @Column
     private Timestamp sentAt;
 
     @Column(nullable = false)
@@ -47,4 +72,23 @@ public class EmailSend {
 
     @Column(nullable = false)
     private String emailType;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "next_attempt_at")
+    private Timestamp nextAttemptAt;
+
+    @Column(name = "claimed_by", length = 100)
+    private String claimedBy;
+
+    @Column(name = "claimed_at")
+    private Timestamp claimedAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private Timestamp createdAt;
 }
\ No newline at end of file
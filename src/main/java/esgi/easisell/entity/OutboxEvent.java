@@ -0,0 +1,92 @@
+/**
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ * PROJET EASISELL - PLATEFORME DE GESTION COMMERCIALE
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ * @file        : OutboxEvent.java
+ * @description : Entité événement sortant (outbox transactionnelle)
+ * @author      : Chancy MOUYABI
+ * @version     : v1.0.0
+ * @date        : 19/10/2026
+ * @package     : esgi.easisell.entity
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ */
+package esgi.easisell.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+
+/**
+ * Événement écrit dans la même transaction que la vente ou la mise à jour de stock,
+ * puis relayé par lots vers les consommateurs (OutboxRelay).
+ */
+@Entity
+@Table(name = "OUTBOX", indexes = {
+        @Index(name = "idx_outbox_status", columnList = "status, outbox_id"),
+        @Index(name = "idx_outbox_delivered", columnList = "status, delivered_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "outbox_id")
+    private Long outboxId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 30)
+    private EventType eventType;
+
+    /**
+     * Identifiant de l'objet concerné (vente ou lot de stock)
+     */
+    @Column(name = "aggregate_id", nullable = false)
+    private UUID aggregateId;
+
+    @Column(name = "client_id", nullable = false)
+    private UUID clientId;
+
+    @Lob
+    @Column(name = "payload", nullable = false)
+    @ToString.Exclude
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    @Builder.Default
+    private Status status = Status.PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    @Column(name = "claimed_by", length = 100)
+    private String claimedBy;
+
+    @Column(name = "claimed_at")
+    private Timestamp claimedAt;
+
+    @Column(name = "delivered_at")
+    private Timestamp deliveredAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Timestamp createdAt;
+
+    public enum EventType {
+        SALE_COMPLETED, STOCK_UPDATED
+    }
+
+    public enum Status {
+        PENDING, CLAIMED, DELIVERED, FAILED
+    }
+}
@@ -43,6 +43,12 @@ public class Payment {
     @Column(nullable = false)
     private Timestamp paymentDate; // Ajout recommandé
 
+    /**
+     * Monnaie rendue sur ce paiement (espèces)
+     */
+    @Column(precision = 19, scale = 2)
+    private BigDecimal changeAmount;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "sale_id", nullable = false)
     @ToString.Exclude
@@ -15,8 +15,12 @@ package esgi.easisell.entity;
 import jakarta.persistence.*;
 import lombok.*;
 
+import esgi.easisell.model.Money;
+import esgi.easisell.model.Quantity;
+import esgi.easisell.model.SearchText;
+
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.sql.Timestamp;
 import java.util.*;
 
 @Data
@@ -26,6 +30,11 @@ import java.util.*;
 @Table(name = "PRODUCT",
         uniqueConstraints = {
                 @UniqueConstraint(columnNames = {"client_id", "barcode"})
+        },
+        indexes = {
+                @Index(name = "idx_product_client_search_name", columnList = "client_id, search_name"),
+                @Index(name = "idx_product_client_sale_type", columnList = "client_id, is_sold_by_weight, unit_label"),
+                @Index(name = "idx_product_client_last_modified", columnList = "client_id, last_modified")
         })
 public class Product {
     @Id
@@ -47,6 +56,12 @@ public class Product {
     @Column(nullable = false, precision = 19, scale = 2)
     private BigDecimal unitPrice;
 
+    /**
+     * Taux de TVA propre au produit ; null = taux de la catégorie
+     */
+    @Column(name = "vat_rate", precision = 5, scale = 2)
+    private BigDecimal vatRate;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id")
     @ToString.Exclude
@@ -77,6 +92,29 @@ public class Product {
     @Column(length = 10, nullable = false)
     private String unitLabel = "pièce";
 
+    /**
+     * Dernière modification : version du catalogue et synchronisation incrémentale des caisses
+     */
+    @Column(name = "last_modified")
+    private Timestamp lastModified;
+
+    /**
+     * Formes de recherche (sans accents, minuscules) indexées en FULLTEXT ; tenues à jour à chaque écriture
+     */
+    @Column(name = "search_name")
+    @Setter(AccessLevel.NONE)
+    private String searchName;
+
+    @Column(name = "search_brand")
+    @Setter(AccessLevel.NONE)
+    private String searchBrand;
+
+    @Lob
+    @Column(name = "search_description")
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private String searchDescription;
+
     /**
      * Calcule le prix total pour une quantité (avec 2 décimales)
      */
@@ -84,7 +122,7 @@ public class Product {
         if (quantity == null || unitPrice == null) {
             return BigDecimal.ZERO;
         }
-        return unitPrice.multiply(quantity).setScale(2, RoundingMode.HALF_UP);
+        return Money.toBigDecimal(Money.lineTotal(Money.toCents(unitPrice), Quantity.toMilli(quantity)));
     }
 
     /**
@@ -94,6 +132,20 @@ public class Product {
         return String.format("%.2f €/%s", unitPrice, unitLabel);
     }
 
+    //Callback pour horodater et recalculer les formes de recherche à chaque création / modification
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        this.lastModified = new Timestamp(System.currentTimeMillis());
+        refreshSearchText();
+    }
+
+    protected void refreshSearchText() {
+        this.searchName = SearchText.normalize(name);
+        this.searchBrand = SearchText.normalize(brand);
+        this.searchDescription = SearchText.normalize(description);
+    }
+
     // Getters/Setters
     public Boolean getIsSoldByWeight() { return isSoldByWeight; }
     public void setIsSoldByWeight(Boolean isSoldByWeight) { this.isSoldByWeight = isSoldByWeight; }
@@ -39,6 +39,13 @@ public class Sale {
     @Column(nullable = false)
     private Boolean isDeferred = false;
 
+    /**
+     * Reste à payer, décrémenté à chaque encaissement (espèces + carte, paiements différés).
+     * Null pour les ventes antérieures au paiement fractionné.
+     */
+    @Column(precision = 19, scale = 2)
+    private BigDecimal balanceDue;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "client_id", nullable = false)
     @ToString.Exclude
@@ -58,7 +65,25 @@ public class Sale {
         this.saleTimestamp = saleTimestamp;
         this.totalAmount = totalAmount;
         this.isDeferred = isDeferred;
+        this.balanceDue = totalAmount;
         this.saleItems = new ArrayList<>();
         this.payments = new ArrayList<>();
     }
+
+    /**
+     * Reste à payer, y compris pour les ventes antérieures (sans colonne renseignée)
+     */
+    public BigDecimal getOutstandingBalance() {
+        if (balanceDue != null) {
+            return balanceDue;
+        }
+        return payments == null || payments.isEmpty() ? totalAmount : BigDecimal.ZERO;
+    }
+
+    /**
+     * Vente soldée : au moins un paiement et plus rien à payer
+     */
+    public boolean isFullyPaid() {
+        return payments != null && !payments.isEmpty() && getOutstandingBalance().signum() <= 0;
+    }
 }
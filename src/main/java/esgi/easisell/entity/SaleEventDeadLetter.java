@@ -0,0 +1,68 @@
+/**
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ * PROJET EASISELL - PLATEFORME DE GESTION COMMERCIALE
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ * @file        : SaleEventDeadLetter.java
+ * @description : Entité événement de vente non traité (lettre morte)
+ * @author      : Chancy MOUYABI
+ * @version     : v1.0.0
+ * @date        : 19/10/2026
+ * @package     : esgi.easisell.entity
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ */
+package esgi.easisell.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+
+/**
+ * Événement de vente qu'un consommateur n'a pas pu traiter après toutes ses tentatives,
+ * ou qui n'a pas pu être mis en file (file pleine). Rejouable depuis l'API d'administration.
+ */
+@Entity
+@Table(name = "SALE_EVENT_DEAD_LETTER", indexes = {
+        @Index(name = "idx_dead_letter_client", columnList = "client_id, created_at"),
+        @Index(name = "idx_dead_letter_sale", columnList = "sale_id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SaleEventDeadLetter {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "dead_letter_id")
+    private Long deadLetterId;
+
+    @Column(name = "sale_id", nullable = false)
+    private UUID saleId;
+
+    @Column(name = "client_id", nullable = false)
+    private UUID clientId;
+
+    /**
+     * Consommateur en échec, ou null si l'événement n'a jamais été mis en file
+     */
+    @Column(name = "consumer_name", length = 100)
+    private String consumerName;
+
+    @Lob
+    @Column(name = "payload", nullable = false)
+    @ToString.Exclude
+    private String payload;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Timestamp createdAt;
+}
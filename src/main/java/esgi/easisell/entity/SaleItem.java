@@ -36,6 +36,12 @@ public class SaleItem {
     @Column(nullable = false, precision = 19, scale = 2)
     private BigDecimal priceAtSale;
 
+    /**
+     * Remise promotionnelle déjà déduite de priceAtSale (null pour les lignes antérieures)
+     */
+    @Column(precision = 19, scale = 2)
+    private BigDecimal discountAmount;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "sale_id", nullable = false)
     @ToString.Exclude
@@ -0,0 +1,75 @@
+/**
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ * PROJET EASISELL - PLATEFORME DE GESTION COMMERCIALE
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ * @file        : SaleReceipt.java
+ * @description : Entité ticket de caisse pré-rendu (JSON + ESC/POS)
+ * @author      : Chancy MOUYABI
+ * @version     : v1.0.0
+ * @date        : 19/10/2026
+ * @package     : esgi.easisell.entity
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ */
+package esgi.easisell.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+
+/**
+ * Ticket de caisse rendu une seule fois au moment du paiement.
+ * Une vente payée est immuable : le ticket stocké est servi tel quel (ETag + cache immuable).
+ */
+@Entity
+@Table(name = "SALE_RECEIPT", indexes = {
+        @Index(name = "idx_sale_receipt_client", columnList = "client_id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SaleReceipt {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "receipt_id")
+    private UUID receiptId;
+
+    @Column(name = "sale_id", nullable = false, unique = true)
+    private UUID saleId;
+
+    @Column(name = "client_id", nullable = false)
+    private UUID clientId;
+
+    @Column(name = "receipt_number", nullable = false, length = 20)
+    private String receiptNumber;
+
+    /**
+     * ReceiptDTO sérialisé, servi directement par GET /api/sales/{saleId}/receipt
+     */
+    @Lob
+    @Column(name = "receipt_json", nullable = false)
+    @ToString.Exclude
+    private String receiptJson;
+
+    /**
+     * Flux ESC/POS prêt à envoyer sur une imprimante thermique
+     */
+    @Lob
+    @Column(name = "escpos_payload", nullable = false)
+    @ToString.Exclude
+    private byte[] escPosPayload;
+
+    /**
+     * Empreinte MD5 du contenu, utilisée comme ETag HTTP
+     */
+    @Column(name = "etag", nullable = false, length = 32)
+    private String etag;
+
+    @CreationTimestamp
+    @Column(name = "rendered_at", nullable = false, updatable = false)
+    private Timestamp renderedAt;
+}
@@ -58,6 +58,13 @@ public class StockAuditLog {
     @Column(name = "new_quantity")
     private Integer newQuantity;
 
+    // Quantités en millièmes d'unité (produits au poids)
+    @Column(name = "old_quantity_milli")
+    private Long oldQuantityMilli;
+
+    @Column(name = "new_quantity_milli")
+    private Long newQuantityMilli;
+
     @Column(name = "old_version")
     private Long oldVersion;
 
@@ -12,6 +12,7 @@
  */
 package esgi.easisell.entity;
 
+import esgi.easisell.model.Quantity;
 import jakarta.persistence.*;
 import lombok.*;
 import java.math.BigDecimal;
@@ -29,9 +30,19 @@ public class StockItem {
     @Column(name = "stock_item_id")
     private UUID stockItemId;
 
+    /**
+     * Quantité en unités entières (arrondie à l'inférieur), conservée pour compatibilité.
+     * La référence est quantityMilli.
+     */
     @Column(nullable = false)
     private Integer quantity;
 
+    /**
+     * Quantité en millièmes d'unité : 2.350 kg = 2350, 3 pièces = 3000
+     */
+    @Column(name = "quantity_milli")
+    private Long quantityMilli;
+
     private Integer reorderThreshold;
     private Timestamp purchaseDate;
     private Timestamp expirationDate;
@@ -60,10 +71,41 @@ public class StockItem {
     @Column(name = "last_modified")
     private Timestamp lastModified;
 
+    /**
+     * Quantité en unités entières : alimente aussi quantityMilli
+     */
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+        this.quantityMilli = quantity != null ? quantity * Quantity.MILLI : null;
+    }
+
+    public void setQuantityMilli(Long quantityMilli) {
+        this.quantityMilli = quantityMilli;
+        this.quantity = quantityMilli != null ? (int) Math.floorDiv(quantityMilli, Quantity.MILLI) : null;
+    }
+
+    /**
+     * Lots antérieurs à la migration : déduit de la quantité entière
+     */
+    public Long getQuantityMilli() {
+        if (quantityMilli == null && quantity != null) {
+            return quantity * Quantity.MILLI;
+        }
+        return quantityMilli;
+    }
+
+    public BigDecimal getQuantityInUnits() {
+        Long milli = getQuantityMilli();
+        return milli != null ? Quantity.toBigDecimal(milli) : null;
+    }
+
     //Callback pour mettre à jour automatiquement le timestamp
     @PreUpdate
     @PrePersist
     protected void onUpdate() {
         this.lastModified = new Timestamp(System.currentTimeMillis());
+        if (quantityMilli == null && quantity != null) {
+            this.quantityMilli = quantity * Quantity.MILLI;
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,10 @@
+package esgi.easisell.event;
+
+import java.util.UUID;
+
+/**
+ * Publié à chaque création / modification / suppression de promotion.
+ * Le moteur de prix met à jour l'index du client après le commit.
+ */
+public record PromotionChangedEvent(UUID clientId, UUID promotionId, boolean deleted) {
+}
@@ -1,15 +1,18 @@
 package esgi.easisell.event;
 
-import esgi.easisell.entity.Sale;
 import lombok.Getter;
 import org.springframework.context.ApplicationEvent;
 
+/**
+ * Publié dans la transaction de paiement ; ne transporte qu'une copie immuable de la vente.
+ * Les consommateurs sont appelés après le commit par {@link SaleEventPipeline}.
+ */
 @Getter
 public class SaleCompletedEvent extends ApplicationEvent {
-    private final Sale sale;
+    private final SaleSnapshot snapshot;
 
-    public SaleCompletedEvent(Sale sale) {
-        super(sale);
-        this.sale = sale;
+    public SaleCompletedEvent(SaleSnapshot snapshot) {
+        super(snapshot);
+        this.snapshot = snapshot;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,15 @@
+package esgi.easisell.event;
+
+/**
+ * Consommateur asynchrone des ventes finalisées (tickets, agrégats, alertes, exports...).
+ * Appelé hors transaction de paiement, dans l'ordre des ventes d'un même client.
+ */
+public interface SaleEventConsumer {
+
+    /**
+     * Nom stable du consommateur, utilisé dans la table de lettres mortes
+     */
+    String getConsumerName();
+
+    void consume(SaleSnapshot snapshot) throws Exception;
+}
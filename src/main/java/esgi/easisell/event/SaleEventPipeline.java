@@ -0,0 +1,257 @@
+package esgi.easisell.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import esgi.easisell.entity.SaleEventDeadLetter;
+import esgi.easisell.repository.SaleEventDeadLetterRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ✅ PIPELINE ASYNCHRONE DES VENTES FINALISÉES
+ * Reçoit la copie immuable de la vente après le commit du paiement et la distribue aux
+ * {@link SaleEventConsumer} sur des files bornées. Chaque client est toujours routé vers la
+ * même file (un seul thread par file) : les ventes d'un même client sont traitées dans l'ordre.
+ * Un consommateur en échec est relancé avec un délai exponentiel, puis l'événement part
+ * dans SALE_EVENT_DEAD_LETTER.
+ */
+@Component
+@Slf4j
+public class SaleEventPipeline {
+
+    private final List<SaleEventConsumer> consumers;
+    private final SaleEventDeadLetterRepository deadLetterRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate newTransaction;
+
+    private final ThreadPoolExecutor[] lanes;
+    private final int maxAttempts;
+    private final long retryDelayMs;
+
+    // Métriques
+    private final LongAdder published = new LongAdder();
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder deadLettered = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final AtomicLong lastLagMs = new AtomicLong();
+    private final AtomicLong maxLagMs = new AtomicLong();
+
+    public SaleEventPipeline(List<SaleEventConsumer> consumers,
+                             SaleEventDeadLetterRepository deadLetterRepository,
+                             ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${easisell.events.lanes:4}") int laneCount,
+                             @Value("${easisell.events.queue-capacity:1000}") int queueCapacity,
+                             @Value("${easisell.events.max-attempts:3}") int maxAttempts,
+                             @Value("${easisell.events.retry-delay-ms:200}") long retryDelayMs) {
+        this.consumers = consumers;
+        this.deadLetterRepository = deadLetterRepository;
+        this.objectMapper = objectMapper;
+        this.maxAttempts = maxAttempts;
+        this.retryDelayMs = retryDelayMs;
+
+        // Les événements sont publiés en AFTER_COMMIT : toute écriture doit ouvrir sa propre transaction
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        this.lanes = new ThreadPoolExecutor[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            String threadName = "sale-events-" + i;
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    runnable -> new Thread(runnable, threadName));
+        }
+
+        log.info("📬 Pipeline d'événements de vente : {} files x {} places, {} consommateur(s)",
+                laneCount, queueCapacity, consumers.size());
+    }
+
+    /**
+     * ✅ Point d'entrée : uniquement après le commit du paiement
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSaleCompleted(SaleCompletedEvent event) {
+        submit(event.getSnapshot());
+    }
+
+    public void submit(SaleSnapshot snapshot) {
+        published.increment();
+        long enqueuedAt = System.nanoTime();
+
+        try {
+            laneFor(snapshot.clientId()).execute(() -> dispatch(snapshot, enqueuedAt));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.error("❌ File d'événements pleine, vente {} mise en lettre morte", snapshot.saleId());
+            deadLetter(snapshot, null, 0, "File d'événements pleine");
+        }
+    }
+
+    /**
+     * ✅ Rejoue une lettre morte puis la supprime, une fois l'événement en file :
+     * file pleine → IllegalStateException, la lettre morte reste en place pour un nouvel essai
+     */
+    public void replay(Long deadLetterId) {
+        SaleEventDeadLetter deadLetter = deadLetterRepository.findById(deadLetterId)
+                .orElseThrow(() -> new IllegalArgumentException("Lettre morte introuvable: " + deadLetterId));
+
+        SaleSnapshot snapshot;
+        try {
+            snapshot = objectMapper.readValue(deadLetter.getPayload(), SaleSnapshot.class);
+        } catch (Exception e) {
+            throw new IllegalStateException("Événement illisible: " + e.getMessage(), e);
+        }
+
+        Runnable task;
+        if (deadLetter.getConsumerName() == null) {
+            long enqueuedAt = System.nanoTime();
+            task = () -> dispatch(snapshot, enqueuedAt);
+        } else {
+            SaleEventConsumer consumer = consumers.stream()
+                    .filter(c -> c.getConsumerName().equals(deadLetter.getConsumerName()))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException(
+                            "Consommateur inconnu: " + deadLetter.getConsumerName()));
+            task = () -> deliver(consumer, snapshot);
+        }
+
+        try {
+            laneFor(snapshot.clientId()).execute(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new IllegalStateException("File d'événements pleine, lettre morte " + deadLetterId
+                    + " conservée : réessayez plus tard", e);
+        }
+        if (deadLetter.getConsumerName() == null) {
+            published.increment();
+        }
+
+        // Un nouvel échec du consommateur crée sa propre lettre morte : celle-ci peut partir
+        deadLetterRepository.delete(deadLetter);
+    }
+
+    public Map<String, Object> getMetrics() {
+        int queued = 0;
+        int active = 0;
+        for (ThreadPoolExecutor lane : lanes) {
+            queued += lane.getQueue().size();
+            active += lane.getActiveCount();
+        }
+
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("published", published.sum());
+        metrics.put("processed", processed.sum());
+        metrics.put("retried", retried.sum());
+        metrics.put("deadLettered", deadLettered.sum());
+        metrics.put("rejected", rejected.sum());
+        metrics.put("queued", queued);
+        metrics.put("inFlight", active);
+        metrics.put("lastLagMs", lastLagMs.get());
+        metrics.put("maxLagMs", maxLagMs.get());
+        metrics.put("lanes", lanes.length);
+        return metrics;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+        for (ThreadPoolExecutor lane : lanes) {
+            try {
+                if (!lane.awaitTermination(10, TimeUnit.SECONDS)) {
+                    log.warn("⚠️ {} événement(s) de vente non traités à l'arrêt", lane.getQueue().size());
+                    lane.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                lane.shutdownNow();
+            }
+        }
+    }
+
+    // ========== MÉTHODES PRIVÉES ==========
+
+    private ThreadPoolExecutor laneFor(UUID clientId) {
+        return lanes[Math.floorMod(clientId.hashCode(), lanes.length)];
+    }
+
+    private void dispatch(SaleSnapshot snapshot, long enqueuedAt) {
+        long lag = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - enqueuedAt);
+        lastLagMs.set(lag);
+        maxLagMs.accumulateAndGet(lag, Math::max);
+
+        for (SaleEventConsumer consumer : consumers) {
+            deliver(consumer, snapshot);
+        }
+        processed.increment();
+    }
+
+    private void deliver(SaleEventConsumer consumer, SaleSnapshot snapshot) {
+        long delay = retryDelayMs;
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                consumer.consume(snapshot);
+                return;
+            } catch (Exception e) {
+                if (attempt >= maxAttempts) {
+                    log.error("❌ {} en échec définitif pour la vente {}: {}",
+                            consumer.getConsumerName(), snapshot.saleId(), e.getMessage());
+                    deadLetter(snapshot, consumer.getConsumerName(), attempt, e.getMessage());
+                    return;
+                }
+
+                retried.increment();
+                log.warn("⚠️ {} en échec pour la vente {} (tentative {}/{}), nouvel essai dans {} ms",
+                        consumer.getConsumerName(), snapshot.saleId(), attempt, maxAttempts, delay);
+
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    deadLetter(snapshot, consumer.getConsumerName(), attempt, "Interrompu: " + e.getMessage());
+                    return;
+                }
+                delay *= 2;
+            }
+        }
+    }
+
+    private void deadLetter(SaleSnapshot snapshot, String consumerName, int attempts, String error) {
+        deadLettered.increment();
+        try {
+            String payload = objectMapper.writeValueAsString(snapshot);
+            newTransaction.executeWithoutResult(status -> deadLetterRepository.save(SaleEventDeadLetter.builder()
+                    .saleId(snapshot.saleId())
+                    .clientId(snapshot.clientId())
+                    .consumerName(consumerName)
+                    .payload(payload)
+                    .attempts(attempts)
+                    .lastError(error != null && error.length() > 1000 ? error.substring(0, 1000) : error)
+                    .build()));
+        } catch (Exception e) {
+            // Dernier recours : l'événement n'est plus que dans les logs
+            log.error("❌ Impossible d'enregistrer la lettre morte pour la vente {}: {}",
+                    snapshot.saleId(), e.getMessage());
+        }
+    }
+}
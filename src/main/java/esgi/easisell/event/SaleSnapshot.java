@@ -0,0 +1,68 @@
+package esgi.easisell.event;
+
+import esgi.easisell.entity.Payment;
+import esgi.easisell.entity.Sale;
+import esgi.easisell.entity.SaleItem;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Copie immuable d'une vente finalisée, détachée de la session JPA.
+ * C'est ce qui circule dans le pipeline d'événements après le commit.
+ */
+public record SaleSnapshot(
+        UUID saleId,
+        UUID clientId,
+        Timestamp saleTimestamp,
+        BigDecimal totalAmount,
+        String currency,
+        List<Item> items,
+        List<Tender> payments,
+        Instant completedAt) {
+
+    public record Item(UUID productId, String productName, BigDecimal quantitySold,
+                       BigDecimal priceAtSale, Boolean isSoldByWeight) {
+    }
+
+    public record Tender(UUID paymentId, String type, BigDecimal amount, String currency) {
+    }
+
+    /**
+     * Doit être appelé dans la transaction de paiement (collections LAZY encore accessibles)
+     */
+    public static SaleSnapshot from(Sale sale) {
+        List<Item> items = sale.getSaleItems().stream()
+                .map(SaleSnapshot::toItem)
+                .toList();
+        List<Tender> payments = sale.getPayments().stream()
+                .map(SaleSnapshot::toTender)
+                .toList();
+
+        return new SaleSnapshot(
+                sale.getSaleId(),
+                sale.getClient().getUserId(),
+                sale.getSaleTimestamp(),
+                sale.getTotalAmount(),
+                sale.getClient().getCurrencyPreference(),
+                items,
+                payments,
+                Instant.now());
+    }
+
+    private static Item toItem(SaleItem item) {
+        return new Item(
+                item.getProduct().getProductId(),
+                item.getProduct().getName(),
+                item.getQuantitySold(),
+                item.getPriceAtSale(),
+                item.getProduct().getIsSoldByWeight());
+    }
+
+    private static Tender toTender(Payment payment) {
+        return new Tender(payment.getPaymentId(), payment.getType(), payment.getAmount(), payment.getCurrency());
+    }
+}
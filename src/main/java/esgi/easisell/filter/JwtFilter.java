@@ -2,6 +2,8 @@ package esgi.easisell.filter;
 
 import esgi.easisell.configuration.JwtUtils;
 import esgi.easisell.service.CustomUserDetailsService;
+import esgi.easisell.service.metrics.CheckoutMetrics;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -11,33 +13,61 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
-import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-@Component
+import java.util.UUID;
+
+/**
+ * Authentification JWT, instanciée une seule fois par SecurityConfig dans la chaîne de sécurité.
+ * Volontairement pas un bean : Spring Boot l'enregistrerait aussi comme filtre de servlet, et la
+ * requête serait authentifiée (et mesurée) deux fois.
+ */
 @RequiredArgsConstructor
 public class JwtFilter extends OncePerRequestFilter {
     private final CustomUserDetailsService customUserDetailsService;
     private final JwtUtils jwtUtils;
+    private final CheckoutMetrics checkoutMetrics;
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         final String authHeader=request.getHeader("Authorization");
         String username = null;
         String jwt = null;
-        if(authHeader != null && authHeader.startsWith("Bearer ")){
-            jwt = authHeader.substring(7);
-            username = jwtUtils.extractUsername(jwt);
-        }
-        if(username != null && SecurityContextHolder.getContext().getAuthentication() == null){
-            UserDetails userDetails = customUserDetailsService.loadUserByUsername(username);
-            if(jwtUtils.validateToken(jwt,userDetails)){
-                UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(userDetails,null,userDetails.getAuthorities());
-                authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+        // Mesure de l'authentification seule (hors traitement de la requête)
+        Timer.Sample sample = checkoutMetrics.start();
+        String outcome = "anonymous";
+        UUID tenantId = null;
+        try {
+            if(authHeader != null && authHeader.startsWith("Bearer ")){
+                jwt = authHeader.substring(7);
+                username = jwtUtils.extractUsername(jwt);
+            }
+            if(username != null && SecurityContextHolder.getContext().getAuthentication() == null){
+                UserDetails userDetails = customUserDetailsService.loadUserByUsername(username);
+                outcome = "rejected";
+                if(jwtUtils.validateToken(jwt,userDetails)){
+                    UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(userDetails,null,userDetails.getAuthorities());
+                    authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+                    outcome = "authenticated";
+                    tenantId = parseTenant(jwtUtils.extractUserId(jwt));
+                }
             }
+        } catch (RuntimeException e) {
+            outcome = CheckoutMetrics.outcome(e);
+            throw e;
+        } finally {
+            checkoutMetrics.stop(sample, CheckoutMetrics.JWT_FILTER, tenantId, outcome);
         }
         filterChain.doFilter(request,response);
 
     }
+
+    private static UUID parseTenant(String userId) {
+        try {
+            return userId != null ? UUID.fromString(userId) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
 }
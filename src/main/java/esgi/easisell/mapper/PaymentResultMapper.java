@@ -16,6 +16,8 @@ public class PaymentResultMapper {
         dto.setCurrency(result.getCurrency());
         dto.setMessage(result.getMessage());
         dto.setErrorMessage(result.getErrorMessage());
+        dto.setRemainingBalance(sale.getOutstandingBalance());
+        dto.setSaleCompleted(sale.isFullyPaid());
         return dto;
     }
 }
\ No newline at end of file
@@ -42,7 +42,8 @@ public class SaleDetailsMapper {
                 })
                 .collect(Collectors.toList()));
 
-        dto.setIsPaid(!sale.getPayments().isEmpty());
+        dto.setIsPaid(sale.isFullyPaid());
+        dto.setBalanceDue(sale.getOutstandingBalance());
 
         return dto;
     }
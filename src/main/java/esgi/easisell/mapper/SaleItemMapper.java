@@ -14,7 +14,7 @@ public class SaleItemMapper {
         }
 
         // Utiliser la méthode fromSaleItem pour remplir automatiquement les champs
-        return SaleItemResponseDTO.fromSaleItem(
+        SaleItemResponseDTO dto = SaleItemResponseDTO.fromSaleItem(
                 saleItem.getSaleItemId(),
                 saleItem.getSale().getSaleId(),
                 saleItem.getProduct().getProductId(),
@@ -26,6 +26,8 @@ public class SaleItemMapper {
                 saleItem.getProduct().getIsSoldByWeight(),
                 saleItem.getProduct().getUnitLabel()
         );
+        dto.setDiscountAmount(saleItem.getDiscountAmount());
+        return dto;
     }
 
     /**
@@ -42,6 +44,7 @@ public class SaleItemMapper {
         dto.setUnitPrice(saleItem.getProduct().getUnitPrice());
         dto.setPriceAtSale(saleItem.getPriceAtSale());
         dto.setTotalPrice(saleItem.getPriceAtSale());
+        dto.setDiscountAmount(saleItem.getDiscountAmount());
 
         // ✅ NOUVEAU : Propriétés des unités
         dto.setIsSoldByWeight(saleItem.getProduct().getIsSoldByWeight());
@@ -24,7 +24,8 @@ public class SaleMapper {
 
         // ✅ Protection contre les listes null
         dto.setItemCount(sale.getSaleItems() != null ? sale.getSaleItems().size() : 0);
-        dto.setIsPaid(sale.getPayments() != null && !sale.getPayments().isEmpty());
+        dto.setIsPaid(sale.isFullyPaid());
+        dto.setBalanceDue(sale.getOutstandingBalance());
 
         return dto;
     }
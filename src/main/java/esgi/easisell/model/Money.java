@@ -0,0 +1,57 @@
+package esgi.easisell.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Montants monétaires en centimes (long).
+ * Les calculs de caisse se font sur des long ; la conversion BigDecimal n'a lieu
+ * qu'aux frontières (entités JPA, DTO JSON). Arrondi HALF_UP déterministe.
+ */
+public final class Money {
+
+    public static final int SCALE = 2;
+
+    private Money() {
+    }
+
+    /**
+     * BigDecimal → centimes, arrondi HALF_UP au centime
+     */
+    public static long toCents(BigDecimal amount) {
+        if (amount == null) {
+            return 0L;
+        }
+        return amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toBigDecimal(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    /**
+     * Prix unitaire (centimes) × quantité (millièmes) → total de ligne en centimes
+     */
+    public static long lineTotal(long unitPriceCents, long quantityMilli) {
+        return divideHalfUp(Math.multiplyExact(unitPriceCents, quantityMilli), Quantity.MILLI);
+    }
+
+    /**
+     * Part d'un montant exprimée en points de base (10 000 = 100 %)
+     */
+    public static long percentage(long cents, long basisPoints) {
+        return divideHalfUp(Math.multiplyExact(cents, basisPoints), 10_000L);
+    }
+
+    /**
+     * Division entière arrondie HALF_UP (symétrique pour les négatifs, comme BigDecimal)
+     */
+    public static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (Math.abs(remainder) * 2 >= Math.abs(divisor)) {
+            quotient += Long.signum(dividend) * Long.signum(divisor);
+        }
+        return quotient;
+    }
+}
@@ -0,0 +1,35 @@
+package esgi.easisell.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Quantités en millièmes d'unité (long) : 2.350 kg = 2350, 3 pièces = 3000.
+ * Même échelle que SALE_ITEM.quantity_sold (scale 3).
+ */
+public final class Quantity {
+
+    public static final int SCALE = 3;
+    public static final long MILLI = 1_000L;
+
+    private Quantity() {
+    }
+
+    public static long toMilli(BigDecimal quantity) {
+        if (quantity == null) {
+            return 0L;
+        }
+        return quantity.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toBigDecimal(long milli) {
+        return BigDecimal.valueOf(milli, SCALE);
+    }
+
+    /**
+     * Affichage sans zéros inutiles : 2350 → "2.35", 3000 → "3"
+     */
+    public static String format(long milli) {
+        return toBigDecimal(milli).stripTrailingZeros().toPlainString();
+    }
+}
@@ -0,0 +1,42 @@
+package esgi.easisell.model;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Forme de recherche d'un texte : sans accents, en minuscules, ligatures françaises dépliées
+ * (œ → oe, æ → ae), ponctuation remplacée par des espaces. "Crème brûlée" → "creme brulee".
+ * Stockée dans les colonnes search_* des produits et appliquée à la saisie de l'utilisateur,
+ * de sorte que les deux côtés de la comparaison sont toujours normalisés de la même façon.
+ */
+public final class SearchText {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^a-z0-9]+");
+
+    private SearchText() {
+    }
+
+    public static String normalize(String text) {
+        if (text == null || text.isBlank()) {
+            return "";
+        }
+        String folded = text.toLowerCase(Locale.ROOT)
+                .replace("œ", "oe")
+                .replace("æ", "ae")
+                .replace("ß", "ss");
+        String stripped = DIACRITICS.matcher(Normalizer.normalize(folded, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(stripped).replaceAll(" ").trim();
+    }
+
+    /**
+     * Mots de la saisie, normalisés, dans l'ordre ; liste vide si rien de cherchable
+     */
+    public static List<String> tokens(String text) {
+        String normalized = normalize(text);
+        return normalized.isEmpty() ? List.of() : Arrays.asList(normalized.split(" "));
+    }
+}
@@ -1,12 +1,18 @@
 package esgi.easisell.repository;
 
+import esgi.easisell.dto.CategoryResponseDTO;
 import esgi.easisell.entity.Category;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.sql.Timestamp;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
@@ -21,4 +27,17 @@ public interface CategoryRepository extends JpaRepository<Category, UUID> {
 
     @Query("SELECT COUNT(c) FROM Category c WHERE c.client.userId = :clientId")
     long countByClientId(@Param("clientId") UUID clientId);
+
+    // Version du catalogue : dernière modification d'une catégorie du client (nom repris par les produits)
+    @Query("SELECT MAX(c.lastModified) FROM Category c WHERE c.client.userId = :clientId")
+    Timestamp findLastModifiedByClientId(@Param("clientId") UUID clientId);
+
+    // Toutes les catégories (admin) en projection paginée : client joint, nombre de produits compté en base
+    @Query(value = "SELECT new esgi.easisell.dto.CategoryResponseDTO(c.categoryId, c.name, cl.userId, cl.name, " +
+            "SIZE(c.products), c.vatRate) FROM Category c JOIN c.client cl ORDER BY cl.name, c.name",
+            countQuery = "SELECT COUNT(c) FROM Category c")
+    Page<CategoryResponseDTO> findAllResponses(Pageable pageable);
+
+    @Query("SELECT c.vatRate FROM Category c WHERE c.categoryId = :categoryId")
+    Optional<BigDecimal> findVatRateById(@Param("categoryId") UUID categoryId);
 }
\ No newline at end of file
@@ -1,11 +1,40 @@
 package esgi.easisell.repository;
 
 import esgi.easisell.entity.Client;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface ClientRepository extends JpaRepository<Client, UUID> {
+
+    /**
+     * ✅ Clients d'un statut de contrat, lus en flux après un curseur (MySQL : fetch size MIN_VALUE = ligne à ligne).
+     * La limite borne la tranche côté SQL : fermer le flux ne relit pas le reste de la table.
+     * À consommer dans une transaction, en fermant le flux.
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM Client c WHERE c.contractStatus = :contractStatus AND c.userId > :after ORDER BY c.userId")
+    Stream<Client> streamByContractStatusAfter(@Param("contractStatus") String contractStatus,
+                                               @Param("after") UUID after,
+                                               Limit limit);
+
+    long countByContractStatusAndUserIdGreaterThan(String contractStatus, UUID after);
+
+    // Version du catalogue : champs du client repris dans chaque produit (ProductResponseDTO)
+    @Query("SELECT CONCAT(c.username, ':', COALESCE(c.firstName, '')) FROM Client c WHERE c.userId = :clientId")
+    String findCatalogIdentityById(@Param("clientId") UUID clientId);
 }
@@ -0,0 +1,21 @@
+package esgi.easisell.repository;
+
+import esgi.easisell.entity.DeletedProduct;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface DeletedProductRepository extends JpaRepository<DeletedProduct, UUID> {
+
+    @Query("SELECT d.productId FROM DeletedProduct d WHERE d.clientId = :clientId AND d.deletedAt > :since")
+    List<UUID> findProductIdsDeletedSince(@Param("clientId") UUID clientId, @Param("since") Timestamp since);
+
+    @Query("SELECT MAX(d.deletedAt) FROM DeletedProduct d WHERE d.clientId = :clientId")
+    Timestamp findLastDeletionByClientId(@Param("clientId") UUID clientId);
+}
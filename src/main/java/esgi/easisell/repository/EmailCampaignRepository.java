@@ -0,0 +1,20 @@
+package esgi.easisell.repository;
+
+import esgi.easisell.entity.EmailCampaign;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface EmailCampaignRepository extends JpaRepository<EmailCampaign, UUID> {
+
+    /**
+     * Campagnes en cours dont le nœud ne donne plus signe de vie (arrêt brutal)
+     */
+    List<EmailCampaign> findByStatusAndUpdatedAtBefore(EmailCampaign.Status status, Timestamp staleBefore);
+
+    List<EmailCampaign> findTop50ByOrderByCreatedAtDesc();
+}
@@ -0,0 +1,11 @@
+package esgi.easisell.repository;
+
+import esgi.easisell.entity.Email;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface EmailRepository extends JpaRepository<Email, UUID> {
+}
@@ -0,0 +1,39 @@
+package esgi.easisell.repository;
+
+import esgi.easisell.entity.EmailSend;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * ✅ REPOSITORY de l'outbox des emails
+ */
+@Repository
+public interface EmailSendRepository extends JpaRepository<EmailSend, UUID> {
+
+    /**
+     * ✅ Réservation d'un lot d'emails dus : les lignes verrouillées par un autre nœud sont sautées,
+     * les réservations expirées (nœud tombé en plein envoi) sont reprises.
+     */
+    @Query(value = "SELECT * FROM email_send e " +
+            "WHERE (e.status = 'PENDING' AND e.next_attempt_at <= :now) " +
+            "OR (e.status = 'SENDING' AND e.claimed_at < :claimExpiry) " +
+            "ORDER BY e.next_attempt_at " +
+            "LIMIT :batchSize " +
+            "FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<EmailSend> lockNextBatch(@Param("now") Timestamp now,
+                                  @Param("claimExpiry") Timestamp claimExpiry,
+                                  @Param("batchSize") int batchSize);
+
+    List<EmailSend> findTop100ByStatusOrderByCreatedAtDesc(String status);
+
+    long countByStatus(String status);
+
+    long countByCampaignIdAndStatus(UUID campaignId, String status);
+}
@@ -0,0 +1,45 @@
+package esgi.easisell.repository;
+
+import esgi.easisell.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * ✅ REPOSITORY de l'outbox transactionnelle
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * ✅ Réservation d'un lot : les lignes déjà verrouillées par un autre relais sont sautées.
+     * Les lignes réservées dont le délai a expiré (relais tombé) sont reprises.
+     */
+    @Query(value = "SELECT * FROM outbox o " +
+            "WHERE o.status = 'PENDING' " +
+            "OR (o.status = 'CLAIMED' AND o.claimed_at < :claimExpiry) " +
+            "ORDER BY o.outbox_id " +
+            "LIMIT :batchSize " +
+            "FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<OutboxEvent> lockNextBatch(@Param("claimExpiry") Timestamp claimExpiry,
+                                    @Param("batchSize") int batchSize);
+
+    /**
+     * ✅ Compaction des événements livrés, par tranches pour limiter les verrous
+     */
+    @Modifying
+    @Query(value = "DELETE FROM outbox " +
+            "WHERE status = 'DELIVERED' AND delivered_at < :cutoff " +
+            "LIMIT :batchSize",
+            nativeQuery = true)
+    int deleteDeliveredBefore(@Param("cutoff") Timestamp cutoff,
+                              @Param("batchSize") int batchSize);
+
+    long countByStatus(OutboxEvent.Status status);
+}
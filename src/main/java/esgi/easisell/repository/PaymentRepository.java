@@ -28,9 +28,11 @@ public interface PaymentRepository extends JpaRepository<Payment, UUID> {
     @Query("SELECT p.type, COALESCE(SUM(p.amount), 0) FROM Payment p " +
             "JOIN p.sale s " +
             "WHERE s.client.userId = :clientId " +
-            "AND DATE(p.paymentDate) = CURRENT_DATE " +
+            "AND p.paymentDate >= :startOfDay AND p.paymentDate < :startOfNextDay " +
             "GROUP BY p.type")
-    List<Object[]> getTodayPaymentsByType(@Param("clientId") UUID clientId);
+    List<Object[]> getTodayPaymentsByType(@Param("clientId") UUID clientId,
+                                          @Param("startOfDay") Timestamp startOfDay,
+                                          @Param("startOfNextDay") Timestamp startOfNextDay);
 
     // Paiements d'une vente
     List<Payment> findBySaleSaleId(UUID saleId);
@@ -1,11 +1,17 @@
 package esgi.easisell.repository;
 
+import esgi.easisell.dto.CatalogProductDTO;
+import esgi.easisell.dto.ProductSummaryDTO;
 import esgi.easisell.entity.Product;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Timestamp;
 import java.util.List;
 import java.util.UUID;
 
@@ -16,8 +22,6 @@ public interface ProductRepository extends JpaRepository<Product, UUID> {
 
     List<Product> findByCategoryCategoryId(UUID categoryId);
 
-    List<Product> findByClientUserIdAndNameContainingIgnoreCase(UUID clientId, String name);
-
     @Query("SELECT p FROM Product p WHERE p.client.userId = :clientId AND p.barcode = :barcode")
     Product findByClientAndBarcode(@Param("clientId") UUID clientId, @Param("barcode") String barcode);
 
@@ -27,6 +31,73 @@ public interface ProductRepository extends JpaRepository<Product, UUID> {
     @Query("SELECT COUNT(p) FROM Product p WHERE p.client.userId = :clientId")
     long countByClientUserId(@Param("clientId") UUID clientId);
 
+    // Projection (id, nom, unité, prix) pour l'index de similarité, sans charger les entités
+    @Query("SELECT p.productId, p.name, p.unitLabel, p.unitPrice FROM Product p WHERE p.client.userId = :clientId")
+    List<Object[]> findPriceReferencesByClientUserId(@Param("clientId") UUID clientId);
+
+    // Statistiques du catalogue : [isSoldByWeight, unitLabel, nombre, somme des prix] par type de vente et unité
+    @Query("SELECT p.isSoldByWeight, p.unitLabel, COUNT(p), SUM(p.unitPrice) FROM Product p " +
+            "WHERE p.client.userId = :clientId GROUP BY p.isSoldByWeight, p.unitLabel")
+    List<Object[]> aggregateStatsByClientUserId(@Param("clientId") UUID clientId);
+
+    // Produits par type de vente et/ou unité (filtres optionnels), catégorie et client chargés dans la même requête
+    @Query("SELECT p FROM Product p JOIN FETCH p.client LEFT JOIN FETCH p.category " +
+            "WHERE p.client.userId = :clientId " +
+            "AND (:soldByWeight IS NULL OR p.isSoldByWeight = :soldByWeight) " +
+            "AND (:unitLabel IS NULL OR p.unitLabel = :unitLabel) " +
+            "ORDER BY p.unitLabel, p.name")
+    List<Product> findBySaleType(@Param("clientId") UUID clientId,
+                                 @Param("soldByWeight") Boolean soldByWeight,
+                                 @Param("unitLabel") String unitLabel);
+
+    // Même filtre en projection légère et paginée, pour les grands catalogues
+    @Query(value = "SELECT new esgi.easisell.dto.ProductSummaryDTO(p.productId, p.name, p.barcode, p.brand, " +
+            "p.unitPrice, p.isSoldByWeight, p.unitLabel) FROM Product p " +
+            "WHERE p.client.userId = :clientId " +
+            "AND (:soldByWeight IS NULL OR p.isSoldByWeight = :soldByWeight) " +
+            "AND (:unitLabel IS NULL OR p.unitLabel = :unitLabel) " +
+            "ORDER BY p.name",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE p.client.userId = :clientId " +
+                    "AND (:soldByWeight IS NULL OR p.isSoldByWeight = :soldByWeight) " +
+                    "AND (:unitLabel IS NULL OR p.unitLabel = :unitLabel)")
+    Page<ProductSummaryDTO> findSummariesBySaleType(@Param("clientId") UUID clientId,
+                                                    @Param("soldByWeight") Boolean soldByWeight,
+                                                    @Param("unitLabel") String unitLabel,
+                                                    Pageable pageable);
+
+    // Version du catalogue : dernière modification d'un produit du client
+    @Query("SELECT MAX(p.lastModified) FROM Product p WHERE p.client.userId = :clientId")
+    Timestamp findLastModifiedByClientUserId(@Param("clientId") UUID clientId);
+
+    // Catalogue des caisses : première page, éventuellement limitée aux produits modifiés depuis une date
+    @Query("SELECT new esgi.easisell.dto.CatalogProductDTO(p.productId, p.name, p.barcode, p.brand, p.unitPrice, " +
+            "p.vatRate, c.categoryId, p.isSoldByWeight, p.unitLabel, p.lastModified) " +
+            "FROM Product p LEFT JOIN p.category c " +
+            "WHERE p.client.userId = :clientId " +
+            "AND (:changedSince IS NULL OR p.lastModified > :changedSince) " +
+            "ORDER BY p.lastModified, p.productId")
+    Slice<CatalogProductDTO> findCatalogFirstPage(@Param("clientId") UUID clientId,
+                                                  @Param("changedSince") Timestamp changedSince,
+                                                  Pageable pageable);
+
+    // Catalogue des caisses : page suivante par clé (lastModified, productId) du dernier produit reçu ;
+    // un produit modifié entre deux pages passe après le curseur au lieu de décaler les suivants
+    @Query("SELECT new esgi.easisell.dto.CatalogProductDTO(p.productId, p.name, p.barcode, p.brand, p.unitPrice, " +
+            "p.vatRate, c.categoryId, p.isSoldByWeight, p.unitLabel, p.lastModified) " +
+            "FROM Product p LEFT JOIN p.category c " +
+            "WHERE p.client.userId = :clientId " +
+            "AND (p.lastModified, p.productId) > (:afterModified, :afterId) " +
+            "ORDER BY p.lastModified, p.productId")
+    Slice<CatalogProductDTO> findCatalogPageAfter(@Param("clientId") UUID clientId,
+                                                  @Param("afterModified") Timestamp afterModified,
+                                                  @Param("afterId") UUID afterId,
+                                                  Pageable pageable);
+
+    // Tous les produits (admin), client et catégorie chargés dans la même requête
+    @Query(value = "SELECT p FROM Product p JOIN FETCH p.client LEFT JOIN FETCH p.category ORDER BY p.productId",
+            countQuery = "SELECT COUNT(p) FROM Product p")
+    Page<Product> findAllWithClientAndCategory(Pageable pageable);
+
     List<Product> findByClientUserIdAndBrandIgnoreCase(UUID clientId, String brand);
 
     List<Product> findByClientUserIdAndBarcodeIsNotNull(UUID clientId);
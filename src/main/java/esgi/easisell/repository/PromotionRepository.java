@@ -0,0 +1,29 @@
+package esgi.easisell.repository;
+
+import esgi.easisell.entity.Promotion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface PromotionRepository extends JpaRepository<Promotion, UUID> {
+
+    List<Promotion> findByClientUserIdOrderByStartDateDesc(UUID clientId);
+
+    boolean existsByPromotionCode(String promotionCode);
+
+    // Promotions en cours ou à venir d'un client (compilation de l'index)
+    @Query("SELECT p FROM Promotion p JOIN FETCH p.product " +
+            "WHERE p.client.userId = :clientId AND p.endDate > :now")
+    List<Promotion> findCurrentAndUpcoming(@Param("clientId") UUID clientId,
+                                           @Param("now") Timestamp now);
+
+    @Query("SELECT p FROM Promotion p JOIN FETCH p.product WHERE p.promotionId = :promotionId")
+    Optional<Promotion> findWithProductById(@Param("promotionId") UUID promotionId);
+}
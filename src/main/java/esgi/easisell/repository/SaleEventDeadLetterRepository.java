@@ -0,0 +1,16 @@
+package esgi.easisell.repository;
+
+import esgi.easisell.entity.SaleEventDeadLetter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface SaleEventDeadLetterRepository extends JpaRepository<SaleEventDeadLetter, Long> {
+
+    List<SaleEventDeadLetter> findByClientIdOrderByCreatedAtDesc(UUID clientId);
+
+    List<SaleEventDeadLetter> findTop100ByOrderByCreatedAtAsc();
+}
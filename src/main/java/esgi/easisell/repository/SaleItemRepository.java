@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Timestamp;
 import java.util.List;
 import java.util.UUID;
 
@@ -25,4 +26,14 @@ public interface SaleItemRepository extends JpaRepository<SaleItem, UUID> {
             "AND s.client.userId = :clientId")
     Integer getTotalQuantitySoldByProduct(@Param("productId") UUID productId,
                                           @Param("clientId") UUID clientId);
+
+    // Nombre de lignes de vente payées par produit depuis une date (vélocité du jour)
+    @Query("SELECT si.product.productId, COUNT(si) FROM SaleItem si " +
+            "JOIN si.sale s " +
+            "WHERE s.client.userId = :clientId " +
+            "AND s.saleTimestamp >= :since " +
+            "AND s.payments IS NOT EMPTY " +
+            "GROUP BY si.product.productId")
+    List<Object[]> countSaleLinesByProductSince(@Param("clientId") UUID clientId,
+                                                @Param("since") Timestamp since);
 }
\ No newline at end of file
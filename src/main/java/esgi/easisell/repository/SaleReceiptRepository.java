@@ -0,0 +1,16 @@
+package esgi.easisell.repository;
+
+import esgi.easisell.entity.SaleReceipt;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface SaleReceiptRepository extends JpaRepository<SaleReceipt, UUID> {
+
+    Optional<SaleReceipt> findBySaleId(UUID saleId);
+
+    boolean existsBySaleId(UUID saleId);
+}
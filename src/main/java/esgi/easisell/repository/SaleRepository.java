@@ -4,18 +4,27 @@ import esgi.easisell.entity.Sale;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.LockModeType;
+
 import java.math.BigDecimal;
 import java.sql.Timestamp;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface SaleRepository extends JpaRepository<Sale, UUID> {
 
+    // Verrou de la vente pendant la courte transaction d'enregistrement du paiement
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Sale s WHERE s.saleId = :saleId")
+    Optional<Sale> findByIdForUpdate(@Param("saleId") UUID saleId);
+
     // Ventes par client avec pagination
     Page<Sale> findByClientUserIdOrderBySaleTimestampDesc(UUID clientId, Pageable pageable);
 
@@ -30,11 +39,13 @@ public interface SaleRepository extends JpaRepository<Sale, UUID> {
                                           @Param("startDate") Timestamp startDate,
                                           @Param("endDate") Timestamp endDate);
 
-    // Ventes du jour pour un client
+    // Ventes du jour pour un client (intervalle [début du jour, début du lendemain[, portable et indexable)
     @Query("SELECT s FROM Sale s WHERE s.client.userId = :clientId " +
-            "AND DATE(s.saleTimestamp) = CURRENT_DATE " +
+            "AND s.saleTimestamp >= :startOfDay AND s.saleTimestamp < :startOfNextDay " +
             "ORDER BY s.saleTimestamp DESC")
-    List<Sale> findTodaySalesByClient(@Param("clientId") UUID clientId);
+    List<Sale> findTodaySalesByClient(@Param("clientId") UUID clientId,
+                                      @Param("startOfDay") Timestamp startOfDay,
+                                      @Param("startOfNextDay") Timestamp startOfNextDay);
 
     // Total des ventes sur une période
     @Query("SELECT COALESCE(SUM(s.totalAmount), 0) FROM Sale s " +
@@ -47,8 +58,10 @@ public interface SaleRepository extends JpaRepository<Sale, UUID> {
     // Total des ventes du jour
     @Query("SELECT COALESCE(SUM(s.totalAmount), 0) FROM Sale s " +
             "WHERE s.client.userId = :clientId " +
-            "AND DATE(s.saleTimestamp) = CURRENT_DATE")
-    BigDecimal getTodayTotalSales(@Param("clientId") UUID clientId);
+            "AND s.saleTimestamp >= :startOfDay AND s.saleTimestamp < :startOfNextDay")
+    BigDecimal getTodayTotalSales(@Param("clientId") UUID clientId,
+                                  @Param("startOfDay") Timestamp startOfDay,
+                                  @Param("startOfNextDay") Timestamp startOfNextDay);
 
     // Nombre de ventes sur une période
     @Query("SELECT COUNT(s) FROM Sale s WHERE s.client.userId = :clientId " +
@@ -60,7 +73,7 @@ public interface SaleRepository extends JpaRepository<Sale, UUID> {
     // Ventes en attente de paiement
     @Query("SELECT s FROM Sale s WHERE s.client.userId = :clientId " +
             "AND s.isDeferred = true " +
-            "AND SIZE(s.payments) = 0 " +
+            "AND (SIZE(s.payments) = 0 OR s.balanceDue > 0) " +
             "ORDER BY s.saleTimestamp DESC")
     List<Sale> findPendingPaymentSales(@Param("clientId") UUID clientId);
 
@@ -82,9 +95,9 @@ public interface SaleRepository extends JpaRepository<Sale, UUID> {
                                           @Param("endDate") Timestamp endDate,
                                           Pageable pageable);
 
-    // ✅ VENTES EN ATTENTE (non finalisées)
+    // ✅ VENTES EN ATTENTE (non finalisées, y compris partiellement payées)
     @Query("SELECT s FROM Sale s WHERE s.client.userId = :clientId " +
-            "AND SIZE(s.payments) = 0 " +
+            "AND (SIZE(s.payments) = 0 OR s.balanceDue > 0) " +
             "ORDER BY s.saleTimestamp DESC")
     List<Sale> findPendingSalesByClient(@Param("clientId") UUID clientId);
 
@@ -92,11 +105,14 @@ public interface SaleRepository extends JpaRepository<Sale, UUID> {
     @Query("SELECT si.product.productId, si.product.name, SUM(si.quantitySold) as totalQuantity " +
             "FROM SaleItem si JOIN si.sale s " +
             "WHERE s.client.userId = :clientId " +
-            "AND DATE(s.saleTimestamp) = CURRENT_DATE " +
+            "AND s.saleTimestamp >= :startOfDay AND s.saleTimestamp < :startOfNextDay " +
             "AND SIZE(s.payments) > 0 " +
+            "AND (s.balanceDue IS NULL OR s.balanceDue <= 0) " +
             "GROUP BY si.product.productId, si.product.name " +
             "ORDER BY SUM(si.quantitySold) DESC")
-    List<Object[]> findTodayTopSellingProducts(@Param("clientId") UUID clientId);
+    List<Object[]> findTodayTopSellingProducts(@Param("clientId") UUID clientId,
+                                               @Param("startOfDay") Timestamp startOfDay,
+                                               @Param("startOfNextDay") Timestamp startOfNextDay);
 
     // ✅ STATISTIQUES PAR HEURE - VERSION NATIVE SQL
     @Query(value = "SELECT HOUR(s.sale_timestamp) as hour, COUNT(s.sale_id) as salesCount, " +
@@ -105,6 +121,7 @@ public interface SaleRepository extends JpaRepository<Sale, UUID> {
             "WHERE s.client_id = UNHEX(REPLACE(:clientId, '-', '')) " +
             "AND DATE(s.sale_timestamp) = CURDATE() " +
             "AND (SELECT COUNT(*) FROM payment p WHERE p.sale_id = s.sale_id) > 0 " +
+            "AND (s.balance_due IS NULL OR s.balance_due <= 0) " +
             "GROUP BY HOUR(s.sale_timestamp) " +
             "ORDER BY hour",
             nativeQuery = true)
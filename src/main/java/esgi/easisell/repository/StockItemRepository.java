@@ -9,6 +9,7 @@ import org.springframework.stereotype.Repository;
 
 import jakarta.persistence.LockModeType;
 import java.sql.Timestamp;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -19,16 +20,17 @@ public interface StockItemRepository extends JpaRepository<StockItem, UUID> {
     List<StockItem> findByClientUserId(UUID clientId);
     List<StockItem> findByProductProductId(UUID productId);
 
-    @Query("SELECT s FROM StockItem s WHERE s.client.userId = :clientId AND s.quantity <= s.reorderThreshold")
+    @Query("SELECT s FROM StockItem s WHERE s.client.userId = :clientId AND s.quantityMilli <= s.reorderThreshold * 1000")
     List<StockItem> findLowStockItems(@Param("clientId") UUID clientId);
 
     @Query("SELECT s FROM StockItem s WHERE s.client.userId = :clientId AND s.expirationDate <= :futureDate AND s.expirationDate IS NOT NULL")
     List<StockItem> findExpiringItems(@Param("clientId") UUID clientId, @Param("futureDate") Timestamp futureDate);
 
-    @Query("SELECT COALESCE(SUM(s.quantity), 0) FROM StockItem s WHERE s.client.userId = :clientId AND s.product.productId = :productId")
-    int getTotalStockQuantityByProduct(@Param("clientId") UUID clientId, @Param("productId") UUID productId);
+    // Stock total en millièmes d'unité
+    @Query("SELECT COALESCE(SUM(s.quantityMilli), 0) FROM StockItem s WHERE s.client.userId = :clientId AND s.product.productId = :productId")
+    long getTotalStockMilliByProduct(@Param("clientId") UUID clientId, @Param("productId") UUID productId);
 
-    List<StockItem> findByClientUserIdAndProductNameContainingIgnoreCase(UUID clientId, String productName);
+    List<StockItem> findByClientUserIdAndProductProductIdIn(UUID clientId, Collection<UUID> productIds);
     List<StockItem> findBySupplierSupplierId(UUID supplierId);
 
     @Query("SELECT s FROM StockItem s WHERE s.client.userId = :clientId AND s.supplier IS NULL")
@@ -44,12 +46,24 @@ public interface StockItemRepository extends JpaRepository<StockItem, UUID> {
      * Utilisé pour la gestion "stoïque" du stock
      */
     @Query("SELECT s FROM StockItem s WHERE s.product.productId = :productId AND s.client.userId = :clientId " +
-            "AND s.quantity > 0 ORDER BY s.expirationDate ASC NULLS LAST, s.purchaseDate ASC")
+            "AND s.quantityMilli > 0 ORDER BY s.expirationDate ASC NULLS LAST, s.purchaseDate ASC")
     List<StockItem> findByProductProductIdAndClientUserIdOrderByExpirationDateAsc(
             @Param("productId") UUID productId,
             @Param("clientId") UUID clientId
     );
 
+    /**
+     * ✅ Lots FIFO verrouillés en écriture (produits contestés, chemin sérialisé) ;
+     * l'identifiant fixe l'ordre de verrouillage entre caisses
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM StockItem s WHERE s.product.productId = :productId AND s.client.userId = :clientId " +
+            "AND s.quantityMilli > 0 ORDER BY s.expirationDate ASC NULLS LAST, s.purchaseDate ASC, s.stockItemId ASC")
+    List<StockItem> findFifoLotsForUpdate(
+            @Param("productId") UUID productId,
+            @Param("clientId") UUID clientId
+    );
+
     /**
      * ✅ Verrouillage pessimiste pour cas exceptionnels
      */
@@ -60,12 +74,12 @@ public interface StockItemRepository extends JpaRepository<StockItem, UUID> {
     /**
      * ✅ Vérification rapide de disponibilité
      */
-    @Query("SELECT CASE WHEN SUM(s.quantity) >= :requiredQuantity THEN true ELSE false END FROM StockItem s " +
+    @Query("SELECT CASE WHEN COALESCE(SUM(s.quantityMilli), 0) >= :requiredMilli THEN true ELSE false END FROM StockItem s " +
             "WHERE s.product.productId = :productId AND s.client.userId = :clientId")
     boolean isProductAvailable(
             @Param("productId") UUID productId,
             @Param("clientId") UUID clientId,
-            @Param("requiredQuantity") int requiredQuantity
+            @Param("requiredMilli") long requiredMilli
     );
 
     /**
@@ -83,8 +97,8 @@ public interface StockItemRepository extends JpaRepository<StockItem, UUID> {
      */
     @Query("SELECT " +
             "COUNT(DISTINCT s.product.productId) as totalProducts, " +
-            "SUM(s.quantity) as totalQuantity, " +
-            "COUNT(CASE WHEN s.quantity <= s.reorderThreshold THEN 1 END) as lowStockItems, " +
+            "SUM(s.quantityMilli) as totalQuantityMilli, " +
+            "COUNT(CASE WHEN s.quantityMilli <= s.reorderThreshold * 1000 THEN 1 END) as lowStockItems, " +
             "COUNT(CASE WHEN s.expirationDate <= CURRENT_TIMESTAMP THEN 1 END) as expiredItems " +
             "FROM StockItem s WHERE s.client.userId = :clientId")
     Object[] getStockStatistics(@Param("clientId") UUID clientId);
@@ -97,15 +111,16 @@ public interface StockItemRepository extends JpaRepository<StockItem, UUID> {
     List<StockItem> findByClientUserIdAndReorderThresholdIsNull(UUID clientId);
 
     /**
-     * Items en rupture de stock (quantité = 0)
+     * Items en rupture de stock (plus aucune fraction d'unité)
      */
-    List<StockItem> findByClientUserIdAndQuantity(UUID clientId, Integer quantity);
+    @Query("SELECT s FROM StockItem s WHERE s.client.userId = :clientId AND s.quantityMilli <= 0")
+    List<StockItem> findOutOfStockItems(@Param("clientId") UUID clientId);
 
     /**
      * Items avec stock faible (quantité <= seuil)
      */
     @Query("SELECT s FROM StockItem s WHERE s.client.userId = :clientId " +
-            "AND s.quantity <= s.reorderThreshold AND s.reorderThreshold IS NOT NULL")
+            "AND s.quantityMilli <= s.reorderThreshold * 1000 AND s.reorderThreshold IS NOT NULL")
     List<StockItem> findLowStockItemsWithThreshold(@Param("clientId") UUID clientId);
 
     /**
@@ -117,11 +132,11 @@ public interface StockItemRepository extends JpaRepository<StockItem, UUID> {
                                                         @Param("barcode") String barcode);
 
     /**
-     * Stock total disponible pour un produit
+     * Stock total disponible pour un produit, en millièmes d'unité
      */
-    @Query("SELECT COALESCE(SUM(s.quantity), 0) FROM StockItem s " +
+    @Query("SELECT COALESCE(SUM(s.quantityMilli), 0) FROM StockItem s " +
             "WHERE s.product.productId = :productId AND s.client.userId = :clientId " +
-            "AND s.quantity > 0")
-    Integer getTotalAvailableStock(@Param("productId") UUID productId,
-                                   @Param("clientId") UUID clientId);
+            "AND s.quantityMilli > 0")
+    long getTotalAvailableStockMilli(@Param("productId") UUID productId,
+                                     @Param("clientId") UUID clientId);
 }
\ No newline at end of file
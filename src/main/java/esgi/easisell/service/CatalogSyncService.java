@@ -0,0 +1,145 @@
+package esgi.easisell.service;
+
+import esgi.easisell.dto.CatalogProductDTO;
+import esgi.easisell.dto.CatalogSyncDTO;
+import esgi.easisell.repository.CategoryRepository;
+import esgi.easisell.repository.ClientRepository;
+import esgi.easisell.repository.DeletedProductRepository;
+import esgi.easisell.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * ✅ SYNCHRONISATION DU CATALOGUE DES CAISSES
+ * Version par client (ETag) calculée par requêtes agrégées sur index : nombre de produits,
+ * dernière modification, dernière suppression, dernière modification de catégorie et champs du client
+ * (repris dans chaque produit renvoyé). Inchangée → 304 sans charger le catalogue.
+ * Synchronisation incrémentale : produits modifiés et suppressions depuis changedSince ; la valeur
+ * suivante est reculée d'une marge pour couvrir les transactions validées après leur horodatage.
+ * Pagination par clé (lastModified, productId) : un produit modifié pendant la synchronisation repasse
+ * en fin de parcours au lieu de décaler les pages suivantes (OFFSET en sautait un par modification).
+ */
+@Service
+@Transactional(readOnly = true)
+@Slf4j
+public class CatalogSyncService {
+
+    private final ProductRepository productRepository;
+    private final DeletedProductRepository deletedProductRepository;
+    private final CategoryRepository categoryRepository;
+    private final ClientRepository clientRepository;
+    private final int maxPageSize;
+    private final long lookbackMs;
+
+    public CatalogSyncService(ProductRepository productRepository,
+                              DeletedProductRepository deletedProductRepository,
+                              CategoryRepository categoryRepository,
+                              ClientRepository clientRepository,
+                              @Value("${easisell.catalog.max-page-size:1000}") int maxPageSize,
+                              @Value("${easisell.catalog.sync-lookback-ms:5000}") long lookbackMs) {
+        this.productRepository = productRepository;
+        this.deletedProductRepository = deletedProductRepository;
+        this.categoryRepository = categoryRepository;
+        this.clientRepository = clientRepository;
+        this.maxPageSize = maxPageSize;
+        this.lookbackMs = lookbackMs;
+    }
+
+    /**
+     * ✅ Version courante du catalogue du client
+     */
+    public String getVersion(UUID clientId) {
+        long count = productRepository.countByClientUserId(clientId);
+        Timestamp lastModified = productRepository.findLastModifiedByClientUserId(clientId);
+        Timestamp lastDeletion = deletedProductRepository.findLastDeletionByClientId(clientId);
+        Timestamp lastCategoryChange = categoryRepository.findLastModifiedByClientId(clientId);
+        String clientIdentity = clientRepository.findCatalogIdentityById(clientId);
+
+        String state = count + ":" + millis(lastModified) + ":" + millis(lastDeletion) + ":"
+                + millis(lastCategoryChange) + ":" + clientIdentity;
+        return DigestUtils.md5DigestAsHex(state.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * ✅ Page du catalogue ; avec {@code changedSince} (epoch ms), seulement les produits modifiés depuis,
+     * et les suppressions sur la première page. Pages suivantes : {@code cursor} renvoyé par la précédente
+     *
+     * @throws IllegalArgumentException curseur illisible
+     */
+    public CatalogSyncDTO getCatalogPage(UUID clientId, Long changedSince, String cursor, int size, String version) {
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+        PageRequest limit = PageRequest.of(0, pageSize);
+
+        Slice<CatalogProductDTO> products;
+        List<UUID> deleted;
+        long startedAt;
+        if (cursor == null || cursor.isBlank()) {
+            startedAt = System.currentTimeMillis();
+            Timestamp since = changedSince != null ? new Timestamp(changedSince) : null;
+            products = productRepository.findCatalogFirstPage(clientId, since, limit);
+            deleted = since != null ? deletedProductRepository.findProductIdsDeletedSince(clientId, since) : List.of();
+        } else {
+            // Le curseur suit déjà changedSince : (lastModified, productId) du dernier produit reçu
+            Cursor after = Cursor.decode(cursor);
+            startedAt = after.startedAt();
+            products = productRepository.findCatalogPageAfter(clientId, after.lastModified(), after.productId(), limit);
+            deleted = List.of();
+        }
+
+        String nextCursor = null;
+        if (products.hasNext()) {
+            CatalogProductDTO last = products.getContent().get(products.getNumberOfElements() - 1);
+            nextCursor = new Cursor(startedAt, last.getLastModified(), last.getProductId()).encode();
+        }
+
+        log.info("🗂️ Catalogue du client {} : {} produits, {} suppressions (depuis {}, suite : {})",
+                clientId, products.getNumberOfElements(), deleted.size(), changedSince, nextCursor != null);
+
+        // Prochain changedSince pris au début de la synchronisation : rien de ce qui a changé pendant le
+        // parcours (suppressions comprises) n'échappe à la suivante
+        return new CatalogSyncDTO(version, products.getContent(), deleted, pageSize,
+                products.hasNext(), nextCursor, startedAt - lookbackMs);
+    }
+
+    private static long millis(Timestamp timestamp) {
+        return timestamp != null ? timestamp.getTime() : 0L;
+    }
+
+    /**
+     * Position dans le parcours : début de la synchronisation et clé du dernier produit renvoyé,
+     * sérialisés en base64 URL pour rester opaques aux caisses
+     */
+    private record Cursor(long startedAt, Timestamp lastModified, UUID productId) {
+
+        String encode() {
+            String raw = startedAt + ":" + lastModified.getTime() + ":" + lastModified.getNanos() + ":" + productId;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+                if (parts.length != 4) {
+                    throw new IllegalArgumentException("Curseur de synchronisation invalide");
+                }
+                Timestamp lastModified = new Timestamp(Long.parseLong(parts[1]));
+                lastModified.setNanos(Integer.parseInt(parts[2]));
+                return new Cursor(Long.parseLong(parts[0]), lastModified, UUID.fromString(parts[3]));
+            } catch (IllegalArgumentException e) {
+                // NumberFormatException comprise
+                throw new IllegalArgumentException("Curseur de synchronisation invalide", e);
+            }
+        }
+    }
+}
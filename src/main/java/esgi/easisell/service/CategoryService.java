@@ -1,12 +1,15 @@
 package esgi.easisell.service;
 
 import esgi.easisell.dto.CategoryDTO;
+import esgi.easisell.dto.CategoryResponseDTO;
 import esgi.easisell.entity.Category;
 import esgi.easisell.entity.Client;
 import esgi.easisell.repository.CategoryRepository;
 import esgi.easisell.repository.ClientRepository;
+import esgi.easisell.service.tax.TaxRateResolver;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,6 +24,7 @@ public class CategoryService {
 
     private final CategoryRepository categoryRepository;
     private final ClientRepository clientRepository;
+    private final TaxRateResolver taxRateResolver;
 
     /**
      * Créer une nouvelle catégorie
@@ -34,6 +38,7 @@ public class CategoryService {
 
         Category category = new Category();
         category.setName(categoryDTO.getName());
+        category.setVatRate(TaxRateResolver.requireValidRate(categoryDTO.getVatRate()));
         category.setClient(client);
 
         Category savedCategory = categoryRepository.save(category);
@@ -45,9 +50,9 @@ public class CategoryService {
     /**
      * Récupérer toutes les catégories
      */
-    public List<Category> getAllCategories() {
-        log.info("Récupération de toutes les catégories");
-        return categoryRepository.findAll();
+    public List<CategoryResponseDTO> getAllCategories(int page, int size) {
+        log.info("Récupération de toutes les catégories (page {}, taille {})", page, size);
+        return categoryRepository.findAllResponses(PageRequest.of(page, size)).getContent();
     }
 
     /**
@@ -79,6 +84,14 @@ public class CategoryService {
                         category.setName(categoryDTO.getName());
                     }
 
+                    if (Boolean.TRUE.equals(categoryDTO.getClearVatRate())) {
+                        category.setVatRate(null);
+                        taxRateResolver.evictCategory(categoryId);
+                    } else if (categoryDTO.getVatRate() != null) {
+                        category.setVatRate(TaxRateResolver.requireValidRate(categoryDTO.getVatRate()));
+                        taxRateResolver.evictCategory(categoryId);
+                    }
+
                     if (categoryDTO.getClientId() != null &&
                             !category.getClient().getUserId().toString().equals(categoryDTO.getClientId())) {
 
@@ -1,5 +1,6 @@
 package esgi.easisell.service;
 
+import esgi.easisell.configuration.EmailLinksProperties;
 import esgi.easisell.dto.*;
 import esgi.easisell.entity.AdminUser;
 import esgi.easisell.entity.Client;
@@ -29,6 +30,7 @@ public class ClientRequestService {
     private final EmailService emailService;
     private final AuthService authService;
     private final AdminUserRepository adminUserRepository;
+    private final EmailLinksProperties links;
 
     /**
      * Soumettre une nouvelle demande
@@ -203,7 +205,7 @@ public class ClientRequestService {
         variables.put("request", request);
         variables.put("user", createUserForTemplate(request));
         variables.put("supportEmail", "info@easy-sell.net");
-        variables.put("contactUrl", "https://deploy.dr8bqsixqjzkl.amplifyapp.com/contact");
+        variables.put("contactUrl", links.getContactUrl());
         variables.put("logoUrl", "https://via.placeholder.com/200x80/4CAF50/FFFFFF?text=EasiSell");
 
         emailService.sendHtmlEmail(
@@ -228,10 +230,10 @@ public class ClientRequestService {
                 Map<String, Object> variables = new HashMap<>();
                 variables.put("request", request);
                 variables.put("adminEmail", adminEmail);
-                variables.put("dashboardUrl", "https://deploy.dr8bqsixqjzkl.amplifyapp.com/admin/requests");
-                variables.put("approveUrl", "https://deploy.dr8bqsixqjzkl.amplifyapp.com/admin/requests/" + request.getRequestId() + "/approve");
+                variables.put("dashboardUrl", links.frontendUrl("/admin/requests"));
+                variables.put("approveUrl", links.frontendUrl("/admin/requests/" + request.getRequestId() + "/approve"));
                 variables.put("contactUrl", "mailto:" + request.getEmail() + "?subject=Re: Demande EasiSell - " + request.getCompanyName());
-                variables.put("rejectUrl", "https://deploy.dr8bqsixqjzkl.amplifyapp.com/admin/requests/" + request.getRequestId() + "/reject");
+                variables.put("rejectUrl", links.frontendUrl("/admin/requests/" + request.getRequestId() + "/reject"));
                 variables.put("logoUrl", "https://via.placeholder.com/200x80/4CAF50/FFFFFF?text=EasiSell");
 
                 emailService.sendHtmlEmail(
@@ -2,19 +2,13 @@ package esgi.easisell.service;
 
 import esgi.easisell.entity.Client;
 import esgi.easisell.entity.User;
+import esgi.easisell.configuration.EmailLinksProperties;
 import esgi.easisell.exception.EmailException;
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
+import esgi.easisell.service.mail.EmailOutboxService;
+import esgi.easisell.service.mail.EmailTemplateRenderer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.env.Environment;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.thymeleaf.TemplateEngine;
-import org.thymeleaf.context.Context;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -26,14 +20,10 @@ import java.util.Map;
 @Slf4j
 public class EmailServiceImpl implements EmailService {
 
-    private final JavaMailSender mailSender;
-    private final TemplateEngine templateEngine;
-    private final Environment env;
+    private final EmailOutboxService emailOutboxService;
+    private final EmailTemplateRenderer templateRenderer;
+    private final EmailLinksProperties links;
 
-    @Value("${spring.mail.username:no-reply@easisell.com}")
-    private String fromEmail;
-
-    @Async
     @Override
     public void sendPreRegistrationEmail(User user, String rawPassword) throws EmailException {
         log.info("Préparation de l'email de pré-inscription pour: {}", user.getUsername());
@@ -41,34 +31,26 @@ public class EmailServiceImpl implements EmailService {
             Map<String, Object> variables = new HashMap<>();
             variables.put("user", user);
             variables.put("tempPassword", rawPassword);
+            // logoUrl, contactUrl et termsUrl : variables communes du rendu
+            variables.put("loginUrl", links.frontendUrl("/login"));
 
-            // Vérification des valeurs null pour les URLs
-            String frontendUrl = env.getProperty("app.frontend.url", "http://localhost:3000");
-            variables.put("loginUrl", frontendUrl + "/login");
-            variables.put("contactUrl", env.getProperty("app.contact.url", frontendUrl + "/contact"));
-            variables.put("termsUrl", env.getProperty("app.terms.url", frontendUrl + "/terms"));
-            variables.put("logoUrl", env.getProperty("app.logo.url", "https://via.placeholder.com/150"));
-
-            sendHtmlEmail(user.getUsername(),
+            enqueue(user instanceof Client client ? client : null, user.getUsername(),
                     "Bienvenue sur EasiSell - Inscription confirmée",
                     "emails/client/pre-inscription",
                     variables);
 
-            log.info("Email de pré-inscription envoyé à: {}", user.getUsername());
+            log.info("Email de pré-inscription mis en file pour: {}", user.getUsername());
         } catch (Exception e) {
             log.error("Échec de l'envoi de l'email de pré-inscription à: {}", user.getUsername(), e);
             throw new EmailException("Échec de l'envoi de l'email de pré-inscription à: " + user.getUsername(), e);
         }
     }
 
-    @Async
     @Override
     public void sendPaymentReminder(Client client, String serviceName, BigDecimal amount,
                                     String currency, LocalDate dueDate, boolean isLate) throws EmailException {
         log.info("Préparation du rappel de paiement pour: {} (service: {})", client.getUsername(), serviceName);
         try {
-            String frontendUrl = env.getProperty("app.frontend.url", "http://localhost:3000");
-
             Map<String, Object> variables = new HashMap<>();
             variables.put("client", client);
             variables.put("user", client); // Pour compatibilité avec les templates
@@ -77,31 +59,27 @@ public class EmailServiceImpl implements EmailService {
             variables.put("currency", currency);
             variables.put("dueDate", dueDate);
             variables.put("isLate", isLate);
-            variables.put("paymentUrl", env.getProperty("app.payment.url", frontendUrl + "/payment"));
-            variables.put("cancellationUrl", env.getProperty("app.cancellation.url", frontendUrl + "/cancel"));
-            variables.put("logoUrl", env.getProperty("app.logo.url", "https://via.placeholder.com/150"));
+            variables.put("paymentUrl", links.getPaymentUrl());
+            variables.put("cancellationUrl", links.getCancellationUrl());
 
-            sendHtmlEmail(client.getUsername(),
+            enqueue(client, client.getUsername(),
                     "Rappel de paiement pour votre service " + serviceName,
                     "emails/client/rappel-paiement",
                     variables);
 
-            log.info("Email de rappel de paiement envoyé à: {}", client.getUsername());
+            log.info("Email de rappel de paiement mis en file pour: {}", client.getUsername());
         } catch (Exception e) {
             log.error("Échec de l'envoi du rappel de paiement à: {}", client.getUsername(), e);
             throw new EmailException("Échec de l'envoi du rappel de paiement à: " + client.getUsername(), e);
         }
     }
 
-    @Async
     @Override
     public void sendCancellationConfirmation(Client client, String serviceName,
                                              LocalDate effectiveDate, LocalDate endDate,
                                              String reference) throws EmailException {
         log.info("Préparation de la confirmation de résiliation pour: {} (service: {})", client.getUsername(), serviceName);
         try {
-            String frontendUrl = env.getProperty("app.frontend.url", "http://localhost:3000");
-
             Map<String, Object> variables = new HashMap<>();
             variables.put("client", client);
             variables.put("user", client); // Pour compatibilité avec les templates
@@ -109,57 +87,38 @@ public class EmailServiceImpl implements EmailService {
             variables.put("effectiveDate", effectiveDate);
             variables.put("endDate", endDate);
             variables.put("reference", reference);
-            variables.put("reactivationUrl", env.getProperty("app.reactivation.url", frontendUrl + "/reactivate"));
-            variables.put("logoUrl", env.getProperty("app.logo.url", "https://via.placeholder.com/150"));
+            variables.put("reactivationUrl", links.getReactivationUrl());
 
-            sendHtmlEmail(client.getUsername(),
+            enqueue(client, client.getUsername(),
                     "Confirmation de résiliation de votre abonnement",
                     "emails/client/resiliation",
                     variables);
 
-            log.info("Email de confirmation de résiliation envoyé à: {}", client.getUsername());
+            log.info("Email de confirmation de résiliation mis en file pour: {}", client.getUsername());
         } catch (Exception e) {
             log.error("Échec de l'envoi de la confirmation de résiliation à: {}", client.getUsername(), e);
             throw new EmailException("Échec de l'envoi de la confirmation de résiliation à: " + client.getUsername(), e);
         }
     }
 
-    @Async
+    /**
+     * ✅ Insertion dans l'outbox (EMAIL_SEND) : l'envoi et ses nouvelles tentatives sont faits par EmailOutboxPoller
+     */
     @Override
     public void sendHtmlEmail(String to, String subject, String templateName,
                               Map<String, Object> variables) throws EmailException {
-        log.debug("Préparation de l'email HTML vers: {} (sujet: {}, template: {})", to, subject, templateName);
+        log.debug("Mise en file de l'email HTML vers: {} (sujet: {}, template: {})", to, subject, templateName);
         try {
-            Context context = new Context();
-            context.setVariables(variables);
-
-            String content = templateEngine.process(templateName, context);
-            if (content == null || content.isEmpty()) {
-                throw new EmailException("Le contenu de l'email généré est vide pour le template: " + templateName);
-            }
-
-            log.debug("Contenu de l'email généré avec succès, taille: {} caractères", content.length());
-
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-            helper.setFrom(fromEmail);
-            helper.setTo(to);
-            helper.setSubject(subject);
-            helper.setText(content, true);
-
-            log.debug("Envoi de l'email à: {}", to);
-            mailSender.send(message);
-            log.info("Email envoyé avec succès à: {}", to);
-        } catch (MessagingException e) {
-            log.error("Erreur lors de la création/envoi de l'email à: {}", to, e);
-            throw new EmailException("Erreur lors de la création/envoi de l'email à: " + to, e);
+            enqueue(null, to, subject, templateName, variables);
+        } catch (EmailException e) {
+            log.error("Erreur lors de la mise en file de l'email à: {}", to, e);
+            throw e;
         } catch (Exception e) {
-            log.error("Erreur inattendue lors de l'envoi de l'email à: {}", to, e);
+            log.error("Erreur inattendue lors de la mise en file de l'email à: {}", to, e);
             throw new EmailException("Erreur inattendue lors de l'envoi de l'email à: " + to, e);
         }
     }
 
-    @Async
     @Override
     public void sendEmployeeAccessRequest(Client client, String employeeName, String employeeEmail) throws EmailException {
         log.info("Préparation de l'email de demande d'accès employé pour le client: {}", client.getUsername());
@@ -173,21 +132,41 @@ public class EmailServiceImpl implements EmailService {
             variables.put("logoUrl", "https://via.placeholder.com/200x80/4CAF50/FFFFFF?text=EasiSell");
 
             // URL pour gérer la demande (optionnel)
-            String frontendUrl = env.getProperty("app.frontend.url", "https://deploy.dr8bqsixqjzkl.amplifyapp.com");
-            variables.put("manageUrl", frontendUrl + "/client/employee-access");
+            variables.put("manageUrl", links.frontendUrl("/client/employee-access"));
 
-            sendHtmlEmail(
+            enqueue(
+                    client,
                     client.getUsername(),
                     "Demande d'accès employé - " + employeeName,
                     "emails/client/employee-access-request",
                     variables
             );
 
-            log.info("Email de demande d'accès employé envoyé avec succès à: {}", client.getUsername());
+            log.info("Email de demande d'accès employé mis en file pour: {}", client.getUsername());
 
         } catch (Exception e) {
             log.error("Erreur lors de l'envoi de l'email de demande d'accès employé", e);
             throw new EmailException("Erreur lors de l'envoi de l'email de demande d'accès employé", e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Rendu hors transaction, puis insertion dans l'outbox : une erreur de template reste une EmailException
+     * et ne touche pas la transaction de l'appelant
+     */
+    private void enqueue(Client client, String to, String subject, String templateName,
+                         Map<String, Object> variables) throws EmailException {
+        String content;
+        try {
+            content = templateRenderer.render(templateName, variables);
+        } catch (RuntimeException e) {
+            throw new EmailException("Erreur lors du rendu du template: " + templateName, e);
+        }
+        if (content == null || content.isEmpty()) {
+            throw new EmailException("Le contenu de l'email généré est vide pour le template: " + templateName);
+        }
+
+        emailOutboxService.enqueueRendered(emailOutboxService.registeredClient(client), to, subject,
+                templateName, content, null);
+    }
+}
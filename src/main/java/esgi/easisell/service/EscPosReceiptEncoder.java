@@ -0,0 +1,145 @@
+package esgi.easisell.service;
+
+import esgi.easisell.dto.PaymentInfoDTO;
+import esgi.easisell.dto.ReceiptDTO;
+import esgi.easisell.dto.ReceiptItemDTO;
+import esgi.easisell.dto.TaxLineDTO;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.Charset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Encodeur ESC/POS pour imprimantes thermiques 80 mm (48 colonnes, police A).
+ * Le ticket est construit une seule fois au paiement puis stocké tel quel.
+ */
+public class EscPosReceiptEncoder {
+
+    private static final int LINE_WIDTH = 48;
+
+    // Code page PC858 (Europe de l'Ouest + symbole €)
+    private static final Charset CHARSET = Charset.forName("IBM00858");
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+
+    private static final byte ESC = 0x1B;
+    private static final byte GS = 0x1D;
+
+    private static final byte[] INIT = {ESC, '@'};
+    private static final byte[] CODE_PAGE_PC858 = {ESC, 't', 19};
+    private static final byte[] ALIGN_LEFT = {ESC, 'a', 0};
+    private static final byte[] ALIGN_CENTER = {ESC, 'a', 1};
+    private static final byte[] BOLD_ON = {ESC, 'E', 1};
+    private static final byte[] BOLD_OFF = {ESC, 'E', 0};
+    private static final byte[] DOUBLE_SIZE_ON = {GS, '!', 0x11};
+    private static final byte[] DOUBLE_SIZE_OFF = {GS, '!', 0x00};
+    private static final byte[] FEED_AND_CUT = {GS, 'V', 66, 3};
+
+    private static final String SEPARATOR = "-".repeat(LINE_WIDTH);
+
+    public static byte[] encode(ReceiptDTO receipt) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
+        String currency = receipt.getCurrency() != null ? receipt.getCurrency() : "";
+
+        write(out, INIT);
+        write(out, CODE_PAGE_PC858);
+
+        // En-tête
+        write(out, ALIGN_CENTER);
+        if (receipt.getClient() != null && receipt.getClient().getName() != null) {
+            write(out, DOUBLE_SIZE_ON);
+            writeLine(out, receipt.getClient().getName());
+            write(out, DOUBLE_SIZE_OFF);
+        }
+        writeLine(out, receipt.getReceiptNumber());
+        if (receipt.getDateTime() != null) {
+            writeLine(out, DATE_FORMAT.format(receipt.getDateTime()));
+        }
+
+        // Articles
+        write(out, ALIGN_LEFT);
+        writeLine(out, SEPARATOR);
+        if (receipt.getItems() != null) {
+            for (ReceiptItemDTO item : receipt.getItems()) {
+                writeLine(out, truncate(item.getProductName(), LINE_WIDTH));
+                String detail = "  " + (item.getFormattedQuantity() != null
+                        ? item.getFormattedQuantity()
+                        : String.valueOf(item.getQuantity()))
+                        + " x " + amount(item.getUnitPrice());
+                writeLine(out, columns(detail, amount(item.getTotal())));
+            }
+        }
+        writeLine(out, SEPARATOR);
+
+        // Totaux
+        writeLine(out, columns("Sous-total", amount(receipt.getSubtotal()) + " " + currency));
+        write(out, BOLD_ON);
+        writeLine(out, columns("TOTAL TTC", amount(receipt.getTotalAmount()) + " " + currency));
+        write(out, BOLD_OFF);
+
+        // Ventilation TVA (incluse) : taux, base HT, montant TVA
+        if (receipt.getTaxLines() != null && !receipt.getTaxLines().isEmpty()) {
+            writeLine(out, columns("Taux      HT", "TVA"));
+            for (TaxLineDTO taxLine : receipt.getTaxLines()) {
+                String label = padRight(amount(taxLine.getRate()) + "%", 10) + amount(taxLine.getNetAmount());
+                writeLine(out, columns(label, amount(taxLine.getTaxAmount())));
+            }
+        }
+
+        // Paiements
+        if (receipt.getPayments() != null) {
+            for (PaymentInfoDTO payment : receipt.getPayments()) {
+                writeLine(out, columns(payment.getType(), amount(payment.getAmount()) + " " + currency));
+            }
+        }
+        if (receipt.getChangeAmount() != null && receipt.getChangeAmount().signum() > 0) {
+            writeLine(out, columns("Rendu", amount(receipt.getChangeAmount()) + " " + currency));
+        }
+
+        // Pied de ticket
+        writeLine(out, SEPARATOR);
+        write(out, ALIGN_CENTER);
+        writeLine(out, "Merci de votre visite !");
+        write(out, FEED_AND_CUT);
+
+        return out.toByteArray();
+    }
+
+    private static String columns(String left, String right) {
+        int space = LINE_WIDTH - right.length() - 1;
+        String label = truncate(left, Math.max(space, 0));
+        StringBuilder line = new StringBuilder(LINE_WIDTH).append(label);
+        for (int i = label.length(); i < LINE_WIDTH - right.length(); i++) {
+            line.append(' ');
+        }
+        return line.append(right).toString();
+    }
+
+    private static String padRight(String value, int width) {
+        return value.length() >= width ? value + " " : value + " ".repeat(width - value.length());
+    }
+
+    private static String truncate(String value, int maxLength) {
+        if (value == null) {
+            return "";
+        }
+        return value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+
+    private static String amount(BigDecimal value) {
+        if (value == null) {
+            return "0.00";
+        }
+        return value.setScale(2, RoundingMode.HALF_UP).toPlainString();
+    }
+
+    private static void writeLine(ByteArrayOutputStream out, String text) {
+        write(out, text.getBytes(CHARSET));
+        out.write('\n');
+    }
+
+    private static void write(ByteArrayOutputStream out, byte[] bytes) {
+        out.write(bytes, 0, bytes.length);
+    }
+}
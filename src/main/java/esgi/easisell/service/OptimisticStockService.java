@@ -7,7 +7,12 @@ import esgi.easisell.entity.StockAuditLog;
 import esgi.easisell.entity.StockItem;
 import esgi.easisell.exception.InsufficientStockException;
 import esgi.easisell.exception.StockUpdateException;
+import esgi.easisell.model.Quantity;
 import esgi.easisell.repository.StockItemRepository;
+import esgi.easisell.service.metrics.CheckoutMetrics;
+import esgi.easisell.service.outbox.OutboxService;
+import esgi.easisell.service.stock.StockContentionTracker;
+import esgi.easisell.service.stock.StripedStockLock;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.OptimisticLockingFailureException;
@@ -17,6 +22,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
 
@@ -31,18 +38,22 @@ public class OptimisticStockService {
 
     private final StockItemRepository stockItemRepository;
     private final StockAuditService auditService; // ✅ AJOUT DU SERVICE D'AUDIT
+    private final OutboxService outboxService;
+    private final CheckoutMetrics checkoutMetrics;
+    private final StockContentionTracker contentionTracker;
+    private final StripedStockLock stripedLock;
     private static final int MAX_RETRY_ATTEMPTS = 3;
 
     /**
-     * ✅ VALIDATION : Vérifie si le stock est suffisant
+     * ✅ VALIDATION : Vérifie si le stock est suffisant (quantités en millièmes d'unité)
      */
     @Transactional(readOnly = true)
-    public boolean isStockSufficient(UUID productId, UUID clientId, int requestedQuantity) {
-        int availableStock = getTotalStockQuantity(productId, clientId);
-        boolean sufficient = availableStock >= requestedQuantity;
+    public boolean isStockSufficient(UUID productId, UUID clientId, long requestedMilli) {
+        long availableMilli = getTotalStockMilli(productId, clientId);
+        boolean sufficient = availableMilli >= requestedMilli;
 
         log.debug("🔍 Vérification stock - Produit: {}, Demandé: {}, Disponible: {}, Suffisant: {}",
-                productId, requestedQuantity, availableStock, sufficient);
+                productId, Quantity.format(requestedMilli), Quantity.format(availableMilli), sufficient);
 
         return sufficient;
     }
@@ -60,11 +71,19 @@ public class OptimisticStockService {
     public void decreaseStockForSale(Sale sale) throws StockUpdateException {
         log.info("🔄 DÉBUT décrémentation stock pour vente: {}", sale.getSaleId());
 
-        for (SaleItem saleItem : sale.getSaleItems()) {
+        // Ordre stable (bande de verrou, puis produit) : deux ventes sur les mêmes produits
+        // prennent verrous mémoire et lots dans le même ordre (pas d'interblocage)
+        UUID clientId = sale.getClient().getUserId();
+        List<SaleItem> items = new ArrayList<>(sale.getSaleItems());
+        items.sort(Comparator
+                .comparingInt((SaleItem saleItem) -> stripedLock.stripeFor(clientId, saleItem.getProduct().getProductId()))
+                .thenComparing(saleItem -> saleItem.getProduct().getProductId()));
+
+        for (SaleItem saleItem : items) {
             decreaseStockForProduct(
                     saleItem.getProduct().getProductId(),
                     sale.getClient().getUserId(),
-                    saleItem.getQuantitySold().intValue()  // ✅ FIX : Conversion BigDecimal vers int
+                    Quantity.toMilli(saleItem.getQuantitySold())
             );
         }
 
@@ -73,54 +92,75 @@ public class OptimisticStockService {
 
     /**
      * ✅ DÉCRÉMENTATION POUR UN PRODUIT SPÉCIFIQUE avec AUDIT
-     * Utilise la méthode FIFO (First In, First Out) pour gérer les lots
+     * Utilise la méthode FIFO (First In, First Out) pour gérer les lots ;
+     * les quantités sont en millièmes d'unité (0.350 kg = 350)
      */
     @Transactional(isolation = Isolation.READ_COMMITTED)
-    public void decreaseStockForProduct(UUID productId, UUID clientId, int quantityToDecrease)
+    public void decreaseStockForProduct(UUID productId, UUID clientId, long milliToDecrease)
             throws StockUpdateException {
+        // Produit contesté (mode adaptatif) : lots verrouillés, plus de conflit de version
+        boolean serialized = contentionTracker.shouldSerialize(clientId, productId);
+
+        // Caisses du même nœud sur le même produit : file d'attente en mémoire jusqu'au commit
+        Runnable release = stripedLock.acquire(clientId, productId);
+        try {
+            checkoutMetrics.run(checkoutMetrics.start(), CheckoutMetrics.STOCK_DECREMENT, clientId,
+                    () -> allocateFifo(productId, clientId, milliToDecrease, serialized),
+                    "path", serialized ? "serialized" : "optimistic");
+        } finally {
+            release.run();
+        }
+    }
 
-        log.debug("🔄 Décrémentation {} unités - Produit: {}", quantityToDecrease, productId);
+    private void allocateFifo(UUID productId, UUID clientId, long milliToDecrease, boolean serialized) {
+        log.debug("🔄 Décrémentation {} unités - Produit: {}", Quantity.format(milliToDecrease), productId);
 
         // 1. Récupérer tous les lots FIFO (par date d'expiration)
-        List<StockItem> stockItems = stockItemRepository
-                .findByProductProductIdAndClientUserIdOrderByExpirationDateAsc(productId, clientId);
+        List<StockItem> stockItems = serialized
+                ? stockItemRepository.findFifoLotsForUpdate(productId, clientId)
+                : stockItemRepository.findByProductProductIdAndClientUserIdOrderByExpirationDateAsc(productId, clientId);
 
         if (stockItems.isEmpty()) {
             throw new StockUpdateException("❌ Aucun stock trouvé pour le produit: " + productId);
         }
 
-        int remainingToDecrease = quantityToDecrease;
+        long remainingToDecrease = milliToDecrease;
 
         // 2. Appliquer FIFO : traiter les lots par ordre d'expiration
         for (StockItem stockItem : stockItems) {
             if (remainingToDecrease <= 0) break;
 
             try {
-                int currentQuantity = stockItem.getQuantity();
+                long currentMilli = stockItem.getQuantityMilli();
 
-                if (currentQuantity > 0) {
-                    int toDecrease = Math.min(currentQuantity, remainingToDecrease);
+                if (currentMilli > 0) {
+                    long toDecrease = Math.min(currentMilli, remainingToDecrease);
 
                     // ✅ CRÉER UNE COPIE POUR L'AUDIT
                     StockItem oldItem = createCopyForAudit(stockItem);
 
-                    stockItem.setQuantity(currentQuantity - toDecrease);
+                    stockItem.setQuantityMilli(currentMilli - toDecrease);
 
-                    // ⚡ POINT CRITIQUE : Sauvegarde avec versioning optimiste
-                    StockItem savedItem = stockItemRepository.save(stockItem);
+                    // ⚡ POINT CRITIQUE : Sauvegarde avec versioning optimiste, flush immédiat
+                    // pour que le conflit éventuel soit attribué à ce lot
+                    StockItem savedItem = stockItemRepository.saveAndFlush(stockItem);
 
-                    // ✅ AUDIT AUTOMATIQUE
+                    // ✅ AUDIT AUTOMATIQUE + ÉVÉNEMENT SORTANT
                     auditService.logStockUpdate(oldItem, savedItem, StockAuditLog.OperationType.UPDATE);
+                    outboxService.recordStockUpdate(oldItem, savedItem);
 
                     remainingToDecrease -= toDecrease;
 
                     log.debug("✅ Décrémenté {} unités du lot {}, nouveau stock: {}",
-                            toDecrease, stockItem.getStockItemId(), stockItem.getQuantity());
+                            Quantity.format(toDecrease), stockItem.getStockItemId(),
+                            Quantity.format(stockItem.getQuantityMilli()));
                 }
             } catch (OptimisticLockingFailureException e) {
                 // 🔄 Conflit détecté : une autre caisse a modifié ce stock
                 log.warn("⚠️ CONFLIT de concurrence sur lot: {}. Retry automatique...",
                         stockItem.getStockItemId());
+                contentionTracker.recordConflict(clientId, productId, stockItem.getStockItemId());
+                checkoutMetrics.increment(CheckoutMetrics.STOCK_CONFLICT, clientId);
                 throw e; // Le @Retryable va relancer automatiquement
             }
         }
@@ -128,8 +168,8 @@ public class OptimisticStockService {
         // 3. Vérifier que la décrémentation est complète
         if (remainingToDecrease > 0) {
             throw new InsufficientStockException(
-                    String.format("❌ Stock insuffisant. Demandé: %d, Manque: %d",
-                            quantityToDecrease, remainingToDecrease)
+                    String.format("❌ Stock insuffisant. Demandé: %s, Manque: %s",
+                            Quantity.format(milliToDecrease), Quantity.format(remainingToDecrease))
             );
         }
     }
@@ -143,8 +183,8 @@ public class OptimisticStockService {
             backoff = @Backoff(delay = 100, multiplier = 2)
     )
     @Transactional(isolation = Isolation.READ_COMMITTED)
-    public void increaseStock(UUID stockItemId, int quantityToAdd) throws StockUpdateException {
-        log.info("📈 Augmentation stock +{} unités - Lot: {}", quantityToAdd, stockItemId);
+    public void increaseStock(UUID stockItemId, long milliToAdd) throws StockUpdateException {
+        log.info("📈 Augmentation stock +{} unités - Lot: {}", Quantity.format(milliToAdd), stockItemId);
 
         try {
             StockItem stockItem = stockItemRepository.findById(stockItemId)
@@ -153,13 +193,14 @@ public class OptimisticStockService {
             // ✅ CRÉER UNE COPIE POUR L'AUDIT
             StockItem oldItem = createCopyForAudit(stockItem);
 
-            stockItem.setQuantity(stockItem.getQuantity() + quantityToAdd);
+            stockItem.setQuantityMilli(stockItem.getQuantityMilli() + milliToAdd);
             StockItem savedItem = stockItemRepository.save(stockItem);
 
-            // ✅ AUDIT AUTOMATIQUE
+            // ✅ AUDIT AUTOMATIQUE + ÉVÉNEMENT SORTANT
             auditService.logStockUpdate(oldItem, savedItem, StockAuditLog.OperationType.UPDATE);
+            outboxService.recordStockUpdate(oldItem, savedItem);
 
-            log.info("✅ Stock augmenté. Nouvelle quantité: {}", stockItem.getQuantity());
+            log.info("✅ Stock augmenté. Nouvelle quantité: {}", Quantity.format(stockItem.getQuantityMilli()));
 
         } catch (OptimisticLockingFailureException e) {
             log.warn("⚠️ Conflit lors augmentation stock. Retry automatique...");
@@ -168,11 +209,11 @@ public class OptimisticStockService {
     }
 
     /**
-     * ✅ CONSULTATION DU STOCK TOTAL (lecture seule)
+     * ✅ CONSULTATION DU STOCK TOTAL en millièmes d'unité (lecture seule)
      */
     @Transactional(readOnly = true)
-    public int getTotalStockQuantity(UUID productId, UUID clientId) {
-        return stockItemRepository.getTotalStockQuantityByProduct(clientId, productId);
+    public long getTotalStockMilli(UUID productId, UUID clientId) {
+        return stockItemRepository.getTotalStockMilliByProduct(clientId, productId);
     }
 
     /**
@@ -184,13 +225,13 @@ public class OptimisticStockService {
 
         for (SaleItem saleItem : sale.getSaleItems()) {
             Product product = saleItem.getProduct();
-            int requestedQuantity = saleItem.getQuantitySold().intValue();  // ✅ FIX : Conversion
+            long requestedMilli = Quantity.toMilli(saleItem.getQuantitySold());
 
-            if (!isStockSufficient(product.getProductId(), sale.getClient().getUserId(), requestedQuantity)) {
-                int availableStock = getTotalStockQuantity(product.getProductId(), sale.getClient().getUserId());
+            if (!isStockSufficient(product.getProductId(), sale.getClient().getUserId(), requestedMilli)) {
+                long availableMilli = getTotalStockMilli(product.getProductId(), sale.getClient().getUserId());
                 throw new InsufficientStockException(
-                        String.format("❌ Stock insuffisant pour '%s'. Disponible: %d, Demandé: %d",
-                                product.getName(), availableStock, requestedQuantity)
+                        String.format("❌ Stock insuffisant pour '%s'. Disponible: %s, Demandé: %s",
+                                product.getName(), Quantity.format(availableMilli), Quantity.format(requestedMilli))
                 );
             }
         }
@@ -207,20 +248,20 @@ public class OptimisticStockService {
             backoff = @Backoff(delay = 100, multiplier = 2)
     )
     @Transactional(isolation = Isolation.READ_COMMITTED)
-    public boolean reserveStock(UUID productId, UUID clientId, int quantityToReserve) {
-        log.info("🔒 TENTATIVE réservation {} unités - Produit: {}", quantityToReserve, productId);
+    public boolean reserveStock(UUID productId, UUID clientId, long milliToReserve) {
+        log.info("🔒 TENTATIVE réservation {} unités - Produit: {}", Quantity.format(milliToReserve), productId);
 
         try {
-            if (!isStockSufficient(productId, clientId, quantityToReserve)) {
+            if (!isStockSufficient(productId, clientId, milliToReserve)) {
                 log.warn("❌ Stock insuffisant pour réservation");
                 return false;
             }
 
             // Pour la réservation, on décrémente directement
             // (dans un système plus complexe, on pourrait avoir un champ reserved_quantity)
-            decreaseStockForProduct(productId, clientId, quantityToReserve);
+            decreaseStockForProduct(productId, clientId, milliToReserve);
 
-            log.info("✅ RÉSERVATION réussie pour {} unités", quantityToReserve);
+            log.info("✅ RÉSERVATION réussie pour {} unités", Quantity.format(milliToReserve));
             return true;
 
         } catch (Exception e) {
@@ -235,7 +276,7 @@ public class OptimisticStockService {
     private StockItem createCopyForAudit(StockItem original) {
         StockItem copy = new StockItem();
         copy.setStockItemId(original.getStockItemId());
-        copy.setQuantity(original.getQuantity());
+        copy.setQuantityMilli(original.getQuantityMilli());
         copy.setVersion(original.getVersion());
         copy.setProduct(original.getProduct());
         copy.setClient(original.getClient());
@@ -1,5 +1,6 @@
 package esgi.easisell.service;
 
+import esgi.easisell.configuration.EmailLinksProperties;
 import esgi.easisell.entity.Client;
 import esgi.easisell.entity.User;
 import esgi.easisell.exception.EmailException;
@@ -32,6 +33,7 @@ public class PasswordResetService {
 
     private final UserRepository userRepository;
     private final EmailService emailService;
+    private final EmailLinksProperties links;
 
     // Emails des admins qui doivent être notifiés
     private static final String[] ADMIN_EMAILS = {
@@ -108,8 +110,8 @@ public class PasswordResetService {
                 variables.put("user", user);
                 variables.put("adminEmail", adminEmail);
                 variables.put("requestDate", LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd/MM/yyyy à HH:mm")));
-                variables.put("dashboardUrl", "https://deploy.dr8bqsixqjzkl.amplifyapp.com/admin/users");
-                variables.put("userManagementUrl", "https://deploy.dr8bqsixqjzkl.amplifyapp.com/admin/users/" + user.getUserId());
+                variables.put("dashboardUrl", links.frontendUrl("/admin/users"));
+                variables.put("userManagementUrl", links.frontendUrl("/admin/users/" + user.getUserId()));
                 variables.put("logoUrl", "https://via.placeholder.com/200x80/4CAF50/FFFFFF?text=EasiSell");
 
                 // Différencier le type d'utilisateur pour le template
@@ -146,7 +148,7 @@ public class PasswordResetService {
             Map<String, Object> variables = new HashMap<>();
             variables.put("user", user);
             variables.put("changeDate", LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd/MM/yyyy à HH:mm")));
-            variables.put("loginUrl", "https://deploy.dr8bqsixqjzkl.amplifyapp.com/login");
+            variables.put("loginUrl", links.frontendUrl("/login"));
             variables.put("supportEmail", "info@easy-sell.net");
             variables.put("logoUrl", "https://via.placeholder.com/200x80/4CAF50/FFFFFF?text=EasiSell");
 
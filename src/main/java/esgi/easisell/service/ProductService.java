@@ -2,18 +2,31 @@ package esgi.easisell.service;
 
 import esgi.easisell.dto.ProductDTO;
 import esgi.easisell.dto.ProductResponseDTO;
+import esgi.easisell.dto.ProductSuggestionDTO;
+import esgi.easisell.dto.ProductSummaryDTO;
 import esgi.easisell.entity.Category;
 import esgi.easisell.entity.Client;
+import esgi.easisell.entity.DeletedProduct;
 import esgi.easisell.entity.Product;
 import esgi.easisell.repository.CategoryRepository;
 import esgi.easisell.repository.ClientRepository;
+import esgi.easisell.repository.DeletedProductRepository;
 import esgi.easisell.repository.ProductRepository;
+import esgi.easisell.service.search.ProductAutocompleteIndex;
+import esgi.easisell.service.search.ProductCatalogIndex;
+import esgi.easisell.service.search.ProductSearchService;
+import esgi.easisell.service.search.ProductSimilarityIndex;
+import esgi.easisell.service.tax.TaxRateResolver;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -26,6 +39,11 @@ public class ProductService {
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
     private final ClientRepository clientRepository;
+    private final DeletedProductRepository deletedProductRepository;
+    private final ProductSearchService productSearchService;
+    private final ProductAutocompleteIndex productAutocompleteIndex;
+    private final ProductSimilarityIndex productSimilarityIndex;
+    private final List<ProductCatalogIndex> catalogIndexes;
 
     @Transactional
     public ProductResponseDTO createProduct(ProductDTO productDTO) {
@@ -67,6 +85,7 @@ public class ProductService {
 
         Product product = buildProduct(productDTO, clientOpt.get(), category);
         Product savedProduct = productRepository.save(product);
+        catalogIndexes.forEach(index -> index.productSaved(savedProduct));
 
         log.info("Produit créé avec succès. ID: {} - Prix: {}",
                 savedProduct.getProductId(),
@@ -75,18 +94,17 @@ public class ProductService {
         return convertToResponseDTO(savedProduct);
     }
 
-    public List<ProductResponseDTO> getAllProducts() {
-        log.info("Récupération de tous les produits");
-        return productRepository.findAll().stream()
+    public List<ProductResponseDTO> getAllProducts(int page, int size) {
+        log.info("Récupération de tous les produits (page {}, taille {})", page, size);
+        Pageable pageable = PageRequest.of(page, size);
+        return productRepository.findAllWithClientAndCategory(pageable).stream()
                 .map(this::convertToResponseDTO)
                 .collect(Collectors.toList());
     }
 
     public List<ProductResponseDTO> getProductsByClient(UUID clientId) {
         log.info("Récupération des produits pour le client ID: {}", clientId);
-        return productRepository.findByClientUserId(clientId).stream()
-                .map(this::convertToResponseDTO)
-                .collect(Collectors.toList());
+        return getProductsBySaleType(clientId, null, null);
     }
 
     public ProductResponseDTO getProductById(UUID productId) {
@@ -125,6 +143,7 @@ public class ProductService {
         }
 
         Product updatedProduct = productRepository.save(product);
+        catalogIndexes.forEach(index -> index.productSaved(updatedProduct));
         log.info("Produit mis à jour avec succès. ID: {} - Nouveau prix: {}",
                 productId, updatedProduct.getFormattedPrice());
 
@@ -134,22 +153,38 @@ public class ProductService {
     @Transactional
     public boolean deleteProduct(UUID productId) {
         log.info("Suppression du produit ID: {}", productId);
-        if (!productRepository.existsById(productId)) {
+        Optional<Product> productOpt = productRepository.findById(productId);
+        if (productOpt.isEmpty()) {
             return false;
         }
+        UUID clientId = productOpt.get().getClient().getUserId();
 
         productRepository.deleteById(productId);
+        // Trace pour la synchronisation incrémentale des caisses
+        deletedProductRepository.save(DeletedProduct.builder()
+                .productId(productId)
+                .clientId(clientId)
+                .build());
+        catalogIndexes.forEach(index -> index.productDeleted(clientId, productId));
         log.info("Produit supprimé avec succès. ID: {}", productId);
         return true;
     }
 
     public List<ProductResponseDTO> searchProductsByName(UUID clientId, String name) {
-        log.info("Recherche de produits contenant '{}' pour le client ID: {}", name, clientId);
-        return productRepository.findByClientUserIdAndNameContainingIgnoreCase(clientId, name).stream()
+        log.info("Recherche de produits '{}' pour le client ID: {}", name, clientId);
+        return productSearchService.search(clientId, name).stream()
                 .map(this::convertToResponseDTO)
                 .collect(Collectors.toList());
     }
 
+    public List<ProductSuggestionDTO> autocompleteProducts(UUID clientId, String query, int limit) {
+        return productAutocompleteIndex.suggest(clientId, query, limit);
+    }
+
+    public ProductSimilarityIndex.Result findSimilarProducts(UUID clientId, String name, String unitLabel) {
+        return productSimilarityIndex.nearest(clientId, name, unitLabel);
+    }
+
     public ProductResponseDTO findProductByBarcode(UUID clientId, String barcode) {
         log.info("Recherche de produit avec le code-barres '{}' pour le client ID: {}", barcode, clientId);
         Product product = productRepository.findByClientAndBarcode(clientId, barcode);
@@ -196,10 +231,7 @@ public class ProductService {
      */
     public List<ProductResponseDTO> getProductsByWeight(UUID clientId) {
         log.info("🍎 Récupération des produits au poids pour le client ID: {}", clientId);
-        return productRepository.findByClientUserId(clientId).stream()
-                .filter(product -> product.getIsSoldByWeight() != null && product.getIsSoldByWeight())
-                .map(this::convertToResponseDTO)
-                .collect(Collectors.toList());
+        return getProductsBySaleType(clientId, true, null);
     }
 
     /**
@@ -207,12 +239,40 @@ public class ProductService {
      */
     public List<ProductResponseDTO> getProductsByPiece(UUID clientId) {
         log.info("🍞 Récupération des produits à la pièce pour le client ID: {}", clientId);
-        return productRepository.findByClientUserId(clientId).stream()
-                .filter(product -> product.getIsSoldByWeight() == null || !product.getIsSoldByWeight())
+        return getProductsBySaleType(clientId, false, null);
+    }
+
+    /**
+     * Produits groupés par unité, en une seule requête triée par unité
+     */
+    public Map<String, List<ProductResponseDTO>> getProductsGroupedByUnit(UUID clientId) {
+        log.info("📋 Groupement des produits par unité pour le client ID: {}", clientId);
+        return getProductsBySaleType(clientId, null, null).stream()
+                .collect(Collectors.groupingBy(
+                        product -> product.getUnitLabel() != null ? product.getUnitLabel() : "unité",
+                        LinkedHashMap::new,
+                        Collectors.toList()));
+    }
+
+    /**
+     * Filtre type de vente / unité appliqué en base (index client_id, is_sold_by_weight, unit_label) ;
+     * null = pas de filtre sur ce critère
+     */
+    public List<ProductResponseDTO> getProductsBySaleType(UUID clientId, Boolean soldByWeight, String unitLabel) {
+        return productRepository.findBySaleType(clientId, soldByWeight, unitLabel).stream()
                 .map(this::convertToResponseDTO)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Page de vues légères (projection), pour les grands catalogues
+     */
+    public List<ProductSummaryDTO> getProductSummaries(UUID clientId, Boolean soldByWeight, String unitLabel,
+                                                       int page, int size) {
+        Pageable pageable = PageRequest.of(page, size);
+        return productRepository.findSummariesBySaleType(clientId, soldByWeight, unitLabel, pageable).getContent();
+    }
+
     // ========== MÉTHODES PRIVÉES ==========
 
     /**
@@ -241,6 +301,7 @@ public class ProductService {
         product.setBarcode(productDTO.getBarcode());
         product.setBrand(productDTO.getBrand());
         product.setUnitPrice(productDTO.getUnitPrice());
+        product.setVatRate(TaxRateResolver.requireValidRate(productDTO.getVatRate()));
         product.setCategory(category);
         product.setClient(client);
 
@@ -268,6 +329,11 @@ public class ProductService {
         if (productDTO.getUnitPrice() != null) {
             product.setUnitPrice(productDTO.getUnitPrice());
         }
+        if (Boolean.TRUE.equals(productDTO.getClearVatRate())) {
+            product.setVatRate(null);
+        } else if (productDTO.getVatRate() != null) {
+            product.setVatRate(TaxRateResolver.requireValidRate(productDTO.getVatRate()));
+        }
 
         // ✅ AJOUT mise à jour des nouvelles propriétés
         if (productDTO.getIsSoldByWeight() != null) {
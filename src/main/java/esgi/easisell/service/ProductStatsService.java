@@ -0,0 +1,102 @@
+package esgi.easisell.service;
+
+import esgi.easisell.entity.Product;
+import esgi.easisell.repository.ProductRepository;
+import esgi.easisell.service.search.ProductCatalogIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * ✅ STATISTIQUES DU CATALOGUE PAR TYPE D'UNITÉ
+ * Une seule requête agrégée (GROUP BY type de vente, unité) au lieu de charger tout le catalogue ;
+ * le résultat est gardé par client et invalidé après commit à chaque modification de produit.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductStatsService implements ProductCatalogIndex {
+
+    private static final String DEFAULT_UNIT = "unité";
+
+    private final ProductRepository productRepository;
+    private final ConcurrentMap<UUID, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    public record Snapshot(long totalProducts, long weightProducts, long pieceProducts,
+                           Map<String, Long> unitDistribution, BigDecimal avgWeightPrice,
+                           BigDecimal avgPiecePrice, long computedAt) {
+    }
+
+    public Snapshot getStats(UUID clientId) {
+        return snapshots.computeIfAbsent(clientId, this::compute);
+    }
+
+    @Override
+    public void productSaved(Product product) {
+        if (product.getClient() != null) {
+            evict(product.getClient().getUserId());
+        }
+    }
+
+    @Override
+    public void productDeleted(UUID clientId, UUID productId) {
+        evict(clientId);
+    }
+
+    /**
+     * Rafraîchissement périodique : borne le décalage entre instances (modifications faites ailleurs)
+     */
+    @Scheduled(fixedDelayString = "${easisell.product-stats.cache-refresh-ms:300000}")
+    public void clear() {
+        snapshots.clear();
+    }
+
+    private void evict(UUID clientId) {
+        ProductCatalogIndex.afterCommit(() -> snapshots.remove(clientId));
+    }
+
+    private Snapshot compute(UUID clientId) {
+        long weightProducts = 0;
+        long pieceProducts = 0;
+        BigDecimal weightTotal = BigDecimal.ZERO;
+        BigDecimal pieceTotal = BigDecimal.ZERO;
+        Map<String, Long> unitDistribution = new LinkedHashMap<>();
+
+        // Lignes : [isSoldByWeight, unitLabel, COUNT, SUM(unitPrice)]
+        for (Object[] row : productRepository.aggregateStatsByClientUserId(clientId)) {
+            boolean soldByWeight = Boolean.TRUE.equals(row[0]);
+            String unit = row[1] != null ? (String) row[1] : DEFAULT_UNIT;
+            long count = ((Number) row[2]).longValue();
+            BigDecimal priceTotal = row[3] != null ? (BigDecimal) row[3] : BigDecimal.ZERO;
+
+            unitDistribution.merge(unit, count, Long::sum);
+            if (soldByWeight) {
+                weightProducts += count;
+                weightTotal = weightTotal.add(priceTotal);
+            } else {
+                pieceProducts += count;
+                pieceTotal = pieceTotal.add(priceTotal);
+            }
+        }
+
+        log.debug("📊 Statistiques produits recalculées pour le client {}", clientId);
+        return new Snapshot(weightProducts + pieceProducts, weightProducts, pieceProducts,
+                Map.copyOf(unitDistribution), average(weightTotal, weightProducts), average(pieceTotal, pieceProducts),
+                System.currentTimeMillis());
+    }
+
+    private static BigDecimal average(BigDecimal total, long count) {
+        return count > 0
+                ? total.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO.setScale(2);
+    }
+}
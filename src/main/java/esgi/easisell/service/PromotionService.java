@@ -0,0 +1,143 @@
+package esgi.easisell.service;
+
+import esgi.easisell.dto.PromotionDTO;
+import esgi.easisell.dto.PromotionResponseDTO;
+import esgi.easisell.entity.Client;
+import esgi.easisell.entity.Product;
+import esgi.easisell.entity.Promotion;
+import esgi.easisell.event.PromotionChangedEvent;
+import esgi.easisell.repository.ClientRepository;
+import esgi.easisell.repository.ProductRepository;
+import esgi.easisell.repository.PromotionRepository;
+import esgi.easisell.service.promotion.DiscountType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Gestion des promotions ; chaque modification est signalée au moteur de prix
+ * pour une mise à jour incrémentale de l'index du client.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PromotionService {
+
+    private static final BigDecimal MAX_PERCENTAGE = BigDecimal.valueOf(100);
+
+    private final PromotionRepository promotionRepository;
+    private final ClientRepository clientRepository;
+    private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional(readOnly = true)
+    public List<PromotionResponseDTO> getPromotionsByClientId(UUID clientId) {
+        return promotionRepository.findByClientUserIdOrderByStartDateDesc(clientId)
+                .stream()
+                .map(PromotionResponseDTO::new)
+                .collect(Collectors.toList());
+    }
+
+    public Optional<Promotion> getPromotionById(UUID id) {
+        return promotionRepository.findWithProductById(id);
+    }
+
+    @Transactional
+    public Optional<PromotionResponseDTO> createPromotion(UUID clientId, PromotionDTO dto) {
+        Optional<Client> clientOpt = clientRepository.findById(clientId);
+        if (clientOpt.isEmpty()) {
+            return Optional.empty();
+        }
+
+        if (dto.getPromotionCode() == null || dto.getPromotionCode().isBlank()) {
+            throw new IllegalArgumentException("Le code promotion est obligatoire");
+        }
+        if (promotionRepository.existsByPromotionCode(dto.getPromotionCode())) {
+            throw new IllegalArgumentException("Ce code promotion existe déjà: " + dto.getPromotionCode());
+        }
+
+        Promotion promotion = new Promotion();
+        promotion.setPromotionCode(dto.getPromotionCode());
+        promotion.setClient(clientOpt.get());
+        applyChanges(promotion, dto, clientId);
+
+        Promotion saved = promotionRepository.save(promotion);
+        eventPublisher.publishEvent(new PromotionChangedEvent(clientId, saved.getPromotionId(), false));
+
+        log.info("🏷️ Promotion {} créée pour le client {}", saved.getPromotionCode(), clientId);
+        return Optional.of(new PromotionResponseDTO(saved));
+    }
+
+    @Transactional
+    public Optional<PromotionResponseDTO> updatePromotion(UUID id, PromotionDTO dto) {
+        return promotionRepository.findWithProductById(id)
+                .map(promotion -> {
+                    UUID clientId = promotion.getClient().getUserId();
+                    applyChanges(promotion, dto, clientId);
+
+                    Promotion saved = promotionRepository.save(promotion);
+                    eventPublisher.publishEvent(new PromotionChangedEvent(clientId, id, false));
+                    return new PromotionResponseDTO(saved);
+                });
+    }
+
+    @Transactional
+    public void deletePromotion(UUID id) {
+        promotionRepository.findById(id).ifPresent(promotion -> {
+            UUID clientId = promotion.getClient().getUserId();
+            promotionRepository.delete(promotion);
+            eventPublisher.publishEvent(new PromotionChangedEvent(clientId, id, true));
+        });
+    }
+
+    /**
+     * Applique les champs renseignés puis valide la promotion complète
+     */
+    private void applyChanges(Promotion promotion, PromotionDTO dto, UUID clientId) {
+        if (dto.getDescription() != null) promotion.setDescription(dto.getDescription());
+        if (dto.getDiscountType() != null) promotion.setDiscountType(dto.getDiscountType());
+        if (dto.getDiscountValue() != null) promotion.setDiscountValue(dto.getDiscountValue());
+        if (dto.getStartDate() != null) promotion.setStartDate(dto.getStartDate());
+        if (dto.getEndDate() != null) promotion.setEndDate(dto.getEndDate());
+
+        if (dto.getProductId() != null) {
+            Product product = productRepository.findById(dto.getProductId())
+                    .orElseThrow(() -> new IllegalArgumentException("Produit non trouvé"));
+            if (!product.getClient().getUserId().equals(clientId)) {
+                throw new IllegalArgumentException("Le produit n'appartient pas à ce client");
+            }
+            promotion.setProduct(product);
+        }
+
+        validate(promotion);
+    }
+
+    private void validate(Promotion promotion) {
+        if (promotion.getProduct() == null) {
+            throw new IllegalArgumentException("Le produit est obligatoire");
+        }
+        if (promotion.getStartDate() == null || promotion.getEndDate() == null) {
+            throw new IllegalArgumentException("Les dates de début et de fin sont obligatoires");
+        }
+        if (!promotion.getEndDate().after(promotion.getStartDate())) {
+            throw new IllegalArgumentException("La date de fin doit être postérieure à la date de début");
+        }
+        if (promotion.getDiscountValue() == null || promotion.getDiscountValue().signum() <= 0) {
+            throw new IllegalArgumentException("La valeur de remise doit être supérieure à 0");
+        }
+
+        DiscountType type = DiscountType.parse(promotion.getDiscountType());
+        if (type == DiscountType.PERCENTAGE && promotion.getDiscountValue().compareTo(MAX_PERCENTAGE) > 0) {
+            throw new IllegalArgumentException("Une remise en pourcentage ne peut pas dépasser 100");
+        }
+        promotion.setDiscountType(type.name());
+    }
+}
@@ -3,13 +3,14 @@ package esgi.easisell.service;
 import esgi.easisell.dto.*;
 import esgi.easisell.entity.Sale;
 import esgi.easisell.entity.Payment;
+import esgi.easisell.model.Money;
+import esgi.easisell.service.tax.TaxBreakdown;
 
-import java.math.BigDecimal;
 import java.util.stream.Collectors;
 
 public class ReceiptGenerator {
 
-    public static ReceiptDTO generate(Sale sale) {
+    public static ReceiptDTO generate(Sale sale, TaxBreakdown taxes) {
         ReceiptDTO receipt = new ReceiptDTO();
         receipt.setSaleId(sale.getSaleId());
         receipt.setReceiptNumber("REC-" + sale.getSaleId().toString().substring(0, 8).toUpperCase());
@@ -45,9 +46,12 @@ public class ReceiptGenerator {
                 })
                 .collect(Collectors.toList()));
 
-        // Totaux
+        // Totaux (prix TTC : la TVA est incluse, ventilée par taux)
         receipt.setSubtotal(sale.getTotalAmount());
-        receipt.setTaxAmount(BigDecimal.ZERO); // TODO: Implémenter les taxes
+        receipt.setTaxAmount(taxes.taxAmount());
+        receipt.setTaxLines(taxes.buckets().stream()
+                .map(TaxLineDTO::from)
+                .collect(Collectors.toList()));
         receipt.setTotalAmount(sale.getTotalAmount());
 
         // Paiements
@@ -63,11 +67,22 @@ public class ReceiptGenerator {
                 })
                 .collect(Collectors.toList()));
 
-        // Calculer la monnaie rendue
-        BigDecimal totalPaid = sale.getPayments().stream()
-                .map(Payment::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        receipt.setChangeAmount(totalPaid.subtract(sale.getTotalAmount()));
+        // Monnaie rendue : cumul des rendus de chaque paiement (paiements fractionnés)
+        long changeCents = 0;
+        long paidCents = 0;
+        boolean changeRecorded = false;
+        for (Payment payment : sale.getPayments()) {
+            paidCents += Money.toCents(payment.getAmount());
+            if (payment.getChangeAmount() != null) {
+                changeRecorded = true;
+                changeCents += Money.toCents(payment.getChangeAmount());
+            }
+        }
+        if (!changeRecorded && !sale.getPayments().isEmpty()) {
+            // Paiements antérieurs au suivi du rendu par paiement : total payé - total de la vente
+            changeCents = paidCents - Money.toCents(sale.getTotalAmount());
+        }
+        receipt.setChangeAmount(Money.toBigDecimal(changeCents));
 
         receipt.setCurrency(sale.getClient().getCurrencyPreference());
         receipt.setCashierName("Caissier"); // TODO: Récupérer le nom réel
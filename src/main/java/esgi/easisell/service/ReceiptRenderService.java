@@ -0,0 +1,99 @@
+package esgi.easisell.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import esgi.easisell.dto.ReceiptDTO;
+import esgi.easisell.entity.Sale;
+import esgi.easisell.entity.SaleReceipt;
+import esgi.easisell.event.SaleEventConsumer;
+import esgi.easisell.event.SaleSnapshot;
+import esgi.easisell.exception.SaleNotFoundException;
+import esgi.easisell.exception.SaleNotPaidException;
+import esgi.easisell.repository.SaleReceiptRepository;
+import esgi.easisell.repository.SaleRepository;
+import esgi.easisell.service.tax.TaxCalculator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * ✅ SERVICE DE RENDU DES TICKETS DE CAISSE
+ * Le ticket est rendu une seule fois (JSON + ESC/POS) depuis le pipeline de ventes, puis relu tel quel.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReceiptRenderService implements SaleEventConsumer {
+
+    private final SaleReceiptRepository receiptRepository;
+    private final SaleRepository saleRepository;
+    private final ObjectMapper objectMapper;
+    private final TaxCalculator taxCalculator;
+
+    @Override
+    public String getConsumerName() {
+        return "receipt-render";
+    }
+
+    /**
+     * ✅ Rendu du ticket à la finalisation de la vente (hors transaction de paiement)
+     */
+    @Override
+    @Transactional
+    public void consume(SaleSnapshot snapshot) {
+        if (!receiptRepository.existsBySaleId(snapshot.saleId())) {
+            getReceipt(snapshot.saleId());
+            log.info("🧾 Ticket pré-rendu pour la vente: {}", snapshot.saleId());
+        }
+    }
+
+    /**
+     * ✅ Récupère le ticket stocké, ou le rend à la volée (ventes payées avant le pré-rendu)
+     */
+    @Transactional
+    public SaleReceipt getReceipt(UUID saleId) {
+        return receiptRepository.findBySaleId(saleId)
+                .orElseGet(() -> {
+                    Sale sale = saleRepository.findById(saleId)
+                            .orElseThrow(() -> new SaleNotFoundException(saleId));
+
+                    if (!sale.isFullyPaid()) {
+                        throw new SaleNotPaidException("Cette vente n'a pas été payée");
+                    }
+
+                    log.info("🧾 Rendu différé du ticket pour la vente: {}", saleId);
+                    return receiptRepository.save(render(sale));
+                });
+    }
+
+    private SaleReceipt render(Sale sale) {
+        ReceiptDTO receipt = ReceiptGenerator.generate(sale, taxCalculator.compute(sale.getSaleItems()));
+
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(receipt);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Sérialisation du ticket impossible: " + e.getMessage(), e);
+        }
+        byte[] escPos = EscPosReceiptEncoder.encode(receipt);
+
+        byte[] jsonBytes = json.getBytes(StandardCharsets.UTF_8);
+        byte[] content = new byte[jsonBytes.length + escPos.length];
+        System.arraycopy(jsonBytes, 0, content, 0, jsonBytes.length);
+        System.arraycopy(escPos, 0, content, jsonBytes.length, escPos.length);
+
+        return SaleReceipt.builder()
+                .saleId(sale.getSaleId())
+                .clientId(sale.getClient().getUserId())
+                .receiptNumber(receipt.getReceiptNumber())
+                .receiptJson(json)
+                .escPosPayload(escPos)
+                .etag(DigestUtils.md5DigestAsHex(content))
+                .build();
+    }
+}
@@ -1,43 +1,79 @@
 package esgi.easisell.service;
 
 import esgi.easisell.dto.SaleTotalDTO;
+import esgi.easisell.dto.TaxLineDTO;
 import esgi.easisell.entity.Product;
 import esgi.easisell.entity.Sale;
 import esgi.easisell.entity.SaleItem;
+import esgi.easisell.model.Money;
+import esgi.easisell.model.Quantity;
 import esgi.easisell.service.interfaces.ISalePriceCalculator;
+import esgi.easisell.service.promotion.PromotionEngine;
+import esgi.easisell.service.tax.TaxBreakdown;
+import esgi.easisell.service.tax.TaxCalculator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 class SalePriceCalculatorImpl implements ISalePriceCalculator {
 
+    private final PromotionEngine promotionEngine;
+    private final TaxCalculator taxCalculator;
+
+    /**
+     * Prix de la ligne arrondi au centime (HALF_UP), remise promotionnelle déduite
+     */
     @Override
     public BigDecimal calculateItemPrice(Product product, BigDecimal quantity) {
-        return product.getUnitPrice().multiply(quantity);
+        long unitPriceCents = Money.toCents(product.getUnitPrice());
+        long quantityMilli = Quantity.toMilli(quantity);
+        long lineCents = Money.lineTotal(unitPriceCents, quantityMilli);
+        long discountCents = promotionEngine.discountCents(product, unitPriceCents, quantityMilli);
+        return Money.toBigDecimal(lineCents - discountCents);
+    }
+
+    @Override
+    public BigDecimal calculateItemDiscount(Product product, BigDecimal quantity) {
+        return Money.toBigDecimal(promotionEngine.discountCents(
+                product, Money.toCents(product.getUnitPrice()), Quantity.toMilli(quantity)));
     }
 
     @Override
     public BigDecimal calculateTotal(List<SaleItem> items) {
-        return items.stream()
-                .map(SaleItem::getPriceAtSale)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        long totalCents = 0;
+        for (SaleItem item : items) {
+            totalCents += Money.toCents(item.getPriceAtSale());
+        }
+        return Money.toBigDecimal(totalCents);
     }
 
     @Override
     public SaleTotalDTO calculateSaleTotal(Sale sale) {
-        BigDecimal subtotal = calculateTotal(sale.getSaleItems());
-        BigDecimal taxAmount = BigDecimal.ZERO; // TODO: Implémenter les taxes
-        BigDecimal discountAmount = BigDecimal.ZERO; // TODO: Implémenter les remises
+        // Les lignes sont stockées nettes : le sous-total affiché est brut, avant remises
+        long netCents = 0;
+        long discountCents = 0;
+        for (SaleItem item : sale.getSaleItems()) {
+            netCents += Money.toCents(item.getPriceAtSale());
+            discountCents += Money.toCents(item.getDiscountAmount());
+        }
+        BigDecimal discountAmount = Money.toBigDecimal(discountCents);
+        BigDecimal subtotal = Money.toBigDecimal(netCents + discountCents);
+        // Prix TTC : la TVA est extraite des lignes, elle ne s'ajoute pas au total
+        TaxBreakdown taxes = taxCalculator.compute(sale.getSaleItems());
 
         return SaleTotalDTO.builder()
                 .subtotal(subtotal)
-                .taxAmount(taxAmount)
+                .taxAmount(taxes.taxAmount())
+                .taxLines(taxes.buckets().stream()
+                        .map(TaxLineDTO::from)
+                        .collect(Collectors.toList()))
                 .discountAmount(discountAmount)
-                .totalAmount(subtotal.add(taxAmount).subtract(discountAmount))
+                .totalAmount(Money.toBigDecimal(netCents))
                 .currency(sale.getClient().getCurrencyPreference())
                 .build();
     }
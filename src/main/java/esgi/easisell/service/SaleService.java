@@ -3,13 +3,19 @@ package esgi.easisell.service;
 import esgi.easisell.dto.*;
 import esgi.easisell.entity.*;
 import esgi.easisell.event.SaleCompletedEvent;
+import esgi.easisell.event.SaleSnapshot;
 import esgi.easisell.exception.*;
 import esgi.easisell.mapper.*;
+import esgi.easisell.model.Money;
 import esgi.easisell.model.PaymentResult;
+import esgi.easisell.model.Quantity;
 import esgi.easisell.repository.*;
 import esgi.easisell.service.interfaces.*;
-import esgi.easisell.service.payment.PaymentProcessor;
-import esgi.easisell.service.payment.PaymentProcessorFactory;
+import esgi.easisell.service.metrics.CheckoutMetrics;
+import esgi.easisell.service.outbox.OutboxService;
+import esgi.easisell.service.payment.PaymentProcessorRegistry;
+import esgi.easisell.service.tax.TaxCalculator;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
@@ -19,11 +25,15 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.sql.Timestamp;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 @Service
@@ -43,7 +53,12 @@ public class SaleService implements ISaleCreationService, ISaleItemService, ISal
     // Services existants conservés
     private final ISaleValidationService saleValidationService;
     private final ISalePriceCalculator priceCalculator;
+    private final TaxCalculator taxCalculator;
     private final ApplicationEventPublisher eventPublisher;
+    private final OutboxService outboxService;
+    private final PaymentProcessorRegistry paymentProcessorRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final CheckoutMetrics checkoutMetrics;
 
     // ========== CRÉATION DE VENTE ==========
     @Override
@@ -58,6 +73,7 @@ public class SaleService implements ISaleCreationService, ISaleItemService, ISal
         sale.setClient(client);
         sale.setSaleTimestamp(Timestamp.valueOf(LocalDateTime.now()));
         sale.setTotalAmount(BigDecimal.ZERO);
+        sale.setBalanceDue(BigDecimal.ZERO);
         sale.setIsDeferred(false);
         sale.setSaleItems(new ArrayList<>());
         sale.setPayments(new ArrayList<>());
@@ -74,17 +90,21 @@ public class SaleService implements ISaleCreationService, ISaleItemService, ISal
     public SaleItemResponseDTO addProductToSale(UUID saleId, String barcode, BigDecimal quantity) {
         log.info("🔍 Scan du produit {} (quantité: {}) pour la vente {}", barcode, quantity, saleId);
 
+        Timer.Sample sample = checkoutMetrics.start();
         Sale sale = findSaleOrThrow(saleId);
-        saleValidationService.validateSaleNotFinalized(sale);
 
-        Product product = productRepository.findByClientAndBarcode(
-                sale.getClient().getUserId(), barcode);
+        return checkoutMetrics.record(sample, CheckoutMetrics.SALE_SCAN, sale.getClient().getUserId(), () -> {
+            saleValidationService.validateSaleEditable(sale);
 
-        if (product == null) {
-            throw new ProductNotFoundException("Code-barres: " + barcode);
-        }
+            Product product = productRepository.findByClientAndBarcode(
+                    sale.getClient().getUserId(), barcode);
 
-        return addProductInternal(sale, product, quantity);
+            if (product == null) {
+                throw new ProductNotFoundException("Code-barres: " + barcode);
+            }
+
+            return addProductInternal(sale, product, quantity);
+        }, "source", "barcode");
     }
 
     @Override
@@ -92,15 +112,19 @@ public class SaleService implements ISaleCreationService, ISaleItemService, ISal
     public SaleItemResponseDTO addProductByIdToSale(UUID saleId, UUID productId, BigDecimal quantity) {
         log.info("➕ Ajout manuel du produit {} (quantité: {}) à la vente {}", productId, quantity, saleId);
 
+        Timer.Sample sample = checkoutMetrics.start();
         Sale sale = findSaleOrThrow(saleId);
-        saleValidationService.validateSaleNotFinalized(sale);
 
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new ProductNotFoundException("ID: " + productId));
+        return checkoutMetrics.record(sample, CheckoutMetrics.SALE_SCAN, sale.getClient().getUserId(), () -> {
+            saleValidationService.validateSaleEditable(sale);
 
-        validateProductBelongsToClient(product, sale.getClient());
+            Product product = productRepository.findById(productId)
+                    .orElseThrow(() -> new ProductNotFoundException("ID: " + productId));
 
-        return addProductInternal(sale, product, quantity);
+            validateProductBelongsToClient(product, sale.getClient());
+
+            return addProductInternal(sale, product, quantity);
+        }, "source", "manual");
     }
 
     @Override
@@ -113,14 +137,13 @@ public class SaleService implements ISaleCreationService, ISaleItemService, ISal
         SaleItem saleItem = saleItemRepository.findById(saleItemId)
                 .orElseThrow(() -> new SaleItemNotFoundException(saleItemId));
 
-        saleValidationService.validateSaleNotFinalized(saleItem.getSale());
+        saleValidationService.validateSaleEditable(saleItem.getSale());
 
         // ✅ VALIDATION AVEC LE SERVICE OPTIMISTE
-        validateStockAvailability(saleItem.getProduct(), saleItem.getSale().getClient().getUserId(), newQuantity.intValue());
+        validateStockAvailability(saleItem.getProduct(), saleItem.getSale().getClient().getUserId(), newQuantity);
 
         saleItem.setQuantitySold(newQuantity);
-        saleItem.setPriceAtSale(priceCalculator.calculateItemPrice(
-                saleItem.getProduct(), newQuantity));
+        applyPricing(saleItem);
 
         saleItemRepository.save(saleItem);
         updateSaleTotal(saleItem.getSale());
@@ -135,7 +158,7 @@ public class SaleService implements ISaleCreationService, ISaleItemService, ISal
                 .orElseThrow(() -> new SaleItemNotFoundException(saleItemId));
 
         Sale sale = saleItem.getSale();
-        saleValidationService.validateSaleNotFinalized(sale);
+        saleValidationService.validateSaleEditable(sale);
 
         sale.getSaleItems().remove(saleItem);
         saleItemRepository.delete(saleItem);
@@ -143,68 +166,61 @@ public class SaleService implements ISaleCreationService, ISaleItemService, ISal
         updateSaleTotal(sale);
     }
 
-    // ========== PAIEMENT AVEC GESTION OPTIMISTE ==========
+    // ========== PAIEMENT : AUTORISATION HORS TRANSACTION ==========
+    /**
+     * ✅ Encaissement en trois temps pour ne jamais tenir une connexion DB pendant l'autorisation :
+     * 1. transaction courte de validation, 2. autorisation asynchrone auprès du processeur,
+     * 3. transaction courte d'enregistrement (paiement, solde, et à solde nul : stock + événements)
+     *
+     * Plusieurs encaissements peuvent se succéder (espèces + carte, paiements différés) :
+     * chacun est imputé sur le reste à payer, plafonné à celui-ci.
+     */
     @Override
-    @Transactional
     public PaymentResultDTO processPayment(UUID saleId, String paymentType,
                                            BigDecimal amountReceived, String currency) {
         log.info("💳 Traitement du paiement pour la vente: {} - Type: {}, Montant: {}",
                 saleId, paymentType, amountReceived);
 
-        Sale sale = findSaleOrThrow(saleId);
-        saleValidationService.validateSaleNotFinalized(sale);
-
-        if (sale.getSaleItems().isEmpty()) {
-            throw new EmptySaleException("Impossible de finaliser une vente vide");
-        }
-
-        // ✅ VALIDATION FINALE DU STOCK AVANT PAIEMENT
-        try {
-            optimisticStockService.validateStockBeforeSale(sale);
-        } catch (InsufficientStockException e) {
-            log.error("❌ Stock insuffisant lors de la finalisation: {}", e.getMessage());
-            throw new PaymentFailedException("Stock insuffisant: " + e.getMessage());
-        }
-
-        PaymentProcessor paymentProcessor = PaymentProcessorFactory.create(paymentType);
-        PaymentResult result = paymentProcessor.processPayment(
-                sale.getTotalAmount(), amountReceived, currency);
-
-        if (!result.isSuccessful()) {
-            throw new PaymentFailedException(result.getErrorMessage());
+        if (amountReceived == null || amountReceived.signum() <= 0) {
+            throw new PaymentFailedException("Le montant reçu doit être supérieur à 0");
         }
 
-        // Enregistrer le paiement
-        Payment payment = Payment.builder()
-                .sale(sale)
-                .type(paymentType)
-                .amount(result.getAmountPaid())
-                .currency(currency)
-                .paymentDate(Timestamp.valueOf(LocalDateTime.now()))
-                .build();
-
-        paymentRepository.save(payment);
-        sale.getPayments().add(payment);
+        String typeTag = paymentType != null ? paymentType.toUpperCase() : "UNKNOWN";
+        Timer.Sample sample = checkoutMetrics.start();
 
-        // ✅ MISE À JOUR DU STOCK AVEC GESTION OPTIMISTE
+        // 1. Validation de la vente et du stock
+        PaymentCheck check;
         try {
-            optimisticStockService.decreaseStockForSale(sale);
-            log.info("✅ Stock décrémenté avec succès pour la vente: {}", saleId);
-        } catch (OptimisticLockingFailureException e) {
-            log.error("⚠️ Conflit de concurrence lors de la mise à jour du stock pour la vente: {}", saleId);
-            throw new PaymentFailedException("Conflit de stock détecté. Veuillez réessayer.");
-        } catch (Exception e) {
-            log.error("❌ Erreur lors de la mise à jour du stock: {}", e.getMessage());
-            throw new PaymentFailedException("Erreur lors de la mise à jour du stock: " + e.getMessage());
+            check = transactionTemplate.execute(status -> {
+                Sale sale = findSaleOrThrow(saleId);
+                validateSaleReadyForPayment(sale);
+                return new PaymentCheck(sale.getClient().getUserId(), sale.getOutstandingBalance());
+            });
+        } catch (RuntimeException e) {
+            checkoutMetrics.stop(sample, CheckoutMetrics.SALE_PAYMENT, null, CheckoutMetrics.outcome(e), "type", typeTag);
+            throw e;
         }
+        BigDecimal balanceDue = check.balanceDue();
 
-        // Publier l'événement
-        eventPublisher.publishEvent(new SaleCompletedEvent(sale));
+        return checkoutMetrics.record(sample, CheckoutMetrics.SALE_PAYMENT, check.clientId(), () -> {
+            BigDecimal tenderAmount = amountReceived.min(balanceDue);
 
-        log.info("🎉 Paiement finalisé avec succès pour la vente: {}", saleId);
-        return PaymentResultMapper.toDTO(result, sale);
+            // 2. Autorisation (aucune transaction ouverte)
+            PaymentResult result = authorizePayment(paymentType, tenderAmount, amountReceived, currency);
+
+            // 3. Enregistrement ; en cas d'échec l'autorisation est annulée
+            try {
+                return transactionTemplate.execute(status ->
+                        commitPayment(saleId, paymentType, currency, balanceDue, result));
+            } catch (RuntimeException e) {
+                paymentProcessorRegistry.release(paymentType, result);
+                throw e;
+            }
+        }, "type", typeTag);
     }
 
+    private record PaymentCheck(UUID clientId, BigDecimal balanceDue) {}
+
     // ========== REQUÊTES ==========
     @Override
     public SaleDetailsDTO getSaleDetails(UUID saleId) {
@@ -213,6 +229,7 @@ public class SaleService implements ISaleCreationService, ISaleItemService, ISal
     }
 
     @Override
+    @Transactional(readOnly = true)
     public SaleTotalDTO calculateSaleTotal(UUID saleId) {
         Sale sale = findSaleOrThrow(saleId);
         return priceCalculator.calculateSaleTotal(sale);
@@ -230,7 +247,7 @@ public class SaleService implements ISaleCreationService, ISaleItemService, ISal
 
     @Override
     public List<SaleResponseDTO> getTodaySales(UUID clientId) {
-        return saleRepository.findTodaySalesByClient(clientId).stream()
+        return saleRepository.findTodaySalesByClient(clientId, startOfToday(), startOfTomorrow()).stream()
                 .map(SaleMapper::toResponseDTO)
                 .collect(Collectors.toList());
     }
@@ -239,11 +256,11 @@ public class SaleService implements ISaleCreationService, ISaleItemService, ISal
     public ReceiptDTO generateReceiptData(UUID saleId) {
         Sale sale = findSaleOrThrow(saleId);
 
-        if (sale.getPayments().isEmpty()) {
+        if (!sale.isFullyPaid()) {
             throw new SaleNotPaidException("Cette vente n'a pas été payée");
         }
 
-        return ReceiptGenerator.generate(sale);
+        return ReceiptGenerator.generate(sale, taxCalculator.compute(sale.getSaleItems()));
     }
 
     // ========== MÉTHODES SPÉCIFIQUES À LA GESTION MULTI-CAISSES ==========
@@ -260,7 +277,7 @@ public class SaleService implements ISaleCreationService, ISaleItemService, ISal
                 if (!optimisticStockService.reserveStock(
                         saleItem.getProduct().getProductId(),
                         sale.getClient().getUserId(),
-                        saleItem.getQuantitySold().intValue())) { // ✅ FIX : conversion vers int
+                        Quantity.toMilli(saleItem.getQuantitySold()))) {
                     return false;
                 }
             }
@@ -271,10 +288,35 @@ public class SaleService implements ISaleCreationService, ISaleItemService, ISal
         }
     }
 
+    // ========== VENTES DIFFÉRÉES ==========
+
+    /**
+     * Marque une vente comme différée : elle peut rester partiellement payée
+     */
+    @Transactional
+    public SaleResponseDTO markSaleAsDeferred(UUID saleId, boolean deferred) {
+        Sale sale = findSaleOrThrow(saleId);
+        saleValidationService.validateSaleNotFinalized(sale);
+
+        sale.setIsDeferred(deferred);
+        saleRepository.save(sale);
+
+        return SaleMapper.toResponseDTO(sale);
+    }
+
+    /**
+     * Ventes différées avec un reste à payer
+     */
+    public List<SaleResponseDTO> getDeferredSalesWithBalance(UUID clientId) {
+        return saleRepository.findPendingPaymentSales(clientId).stream()
+                .map(SaleMapper::toResponseDTO)
+                .collect(Collectors.toList());
+    }
+
     // ========== MÉTHODES EXISTANTES CONSERVÉES ==========
 
     public BigDecimal getTodayTotalSales(UUID clientId) {
-        return saleRepository.getTodayTotalSales(clientId);
+        return saleRepository.getTodayTotalSales(clientId, startOfToday(), startOfTomorrow());
     }
 
     public boolean canAccessSale(UUID saleId, UUID userId) {
@@ -288,12 +330,125 @@ public class SaleService implements ISaleCreationService, ISaleItemService, ISal
                 .orElseThrow(() -> new SaleNotFoundException(saleId));
     }
 
+    // Bornes de la journée en cours : comparaison par intervalle plutôt que DATE(...) = CURRENT_DATE
+    private static Timestamp startOfToday() {
+        return Timestamp.valueOf(LocalDate.now().atStartOfDay());
+    }
+
+    private static Timestamp startOfTomorrow() {
+        return Timestamp.valueOf(LocalDate.now().plusDays(1).atStartOfDay());
+    }
+
+    private void validateSaleReadyForPayment(Sale sale) {
+        saleValidationService.validateSaleNotFinalized(sale);
+
+        if (sale.getSaleItems().isEmpty()) {
+            throw new EmptySaleException("Impossible de finaliser une vente vide");
+        }
+
+        // ✅ VALIDATION FINALE DU STOCK AVANT PAIEMENT
+        try {
+            optimisticStockService.validateStockBeforeSale(sale);
+        } catch (InsufficientStockException e) {
+            log.error("❌ Stock insuffisant lors de la finalisation: {}", e.getMessage());
+            throw new PaymentFailedException("Stock insuffisant: " + e.getMessage());
+        }
+    }
+
+    private PaymentResult authorizePayment(String paymentType, BigDecimal amountDue,
+                                           BigDecimal amountReceived, String currency) {
+        PaymentResult result;
+        try {
+            result = paymentProcessorRegistry.authorize(paymentType, amountDue, amountReceived, currency).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof PaymentFailedException paymentFailed) {
+                throw paymentFailed;
+            }
+            if (cause instanceof TimeoutException) {
+                log.error("⏱️ Délai d'autorisation dépassé ({})", paymentType);
+                throw new PaymentFailedException("Le service de paiement ne répond pas. Veuillez réessayer.");
+            }
+            log.error("❌ Erreur lors de l'autorisation du paiement: {}", cause.getMessage());
+            throw new PaymentFailedException("Erreur lors de l'autorisation du paiement: " + cause.getMessage());
+        }
+
+        if (!result.isSuccessful()) {
+            throw new PaymentFailedException(result.getErrorMessage());
+        }
+        return result;
+    }
+
+    /**
+     * ✅ Transaction d'enregistrement : la vente est verrouillée pour qu'une seule caisse la finalise
+     */
+    private PaymentResultDTO commitPayment(UUID saleId, String paymentType, String currency,
+                                           BigDecimal balanceDue, PaymentResult result) {
+        Sale sale = saleRepository.findByIdForUpdate(saleId)
+                .orElseThrow(() -> new SaleNotFoundException(saleId));
+
+        // La vente a pu être finalisée, modifiée ou encaissée par une autre caisse pendant l'autorisation
+        saleValidationService.validateSaleNotFinalized(sale);
+        if (sale.getOutstandingBalance().compareTo(balanceDue) != 0) {
+            throw new PaymentFailedException("Le montant de la vente a changé pendant le paiement. Veuillez réessayer.");
+        }
+
+        // Enregistrer le paiement et l'imputer sur le reste à payer
+        Payment payment = Payment.builder()
+                .sale(sale)
+                .type(paymentType)
+                .amount(result.getAmountPaid())
+                .changeAmount(result.getChangeAmount())
+                .currency(currency)
+                .paymentDate(Timestamp.valueOf(LocalDateTime.now()))
+                .build();
+
+        paymentRepository.save(payment);
+        sale.getPayments().add(payment);
+        long remainingCents = Money.toCents(balanceDue) - Money.toCents(result.getAmountPaid());
+        sale.setBalanceDue(Money.toBigDecimal(Math.max(0L, remainingCents)));
+        saleRepository.save(sale);
+
+        if (sale.getBalanceDue().signum() > 0) {
+            log.info("💶 Paiement partiel enregistré pour la vente: {} - Reste à payer: {}",
+                    saleId, sale.getBalanceDue());
+            return PaymentResultMapper.toDTO(result, sale);
+        }
+
+        // ✅ SOLDE NUL : décrément du stock et événements, une seule fois par vente
+        completeSale(sale);
+        log.info("🎉 Paiement finalisé avec succès pour la vente: {}", saleId);
+        return PaymentResultMapper.toDTO(result, sale);
+    }
+
+    private void completeSale(Sale sale) {
+        UUID saleId = sale.getSaleId();
+
+        // ✅ MISE À JOUR DU STOCK AVEC GESTION OPTIMISTE
+        try {
+            optimisticStockService.decreaseStockForSale(sale);
+            log.info("✅ Stock décrémenté avec succès pour la vente: {}", saleId);
+        } catch (OptimisticLockingFailureException e) {
+            log.error("⚠️ Conflit de concurrence lors de la mise à jour du stock pour la vente: {}", saleId);
+            throw new PaymentFailedException("Conflit de stock détecté. Veuillez réessayer.");
+        } catch (Exception e) {
+            log.error("❌ Erreur lors de la mise à jour du stock: {}", e.getMessage());
+            throw new PaymentFailedException("Erreur lors de la mise à jour du stock: " + e.getMessage());
+        }
+
+        // Publier l'événement (copie immuable, consommée après le commit)
+        // et l'inscrire dans l'outbox, dans la même transaction que le paiement
+        SaleSnapshot snapshot = SaleSnapshot.from(sale);
+        outboxService.recordSaleCompleted(snapshot);
+        eventPublisher.publishEvent(new SaleCompletedEvent(snapshot));
+    }
+
     /**
      * ✅ AJOUT DE PRODUIT AVEC VALIDATION OPTIMISTE
      */
     private SaleItemResponseDTO addProductInternal(Sale sale, Product product, BigDecimal quantity) {
         // 1. Validation immédiate du stock disponible
-        validateStockAvailability(product, sale.getClient().getUserId(), quantity.intValue());
+        validateStockAvailability(product, sale.getClient().getUserId(), quantity);
 
         Optional<SaleItem> existingItem = findExistingItem(sale, product);
 
@@ -307,12 +462,13 @@ public class SaleService implements ISaleCreationService, ISaleItemService, ISal
     /**
      * ✅ VALIDATION DE STOCK AVEC SERVICE OPTIMISTE
      */
-    private void validateStockAvailability(Product product, UUID clientId, int requestedQuantity) {
-        if (!optimisticStockService.isStockSufficient(product.getProductId(), clientId, requestedQuantity)) {
-            int availableStock = optimisticStockService.getTotalStockQuantity(product.getProductId(), clientId);
+    private void validateStockAvailability(Product product, UUID clientId, BigDecimal requestedQuantity) {
+        long requestedMilli = Quantity.toMilli(requestedQuantity);
+        if (!optimisticStockService.isStockSufficient(product.getProductId(), clientId, requestedMilli)) {
+            long availableMilli = optimisticStockService.getTotalStockMilli(product.getProductId(), clientId);
             throw new InsufficientStockException(
-                    String.format("Stock insuffisant pour %s. Disponible: %d, Demandé: %d",
-                            product.getName(), availableStock, requestedQuantity));
+                    String.format("Stock insuffisant pour %s. Disponible: %s, Demandé: %s",
+                            product.getName(), Quantity.format(availableMilli), Quantity.format(requestedMilli)));
         }
     }
 
@@ -332,12 +488,11 @@ public class SaleService implements ISaleCreationService, ISaleItemService, ISal
         validateStockAvailability(
                 item.getProduct(),
                 item.getSale().getClient().getUserId(),
-                newQuantity.intValue()
+                newQuantity
         );
 
         item.setQuantitySold(newQuantity);
-        item.setPriceAtSale(priceCalculator.calculateItemPrice(
-                item.getProduct(), newQuantity));
+        applyPricing(item);
 
         saleItemRepository.save(item);
         updateSaleTotal(item.getSale());
@@ -353,8 +508,8 @@ public class SaleService implements ISaleCreationService, ISaleItemService, ISal
                 .sale(sale)
                 .product(product)
                 .quantitySold(quantity)
-                .priceAtSale(priceCalculator.calculateItemPrice(product, quantity))
                 .build();
+        applyPricing(newItem);
 
         sale.getSaleItems().add(newItem);
         saleItemRepository.save(newItem);
@@ -363,9 +518,19 @@ public class SaleService implements ISaleCreationService, ISaleItemService, ISal
         return SaleItemMapper.toResponseDTO(newItem);
     }
 
+    /**
+     * ✅ Prix de ligne net des promotions actives, la remise étant conservée sur la ligne
+     */
+    private void applyPricing(SaleItem item) {
+        item.setDiscountAmount(priceCalculator.calculateItemDiscount(item.getProduct(), item.getQuantitySold()));
+        item.setPriceAtSale(priceCalculator.calculateItemPrice(item.getProduct(), item.getQuantitySold()));
+    }
+
     private void updateSaleTotal(Sale sale) {
         BigDecimal total = priceCalculator.calculateTotal(sale.getSaleItems());
         sale.setTotalAmount(total);
+        // Aucun paiement n'est possible tant que le panier est modifiable : tout reste à payer
+        sale.setBalanceDue(total);
         saleRepository.save(sale);
     }
 
@@ -393,7 +558,7 @@ public class SaleService implements ISaleCreationService, ISaleItemService, ISal
      * Top produits vendus aujourd'hui - ADAPTÉ
      */
     public List<Object[]> getTodayTopProducts(UUID clientId, int limit) {
-        List<Object[]> allProducts = saleRepository.findTodayTopSellingProducts(clientId);
+        List<Object[]> allProducts = saleRepository.findTodayTopSellingProducts(clientId, startOfToday(), startOfTomorrow());
 
         // Limiter manuellement les résultats
         return allProducts.stream()
@@ -413,22 +578,22 @@ public class SaleService implements ISaleCreationService, ISaleItemService, ISal
      * Vérification de disponibilité de stock avant ajout
      */
     public boolean checkProductAvailability(UUID productId, UUID clientId, BigDecimal quantity) {
-        return optimisticStockService.isStockSufficient(productId, clientId, quantity.intValue());
+        return optimisticStockService.isStockSufficient(productId, clientId, Quantity.toMilli(quantity));
     }
 
     /**
      * Informations de stock en temps réel
      */
     public Map<String, Object> getRealtimeStockInfo(UUID productId, UUID clientId) {
-        int currentStock = optimisticStockService.getTotalStockQuantity(productId, clientId);
+        long currentStockMilli = optimisticStockService.getTotalStockMilli(productId, clientId);
 
         // Récupérer le produit pour plus d'infos
         Optional<Product> productOpt = productRepository.findById(productId);
 
         Map<String, Object> stockInfo = new HashMap<>();
         stockInfo.put("productId", productId);
-        stockInfo.put("currentStock", currentStock);
-        stockInfo.put("available", currentStock > 0);
+        stockInfo.put("currentStock", Quantity.toBigDecimal(currentStockMilli));
+        stockInfo.put("available", currentStockMilli > 0);
         stockInfo.put("lastUpdated", System.currentTimeMillis());
 
         if (productOpt.isPresent()) {
@@ -23,9 +23,19 @@ class SaleValidationServiceImpl implements ISaleValidationService {
 
     @Override
     public void validateSaleNotFinalized(Sale sale) {
-        if (!sale.getPayments().isEmpty()) {
+        if (sale.isFullyPaid()) {
             throw new SaleAlreadyFinalizedException(
                     "Cette vente est déjà finalisée");
         }
     }
+
+    @Override
+    public void validateSaleEditable(Sale sale) {
+        validateSaleNotFinalized(sale);
+        // Le panier est figé dès le premier encaissement (paiement fractionné en cours)
+        if (!sale.getPayments().isEmpty()) {
+            throw new SaleAlreadyFinalizedException(
+                    "Des paiements ont déjà été enregistrés sur cette vente");
+        }
+    }
 }
@@ -3,14 +3,15 @@ package esgi.easisell.service;
 import esgi.easisell.dto.StatisticsDto;
 import esgi.easisell.entity.Sale;
 import esgi.easisell.entity.SaleItem;
+import esgi.easisell.model.Money;
 import esgi.easisell.repository.SaleRepository;
+import esgi.easisell.service.metrics.CheckoutMetrics;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
@@ -25,6 +26,7 @@ import java.util.stream.Collectors;
 public class StatisticsService {
 
     private final SaleRepository saleRepository;
+    private final CheckoutMetrics checkoutMetrics;
 
     @Getter
     public enum StatisticsPeriod {
@@ -58,6 +60,13 @@ public class StatisticsService {
 
     private StatisticsDto calculateStatisticsForPeriod(UUID clientId, LocalDate startDate,
                                                        LocalDate endDate, StatisticsPeriod period, List<Sale> sales) {
+        return checkoutMetrics.record(checkoutMetrics.start(), CheckoutMetrics.STATISTICS, clientId,
+                () -> aggregate(clientId, startDate, endDate, period, sales),
+                "period", period != null ? period.name() : (sales != null ? "CATEGORY" : "CUSTOM"));
+    }
+
+    private StatisticsDto aggregate(UUID clientId, LocalDate startDate,
+                                    LocalDate endDate, StatisticsPeriod period, List<Sale> sales) {
         Timestamp startTimestamp = Timestamp.valueOf(startDate.atStartOfDay());
         Timestamp endTimestamp = Timestamp.valueOf(endDate.atTime(23, 59, 59));
 
@@ -89,9 +98,11 @@ public class StatisticsService {
     }
 
     private BigDecimal calculateTotalRevenue(List<Sale> sales) {
-        return sales.stream()
-                .map(Sale::getTotalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        long totalCents = 0;
+        for (Sale sale : sales) {
+            totalCents += Money.toCents(sale.getTotalAmount());
+        }
+        return Money.toBigDecimal(totalCents);
     }
 
     // ✅ FIX LIGNE 102 - Conversion BigDecimal vers int pour summingInt
@@ -116,7 +127,7 @@ public class StatisticsService {
         }
 
         if (numberOfPeriods > 0) {
-            averageRevenue = totalRevenue.divide(BigDecimal.valueOf(numberOfPeriods), 2, RoundingMode.HALF_UP);
+            averageRevenue = Money.toBigDecimal(Money.divideHalfUp(Money.toCents(totalRevenue), numberOfPeriods));
             averageVolume = totalVolume / numberOfPeriods;
         } else {
             averageRevenue = BigDecimal.ZERO;
@@ -2,7 +2,10 @@ package esgi.easisell.service;
 
 import esgi.easisell.entity.StockAuditLog;
 import esgi.easisell.entity.StockItem;
+import esgi.easisell.model.Quantity;
 import esgi.easisell.repository.StockAuditLogRepository;
+import esgi.easisell.service.metrics.CheckoutMetrics;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -22,12 +25,15 @@ import java.util.UUID;
 public class StockAuditService {
 
     private final StockAuditLogRepository auditRepository;
+    private final CheckoutMetrics checkoutMetrics;
 
     /**
      * ✅ Enregistre une modification de stock
      */
     @Transactional
     public void logStockUpdate(StockItem oldItem, StockItem newItem, StockAuditLog.OperationType operation) {
+        Timer.Sample sample = checkoutMetrics.start();
+        String outcome = CheckoutMetrics.SUCCESS;
         try {
             StockAuditLog auditLog = StockAuditLog.builder()
                     .stockItemId(newItem.getStockItemId())
@@ -36,6 +42,8 @@ public class StockAuditService {
                     .operationType(operation)
                     .oldQuantity(oldItem != null ? oldItem.getQuantity() : null)
                     .newQuantity(newItem.getQuantity())
+                    .oldQuantityMilli(oldItem != null ? oldItem.getQuantityMilli() : null)
+                    .newQuantityMilli(newItem.getQuantityMilli())
                     .oldVersion(oldItem != null ? oldItem.getVersion() : null)
                     .newVersion(newItem.getVersion())
                     .build();
@@ -44,12 +52,15 @@ public class StockAuditService {
 
             log.debug("📝 Audit enregistré : {} {} -> {}",
                     operation,
-                    oldItem != null ? oldItem.getQuantity() : "NULL",
-                    newItem.getQuantity());
+                    oldItem != null ? Quantity.format(oldItem.getQuantityMilli()) : "NULL",
+                    Quantity.format(newItem.getQuantityMilli()));
 
         } catch (Exception e) {
+            outcome = CheckoutMetrics.outcome(e);
             log.error("❌ Erreur lors de l'audit : {}", e.getMessage());
         }
+        checkoutMetrics.stop(sample, CheckoutMetrics.STOCK_AUDIT, newItem.getClient().getUserId(), outcome,
+                "operation", operation.name());
     }
 
     /**
@@ -73,6 +84,8 @@ public class StockAuditService {
                     .operationType(StockAuditLog.OperationType.DELETE)
                     .oldQuantity(deletedItem.getQuantity())
                     .newQuantity(0)
+                    .oldQuantityMilli(deletedItem.getQuantityMilli())
+                    .newQuantityMilli(0L)
                     .oldVersion(deletedItem.getVersion())
                     .newVersion(null)
                     .build();
@@ -6,17 +6,22 @@ import esgi.easisell.entity.Client;
 import esgi.easisell.entity.Product;
 import esgi.easisell.entity.StockItem;
 import esgi.easisell.entity.Supplier;
+import esgi.easisell.model.Quantity;
 import esgi.easisell.repository.ClientRepository;
 import esgi.easisell.repository.ProductRepository;
 import esgi.easisell.repository.StockItemRepository;
 import esgi.easisell.repository.SupplierRepository;
+import esgi.easisell.service.search.ProductSearchService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -30,6 +35,7 @@ public class StockItemService {
     private final ProductRepository productRepository;
     private final ClientRepository clientRepository;
     private final SupplierRepository supplierRepository;
+    private final ProductSearchService productSearchService;
 
     @Transactional
     public StockItem createStockItem(CreateStockItemDTO dto) {
@@ -44,7 +50,7 @@ public class StockItemService {
         StockItem stockItem = new StockItem();
         stockItem.setProduct(product);
         stockItem.setClient(client);
-        stockItem.setQuantity(dto.getQuantity());
+        stockItem.setQuantityMilli(Quantity.toMilli(dto.getQuantity()));
         stockItem.setReorderThreshold(dto.getReorderThreshold());
         stockItem.setPurchasePrice(dto.getPurchasePrice());
 
@@ -84,7 +90,7 @@ public class StockItemService {
         return stockItemRepository.findById(stockItemId)
                 .map(stockItem -> {
                     if (dto.getQuantity() != null) {
-                        stockItem.setQuantity(dto.getQuantity());
+                        stockItem.setQuantityMilli(Quantity.toMilli(dto.getQuantity()));
                     }
                     if (dto.getReorderThreshold() != null) {
                         stockItem.setReorderThreshold(dto.getReorderThreshold());
@@ -109,8 +115,8 @@ public class StockItemService {
     }
 
     @Transactional
-    public boolean adjustStockQuantity(UUID productId, int quantityChange) {
-        log.info("Ajustement du stock pour le produit: {} de {}", productId, quantityChange);
+    public boolean adjustStockQuantity(UUID productId, long milliChange) {
+        log.info("Ajustement du stock pour le produit: {} de {}", productId, Quantity.format(milliChange));
 
         // Récupérer tous les items de stock pour ce produit
         List<StockItem> stockItems = stockItemRepository.findByProductProductId(productId);
@@ -120,16 +126,16 @@ public class StockItemService {
             return false;
         }
 
-        int remainingToDecrease = Math.abs(quantityChange);
+        long remainingToDecrease = Math.abs(milliChange);
 
         // Si on diminue le stock
-        if (quantityChange < 0) {
+        if (milliChange < 0) {
             for (StockItem item : stockItems) {
                 if (remainingToDecrease <= 0) break;
 
-                if (item.getQuantity() > 0) {
-                    int toDecrease = Math.min(item.getQuantity(), remainingToDecrease);
-                    item.setQuantity(item.getQuantity() - toDecrease);
+                if (item.getQuantityMilli() > 0) {
+                    long toDecrease = Math.min(item.getQuantityMilli(), remainingToDecrease);
+                    item.setQuantityMilli(item.getQuantityMilli() - toDecrease);
                     stockItemRepository.save(item);
                     remainingToDecrease -= toDecrease;
                 }
@@ -141,7 +147,7 @@ public class StockItemService {
         else {
             // Ajouter au premier item trouvé
             StockItem firstItem = stockItems.get(0);
-            firstItem.setQuantity(firstItem.getQuantity() + quantityChange);
+            firstItem.setQuantityMilli(firstItem.getQuantityMilli() + milliChange);
             stockItemRepository.save(firstItem);
             return true;
         }
@@ -165,12 +171,24 @@ public class StockItemService {
         return stockItemRepository.findExpiringItems(clientId, Timestamp.valueOf(futureDate));
     }
 
-    public int getTotalStockQuantityByProduct(UUID clientId, UUID productId) {
-        return stockItemRepository.getTotalStockQuantityByProduct(clientId, productId);
+    public BigDecimal getTotalStockQuantityByProduct(UUID clientId, UUID productId) {
+        return Quantity.toBigDecimal(stockItemRepository.getTotalStockMilliByProduct(clientId, productId));
     }
 
+    /**
+     * Lots des produits trouvés par la recherche plein texte, dans l'ordre de pertinence des produits
+     */
     public List<StockItem> searchStockItemsByProductName(UUID clientId, String productName) {
-        return stockItemRepository.findByClientUserIdAndProductNameContainingIgnoreCase(clientId, productName);
+        List<UUID> productIds = productSearchService.search(clientId, productName).stream()
+                .map(Product::getProductId)
+                .toList();
+        if (productIds.isEmpty()) {
+            return List.of();
+        }
+        List<StockItem> stockItems = new ArrayList<>(
+                stockItemRepository.findByClientUserIdAndProductProductIdIn(clientId, productIds));
+        stockItems.sort(Comparator.comparingInt(item -> productIds.indexOf(item.getProduct().getProductId())));
+        return stockItems;
     }
 
     public List<StockItem> findStockByProductBarcode(UUID clientId, String barcode) {
@@ -198,7 +216,7 @@ public class StockItemService {
      * Items en rupture de stock
      */
     public List<StockItem> getOutOfStockItems(UUID clientId) {
-        return stockItemRepository.findByClientUserIdAndQuantity(clientId, 0);
+        return stockItemRepository.findOutOfStockItems(clientId);
     }
 
     /**
@@ -225,16 +243,14 @@ public class StockItemService {
     /**
      * Vérification rapide de disponibilité
      */
-    public boolean isProductAvailable(UUID productId, UUID clientId, int requestedQuantity) {
-        Integer available = stockItemRepository.getTotalAvailableStock(productId, clientId);
-        return available != null && available >= requestedQuantity;
+    public boolean isProductAvailable(UUID productId, UUID clientId, BigDecimal requestedQuantity) {
+        return stockItemRepository.isProductAvailable(productId, clientId, Quantity.toMilli(requestedQuantity));
     }
 
     /**
      * Stock total disponible
      */
-    public int getTotalAvailableStock(UUID productId, UUID clientId) {
-        Integer total = stockItemRepository.getTotalAvailableStock(productId, clientId);
-        return total != null ? total : 0;
+    public BigDecimal getTotalAvailableStock(UUID productId, UUID clientId) {
+        return Quantity.toBigDecimal(stockItemRepository.getTotalAvailableStockMilli(productId, clientId));
     }
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package esgi.easisell.service;
 import esgi.easisell.entity.Sale;
 import esgi.easisell.entity.SaleItem;
 import esgi.easisell.exception.StockUpdateException;
+import esgi.easisell.model.Quantity;
 import esgi.easisell.service.interfaces.IStockUpdateService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -18,10 +19,10 @@ class StockUpdateServiceImpl implements IStockUpdateService {
     @Transactional
     public void decreaseStockForSale(Sale sale) {
         for (SaleItem item : sale.getSaleItems()) {
-            int quantityToDecrease = item.getQuantitySold().intValue();
+            long milliToDecrease = Quantity.toMilli(item.getQuantitySold());
             boolean success = stockItemService.adjustStockQuantity(
                     item.getProduct().getProductId(),
-                    -quantityToDecrease
+                    -milliToDecrease
             );
 
             if (!success) {
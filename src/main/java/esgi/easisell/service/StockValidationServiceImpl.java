@@ -6,6 +6,7 @@ import esgi.easisell.service.interfaces.IStockValidationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
 import java.util.UUID;
 
 @Service
@@ -15,14 +16,14 @@ class StockValidationServiceImpl implements IStockValidationService {
     private final StockItemService stockItemService;
 
     @Override
-    public void validateStockAvailable(Product product, UUID clientId, int requestedQuantity) {
-        int availableStock = stockItemService.getTotalStockQuantityByProduct(
+    public void validateStockAvailable(Product product, UUID clientId, BigDecimal requestedQuantity) {
+        BigDecimal availableStock = stockItemService.getTotalStockQuantityByProduct(
                 clientId, product.getProductId());
 
-        if (availableStock < requestedQuantity) {
+        if (availableStock.compareTo(requestedQuantity) < 0) {
             throw new InsufficientStockException(
-                    String.format("Stock insuffisant pour %s. Disponible: %d, Demandé: %d",
-                            product.getName(), availableStock, requestedQuantity));
+                    String.format("Stock insuffisant pour %s. Disponible: %s, Demandé: %s",
+                            product.getName(), availableStock.toPlainString(), requestedQuantity.toPlainString()));
         }
     }
 }
\ No newline at end of file
@@ -9,6 +9,7 @@ import java.util.List;
 
 public interface ISalePriceCalculator {
     BigDecimal calculateItemPrice(Product product, BigDecimal quantity);
+    BigDecimal calculateItemDiscount(Product product, BigDecimal quantity);
     BigDecimal calculateTotal(List<SaleItem> items);
     SaleTotalDTO calculateSaleTotal(Sale sale);
-}
\ No newline at end of file
+}
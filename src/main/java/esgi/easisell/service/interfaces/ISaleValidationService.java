@@ -7,5 +7,6 @@ import java.util.UUID;
 public interface ISaleValidationService {
     boolean canAccessSale(UUID saleId, UUID userId);
     void validateSaleNotFinalized(Sale sale);
+    void validateSaleEditable(Sale sale);
 }
 
@@ -1,8 +1,10 @@
 package esgi.easisell.service.interfaces;
 
 import esgi.easisell.entity.Product;
+
+import java.math.BigDecimal;
 import java.util.UUID;
 
 public interface IStockValidationService {
-    void validateStockAvailable(Product product, UUID clientId, int requestedQuantity);
+    void validateStockAvailable(Product product, UUID clientId, BigDecimal requestedQuantity);
 }
\ No newline at end of file
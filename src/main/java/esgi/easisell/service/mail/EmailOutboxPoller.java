@@ -0,0 +1,165 @@
+package esgi.easisell.service.mail;
+
+import esgi.easisell.entity.EmailSend;
+import esgi.easisell.repository.EmailSendRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * ✅ RELAIS DE L'OUTBOX DES EMAILS
+ * Réserve un lot d'EMAIL_SEND dus (SELECT ... FOR UPDATE SKIP LOCKED), le confie à {@link MailDispatcher},
+ * puis marque chaque ligne envoyée, à réessayer (délai exponentiel) ou en lettre morte.
+ * Plusieurs instances peuvent tourner en parallèle sans envoyer deux fois le même lot.
+ */
+@Component
+@ConditionalOnProperty(name = "easisell.mail.outbox.poller.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class EmailOutboxPoller {
+
+    private final EmailSendRepository emailSendRepository;
+    private final MailDispatcher mailDispatcher;
+    private final TransactionTemplate transactionTemplate;
+    private final String nodeId = ManagementFactory.getRuntimeMXBean().getName();
+
+    @Value("${easisell.mail.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${easisell.mail.outbox.claim-timeout-ms:120000}")
+    private long claimTimeoutMs;
+
+    @Value("${easisell.mail.outbox.max-attempts:6}")
+    private int maxAttempts;
+
+    @Value("${easisell.mail.outbox.backoff-base-ms:30000}")
+    private long backoffBaseMs;
+
+    @Value("${easisell.mail.outbox.backoff-max-ms:3600000}")
+    private long backoffMaxMs;
+
+    public EmailOutboxPoller(EmailSendRepository emailSendRepository,
+                             MailDispatcher mailDispatcher,
+                             PlatformTransactionManager transactionManager) {
+        this.emailSendRepository = emailSendRepository;
+        this.mailDispatcher = mailDispatcher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * ✅ Boucle de relais : enchaîne les lots tant qu'ils sont pleins et envoyés sans échec
+     */
+    @Scheduled(fixedDelayString = "${easisell.mail.outbox.poll-interval-ms:2000}")
+    public void poll() {
+        boolean drainMore;
+        do {
+            List<EmailSend> batch = claimBatch();
+            if (batch.isEmpty()) {
+                return;
+            }
+            int failed = send(batch);
+            drainMore = batch.size() == batchSize && failed == 0;
+        } while (drainMore);
+    }
+
+    // ========== MÉTHODES PRIVÉES ==========
+
+    private List<EmailSend> claimBatch() {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        Timestamp claimExpiry = new Timestamp(now.getTime() - claimTimeoutMs);
+
+        List<EmailSend> batch = transactionTemplate.execute(status -> {
+            List<EmailSend> locked = emailSendRepository.lockNextBatch(now, claimExpiry, batchSize);
+            for (EmailSend emailSend : locked) {
+                emailSend.setStatus(EmailSend.STATUS_SENDING);
+                emailSend.setClaimedBy(nodeId);
+                emailSend.setClaimedAt(now);
+                // Contenu chargé dans la transaction : l'envoi se fait hors transaction
+                emailSend.getEmail().getContent();
+            }
+            return locked;
+        });
+        return batch != null ? batch : new ArrayList<>();
+    }
+
+    private int send(List<EmailSend> batch) {
+        Map<UUID, CompletableFuture<Void>> pending = new LinkedHashMap<>();
+        for (EmailSend emailSend : batch) {
+            pending.put(emailSend.getEmailSendId(), mailDispatcher.submit(
+                    emailSend.getRecipient(), emailSend.getEmail().getSubject(), emailSend.getEmail().getContent()));
+        }
+
+        // Attente bornée par la réservation : au-delà, un autre nœud pourrait reprendre le lot
+        long deadline = System.currentTimeMillis() + claimTimeoutMs / 2;
+        Map<UUID, String> failures = new HashMap<>();
+        for (Map.Entry<UUID, CompletableFuture<Void>> entry : pending.entrySet()) {
+            try {
+                entry.getValue().get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+            } catch (ExecutionException e) {
+                failures.put(entry.getKey(), e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+            } catch (TimeoutException e) {
+                failures.put(entry.getKey(), "Envoi non terminé dans le délai de réservation");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failures.put(entry.getKey(), "Interrompu");
+            }
+        }
+
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        transactionTemplate.executeWithoutResult(status -> {
+            for (EmailSend emailSend : emailSendRepository.findAllById(pending.keySet())) {
+                // Réservation reprise par un autre nœud entre-temps : on ne touche à rien
+                if (!EmailSend.STATUS_SENDING.equals(emailSend.getStatus()) || !nodeId.equals(emailSend.getClaimedBy())) {
+                    continue;
+                }
+
+                emailSend.setAttempts(emailSend.getAttempts() + 1);
+                if (failures.containsKey(emailSend.getEmailSendId())) {
+                    String error = failures.get(emailSend.getEmailSendId());
+                    emailSend.setLastError(error != null && error.length() > 1000 ? error.substring(0, 1000) : error);
+                    if (emailSend.getAttempts() >= maxAttempts) {
+                        emailSend.setStatus(EmailSend.STATUS_DEAD);
+                        log.error("❌ Email vers {} en lettre morte après {} tentatives: {}",
+                                emailSend.getRecipient(), emailSend.getAttempts(), error);
+                    } else {
+                        emailSend.setStatus(EmailSend.STATUS_PENDING);
+                        emailSend.setNextAttemptAt(new Timestamp(now.getTime() + backoff(emailSend.getAttempts())));
+                    }
+                } else {
+                    emailSend.setStatus(EmailSend.STATUS_SENT);
+                    emailSend.setSentAt(now);
+                    emailSend.setLastError(null);
+                }
+                emailSend.setClaimedBy(null);
+                emailSend.setClaimedAt(null);
+            }
+        });
+
+        log.debug("📨 Outbox emails : {} envoi(s) traités, {} en échec", batch.size(), failures.size());
+        return failures.size();
+    }
+
+    /**
+     * Délai avant la tentative suivante : base, 2 x base, 4 x base... plafonné
+     */
+    private long backoff(int attempts) {
+        long delay = backoffBaseMs << Math.min(attempts - 1, 20);
+        return Math.min(delay, backoffMaxMs);
+    }
+}
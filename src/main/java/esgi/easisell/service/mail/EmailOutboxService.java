@@ -0,0 +1,82 @@
+package esgi.easisell.service.mail;
+
+import esgi.easisell.entity.Client;
+import esgi.easisell.entity.Email;
+import esgi.easisell.entity.EmailSend;
+import esgi.easisell.repository.ClientRepository;
+import esgi.easisell.repository.EmailRepository;
+import esgi.easisell.repository.EmailSendRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+
+/**
+ * ✅ OUTBOX DES EMAILS
+ * Insère EMAIL + EMAIL_SEND (PENDING) dans la transaction de l'appelant : aucun appel SMTP sur le
+ * chemin HTTP, et un email n'est jamais perdu si l'envoi échoue. Le contenu arrive déjà rendu :
+ * une erreur de template ne doit pas marquer la transaction de l'appelant en rollback-only.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EmailOutboxService {
+
+    private final EmailRepository emailRepository;
+    private final EmailSendRepository emailSendRepository;
+    private final ClientRepository clientRepository;
+
+    /**
+     * ✅ Client à rattacher à l'historique : seulement un client enregistré (pas un objet de test non persisté)
+     */
+    public Client registeredClient(Client client) {
+        return client != null && client.getUserId() != null && clientRepository.existsById(client.getUserId())
+                ? clientRepository.getReferenceById(client.getUserId())
+                : null;
+    }
+
+    /**
+     * ✅ Insertion d'un email déjà rendu (campagnes : rendu en parallèle hors transaction)
+     * @param client client enregistré, ou null
+     */
+    @Transactional
+    public EmailSend enqueueRendered(Client client, String to, String subject, String templateName,
+                                     String content, UUID campaignId) {
+        Email email = new Email();
+        email.setSubject(subject);
+        email.setContent(content);
+        email.setType(templateName);
+        email = emailRepository.save(email);
+
+        EmailSend emailSend = new EmailSend();
+        emailSend.setEmail(email);
+        emailSend.setClient(client);
+        emailSend.setCampaignId(campaignId);
+        emailSend.setRecipient(to);
+        emailSend.setEmailType(templateName);
+        emailSend.setStatus(EmailSend.STATUS_PENDING);
+        emailSend.setNextAttemptAt(new Timestamp(System.currentTimeMillis()));
+        emailSend = emailSendRepository.save(emailSend);
+
+        log.debug("📨 Email mis en outbox vers: {} (template: {})", to, templateName);
+        return emailSend;
+    }
+
+    /**
+     * ✅ Remet un email en lettre morte dans la file (après correction de l'adresse ou du serveur)
+     */
+    @Transactional
+    public void retry(UUID emailSendId) {
+        EmailSend emailSend = emailSendRepository.findById(emailSendId)
+                .orElseThrow(() -> new IllegalArgumentException("Envoi d'email introuvable: " + emailSendId));
+        if (!EmailSend.STATUS_DEAD.equals(emailSend.getStatus())) {
+            throw new IllegalStateException("Seul un email en lettre morte peut être relancé");
+        }
+        emailSend.setStatus(EmailSend.STATUS_PENDING);
+        emailSend.setAttempts(0);
+        emailSend.setNextAttemptAt(new Timestamp(System.currentTimeMillis()));
+    }
+}
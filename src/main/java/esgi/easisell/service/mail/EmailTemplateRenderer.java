@@ -0,0 +1,93 @@
+package esgi.easisell.service.mail;
+
+import esgi.easisell.configuration.EmailLinksProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.exceptions.TemplateProcessingException;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * ✅ RENDU DES TEMPLATES D'EMAIL
+ * Les templates sont analysés au démarrage et gardés en cache par Thymeleaf (spring.thymeleaf.cache) :
+ * à l'envoi, seules les expressions sont évaluées, le HTML et les blocs de style statiques sont déjà prêts.
+ * Les URLs communes viennent de {@link EmailLinksProperties}, sans relecture de l'environnement.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmailTemplateRenderer {
+
+    private static final String TEMPLATE_ROOT = "templates/";
+    private static final String TEMPLATE_PATTERN = "classpath*:" + TEMPLATE_ROOT + "emails/**/*.html";
+    private static final String FRAGMENTS = "/fragments/";
+
+    private final TemplateEngine templateEngine;
+    private final EmailLinksProperties links;
+
+    /**
+     * ✅ Rendu d'un template ; les variables de l'appelant priment sur les variables communes
+     */
+    public String render(String templateName, Map<String, Object> variables) {
+        Context context = new Context(Locale.getDefault(), links.getCommonVariables());
+        context.setVariables(variables);
+        return templateEngine.process(templateName, context);
+    }
+
+    /**
+     * ✅ Précompilation : chaque template est analysé une fois avant le premier envoi.
+     * Le rendu d'essai échoue souvent faute de variables, mais l'analyse est déjà en cache à ce stade.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void precompile() {
+        if (templateEngine.getConfiguration().getCacheManager() == null) {
+            log.warn("⚠️ Cache Thymeleaf désactivé : les templates d'email seront relus à chaque envoi");
+            return;
+        }
+
+        Resource[] resources;
+        try {
+            resources = new PathMatchingResourcePatternResolver().getResources(TEMPLATE_PATTERN);
+        } catch (IOException e) {
+            log.warn("⚠️ Templates d'email introuvables pour la précompilation: {}", e.getMessage());
+            return;
+        }
+
+        int compiled = 0;
+        for (Resource resource : resources) {
+            String name = templateName(resource);
+            if (name == null || name.contains(FRAGMENTS)) {
+                continue;
+            }
+            try {
+                templateEngine.process(name, new Context(Locale.getDefault(), links.getCommonVariables()));
+            } catch (TemplateProcessingException e) {
+                log.trace("Rendu d'essai incomplet pour {}: {}", name, e.getMessage());
+            }
+            compiled++;
+        }
+        log.info("🧩 {} template(s) d'email précompilé(s)", compiled);
+    }
+
+    private String templateName(Resource resource) {
+        try {
+            String path = resource.getURL().toString();
+            int root = path.lastIndexOf(TEMPLATE_ROOT + "emails/");
+            if (root < 0 || !path.endsWith(".html")) {
+                return null;
+            }
+            return path.substring(root + TEMPLATE_ROOT.length(), path.length() - ".html".length());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package esgi.easisell.service.mail;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ✅ DISTRIBUTION DES EMAILS
+ * File bornée + threads d'envoi dédiés, alimentée par EmailOutboxPoller avec des messages déjà rendus. Chaque thread garde sa propre session SMTP ouverte
+ * (fermée après easisell.mail.dispatch.idle-close-ms d'inactivité) et envoie les messages par lots :
+ * une seule poignée de main TCP/TLS pour toute une série de rappels ou de notifications admin.
+ * Le débit vers le fournisseur (spring.mail.host) est plafonné par easisell.mail.dispatch.rate-per-second.
+ */
+@Component
+@Slf4j
+public class MailDispatcher {
+
+    private static final String SEND = "easisell.mail.send";
+
+    private final JavaMailSenderImpl mailSender;
+    private final MeterRegistry meterRegistry;
+    private final String fromEmail;
+    private final int batchSize;
+    private final long idleCloseMs;
+
+    private final BlockingQueue<MailJob> queue;
+    private final ExecutorService workers;
+    private final ProviderRateLimiter rateLimiter;
+    private final String provider;
+    private volatile boolean running = true;
+
+    // Métriques
+    private final Counter rejected;
+    private final Counter connections;
+    private final DistributionSummary batchSizes;
+
+    public MailDispatcher(JavaMailSenderImpl mailSender,
+                          MeterRegistry meterRegistry,
+                          @Value("${spring.mail.username:no-reply@easisell.com}") String fromEmail,
+                          @Value("${easisell.mail.dispatch.workers:2}") int workerCount,
+                          @Value("${easisell.mail.dispatch.queue-capacity:500}") int queueCapacity,
+                          @Value("${easisell.mail.dispatch.batch-size:20}") int batchSize,
+                          @Value("${easisell.mail.dispatch.rate-per-second:5}") double ratePerSecond,
+                          @Value("${easisell.mail.dispatch.idle-close-ms:30000}") long idleCloseMs) {
+        this.mailSender = mailSender;
+        this.meterRegistry = meterRegistry;
+        this.fromEmail = fromEmail;
+        this.batchSize = Math.max(1, batchSize);
+        this.idleCloseMs = idleCloseMs;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.rateLimiter = new ProviderRateLimiter(ratePerSecond);
+        this.provider = mailSender.getHost() != null ? mailSender.getHost() : "local";
+
+        Gauge.builder("easisell.mail.queue.depth", queue, BlockingQueue::size)
+                .tag("provider", provider)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("easisell.mail.rejected").tag("provider", provider).register(meterRegistry);
+        this.connections = Counter.builder("easisell.mail.connections").tag("provider", provider).register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("easisell.mail.batch.size").tag("provider", provider)
+                .register(meterRegistry);
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerCount,
+                runnable -> new Thread(runnable, "mail-dispatch-" + threadIndex.getAndIncrement()));
+        for (int i = 0; i < workerCount; i++) {
+            workers.execute(this::drain);
+        }
+
+        log.info("📮 Distribution des emails : {} thread(s), file de {}, lots de {}, {} msg/s vers {}",
+                workerCount, queueCapacity, this.batchSize, ratePerSecond, provider);
+    }
+
+    /**
+     * ✅ Met un email HTML en file ; l'envoi se fait sur les threads dédiés.
+     * @return terminé à l'envoi, ou en échec (file pleine, erreur SMTP)
+     */
+    public CompletableFuture<Void> submit(String to, String subject, String htmlContent) {
+        MailJob job = new MailJob(to, subject, htmlContent, System.nanoTime(), new CompletableFuture<>());
+        if (!queue.offer(job)) {
+            rejected.increment();
+            log.warn("⚠️ File d'emails pleine, envoi vers {} refusé", to);
+            job.result().completeExceptionally(new IllegalStateException("File d'envoi des emails pleine"));
+        }
+        return job.result();
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("provider", provider);
+        metrics.put("queued", queue.size());
+        metrics.put("remainingCapacity", queue.remainingCapacity());
+        metrics.put("rejected", (long) rejected.count());
+        metrics.put("connections", (long) connections.count());
+        metrics.put("batches", batchSizes.count());
+        return metrics;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warn("⚠️ {} email(s) non envoyés à l'arrêt", queue.size());
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            workers.shutdownNow();
+        }
+    }
+
+    // ========== MÉTHODES PRIVÉES ==========
+
+    private void drain() {
+        Transport transport = null;
+        try {
+            while (running || !queue.isEmpty()) {
+                MailJob first = queue.poll(running ? idleCloseMs : 0, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    // Inactivité : on rend la session au serveur plutôt que de la laisser expirer
+                    transport = close(transport);
+                    continue;
+                }
+
+                List<MailJob> batch = new ArrayList<>(batchSize);
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                batchSizes.record(batch.size());
+
+                for (MailJob job : batch) {
+                    rateLimiter.acquire();
+                    transport = send(transport, job);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            close(transport);
+        }
+    }
+
+    private Transport send(Transport transport, MailJob job) {
+        try {
+            MimeMessage message = render(job);
+            try {
+                transport = connected(transport);
+                transport.sendMessage(message, message.getAllRecipients());
+            } catch (MessagingException e) {
+                if (transport != null && transport.isConnected()) {
+                    throw e;
+                }
+                // Session coupée par le serveur : une reconnexion, un seul nouvel essai
+                transport = connected(null);
+                transport.sendMessage(message, message.getAllRecipients());
+            }
+            record(job, "success");
+            job.result().complete(null);
+            log.info("Email envoyé avec succès à: {}", job.to());
+        } catch (Exception e) {
+            record(job, "failure");
+            job.result().completeExceptionally(e);
+            log.error("Erreur lors de l'envoi de l'email à: {}", job.to(), e);
+            transport = close(transport);
+        }
+        return transport;
+    }
+
+    private MimeMessage render(MailJob job) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+        helper.setFrom(fromEmail);
+        helper.setTo(job.to());
+        helper.setSubject(job.subject());
+        helper.setText(job.htmlContent(), true);
+        message.setSentDate(new Date());
+        message.saveChanges();
+        return message;
+    }
+
+    private Transport connected(Transport transport) throws MessagingException {
+        if (transport != null && transport.isConnected()) {
+            return transport;
+        }
+        Transport fresh = mailSender.getSession().getTransport(
+                mailSender.getProtocol() != null ? mailSender.getProtocol() : "smtp");
+        fresh.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(), mailSender.getPassword());
+        connections.increment();
+        log.debug("📮 Session SMTP ouverte vers {}", provider);
+        return fresh;
+    }
+
+    private Transport close(Transport transport) {
+        if (transport != null) {
+            try {
+                transport.close();
+            } catch (MessagingException e) {
+                log.debug("Fermeture de session SMTP: {}", e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    private void record(MailJob job, String outcome) {
+        // Latence de bout en bout : attente en file + envoi
+        Timer.builder(SEND)
+                .tag("provider", provider)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - job.enqueuedAt(), TimeUnit.NANOSECONDS);
+    }
+
+    private record MailJob(String to, String subject, String htmlContent, long enqueuedAt,
+                           CompletableFuture<Void> result) {
+    }
+}
@@ -0,0 +1,322 @@
+package esgi.easisell.service.mail;
+
+import esgi.easisell.configuration.EmailLinksProperties;
+import esgi.easisell.dto.PaymentReminderCampaignDTO;
+import esgi.easisell.entity.Client;
+import esgi.easisell.entity.EmailCampaign;
+import esgi.easisell.entity.EmailSend;
+import esgi.easisell.repository.ClientRepository;
+import esgi.easisell.repository.EmailCampaignRepository;
+import esgi.easisell.repository.EmailSendRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * ✅ CAMPAGNES DE RAPPELS DE PAIEMENT
+ * Les clients d'un statut de contrat sont lus en flux par tranches (curseur sur l'identifiant),
+ * chaque tranche est rendue en parallèle puis insérée dans l'outbox des emails avec l'avancement
+ * du curseur, dans une seule transaction. L'envoi est ensuite cadencé par EmailOutboxPoller et
+ * MailDispatcher. Une campagne dont le nœud s'est arrêté est reprise au curseur par un autre nœud.
+ */
+@Service
+@Slf4j
+public class PaymentReminderCampaignService {
+
+    static final String TEMPLATE = "emails/client/rappel-paiement";
+    private static final UUID FIRST = new UUID(0L, 0L);
+
+    private final EmailCampaignRepository campaignRepository;
+    private final ClientRepository clientRepository;
+    private final EmailSendRepository emailSendRepository;
+    private final EmailOutboxService emailOutboxService;
+    private final EmailTemplateRenderer templateRenderer;
+    private final EmailLinksProperties links;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final String nodeId = ManagementFactory.getRuntimeMXBean().getName();
+
+    private final int chunkSize;
+    private final long staleAfterMs;
+    private final ExecutorService runner;
+    private final ExecutorService renderPool;
+
+    public PaymentReminderCampaignService(EmailCampaignRepository campaignRepository,
+                                          ClientRepository clientRepository,
+                                          EmailSendRepository emailSendRepository,
+                                          EmailOutboxService emailOutboxService,
+                                          EmailTemplateRenderer templateRenderer,
+                                          EmailLinksProperties links,
+                                          PlatformTransactionManager transactionManager,
+                                          @Value("${easisell.mail.campaign.chunk-size:100}") int chunkSize,
+                                          @Value("${easisell.mail.campaign.render-threads:4}") int renderThreads,
+                                          @Value("${easisell.mail.campaign.stale-after-ms:120000}") long staleAfterMs) {
+        this.campaignRepository = campaignRepository;
+        this.clientRepository = clientRepository;
+        this.emailSendRepository = emailSendRepository;
+        this.emailOutboxService = emailOutboxService;
+        this.templateRenderer = templateRenderer;
+        this.links = links;
+        this.chunkSize = chunkSize;
+        this.staleAfterMs = staleAfterMs;
+
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        // Une campagne à la fois par nœud ; le rendu des templates est parallélisé
+        this.runner = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "email-campaign"));
+        AtomicInteger renderIndex = new AtomicInteger();
+        this.renderPool = Executors.newFixedThreadPool(renderThreads,
+                runnable -> new Thread(runnable, "email-campaign-render-" + renderIndex.getAndIncrement()));
+    }
+
+    /**
+     * ✅ Crée la campagne et la lance en arrière-plan
+     */
+    public EmailCampaign start(PaymentReminderCampaignDTO request) {
+        if (request.getContractStatus() == null || request.getServiceName() == null
+                || request.getAmount() == null || request.getCurrency() == null || request.getDueDate() == null) {
+            throw new IllegalArgumentException("contractStatus, serviceName, amount, currency et dueDate sont obligatoires");
+        }
+
+        long targets = clientRepository.countByContractStatusAndUserIdGreaterThan(request.getContractStatus(), FIRST);
+        EmailCampaign campaign = campaignRepository.save(EmailCampaign.builder()
+                .contractStatus(request.getContractStatus())
+                .serviceName(request.getServiceName())
+                .amount(request.getAmount())
+                .currency(request.getCurrency())
+                .dueDate(request.getDueDate())
+                .late(request.isLate())
+                .totalTargets((int) targets)
+                .ownerNode(nodeId)
+                .build());
+
+        log.info("📣 Campagne de rappels {} : {} client(s) au statut {}",
+                campaign.getCampaignId(), targets, request.getContractStatus());
+        runner.execute(() -> run(campaign.getCampaignId()));
+        return campaign;
+    }
+
+    /**
+     * ✅ Avancement : emails mis en file par la campagne, puis leur état d'envoi dans l'outbox
+     */
+    public Map<String, Object> getProgress(UUID campaignId) {
+        EmailCampaign campaign = campaignRepository.findById(campaignId)
+                .orElseThrow(() -> new IllegalArgumentException("Campagne introuvable: " + campaignId));
+
+        Map<String, Object> progress = new LinkedHashMap<>();
+        progress.put("campaign", campaign);
+        progress.put("pending", emailSendRepository.countByCampaignIdAndStatus(campaignId, EmailSend.STATUS_PENDING)
+                + emailSendRepository.countByCampaignIdAndStatus(campaignId, EmailSend.STATUS_SENDING));
+        progress.put("sent", emailSendRepository.countByCampaignIdAndStatus(campaignId, EmailSend.STATUS_SENT));
+        progress.put("dead", emailSendRepository.countByCampaignIdAndStatus(campaignId, EmailSend.STATUS_DEAD));
+        progress.put("percentQueued", campaign.getTotalTargets() == 0 ? 100
+                : Math.min(100, (campaign.getQueuedCount() + campaign.getSkippedCount()) * 100 / campaign.getTotalTargets()));
+        return progress;
+    }
+
+    public List<EmailCampaign> getRecentCampaigns() {
+        return campaignRepository.findTop50ByOrderByCreatedAtDesc();
+    }
+
+    public EmailCampaign cancel(UUID campaignId) {
+        return transactionTemplate.execute(status -> {
+            EmailCampaign campaign = campaignRepository.findById(campaignId)
+                    .orElseThrow(() -> new IllegalArgumentException("Campagne introuvable: " + campaignId));
+            if (campaign.getStatus() == EmailCampaign.Status.RUNNING) {
+                campaign.setStatus(EmailCampaign.Status.CANCELLED);
+                campaign.setCompletedAt(new Timestamp(System.currentTimeMillis()));
+            }
+            return campaign;
+        });
+    }
+
+    /**
+     * ✅ Relance manuelle d'une campagne en échec : reprise au curseur
+     */
+    public EmailCampaign resume(UUID campaignId) {
+        EmailCampaign campaign = transactionTemplate.execute(status -> {
+            EmailCampaign found = campaignRepository.findById(campaignId)
+                    .orElseThrow(() -> new IllegalArgumentException("Campagne introuvable: " + campaignId));
+            if (found.getStatus() != EmailCampaign.Status.FAILED) {
+                throw new IllegalStateException("Seule une campagne en échec peut être relancée");
+            }
+            found.setStatus(EmailCampaign.Status.RUNNING);
+            found.setOwnerNode(nodeId);
+            found.setLastError(null);
+            return found;
+        });
+        runner.execute(() -> run(campaignId));
+        return campaign;
+    }
+
+    /**
+     * ✅ Reprise après arrêt brutal : une campagne en cours sans avancement récent est réclamée par ce nœud
+     */
+    @Scheduled(initialDelayString = "${easisell.mail.campaign.resume-initial-delay-ms:30000}",
+            fixedDelayString = "${easisell.mail.campaign.resume-check-ms:60000}")
+    public void resumeStale() {
+        Timestamp staleBefore = new Timestamp(System.currentTimeMillis() - staleAfterMs);
+        for (EmailCampaign stale : campaignRepository.findByStatusAndUpdatedAtBefore(EmailCampaign.Status.RUNNING, staleBefore)) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    EmailCampaign campaign = campaignRepository.findById(stale.getCampaignId()).orElseThrow();
+                    campaign.setOwnerNode(nodeId);
+                    campaignRepository.saveAndFlush(campaign);
+                });
+                log.warn("🔁 Reprise de la campagne {} après le client {}", stale.getCampaignId(), stale.getLastClientId());
+                runner.execute(() -> run(stale.getCampaignId()));
+            } catch (OptimisticLockingFailureException e) {
+                log.debug("Campagne {} déjà reprise par un autre nœud", stale.getCampaignId());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Les tranches déjà validées sont acquises ; la suite sera reprise au curseur
+        runner.shutdownNow();
+        renderPool.shutdownNow();
+    }
+
+    // ========== MÉTHODES PRIVÉES ==========
+
+    private void run(UUID campaignId) {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                EmailCampaign campaign = campaignRepository.findById(campaignId).orElse(null);
+                if (campaign == null || campaign.getStatus() != EmailCampaign.Status.RUNNING
+                        || !nodeId.equals(campaign.getOwnerNode())) {
+                    return;
+                }
+
+                List<Client> chunk = readChunk(campaign);
+                if (chunk.isEmpty()) {
+                    finish(campaignId, EmailCampaign.Status.COMPLETED, null);
+                    log.info("✅ Campagne {} terminée : {} rappel(s) en file, {} ignoré(s)",
+                            campaignId, campaign.getQueuedCount(), campaign.getSkippedCount());
+                    return;
+                }
+
+                writeChunk(campaignId, chunk, render(campaign, chunk));
+            }
+        } catch (OptimisticLockingFailureException e) {
+            log.info("Campagne {} annulée ou reprise par un autre nœud", campaignId);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("❌ Campagne {} en échec", campaignId, e);
+            finish(campaignId, EmailCampaign.Status.FAILED, e.getMessage());
+        }
+    }
+
+    private List<Client> readChunk(EmailCampaign campaign) {
+        UUID after = campaign.getLastClientId() != null ? campaign.getLastClientId() : FIRST;
+        List<Client> chunk = readOnlyTransaction.execute(status -> {
+            try (Stream<Client> clients = clientRepository.streamByContractStatusAfter(
+                    campaign.getContractStatus(), after, Limit.of(chunkSize))) {
+                return clients.toList();
+            }
+        });
+        return chunk != null ? chunk : List.of();
+    }
+
+    /**
+     * Rendu en parallèle ; un rendu en échec est ignoré (compté) sans bloquer la tranche
+     */
+    private Map<UUID, String> render(EmailCampaign campaign, List<Client> chunk) throws InterruptedException {
+        List<Future<String>> futures = new ArrayList<>(chunk.size());
+        for (Client client : chunk) {
+            futures.add(renderPool.submit(() -> templateRenderer.render(TEMPLATE, variables(campaign, client))));
+        }
+
+        Map<UUID, String> rendered = new HashMap<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            try {
+                rendered.put(chunk.get(i).getUserId(), futures.get(i).get());
+            } catch (ExecutionException e) {
+                log.warn("⚠️ Rappel non rendu pour {}: {}", chunk.get(i).getUsername(), e.getCause().getMessage());
+            }
+        }
+        return rendered;
+    }
+
+    /**
+     * Emails de la tranche et avancement du curseur dans la même transaction : pas de doublon à la reprise
+     */
+    private void writeChunk(UUID campaignId, List<Client> chunk, Map<UUID, String> rendered) {
+        transactionTemplate.executeWithoutResult(status -> {
+            EmailCampaign campaign = campaignRepository.findById(campaignId).orElseThrow();
+            if (campaign.getStatus() != EmailCampaign.Status.RUNNING || !nodeId.equals(campaign.getOwnerNode())) {
+                throw new OptimisticLockingFailureException("Campagne " + campaignId + " n'est plus détenue par ce nœud");
+            }
+
+            String subject = "Rappel de paiement pour votre service " + campaign.getServiceName();
+            int queued = 0;
+            for (Client client : chunk) {
+                String content = rendered.get(client.getUserId());
+                if (content == null || content.isEmpty()) {
+                    continue;
+                }
+                emailOutboxService.enqueueRendered(clientRepository.getReferenceById(client.getUserId()),
+                        client.getUsername(), subject, TEMPLATE, content, campaignId);
+                queued++;
+            }
+
+            campaign.setQueuedCount(campaign.getQueuedCount() + queued);
+            campaign.setSkippedCount(campaign.getSkippedCount() + chunk.size() - queued);
+            campaign.setLastClientId(chunk.get(chunk.size() - 1).getUserId());
+            campaignRepository.saveAndFlush(campaign);
+        });
+    }
+
+    private void finish(UUID campaignId, EmailCampaign.Status finalStatus, String error) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> campaignRepository.findById(campaignId).ifPresent(campaign -> {
+                if (campaign.getStatus() == EmailCampaign.Status.RUNNING) {
+                    campaign.setStatus(finalStatus);
+                    campaign.setCompletedAt(new Timestamp(System.currentTimeMillis()));
+                    campaign.setLastError(error != null && error.length() > 1000 ? error.substring(0, 1000) : error);
+                }
+            }));
+        } catch (Exception e) {
+            log.error("❌ Impossible de clôturer la campagne {}: {}", campaignId, e.getMessage());
+        }
+    }
+
+    private Map<String, Object> variables(EmailCampaign campaign, Client client) {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("client", client);
+        variables.put("user", client); // Pour compatibilité avec les templates
+        variables.put("serviceName", campaign.getServiceName());
+        variables.put("amount", campaign.getAmount());
+        variables.put("currency", campaign.getCurrency());
+        variables.put("dueDate", campaign.getDueDate());
+        variables.put("isLate", campaign.getLate());
+        variables.put("paymentUrl", links.getPaymentUrl());
+        variables.put("cancellationUrl", links.getCancellationUrl());
+        return variables;
+    }
+}
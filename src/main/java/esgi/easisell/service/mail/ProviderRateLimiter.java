@@ -0,0 +1,30 @@
+package esgi.easisell.service.mail;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cadence d'envoi vers un fournisseur SMTP : un créneau tous les 1/ratePerSecond,
+ * partagé par tous les threads d'envoi. L'attente se fait hors verrou.
+ */
+class ProviderRateLimiter {
+
+    private final long intervalNanos;
+    private final AtomicLong nextSlot = new AtomicLong(System.nanoTime());
+
+    ProviderRateLimiter(double ratePerSecond) {
+        this.intervalNanos = ratePerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond) : 0;
+    }
+
+    void acquire() throws InterruptedException {
+        if (intervalNanos == 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        long slot = Math.max(nextSlot.getAndUpdate(previous -> Math.max(previous, now) + intervalNanos), now);
+        long wait = slot - now;
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+}
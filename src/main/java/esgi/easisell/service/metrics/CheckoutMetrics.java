@@ -0,0 +1,89 @@
+package esgi.easisell.service.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * ✅ MÉTRIQUES DES CHEMINS CRITIQUES (caisse, stock, sécurité, statistiques)
+ * Tous les temps sont étiquetés par client (tenant) et par issue : success, ou le nom
+ * de l'exception levée. Exposés au format Prometheus sur /actuator/prometheus.
+ */
+@Component
+@RequiredArgsConstructor
+public class CheckoutMetrics {
+
+    public static final String SALE_SCAN = "easisell.sale.scan";
+    public static final String SALE_PAYMENT = "easisell.sale.payment";
+    public static final String STOCK_DECREMENT = "easisell.stock.decrement";
+    public static final String STOCK_AUDIT = "easisell.stock.audit";
+    // Conflits de version sur les lots (ceux comptés par StockContentionTracker), par client
+    public static final String STOCK_CONFLICT = "easisell.stock.conflict";
+    public static final String STOCK_LOCK_WAIT = "easisell.stock.lock.wait";
+    public static final String STOCK_LOCK_CONTENDED = "easisell.stock.lock.contended";
+    public static final String JWT_FILTER = "easisell.security.jwt";
+    public static final String STATISTICS = "easisell.statistics";
+    public static final String PRODUCT_AUTOCOMPLETE = "easisell.product.autocomplete";
+
+    public static final String SUCCESS = "success";
+    public static final String CONFLICT = "conflict";
+    private static final String UNKNOWN_TENANT = "unknown";
+
+    private final MeterRegistry meterRegistry;
+
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    /**
+     * Exécute l'opération et enregistre sa durée depuis {@code sample}, succès comme échec
+     */
+    public <T> T record(Timer.Sample sample, String name, UUID tenantId, Supplier<T> operation, String... tags) {
+        try {
+            T result = operation.get();
+            stop(sample, name, tenantId, SUCCESS, tags);
+            return result;
+        } catch (RuntimeException e) {
+            stop(sample, name, tenantId, outcome(e), tags);
+            throw e;
+        }
+    }
+
+    public void run(Timer.Sample sample, String name, UUID tenantId, Runnable operation, String... tags) {
+        record(sample, name, tenantId, () -> {
+            operation.run();
+            return null;
+        }, tags);
+    }
+
+    public void stop(Timer.Sample sample, String name, UUID tenantId, String outcome, String... tags) {
+        sample.stop(Timer.builder(name)
+                .tags(Tags.of(tags).and("tenant", tenant(tenantId), "outcome", outcome))
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    public void increment(String name, UUID tenantId, String... tags) {
+        meterRegistry.counter(name, Tags.of(tags).and("tenant", tenant(tenantId))).increment();
+    }
+
+    /**
+     * Issue d'une opération : les conflits de verrouillage optimiste sont regroupés sous "conflict"
+     */
+    public static String outcome(Throwable error) {
+        if (error == null) {
+            return SUCCESS;
+        }
+        return error instanceof OptimisticLockingFailureException ? CONFLICT : error.getClass().getSimpleName();
+    }
+
+    private static String tenant(UUID tenantId) {
+        return tenantId != null ? tenantId.toString() : UNKNOWN_TENANT;
+    }
+}
@@ -0,0 +1,77 @@
+package esgi.easisell.service.outbox;
+
+import esgi.easisell.entity.OutboxEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ✅ PUITS FICHIER de l'outbox : une ligne JSON par événement (format JSON Lines)
+ * Utile pour alimenter un export ou un outil externe sans broker.
+ */
+@Component
+@ConditionalOnProperty(name = "easisell.outbox.file-sink.enabled", havingValue = "true")
+@Slf4j
+public class OutboxFileSink implements OutboxListener {
+
+    private final BufferedWriter writer;
+    // Verrou explicite plutôt que synchronized : une écriture disque ne bloque pas le thread porteur (threads virtuels)
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public OutboxFileSink(@Value("${easisell.outbox.file-sink.path:outbox-events.jsonl}") String path)
+            throws IOException {
+        Path file = Path.of(path);
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        log.info("📁 Outbox : export des événements vers {}", file.toAbsolutePath());
+    }
+
+    @Override
+    public boolean supports(OutboxEvent.EventType eventType) {
+        return true;
+    }
+
+    @Override
+    public void onEvent(OutboxEvent event) throws IOException {
+        lock.lock();
+        try {
+            writeLine(event);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void writeLine(OutboxEvent event) throws IOException {
+        writer.write("{\"id\":" + event.getOutboxId()
+                + ",\"type\":\"" + event.getEventType()
+                + "\",\"aggregateId\":\"" + event.getAggregateId()
+                + "\",\"clientId\":\"" + event.getClientId()
+                + "\",\"createdAt\":" + (event.getCreatedAt() != null ? event.getCreatedAt().getTime() : null)
+                + ",\"payload\":" + event.getPayload() + "}");
+        writer.newLine();
+        writer.flush();
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            writer.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package esgi.easisell.service.outbox;
+
+import esgi.easisell.entity.OutboxEvent;
+
+/**
+ * Destinataire in-process des événements relayés depuis la table OUTBOX.
+ * La livraison est "au moins une fois" : un listener doit être idempotent.
+ */
+public interface OutboxListener {
+
+    boolean supports(OutboxEvent.EventType eventType);
+
+    void onEvent(OutboxEvent event) throws Exception;
+}
@@ -0,0 +1,157 @@
+package esgi.easisell.service.outbox;
+
+import esgi.easisell.entity.OutboxEvent;
+import esgi.easisell.repository.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ✅ RELAIS DE L'OUTBOX
+ * Réserve un lot (SELECT ... FOR UPDATE SKIP LOCKED), le livre hors transaction aux
+ * {@link OutboxListener}, puis marque chaque ligne livrée ou à réessayer.
+ * Plusieurs instances peuvent tourner en parallèle sans se marcher dessus.
+ */
+@Component
+@ConditionalOnProperty(name = "easisell.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxRepository;
+    private final List<OutboxListener> listeners;
+    private final TransactionTemplate transactionTemplate;
+    private final String nodeId = ManagementFactory.getRuntimeMXBean().getName();
+
+    @Value("${easisell.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${easisell.outbox.claim-timeout-ms:60000}")
+    private long claimTimeoutMs;
+
+    @Value("${easisell.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${easisell.outbox.retention-hours:72}")
+    private long retentionHours;
+
+    public OutboxRelay(OutboxEventRepository outboxRepository,
+                       List<OutboxListener> listeners,
+                       PlatformTransactionManager transactionManager) {
+        this.outboxRepository = outboxRepository;
+        this.listeners = listeners;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * ✅ Boucle de relais : enchaîne les lots tant qu'ils sont pleins et livrés sans échec
+     */
+    @Scheduled(fixedDelayString = "${easisell.outbox.poll-interval-ms:1000}")
+    public void relay() {
+        boolean drainMore;
+        do {
+            List<OutboxEvent> batch = claimBatch();
+            if (batch.isEmpty()) {
+                return;
+            }
+            int failed = deliver(batch);
+            drainMore = batch.size() == batchSize && failed == 0;
+        } while (drainMore);
+    }
+
+    /**
+     * ✅ Compaction des lignes livrées au-delà de la rétention
+     */
+    @Scheduled(fixedDelayString = "${easisell.outbox.compaction-interval-ms:600000}")
+    public void compact() {
+        Timestamp cutoff = new Timestamp(System.currentTimeMillis() - retentionHours * 3_600_000L);
+        int total = 0;
+        int deleted;
+        do {
+            Integer result = transactionTemplate.execute(status ->
+                    outboxRepository.deleteDeliveredBefore(cutoff, batchSize * 10));
+            deleted = result != null ? result : 0;
+            total += deleted;
+        } while (deleted == batchSize * 10);
+
+        if (total > 0) {
+            log.info("🧹 Outbox : {} événement(s) livré(s) purgé(s)", total);
+        }
+    }
+
+    // ========== MÉTHODES PRIVÉES ==========
+
+    private List<OutboxEvent> claimBatch() {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        Timestamp claimExpiry = new Timestamp(now.getTime() - claimTimeoutMs);
+
+        List<OutboxEvent> batch = transactionTemplate.execute(status -> {
+            List<OutboxEvent> locked = outboxRepository.lockNextBatch(claimExpiry, batchSize);
+            for (OutboxEvent event : locked) {
+                event.setStatus(OutboxEvent.Status.CLAIMED);
+                event.setClaimedBy(nodeId);
+                event.setClaimedAt(now);
+            }
+            return locked;
+        });
+        return batch != null ? batch : new ArrayList<>();
+    }
+
+    private int deliver(List<OutboxEvent> batch) {
+        Map<Long, String> failures = new HashMap<>();
+
+        for (OutboxEvent event : batch) {
+            try {
+                for (OutboxListener listener : listeners) {
+                    if (listener.supports(event.getEventType())) {
+                        listener.onEvent(event);
+                    }
+                }
+            } catch (Exception e) {
+                log.warn("⚠️ Outbox : échec de livraison de l'événement {} ({}): {}",
+                        event.getOutboxId(), event.getEventType(), e.getMessage());
+                failures.put(event.getOutboxId(), e.getMessage());
+            }
+        }
+
+        List<Long> ids = batch.stream().map(OutboxEvent::getOutboxId).toList();
+        Timestamp deliveredAt = new Timestamp(System.currentTimeMillis());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            for (OutboxEvent event : outboxRepository.findAllById(ids)) {
+                // Réservation reprise par un autre relais entre-temps : on ne touche à rien
+                if (event.getStatus() != OutboxEvent.Status.CLAIMED || !nodeId.equals(event.getClaimedBy())) {
+                    continue;
+                }
+
+                event.setAttempts(event.getAttempts() + 1);
+                if (failures.containsKey(event.getOutboxId())) {
+                    String error = failures.get(event.getOutboxId());
+                    event.setLastError(error != null && error.length() > 1000 ? error.substring(0, 1000) : error);
+                    event.setStatus(event.getAttempts() >= maxAttempts
+                            ? OutboxEvent.Status.FAILED
+                            : OutboxEvent.Status.PENDING);
+                } else {
+                    event.setStatus(OutboxEvent.Status.DELIVERED);
+                    event.setDeliveredAt(deliveredAt);
+                    event.setLastError(null);
+                }
+                event.setClaimedBy(null);
+                event.setClaimedAt(null);
+            }
+        });
+
+        log.debug("📬 Outbox : {} événement(s) traités, {} en échec", batch.size(), failures.size());
+        return failures.size();
+    }
+}
@@ -0,0 +1,69 @@
+package esgi.easisell.service.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import esgi.easisell.entity.OutboxEvent;
+import esgi.easisell.entity.StockItem;
+import esgi.easisell.event.SaleSnapshot;
+import esgi.easisell.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * ✅ ÉCRITURE DANS L'OUTBOX
+ * Toujours dans la transaction appelante (paiement, mise à jour de stock) :
+ * l'événement existe si et seulement si la modification a été commitée.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxService {
+
+    private final OutboxEventRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordSaleCompleted(SaleSnapshot snapshot) {
+        record(OutboxEvent.EventType.SALE_COMPLETED, snapshot.saleId(), snapshot.clientId(), snapshot);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordStockUpdate(StockItem oldItem, StockItem newItem) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("stockItemId", newItem.getStockItemId());
+        payload.put("productId", newItem.getProduct().getProductId());
+        payload.put("clientId", newItem.getClient().getUserId());
+        payload.put("oldQuantity", oldItem != null ? oldItem.getQuantityInUnits() : null);
+        payload.put("newQuantity", newItem.getQuantityInUnits());
+        payload.put("version", newItem.getVersion());
+
+        record(OutboxEvent.EventType.STOCK_UPDATED, newItem.getStockItemId(),
+                newItem.getClient().getUserId(), payload);
+    }
+
+    private void record(OutboxEvent.EventType eventType, UUID aggregateId, UUID clientId, Object payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            // Pas d'événement sans payload : la transaction métier doit échouer
+            throw new IllegalStateException("Sérialisation de l'événement impossible: " + e.getMessage(), e);
+        }
+
+        outboxRepository.save(OutboxEvent.builder()
+                .eventType(eventType)
+                .aggregateId(aggregateId)
+                .clientId(clientId)
+                .payload(json)
+                .build());
+
+        log.debug("📤 Outbox : {} pour {}", eventType, aggregateId);
+    }
+}
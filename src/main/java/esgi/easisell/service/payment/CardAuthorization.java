@@ -0,0 +1,9 @@
+package esgi.easisell.service.payment;
+
+import java.util.UUID;
+
+/**
+ * Réponse d'une passerelle carte
+ */
+public record CardAuthorization(boolean approved, UUID authorizationId, String message) {
+}
@@ -0,0 +1,16 @@
+package esgi.easisell.service.payment;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Passerelle de paiement par carte (banque, TPE...).
+ * L'implémentation par défaut est {@link StubCardGateway}.
+ */
+public interface CardGateway {
+
+    CompletableFuture<CardAuthorization> authorize(BigDecimal amount, String currency);
+
+    void cancel(UUID authorizationId);
+}
@@ -1,23 +1,52 @@
 package esgi.easisell.service.payment;
 
 import esgi.easisell.model.PaymentResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
 import java.math.BigDecimal;
-import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
+@Component
+@RequiredArgsConstructor
+@Slf4j
 public class CardPaymentProcessor implements PaymentProcessor {
 
+    private final CardGateway cardGateway;
+
+    @Override
+    public String getPaymentType() {
+        return "CARD";
+    }
+
+    @Override
+    public CompletableFuture<PaymentResult> processPayment(BigDecimal totalAmount, BigDecimal amountReceived, String currency) {
+        return cardGateway.authorize(totalAmount, currency)
+                .thenApply(authorization -> {
+                    if (!authorization.approved()) {
+                        return PaymentResult.builder()
+                                .successful(false)
+                                .errorMessage(authorization.message())
+                                .build();
+                    }
+
+                    return PaymentResult.builder()
+                            .successful(true)
+                            .paymentId(authorization.authorizationId())
+                            .amountPaid(totalAmount)
+                            .changeAmount(BigDecimal.ZERO)
+                            .currency(currency)
+                            .message("Paiement par carte réussi")
+                            .build();
+                });
+    }
+
     @Override
-    public PaymentResult processPayment(BigDecimal totalAmount, BigDecimal amountReceived, String currency) {
-        // TODO: Intégrer avec une vraie passerelle de paiement
-        // Pour l'instant, on simule un paiement réussi
-
-        return PaymentResult.builder()
-                .successful(true)
-                .paymentId(UUID.randomUUID())
-                .amountPaid(totalAmount)
-                .changeAmount(BigDecimal.ZERO)
-                .currency(currency)
-                .message("Paiement par carte réussi")
-                .build();
+    public void release(PaymentResult result) {
+        if (result != null && result.isSuccessful() && result.getPaymentId() != null) {
+            log.warn("↩️ Annulation de l'autorisation carte {}", result.getPaymentId());
+            cardGateway.cancel(result.getPaymentId());
+        }
     }
-}
\ No newline at end of file
+}
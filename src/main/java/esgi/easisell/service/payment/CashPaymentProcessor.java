@@ -1,29 +1,38 @@
 package esgi.easisell.service.payment;
 
 import esgi.easisell.model.PaymentResult;
+import org.springframework.stereotype.Component;
+
 import java.math.BigDecimal;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
+@Component
 public class CashPaymentProcessor implements PaymentProcessor {
 
     @Override
-    public PaymentResult processPayment(BigDecimal totalAmount, BigDecimal amountReceived, String currency) {
+    public String getPaymentType() {
+        return "CASH";
+    }
+
+    @Override
+    public CompletableFuture<PaymentResult> processPayment(BigDecimal totalAmount, BigDecimal amountReceived, String currency) {
         if (amountReceived.compareTo(totalAmount) < 0) {
-            return PaymentResult.builder()
+            return CompletableFuture.completedFuture(PaymentResult.builder()
                     .successful(false)
                     .errorMessage("Montant insuffisant")
-                    .build();
+                    .build());
         }
 
         BigDecimal change = amountReceived.subtract(totalAmount);
 
-        return PaymentResult.builder()
+        return CompletableFuture.completedFuture(PaymentResult.builder()
                 .successful(true)
                 .paymentId(UUID.randomUUID())
                 .amountPaid(totalAmount)
                 .changeAmount(change)
                 .currency(currency)
                 .message("Paiement en espèces réussi")
-                .build();
+                .build());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,71 @@
+package esgi.easisell.service.payment;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Disjoncteur minimal par processeur de paiement.
+ * CLOSED : appels autorisés ; OPEN : refus immédiat pendant openDurationMs ;
+ * HALF_OPEN : un seul appel d'essai décide de la fermeture ou de la réouverture.
+ * Seules les pannes techniques (exception, délai dépassé) comptent, pas les refus de paiement.
+ */
+@Slf4j
+public class PaymentCircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openDurationMs;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+
+    public PaymentCircuitBreaker(String name, int failureThreshold, long openDurationMs) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openDurationMs = openDurationMs;
+    }
+
+    public synchronized boolean tryAcquirePermission() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (System.currentTimeMillis() - openedAt >= openDurationMs) {
+                    state = State.HALF_OPEN;
+                    log.info("🔌 Disjoncteur {} : appel d'essai autorisé", name);
+                    return true;
+                }
+                return false;
+            default:
+                // Appel d'essai déjà en cours
+                return false;
+        }
+    }
+
+    public synchronized void recordSuccess() {
+        if (state != State.CLOSED) {
+            log.info("🔌 Disjoncteur {} refermé", name);
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+    }
+
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            if (state != State.OPEN) {
+                log.warn("🔌 Disjoncteur {} ouvert après {} échec(s) consécutif(s)", name, consecutiveFailures);
+            }
+            state = State.OPEN;
+            openedAt = System.currentTimeMillis();
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+}
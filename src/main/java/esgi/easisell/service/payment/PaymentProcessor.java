@@ -2,7 +2,24 @@ package esgi.easisell.service.payment;
 
 import esgi.easisell.model.PaymentResult;
 import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
 
+/**
+ * Contrat des processeurs de paiement, enregistrés comme beans Spring dans {@link PaymentProcessorRegistry}.
+ * L'autorisation est asynchrone et appelée hors transaction : aucune connexion DB n'est tenue pendant l'attente.
+ */
 public interface PaymentProcessor {
-    PaymentResult processPayment(BigDecimal totalAmount, BigDecimal amountReceived, String currency);
-}
\ No newline at end of file
+
+    /**
+     * Type de paiement géré : "CASH", "CARD"...
+     */
+    String getPaymentType();
+
+    CompletableFuture<PaymentResult> processPayment(BigDecimal totalAmount, BigDecimal amountReceived, String currency);
+
+    /**
+     * Annule une autorisation accordée lorsque la vente n'a finalement pas pu être enregistrée
+     */
+    default void release(PaymentResult result) {
+    }
+}
@@ -0,0 +1,131 @@
+package esgi.easisell.service.payment;
+
+import esgi.easisell.exception.PaymentFailedException;
+import esgi.easisell.model.PaymentResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ✅ REGISTRE DES PROCESSEURS DE PAIEMENT
+ * Chaque processeur est protégé par :
+ * - un délai maximal (easisell.payment.{type}.timeout-ms)
+ * - un cloisonnement, nombre d'autorisations simultanées (easisell.payment.{type}.max-concurrent)
+ * - un disjoncteur (easisell.payment.{type}.failure-threshold / open-duration-ms)
+ * Une passerelle lente ne peut donc pas immobiliser toutes les caisses.
+ */
+@Component
+@Slf4j
+public class PaymentProcessorRegistry {
+
+    private final Map<String, GuardedProcessor> processors = new HashMap<>();
+
+    public PaymentProcessorRegistry(List<PaymentProcessor> paymentProcessors, Environment env) {
+        for (PaymentProcessor processor : paymentProcessors) {
+            String type = processor.getPaymentType().toUpperCase();
+            String prefix = "easisell.payment." + type.toLowerCase() + ".";
+
+            long timeoutMs = env.getProperty(prefix + "timeout-ms", Long.class, 5000L);
+            int maxConcurrent = env.getProperty(prefix + "max-concurrent", Integer.class, 10);
+            int failureThreshold = env.getProperty(prefix + "failure-threshold", Integer.class, 5);
+            long openDurationMs = env.getProperty(prefix + "open-duration-ms", Long.class, 30000L);
+
+            processors.put(type, new GuardedProcessor(processor, timeoutMs, new Semaphore(maxConcurrent),
+                    new PaymentCircuitBreaker(type, failureThreshold, openDurationMs)));
+
+            log.info("💳 Processeur {} enregistré (timeout {} ms, {} simultanés max)", type, timeoutMs, maxConcurrent);
+        }
+    }
+
+    /**
+     * ✅ Autorisation asynchrone ; le futur échoue avec PaymentFailedException si le processeur
+     * est saturé ou disjoncté, TimeoutException si le délai est dépassé
+     */
+    public CompletableFuture<PaymentResult> authorize(String paymentType, BigDecimal totalAmount,
+                                                      BigDecimal amountReceived, String currency) {
+        GuardedProcessor guarded = find(paymentType);
+
+        // Cloisonnement d'abord : une permission du disjoncteur (appel d'essai en HALF_OPEN)
+        // n'est demandée que pour un appel qui partira réellement et rendra son résultat
+        if (!guarded.bulkhead().tryAcquire()) {
+            return CompletableFuture.failedFuture(new PaymentFailedException(
+                    "Trop de paiements " + paymentType + " en cours, veuillez réessayer"));
+        }
+        if (!guarded.circuitBreaker().tryAcquirePermission()) {
+            guarded.bulkhead().release();
+            return CompletableFuture.failedFuture(new PaymentFailedException(
+                    "Service de paiement " + paymentType + " temporairement indisponible"));
+        }
+
+        CompletableFuture<PaymentResult> future;
+        try {
+            future = guarded.processor().processPayment(totalAmount, amountReceived, currency);
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+
+        // Réponse à la caisse : celle de la passerelle, ou TimeoutException au-delà du délai
+        CompletableFuture<PaymentResult> outcome = new CompletableFuture<PaymentResult>()
+                .orTimeout(guarded.timeoutMs(), TimeUnit.MILLISECONDS);
+
+        // La place n'est rendue qu'à la fin réelle de l'appel passerelle, même après le délai :
+        // max-concurrent borne les appels effectivement en cours vers une passerelle lente
+        future.whenComplete((result, error) -> {
+            boolean delivered = error != null ? outcome.completeExceptionally(error) : outcome.complete(result);
+            if (!delivered && result != null && result.isSuccessful()) {
+                // Autorisation accordée après l'abandon de la caisse : annulée plutôt que laissée à expirer
+                log.warn("⏱️ Autorisation {} ({}) reçue après le délai : annulation",
+                        result.getPaymentId(), paymentType);
+                release(paymentType, result);
+            }
+            guarded.bulkhead().release();
+        });
+
+        // Résultat (délai compris) enregistré une seule fois, avant les traitements de l'appelant
+        return outcome.whenComplete((result, error) -> {
+            if (error != null) {
+                guarded.circuitBreaker().recordFailure();
+            } else {
+                guarded.circuitBreaker().recordSuccess();
+            }
+        });
+    }
+
+    /**
+     * ✅ Compensation : annule une autorisation dont la vente n'a pas pu être enregistrée
+     */
+    public void release(String paymentType, PaymentResult result) {
+        try {
+            find(paymentType).processor().release(result);
+        } catch (Exception e) {
+            log.error("❌ Impossible d'annuler l'autorisation {} ({}): {}",
+                    result != null ? result.getPaymentId() : null, paymentType, e.getMessage());
+        }
+    }
+
+    public Map<String, PaymentCircuitBreaker.State> getCircuitStates() {
+        Map<String, PaymentCircuitBreaker.State> states = new HashMap<>();
+        processors.forEach((type, guarded) -> states.put(type, guarded.circuitBreaker().getState()));
+        return states;
+    }
+
+    private GuardedProcessor find(String paymentType) {
+        GuardedProcessor guarded = processors.get(paymentType.toUpperCase());
+        if (guarded == null) {
+            throw new IllegalArgumentException("Type de paiement non supporté: " + paymentType);
+        }
+        return guarded;
+    }
+
+    private record GuardedProcessor(PaymentProcessor processor, long timeoutMs,
+                                    Semaphore bulkhead, PaymentCircuitBreaker circuitBreaker) {
+    }
+}
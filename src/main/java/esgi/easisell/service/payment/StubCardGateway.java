@@ -0,0 +1,60 @@
+package esgi.easisell.service.payment;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ✅ PASSERELLE CARTE SIMULÉE
+ * Latence, refus et pannes configurables pour les tests de charge. L'attente ne bloque
+ * aucun thread (delayedExecutor), comme une vraie passerelle appelée en non bloquant.
+ */
+@Component
+@ConditionalOnProperty(name = "easisell.payment.card.gateway", havingValue = "stub", matchIfMissing = true)
+@Slf4j
+public class StubCardGateway implements CardGateway {
+
+    @Value("${easisell.payment.stub-gateway.latency-ms:0}")
+    private long latencyMs;
+
+    @Value("${easisell.payment.stub-gateway.jitter-ms:0}")
+    private long jitterMs;
+
+    @Value("${easisell.payment.stub-gateway.decline-rate:0.0}")
+    private double declineRate;
+
+    @Value("${easisell.payment.stub-gateway.failure-rate:0.0}")
+    private double failureRate;
+
+    @Override
+    public CompletableFuture<CardAuthorization> authorize(BigDecimal amount, String currency) {
+        long delay = latencyMs + (jitterMs > 0 ? ThreadLocalRandom.current().nextLong(jitterMs + 1) : 0);
+        Executor executor = delay > 0
+                ? CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS)
+                : Runnable::run;
+
+        return CompletableFuture.supplyAsync(() -> {
+            double draw = ThreadLocalRandom.current().nextDouble();
+            if (draw < failureRate) {
+                throw new IllegalStateException("Passerelle de paiement (simulée) indisponible");
+            }
+            if (draw < failureRate + declineRate) {
+                return new CardAuthorization(false, null, "Paiement refusé par la banque (simulation)");
+            }
+            return new CardAuthorization(true, UUID.randomUUID(), "Autorisation accordée (simulation)");
+        }, executor);
+    }
+
+    @Override
+    public void cancel(UUID authorizationId) {
+        log.info("Annulation simulée de l'autorisation {}", authorizationId);
+    }
+}
@@ -0,0 +1,52 @@
+package esgi.easisell.service.promotion;
+
+import esgi.easisell.entity.Promotion;
+import esgi.easisell.model.Money;
+
+import java.math.RoundingMode;
+import java.util.UUID;
+
+/**
+ * Promotion détachée de JPA, prête à être appliquée sans accès base.
+ * discountUnits : points de base pour un pourcentage (15 % = 1500), centimes par unité sinon.
+ */
+public record CompiledPromotion(UUID promotionId,
+                                UUID productId,
+                                String promotionCode,
+                                DiscountType discountType,
+                                long discountUnits,
+                                long startMillis,
+                                long endMillis) {
+
+    public static CompiledPromotion from(Promotion promotion) {
+        DiscountType type = DiscountType.parse(promotion.getDiscountType());
+        long units = type == DiscountType.PERCENTAGE
+                ? promotion.getDiscountValue().movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact()
+                : Money.toCents(promotion.getDiscountValue());
+
+        return new CompiledPromotion(
+                promotion.getPromotionId(),
+                promotion.getProduct().getProductId(),
+                promotion.getPromotionCode(),
+                type,
+                units,
+                promotion.getStartDate().getTime(),
+                promotion.getEndDate().getTime());
+    }
+
+    public boolean isActiveAt(long now) {
+        return startMillis <= now && now < endMillis;
+    }
+
+    /**
+     * Remise sur une ligne en centimes, plafonnée au prix de la ligne
+     */
+    public long discountCents(long unitPriceCents, long quantityMilli) {
+        long lineCents = Money.lineTotal(unitPriceCents, quantityMilli);
+        long discount = switch (discountType) {
+            case PERCENTAGE -> Money.percentage(lineCents, discountUnits);
+            case FIXED_AMOUNT -> Money.lineTotal(discountUnits, quantityMilli);
+        };
+        return Math.max(0L, Math.min(discount, lineCents));
+    }
+}
@@ -0,0 +1,24 @@
+package esgi.easisell.service.promotion;
+
+import java.util.Locale;
+
+/**
+ * Types de remise acceptés dans PROMOTION.discount_type
+ */
+public enum DiscountType {
+    /** discountValue = pourcentage du prix de la ligne */
+    PERCENTAGE,
+    /** discountValue = montant retiré par unité vendue */
+    FIXED_AMOUNT;
+
+    public static DiscountType parse(String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Type de remise manquant");
+        }
+        return switch (value.trim().toUpperCase(Locale.ROOT)) {
+            case "PERCENTAGE", "PERCENT", "POURCENTAGE", "%" -> PERCENTAGE;
+            case "FIXED_AMOUNT", "FIXED", "AMOUNT", "MONTANT" -> FIXED_AMOUNT;
+            default -> throw new IllegalArgumentException("Type de remise inconnu: " + value);
+        };
+    }
+}
@@ -0,0 +1,144 @@
+package esgi.easisell.service.promotion;
+
+import esgi.easisell.entity.Product;
+import esgi.easisell.entity.Promotion;
+import esgi.easisell.event.PromotionChangedEvent;
+import esgi.easisell.repository.PromotionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * ✅ MOTEUR DE PROMOTIONS
+ * Les promotions en cours et à venir de chaque client sont compilées une fois en un index
+ * par produit ; le calcul d'une ligne en caisse n'interroge plus la table PROMOTION.
+ * L'index est mis à jour promotion par promotion à chaque modification, et les fenêtres
+ * de validité (début / fin) sont activées par une tâche planifiée.
+ * Les modifications faites sur une autre instance ne sont pas notifiées ici : les index chargés
+ * sont recompilés depuis la base périodiquement (easisell.promotions.refresh-ms).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PromotionEngine {
+
+    private final PromotionRepository promotionRepository;
+    private final ConcurrentMap<UUID, TenantPromotionIndex> indexes = new ConcurrentHashMap<>();
+
+    /**
+     * ✅ Remise en centimes applicable à une ligne de vente
+     * (O(1) par ligne, sans accès base une fois l'index chargé)
+     */
+    public long discountCents(Product product, long unitPriceCents, long quantityMilli) {
+        if (unitPriceCents <= 0 || quantityMilli <= 0) {
+            return 0L;
+        }
+        long now = System.currentTimeMillis();
+        TenantPromotionIndex index = indexFor(product.getClient().getUserId(), now);
+        return index.bestDiscountCents(product.getProductId(), unitPriceCents, quantityMilli, now);
+    }
+
+    /**
+     * ✅ Activation / expiration des fenêtres de validité, sans relecture de la base
+     */
+    @Scheduled(fixedDelayString = "${easisell.promotions.window-check-ms:30000}")
+    public void refreshWindows() {
+        long now = System.currentTimeMillis();
+        indexes.replaceAll((clientId, index) -> index.isStale(now) ? index.rewindow(now) : index);
+    }
+
+    /**
+     * ✅ Recompilation complète des index chargés : borne le décalage entre instances
+     * (promotions créées, modifiées ou supprimées ailleurs)
+     */
+    @Scheduled(fixedDelayString = "${easisell.promotions.refresh-ms:300000}",
+            initialDelayString = "${easisell.promotions.refresh-ms:300000}")
+    public void refreshIndexes() {
+        for (UUID clientId : indexes.keySet()) {
+            // Recompilé sous le verrou de l'entrée : une mise à jour incrémentale concurrente passe avant ou après
+            indexes.computeIfPresent(clientId, (id, current) -> compileTenant(id, System.currentTimeMillis()));
+        }
+    }
+
+    /**
+     * ✅ Mise à jour incrémentale de l'index après le commit de la modification
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPromotionChanged(PromotionChangedEvent event) {
+        if (!indexes.containsKey(event.clientId())) {
+            // Index pas encore chargé : il sera compilé à jour à la première lecture
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        Optional<CompiledPromotion> compiled = event.deleted()
+                ? Optional.empty()
+                : promotionRepository.findWithProductById(event.promotionId()).flatMap(this::compileOne);
+
+        indexes.computeIfPresent(event.clientId(), (clientId, index) -> compiled
+                .map(promotion -> index.with(promotion, now))
+                .orElseGet(() -> index.without(event.promotionId(), now)));
+
+        log.info("🏷️ Index promotions mis à jour pour le client {} (promotion {})",
+                event.clientId(), event.promotionId());
+    }
+
+    /**
+     * Force la recompilation complète de l'index d'un client au prochain calcul
+     */
+    public void evict(UUID clientId) {
+        indexes.remove(clientId);
+    }
+
+    public Map<String, Object> getIndexStats(UUID clientId) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        TenantPromotionIndex index = indexes.get(clientId);
+        stats.put("loaded", index != null);
+        stats.put("promotions", index != null ? index.size() : 0);
+        stats.put("activeProducts", index != null ? index.activeProducts() : 0);
+        return stats;
+    }
+
+    private TenantPromotionIndex indexFor(UUID clientId, long now) {
+        TenantPromotionIndex index = indexes.get(clientId);
+        if (index != null && !index.isStale(now)) {
+            return index;
+        }
+        return indexes.compute(clientId, (id, current) -> {
+            if (current == null) {
+                return compileTenant(id, now);
+            }
+            return current.isStale(now) ? current.rewindow(now) : current;
+        });
+    }
+
+    private TenantPromotionIndex compileTenant(UUID clientId, long now) {
+        List<CompiledPromotion> compiled = new ArrayList<>();
+        for (Promotion promotion : promotionRepository.findCurrentAndUpcoming(clientId, new Timestamp(now))) {
+            compileOne(promotion).ifPresent(compiled::add);
+        }
+        log.info("🏷️ Index promotions compilé pour le client {} : {} promotion(s)", clientId, compiled.size());
+        return TenantPromotionIndex.compile(compiled, now);
+    }
+
+    private Optional<CompiledPromotion> compileOne(Promotion promotion) {
+        try {
+            return Optional.of(CompiledPromotion.from(promotion));
+        } catch (IllegalArgumentException e) {
+            log.warn("⚠️ Promotion {} ignorée: {}", promotion.getPromotionCode(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package esgi.easisell.service.promotion;
+
+import java.util.*;
+
+/**
+ * Index immuable des promotions d'un client.
+ * Les promotions actives sont regroupées par produit ; toute modification produit un nouvel index
+ * (copie sur écriture), les lectures en caisse ne prennent donc jamais de verrou.
+ */
+final class TenantPromotionIndex {
+
+    private static final CompiledPromotion[] NONE = new CompiledPromotion[0];
+
+    private final Map<UUID, CompiledPromotion> promotions;
+    private final Map<UUID, CompiledPromotion[]> activeByProduct;
+    private final long nextTransitionAt;
+
+    private TenantPromotionIndex(Map<UUID, CompiledPromotion> promotions,
+                                 Map<UUID, CompiledPromotion[]> activeByProduct,
+                                 long nextTransitionAt) {
+        this.promotions = promotions;
+        this.activeByProduct = activeByProduct;
+        this.nextTransitionAt = nextTransitionAt;
+    }
+
+    /**
+     * Construit l'index à l'instant donné : les promotions expirées sont écartées,
+     * celles à venir sont conservées pour leur activation ultérieure
+     */
+    static TenantPromotionIndex compile(Collection<CompiledPromotion> candidates, long now) {
+        Map<UUID, CompiledPromotion> promotions = new HashMap<>();
+        Map<UUID, List<CompiledPromotion>> active = new HashMap<>();
+        long nextTransition = Long.MAX_VALUE;
+
+        for (CompiledPromotion promotion : candidates) {
+            if (promotion.endMillis() <= now) {
+                continue;
+            }
+            promotions.put(promotion.promotionId(), promotion);
+            if (promotion.isActiveAt(now)) {
+                active.computeIfAbsent(promotion.productId(), id -> new ArrayList<>()).add(promotion);
+                nextTransition = Math.min(nextTransition, promotion.endMillis());
+            } else {
+                nextTransition = Math.min(nextTransition, promotion.startMillis());
+            }
+        }
+
+        Map<UUID, CompiledPromotion[]> activeByProduct = new HashMap<>(active.size() * 2);
+        active.forEach((productId, list) -> activeByProduct.put(productId, list.toArray(NONE)));
+
+        return new TenantPromotionIndex(promotions, activeByProduct, nextTransition);
+    }
+
+    TenantPromotionIndex with(CompiledPromotion promotion, long now) {
+        Map<UUID, CompiledPromotion> copy = new HashMap<>(promotions);
+        copy.put(promotion.promotionId(), promotion);
+        return compile(copy.values(), now);
+    }
+
+    TenantPromotionIndex without(UUID promotionId, long now) {
+        if (!promotions.containsKey(promotionId)) {
+            return this;
+        }
+        Map<UUID, CompiledPromotion> copy = new HashMap<>(promotions);
+        copy.remove(promotionId);
+        return compile(copy.values(), now);
+    }
+
+    /**
+     * Une promotion a démarré ou expiré depuis la construction de l'index
+     */
+    boolean isStale(long now) {
+        return now >= nextTransitionAt;
+    }
+
+    TenantPromotionIndex rewindow(long now) {
+        return compile(promotions.values(), now);
+    }
+
+    /**
+     * Meilleure remise applicable à la ligne (les promotions ne se cumulent pas)
+     */
+    long bestDiscountCents(UUID productId, long unitPriceCents, long quantityMilli, long now) {
+        CompiledPromotion[] candidates = activeByProduct.get(productId);
+        if (candidates == null) {
+            return 0L;
+        }
+        long best = 0L;
+        for (CompiledPromotion promotion : candidates) {
+            if (promotion.isActiveAt(now)) {
+                best = Math.max(best, promotion.discountCents(unitPriceCents, quantityMilli));
+            }
+        }
+        return best;
+    }
+
+    int size() {
+        return promotions.size();
+    }
+
+    int activeProducts() {
+        return activeByProduct.size();
+    }
+}
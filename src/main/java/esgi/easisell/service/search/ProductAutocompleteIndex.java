@@ -0,0 +1,291 @@
+package esgi.easisell.service.search;
+
+import esgi.easisell.dto.ProductSuggestionDTO;
+import esgi.easisell.entity.Product;
+import esgi.easisell.event.SaleEventConsumer;
+import esgi.easisell.event.SaleSnapshot;
+import esgi.easisell.model.SearchText;
+import esgi.easisell.repository.ProductRepository;
+import esgi.easisell.repository.SaleItemRepository;
+import esgi.easisell.service.metrics.CheckoutMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * ✅ AUTOCOMPLÉTION CAISSE : TRIE EN MÉMOIRE PAR CLIENT
+ * Les noms normalisés des produits du client sont rangés dans un arbre radix ; une frappe ne
+ * touche pas la base. Les suggestions sont classées par nombre de lignes vendues aujourd'hui,
+ * compté depuis le pipeline de ventes et réamorcé depuis la base à chaque reconstruction.
+ * Mises à jour : création / modification / suppression de produit appliquées après le commit
+ * sur ce nœud ; les autres nœuds se resynchronisent par reconstruction périodique
+ * ({@link TenantIndexes} : la frappe continue sur l'index courant pendant ce temps).
+ */
+@Component
+@Slf4j
+public class ProductAutocompleteIndex implements ProductCatalogIndex, SaleEventConsumer {
+
+    // Tas des K meilleurs : le moins vendu (puis le dernier par ordre alphabétique) est évincé en premier
+    private static final Comparator<Ranked> RANKING = Comparator
+            .comparingLong(Ranked::soldToday)
+            .thenComparing(ranked -> ranked.entry().name(), Comparator.reverseOrder());
+
+    private final ProductRepository productRepository;
+    private final SaleItemRepository saleItemRepository;
+    private final CheckoutMetrics checkoutMetrics;
+    private final int maxResults;
+    private final TenantIndexes<TenantIndex> tenants;
+
+    public ProductAutocompleteIndex(ProductRepository productRepository,
+                                    SaleItemRepository saleItemRepository,
+                                    CheckoutMetrics checkoutMetrics,
+                                    @Value("${easisell.search.autocomplete.refresh-ms:300000}") long refreshMs,
+                                    @Value("${easisell.search.autocomplete.max-results:20}") int maxResults) {
+        this.productRepository = productRepository;
+        this.saleItemRepository = saleItemRepository;
+        this.checkoutMetrics = checkoutMetrics;
+        this.maxResults = maxResults;
+        this.tenants = new TenantIndexes<>("autocomplete", this::build, refreshMs);
+    }
+
+    /**
+     * ✅ Les {@code limit} produits les plus vendus aujourd'hui dont chaque mot saisi débute un mot du nom
+     */
+    public List<ProductSuggestionDTO> suggest(UUID clientId, String text, int limit) {
+        List<String> tokens = SearchText.tokens(text);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        int k = Math.max(1, Math.min(limit, maxResults));
+        TenantIndex index = tenants.get(clientId);
+
+        return checkoutMetrics.record(checkoutMetrics.start(), CheckoutMetrics.PRODUCT_AUTOCOMPLETE, clientId,
+                () -> index.topK(tokens, k));
+    }
+
+    // ========== MISES À JOUR INCRÉMENTALES ==========
+
+    /**
+     * ✅ Produit créé ou modifié : appliqué après le commit (immédiatement hors transaction)
+     */
+    @Override
+    public void productSaved(Product product) {
+        if (product.getClient() == null || product.getProductId() == null) {
+            return;
+        }
+        UUID clientId = product.getClient().getUserId();
+        Entry entry = Entry.of(product, 0);
+        ProductCatalogIndex.afterCommit(() -> {
+            TenantIndex index = tenants.current(clientId);
+            if (index != null) {
+                index.put(entry);
+            }
+        });
+    }
+
+    @Override
+    public void productDeleted(UUID clientId, UUID productId) {
+        ProductCatalogIndex.afterCommit(() -> {
+            TenantIndex index = tenants.current(clientId);
+            if (index != null) {
+                index.remove(productId);
+            }
+        });
+    }
+
+    @Override
+    public String getConsumerName() {
+        return "autocomplete-velocity";
+    }
+
+    /**
+     * ✅ Vente finalisée : +1 par ligne pour chaque produit vendu aujourd'hui
+     */
+    @Override
+    public void consume(SaleSnapshot snapshot) {
+        TenantIndex index = tenants.current(snapshot.clientId());
+        if (index == null) {
+            return;
+        }
+        for (SaleSnapshot.Item item : snapshot.items()) {
+            index.sold(item.productId());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        tenants.shutdown();
+    }
+
+    // ========== MÉTHODES PRIVÉES ==========
+
+    private TenantIndex build(UUID clientId) {
+        long start = System.nanoTime();
+
+        Map<UUID, Long> soldToday = new HashMap<>();
+        Timestamp since = Timestamp.valueOf(LocalDate.now().atStartOfDay());
+        for (Object[] row : saleItemRepository.countSaleLinesByProductSince(clientId, since)) {
+            soldToday.put((UUID) row[0], ((Number) row[1]).longValue());
+        }
+
+        TenantIndex index = new TenantIndex();
+        for (Product product : productRepository.findByClientUserId(clientId)) {
+            index.put(Entry.of(product, soldToday.getOrDefault(product.getProductId(), 0L)));
+        }
+
+        log.info("🔤 Autocomplétion du client {} construite : {} produits, {} mots en {} ms",
+                clientId, index.entries.size(), index.trie.size(), (System.nanoTime() - start) / 1_000_000);
+        return index;
+    }
+
+    /**
+     * Produit indexé : copie immuable des champs affichés, nom normalisé pour le filtrage multi-mots
+     */
+    private record Entry(UUID productId, String name, String searchName, String brand, String barcode,
+                         BigDecimal unitPrice, Boolean isSoldByWeight, String unitLabel,
+                         LongAdder sold) {
+
+        static Entry of(Product product, long soldToday) {
+            LongAdder sold = new LongAdder();
+            sold.add(soldToday);
+            return new Entry(product.getProductId(), product.getName(), SearchText.normalize(product.getName()),
+                    product.getBrand(), product.getBarcode(), product.getUnitPrice(),
+                    product.getIsSoldByWeight(), product.getUnitLabel(), sold);
+        }
+
+        long soldToday() {
+            return sold.sum();
+        }
+
+        boolean matchesAll(List<String> tokens) {
+            for (String token : tokens) {
+                if (!searchName.startsWith(token) && !searchName.contains(" " + token)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+    }
+
+    /**
+     * Entrée figée avec sa vélocité au moment de la requête (le compteur continue d'avancer)
+     */
+    private record Ranked(Entry entry, long soldToday) {
+
+        ProductSuggestionDTO toDto() {
+            return new ProductSuggestionDTO(entry.productId(), entry.name(), entry.brand(), entry.barcode(),
+                    entry.unitPrice(), entry.isSoldByWeight(), entry.unitLabel(), soldToday);
+        }
+    }
+
+    /**
+     * Index d'un client ; lecteurs concurrents, écrivains (mises à jour produit) exclusifs
+     */
+    private static final class TenantIndex {
+        private final ProductTrie trie = new ProductTrie();
+        private final Map<UUID, Entry> entries = new HashMap<>();
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+        List<ProductSuggestionDTO> topK(List<String> tokens, int k) {
+            // Le mot le plus long sert d'entrée dans le trie (sous-arbre le plus petit), les autres filtrent
+            String longest = tokens.stream().max(Comparator.comparingInt(String::length)).orElseThrow();
+            PriorityQueue<Ranked> best = new PriorityQueue<>(k + 1, RANKING);
+            Set<UUID> seen = new HashSet<>();
+
+            lock.readLock().lock();
+            try {
+                trie.forEachWithPrefix(longest, productId -> {
+                    if (!seen.add(productId)) {
+                        return;
+                    }
+                    Entry entry = entries.get(productId);
+                    if (entry == null || !entry.matchesAll(tokens)) {
+                        return;
+                    }
+                    best.offer(new Ranked(entry, entry.soldToday()));
+                    if (best.size() > k) {
+                        best.poll();
+                    }
+                });
+            } finally {
+                lock.readLock().unlock();
+            }
+
+            List<ProductSuggestionDTO> result = new ArrayList<>(best.size());
+            while (!best.isEmpty()) {
+                result.add(best.poll().toDto());
+            }
+            Collections.reverse(result);
+            return result;
+        }
+
+        void put(Entry entry) {
+            lock.writeLock().lock();
+            try {
+                Entry previous = entries.get(entry.productId());
+                if (previous != null) {
+                    removeWords(previous);
+                    entry.sold().add(previous.soldToday());
+                }
+                entries.put(entry.productId(), entry);
+                for (String word : words(entry)) {
+                    trie.add(word, entry.productId());
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(UUID productId) {
+            lock.writeLock().lock();
+            try {
+                Entry previous = entries.remove(productId);
+                if (previous != null) {
+                    removeWords(previous);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void sold(UUID productId) {
+            lock.readLock().lock();
+            try {
+                Entry entry = entries.get(productId);
+                if (entry != null) {
+                    entry.sold().increment();
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private void removeWords(Entry entry) {
+            for (String word : words(entry)) {
+                trie.remove(word, entry.productId());
+            }
+        }
+
+        private static Set<String> words(Entry entry) {
+            return new HashSet<>(SearchText.tokens(entry.name()));
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package esgi.easisell.service.search;
+
+import esgi.easisell.entity.Product;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+/**
+ * Index en mémoire dérivé du catalogue produits, tenu à jour par ProductService.
+ * Les modifications ne sont appliquées qu'après le commit : un rollback ne laisse rien dans l'index.
+ */
+public interface ProductCatalogIndex {
+
+    void productSaved(Product product);
+
+    void productDeleted(UUID clientId, UUID productId);
+
+    /**
+     * Exécute l'action après le commit de la transaction courante, ou tout de suite hors transaction
+     */
+    static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
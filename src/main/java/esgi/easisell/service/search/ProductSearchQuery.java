@@ -0,0 +1,88 @@
+package esgi.easisell.service.search;
+
+import esgi.easisell.model.SearchText;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * ✅ CONSTRUCTION DE LA REQUÊTE DE RECHERCHE PRODUITS
+ * Chaque mot saisi doit débuter un mot du nom, de la marque ou de la description (saisie
+ * au fil de l'eau : "cre bru" trouve "Crème brûlée"). Les mots d'au moins {@code minTokenLength}
+ * caractères passent par l'index FULLTEXT en mode booléen ("+mot*") ; les plus courts, ignorés
+ * par InnoDB, sont filtrés par LIKE sur les lignes déjà restreintes au client.
+ * Tri : nom commençant par la saisie d'abord, puis pertinence FULLTEXT, puis nom.
+ */
+final class ProductSearchQuery {
+
+    static final String MATCH = "MATCH(p.search_name, p.search_brand, p.search_description) " +
+            "AGAINST (:expression IN BOOLEAN MODE)";
+
+    private final String sql;
+    private final Map<String, Object> parameters;
+
+    private ProductSearchQuery(String sql, Map<String, Object> parameters) {
+        this.sql = sql;
+        this.parameters = parameters;
+    }
+
+    /**
+     * Requête pour la saisie {@code text}, ou null si elle ne contient aucun mot cherchable
+     */
+    static ProductSearchQuery build(UUID clientId, String text, boolean fulltext, int minTokenLength) {
+        List<String> tokens = SearchText.tokens(text);
+        if (tokens.isEmpty()) {
+            return null;
+        }
+
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("clientId", clientId);
+        parameters.put("leading", String.join(" ", tokens) + "%");
+
+        List<String> fulltextTerms = new ArrayList<>();
+        StringBuilder where = new StringBuilder("p.client_id = :clientId");
+        for (String token : tokens) {
+            if (fulltext && token.length() >= minTokenLength) {
+                fulltextTerms.add("+" + token + "*");
+                continue;
+            }
+            // Début de champ, ou début d'un mot après une espace
+            int index = parameters.size();
+            String start = "t" + index;
+            String word = "w" + index;
+            parameters.put(start, token + "%");
+            parameters.put(word, "% " + token + "%");
+            where.append(" AND (");
+            appendWordPrefix(where, "p.search_name", start, word).append(" OR ");
+            appendWordPrefix(where, "p.search_brand", start, word).append(" OR ");
+            appendWordPrefix(where, "p.search_description", start, word).append(")");
+        }
+
+        StringBuilder order = new StringBuilder("(p.search_name LIKE :leading) DESC");
+        if (!fulltextTerms.isEmpty()) {
+            parameters.put("expression", String.join(" ", fulltextTerms));
+            where.append(" AND ").append(MATCH);
+            order.append(", ").append(MATCH).append(" DESC");
+        }
+        order.append(", p.name ASC");
+
+        String sql = "SELECT p.* FROM product p WHERE " + where + " ORDER BY " + order;
+        return new ProductSearchQuery(sql, parameters);
+    }
+
+    private static StringBuilder appendWordPrefix(StringBuilder where, String column, String start, String word) {
+        return where.append(column).append(" LIKE :").append(start)
+                .append(" OR ").append(column).append(" LIKE :").append(word);
+    }
+
+    String getSql() {
+        return sql;
+    }
+
+    Map<String, Object> getParameters() {
+        return parameters;
+    }
+}
@@ -0,0 +1,64 @@
+package esgi.easisell.service.search;
+
+import esgi.easisell.entity.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * ✅ RECHERCHE PLEIN TEXTE DES PRODUITS D'UN CLIENT
+ * Remplace les LIKE '%x%' qui parcouraient toute la table : l'index FULLTEXT (search_name,
+ * search_brand, search_description) est tenu à jour par MySQL à chaque écriture du produit,
+ * les colonnes search_* étant recalculées par l'entité. Aucun index à reconstruire par nœud.
+ * Sans FULLTEXT (H2 des tests de charge), tous les mots passent par LIKE préfixe.
+ */
+@Service
+@Transactional(readOnly = true)
+@Slf4j
+public class ProductSearchService {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final boolean fulltext;
+    private final int minTokenLength;
+    private final int maxResults;
+
+    public ProductSearchService(@Value("${easisell.search.fulltext.enabled:true}") boolean fulltext,
+                                @Value("${easisell.search.fulltext.min-token-length:3}") int minTokenLength,
+                                @Value("${easisell.search.max-results:100}") int maxResults) {
+        this.fulltext = fulltext;
+        this.minTokenLength = minTokenLength;
+        this.maxResults = maxResults;
+    }
+
+    public List<Product> search(UUID clientId, String text) {
+        return search(clientId, text, maxResults);
+    }
+
+    /**
+     * ✅ Produits du client dont chaque mot saisi débute un mot du nom, de la marque ou de la description
+     */
+    @SuppressWarnings("unchecked")
+    public List<Product> search(UUID clientId, String text, int limit) {
+        ProductSearchQuery searchQuery = ProductSearchQuery.build(clientId, text, fulltext, minTokenLength);
+        if (searchQuery == null) {
+            return List.of();
+        }
+
+        Query query = entityManager.createNativeQuery(searchQuery.getSql(), Product.class);
+        searchQuery.getParameters().forEach(query::setParameter);
+        query.setMaxResults(Math.max(1, Math.min(limit, maxResults)));
+
+        List<Product> products = query.getResultList();
+        log.debug("🔎 Recherche '{}' pour le client {} : {} produit(s)", text, clientId, products.size());
+        return products;
+    }
+}
@@ -0,0 +1,99 @@
+package esgi.easisell.service.search;
+
+import esgi.easisell.entity.Product;
+import esgi.easisell.repository.ProductRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * ✅ INDEX DE SIMILARITÉ DES NOMS DE PRODUITS (TRIGRAMMES) PAR CLIENT
+ * Sert la suggestion de prix : les k produits les plus proches d'un nom saisi, avec leur score.
+ * Construit depuis une projection (id, nom, unité, prix) sans charger les entités, puis tenu à
+ * jour après commit par ProductService ; reconstruit périodiquement pour les autres nœuds.
+ */
+@Component
+@Slf4j
+public class ProductSimilarityIndex implements ProductCatalogIndex {
+
+    public record SimilarProduct(UUID productId, String name, String unitLabel, BigDecimal unitPrice, double score) {
+    }
+
+    public record Result(List<SimilarProduct> nearest, int totalSimilar) {
+    }
+
+    private final ProductRepository productRepository;
+    private final int nearestCount;
+    private final double minScore;
+    private final TenantIndexes<TrigramIndex> tenants;
+
+    public ProductSimilarityIndex(ProductRepository productRepository,
+                                  @Value("${easisell.search.similarity.k:10}") int nearestCount,
+                                  @Value("${easisell.search.similarity.min-score:0.3}") double minScore,
+                                  @Value("${easisell.search.similarity.refresh-ms:300000}") long refreshMs) {
+        this.productRepository = productRepository;
+        this.nearestCount = Math.max(1, nearestCount);
+        this.minScore = minScore;
+        this.tenants = new TenantIndexes<>("similarity", this::build, refreshMs);
+    }
+
+    /**
+     * ✅ Les k produits du client les plus proches de {@code name}, les plus similaires d'abord ;
+     * unité optionnelle (comparée sans tenir compte de la casse)
+     */
+    public Result nearest(UUID clientId, String name, String unitLabel) {
+        String unit = unitLabel != null && !unitLabel.isBlank() ? unitLabel : null;
+        int[] total = new int[1];
+        List<SimilarProduct> nearest = tenants.get(clientId).nearest(name, unit, nearestCount, minScore, total);
+        return new Result(nearest, total[0]);
+    }
+
+    @Override
+    public void productSaved(Product product) {
+        if (product.getClient() == null || product.getProductId() == null) {
+            return;
+        }
+        UUID clientId = product.getClient().getUserId();
+        UUID productId = product.getProductId();
+        String name = product.getName();
+        String unitLabel = product.getUnitLabel();
+        BigDecimal unitPrice = product.getUnitPrice();
+        ProductCatalogIndex.afterCommit(() -> {
+            TrigramIndex index = tenants.current(clientId);
+            if (index != null) {
+                index.put(productId, name, unitLabel, unitPrice);
+            }
+        });
+    }
+
+    @Override
+    public void productDeleted(UUID clientId, UUID productId) {
+        ProductCatalogIndex.afterCommit(() -> {
+            TrigramIndex index = tenants.current(clientId);
+            if (index != null) {
+                index.remove(productId);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        tenants.shutdown();
+    }
+
+    private TrigramIndex build(UUID clientId) {
+        long start = System.nanoTime();
+        TrigramIndex index = new TrigramIndex();
+        for (Object[] row : productRepository.findPriceReferencesByClientUserId(clientId)) {
+            index.put((UUID) row[0], (String) row[1], (String) row[2], (BigDecimal) row[3]);
+        }
+        log.info("🏷️ Index de similarité du client {} construit : {} produits en {} ms",
+                clientId, index.size(), (System.nanoTime() - start) / 1_000_000);
+        return index;
+    }
+}
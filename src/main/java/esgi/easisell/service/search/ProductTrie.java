@@ -0,0 +1,158 @@
+package esgi.easisell.service.search;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Arbre radix (trie compressé) des mots normalisés des noms de produits : chaque arête porte une
+ * chaîne, les chaînes sans embranchement sont fusionnées. Un produit est rangé sous chacun des mots
+ * de son nom, de sorte que "bru" retrouve "Crème brûlée".
+ * Non synchronisé : l'appelant protège les accès (voir {@link ProductAutocompleteIndex}).
+ */
+final class ProductTrie {
+
+    private final Node root = new Node("");
+    private int size;
+
+    void add(String word, UUID productId) {
+        Node node = root;
+        String rest = word;
+        while (!rest.isEmpty()) {
+            Node child = node.children.get(rest.charAt(0));
+            if (child == null) {
+                Node leaf = new Node(rest);
+                node.children.put(rest.charAt(0), leaf);
+                node = leaf;
+                break;
+            }
+            int common = commonPrefix(child.edge, rest);
+            if (common < child.edge.length()) {
+                // Découpe de l'arête : "brulee" + "brut" → "bru" { "lee", "t" }
+                Node split = new Node(child.edge.substring(0, common));
+                child.edge = child.edge.substring(common);
+                split.children.put(child.edge.charAt(0), child);
+                node.children.put(split.edge.charAt(0), split);
+                child = split;
+            }
+            node = child;
+            rest = rest.substring(common);
+        }
+        if (node.products.add(productId)) {
+            size++;
+        }
+    }
+
+    void remove(String word, UUID productId) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        String rest = word;
+        while (!rest.isEmpty()) {
+            path.add(node);
+            Node child = node.children.get(rest.charAt(0));
+            if (child == null || !rest.startsWith(child.edge)) {
+                return;
+            }
+            rest = rest.substring(child.edge.length());
+            node = child;
+        }
+        if (!node.products.remove(productId)) {
+            return;
+        }
+        size--;
+
+        // Élagage des nœuds devenus vides, puis refusion d'un parent à enfant unique
+        for (int i = path.size() - 1; i >= 0 && node != root; i--) {
+            Node parent = path.get(i);
+            if (node.products.isEmpty() && node.children.isEmpty()) {
+                parent.children.remove(node.edge.charAt(0));
+            } else if (node.products.isEmpty() && node.children.size() == 1) {
+                Node only = node.children.firstEntry().getValue();
+                only.edge = node.edge + only.edge;
+                parent.children.put(only.edge.charAt(0), only);
+            } else {
+                return;
+            }
+            node = parent;
+        }
+    }
+
+    /**
+     * Produits rangés sous un mot commençant par {@code prefix}
+     */
+    void forEachWithPrefix(String prefix, Consumer<UUID> action) {
+        Node node = root;
+        String rest = prefix;
+        while (!rest.isEmpty()) {
+            Node child = node.children.get(rest.charAt(0));
+            if (child == null) {
+                return;
+            }
+            if (rest.length() <= child.edge.length()) {
+                if (!child.edge.startsWith(rest)) {
+                    return;
+                }
+                node = child;
+                break;
+            }
+            if (!rest.startsWith(child.edge)) {
+                return;
+            }
+            rest = rest.substring(child.edge.length());
+            node = child;
+        }
+        collect(node, action);
+    }
+
+    private static void collect(Node node, Consumer<UUID> action) {
+        node.products.forEach(action);
+        for (Node child : node.children.values()) {
+            collect(child, action);
+        }
+    }
+
+    private static int commonPrefix(String a, String b) {
+        int max = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < max && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Nombre de couples (mot, produit) indexés
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Nombre de nœuds hors racine : reste minimal après suppressions (arêtes refusionnées)
+     */
+    int nodeCount() {
+        return countNodes(root) - 1;
+    }
+
+    private static int countNodes(Node node) {
+        int count = 1;
+        for (Node child : node.children.values()) {
+            count += countNodes(child);
+        }
+        return count;
+    }
+
+    private static final class Node {
+        private String edge;
+        private final TreeMap<Character, Node> children = new TreeMap<>();
+        private final Set<UUID> products = new HashSet<>(2);
+
+        private Node(String edge) {
+            this.edge = edge;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package esgi.easisell.service.search;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Index en mémoire par client : construit à la première demande, puis reconstruit en tâche de fond
+ * passé {@code refreshMs} ou au changement de jour. Pendant la reconstruction, les lectures
+ * continuent sur l'index courant, remplacé d'un bloc une fois le nouveau prêt.
+ */
+@Slf4j
+final class TenantIndexes<T> {
+
+    private record Built<T>(T index, long builtAt, LocalDate day) {
+    }
+
+    private final String name;
+    private final Function<UUID, T> builder;
+    private final long refreshMs;
+    private final Map<UUID, Built<T>> tenants = new ConcurrentHashMap<>();
+    private final Set<UUID> refreshing = ConcurrentHashMap.newKeySet();
+    private final ExecutorService refresher;
+
+    TenantIndexes(String name, Function<UUID, T> builder, long refreshMs) {
+        this.name = name;
+        this.builder = builder;
+        this.refreshMs = refreshMs;
+        this.refresher = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, name + "-refresh"));
+    }
+
+    /**
+     * Index du client, construit au besoin (seul cas où l'appelant attend la base)
+     */
+    T get(UUID clientId) {
+        Built<T> built = tenants.get(clientId);
+        if (built == null) {
+            Built<T> fresh = build(clientId);
+            Built<T> existing = tenants.putIfAbsent(clientId, fresh);
+            return (existing != null ? existing : fresh).index();
+        }
+
+        boolean stale = System.currentTimeMillis() - built.builtAt() > refreshMs || !built.day().equals(LocalDate.now());
+        if (stale && refreshing.add(clientId)) {
+            refresher.execute(() -> {
+                try {
+                    tenants.put(clientId, build(clientId));
+                } catch (RuntimeException e) {
+                    log.warn("⚠️ Reconstruction de l'index {} impossible pour le client {} : {}",
+                            name, clientId, e.getMessage());
+                } finally {
+                    refreshing.remove(clientId);
+                }
+            });
+        }
+        return built.index();
+    }
+
+    /**
+     * Index du client construit aujourd'hui, sans construction ; null sinon
+     */
+    T current(UUID clientId) {
+        Built<T> built = tenants.get(clientId);
+        return built != null && built.day().equals(LocalDate.now()) ? built.index() : null;
+    }
+
+    void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    private Built<T> build(UUID clientId) {
+        LocalDate day = LocalDate.now();
+        return new Built<>(builder.apply(clientId), System.currentTimeMillis(), day);
+    }
+}
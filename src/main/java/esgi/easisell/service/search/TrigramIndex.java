@@ -0,0 +1,183 @@
+package esgi.easisell.service.search;
+
+import esgi.easisell.model.SearchText;
+import esgi.easisell.service.search.ProductSimilarityIndex.SimilarProduct;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index inversé de trigrammes des noms de produits d'un client (à la pg_trgm) : chaque mot
+ * normalisé est complété de deux espaces devant et une derrière, puis découpé en trigrammes.
+ * Le texte normalisé n'a que 37 symboles (a-z, 0-9, espace) : un trigramme tient dans un entier
+ * et les listes de postings sont indexées directement par ce code.
+ * Similarité de Jaccard sur les ensembles de trigrammes ; seuls les produits partageant au moins
+ * un trigramme avec la saisie sont visités. Suppression par pierre tombale, compactée à la
+ * reconstruction.
+ */
+final class TrigramIndex {
+
+    private static final int ALPHABET = 37;
+    private static final int CODES = ALPHABET * ALPHABET * ALPHABET;
+
+    private final int[][] postings = new int[CODES][];
+    private final int[] postingSizes = new int[CODES];
+
+    private final List<UUID> productIds = new ArrayList<>();
+    private final List<String> names = new ArrayList<>();
+    private final List<String> unitLabels = new ArrayList<>();
+    private final List<BigDecimal> unitPrices = new ArrayList<>();
+    private final List<Integer> trigramCounts = new ArrayList<>();
+    private final Map<UUID, Integer> slots = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    void put(UUID productId, String name, String unitLabel, BigDecimal unitPrice) {
+        int[] trigrams = trigrams(name);
+        lock.writeLock().lock();
+        try {
+            removeSlot(productId);
+            int slot = productIds.size();
+            productIds.add(productId);
+            names.add(name);
+            unitLabels.add(unitLabel);
+            unitPrices.add(unitPrice);
+            trigramCounts.add(trigrams.length);
+            slots.put(productId, slot);
+            for (int code : trigrams) {
+                append(code, slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(UUID productId) {
+        lock.writeLock().lock();
+        try {
+            removeSlot(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Les {@code k} produits les plus proches de {@code name}, de similarité au moins {@code minScore},
+     * éventuellement limités à une unité ; le total des candidats retenus est écrit dans {@code total[0]}
+     */
+    List<SimilarProduct> nearest(String name, String unitLabel, int k, double minScore, int[] total) {
+        int[] query = trigrams(name);
+        if (query.length == 0) {
+            return List.of();
+        }
+        PriorityQueue<SimilarProduct> best =
+                new PriorityQueue<>(k + 1, Comparator.comparingDouble(SimilarProduct::score));
+        int accepted = 0;
+
+        lock.readLock().lock();
+        try {
+            int[] hits = new int[productIds.size()];
+            int[] touched = new int[16];
+            int touchedCount = 0;
+            for (int code : query) {
+                int[] list = postings[code];
+                for (int i = 0; i < postingSizes[code]; i++) {
+                    int slot = list[i];
+                    if (hits[slot]++ == 0) {
+                        if (touchedCount == touched.length) {
+                            touched = Arrays.copyOf(touched, touchedCount * 2);
+                        }
+                        touched[touchedCount++] = slot;
+                    }
+                }
+            }
+
+            for (int i = 0; i < touchedCount; i++) {
+                int slot = touched[i];
+                UUID productId = productIds.get(slot);
+                if (productId == null || (unitLabel != null && !unitLabel.equalsIgnoreCase(unitLabels.get(slot)))) {
+                    continue;
+                }
+                int shared = hits[slot];
+                double score = (double) shared / (query.length + trigramCounts.get(slot) - shared);
+                if (score < minScore) {
+                    continue;
+                }
+                accepted++;
+                best.offer(new SimilarProduct(productId, names.get(slot), unitLabels.get(slot),
+                        unitPrices.get(slot), score));
+                if (best.size() > k) {
+                    best.poll();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        total[0] = accepted;
+        List<SimilarProduct> result = new ArrayList<>(best);
+        result.sort(Comparator.comparingDouble(SimilarProduct::score).reversed());
+        return result;
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return slots.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Appelé sous verrou d'écriture : les postings de l'ancien emplacement restent, ignorés à la lecture
+    private void removeSlot(UUID productId) {
+        Integer previous = slots.remove(productId);
+        if (previous != null) {
+            productIds.set(previous, null);
+        }
+    }
+
+    private void append(int code, int slot) {
+        int[] list = postings[code];
+        if (list == null) {
+            list = postings[code] = new int[4];
+        } else if (postingSizes[code] == list.length) {
+            list = postings[code] = Arrays.copyOf(list, list.length * 2);
+        }
+        list[postingSizes[code]++] = slot;
+    }
+
+    /**
+     * Codes des trigrammes distincts du texte normalisé
+     */
+    static int[] trigrams(String text) {
+        List<String> words = SearchText.tokens(text);
+        int[] codes = new int[words.stream().mapToInt(word -> word.length() + 1).sum()];
+        int count = 0;
+        for (String word : words) {
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                codes[count++] = (symbol(padded.charAt(i)) * ALPHABET + symbol(padded.charAt(i + 1))) * ALPHABET
+                        + symbol(padded.charAt(i + 2));
+            }
+        }
+        return Arrays.stream(codes, 0, count).distinct().toArray();
+    }
+
+    private static int symbol(char c) {
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a' + 1;
+        }
+        if (c >= '0' && c <= '9') {
+            return c - '0' + 27;
+        }
+        return 0;
+    }
+}
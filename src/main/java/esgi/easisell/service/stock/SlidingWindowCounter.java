@@ -0,0 +1,39 @@
+package esgi.easisell.service.stock;
+
+/**
+ * Compteur sur fenêtre glissante découpée en tranches : une tranche expirée est remise à zéro
+ * à sa réutilisation. Les conflits restant rares, la synchronisation par compteur suffit.
+ */
+final class SlidingWindowCounter {
+
+    private final long bucketMillis;
+    private final long[] bucketStarts;
+    private final long[] counts;
+
+    SlidingWindowCounter(long windowMillis, int buckets) {
+        this.bucketMillis = Math.max(1, windowMillis / buckets);
+        this.bucketStarts = new long[buckets];
+        this.counts = new long[buckets];
+    }
+
+    synchronized void increment(long now) {
+        long start = now - Math.floorMod(now, bucketMillis);
+        int index = (int) Math.floorMod(start / bucketMillis, (long) counts.length);
+        if (bucketStarts[index] != start) {
+            bucketStarts[index] = start;
+            counts[index] = 0;
+        }
+        counts[index]++;
+    }
+
+    synchronized long total(long now) {
+        long oldest = now - bucketMillis * counts.length;
+        long total = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (bucketStarts[i] > oldest) {
+                total += counts[i];
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,137 @@
+package esgi.easisell.service.stock;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * ✅ TÉLÉMÉTRIE DES CONFLITS DE STOCK EN DIRECT
+ * Chaque échec de verrouillage optimiste est compté sur une fenêtre glissante par
+ * (client, produit, lot). Au-delà du seuil, un produit est considéré « chaud » : en mode
+ * adaptatif, ses décrémentations passent par le chemin sérialisé (verrou pessimiste sur les lots)
+ * pendant la durée de maintien, plutôt que de multiplier les conflits et les retries.
+ */
+@Component
+@Slf4j
+public class StockContentionTracker {
+
+    private final long windowMs;
+    private final int buckets;
+    private final long hotThreshold;
+    private final boolean adaptive;
+    private final long serializeHoldMs;
+
+    private final ConcurrentMap<ProductKey, SlidingWindowCounter> productConflicts = new ConcurrentHashMap<>();
+    private final ConcurrentMap<LotKey, SlidingWindowCounter> lotConflicts = new ConcurrentHashMap<>();
+    private final ConcurrentMap<ProductKey, Long> serializedUntil = new ConcurrentHashMap<>();
+
+    public StockContentionTracker(@Value("${easisell.stock.contention.window-ms:60000}") long windowMs,
+                                  @Value("${easisell.stock.contention.buckets:12}") int buckets,
+                                  @Value("${easisell.stock.contention.hot-threshold:5}") long hotThreshold,
+                                  @Value("${easisell.stock.contention.adaptive:true}") boolean adaptive,
+                                  @Value("${easisell.stock.contention.serialize-hold-ms:300000}") long serializeHoldMs) {
+        this.windowMs = windowMs;
+        this.buckets = buckets;
+        this.hotThreshold = hotThreshold;
+        this.adaptive = adaptive;
+        this.serializeHoldMs = serializeHoldMs;
+    }
+
+    public record HotLot(UUID stockItemId, long conflicts) {}
+
+    public record HotProduct(UUID productId, long conflicts, boolean serialized, List<HotLot> lots) {}
+
+    private record ProductKey(UUID clientId, UUID productId) {}
+
+    private record LotKey(UUID clientId, UUID productId, UUID stockItemId) {}
+
+    /**
+     * ✅ Enregistre un conflit de version sur un lot
+     */
+    public void recordConflict(UUID clientId, UUID productId, UUID stockItemId) {
+        long now = System.currentTimeMillis();
+        ProductKey productKey = new ProductKey(clientId, productId);
+
+        SlidingWindowCounter productCounter = productConflicts.computeIfAbsent(productKey, k -> newCounter());
+        productCounter.increment(now);
+        lotConflicts.computeIfAbsent(new LotKey(clientId, productId, stockItemId), k -> newCounter()).increment(now);
+
+        if (adaptive && productCounter.total(now) >= hotThreshold
+                && serializedUntil.put(productKey, now + serializeHoldMs) == null) {
+            log.warn("🔥 Produit {} (client {}) contesté : décrémentations sérialisées pendant {} ms",
+                    productId, clientId, serializeHoldMs);
+        }
+    }
+
+    /**
+     * ✅ Le produit doit-il passer par le chemin sérialisé ?
+     */
+    public boolean shouldSerialize(UUID clientId, UUID productId) {
+        if (!adaptive) {
+            return false;
+        }
+        Long until = serializedUntil.get(new ProductKey(clientId, productId));
+        return until != null && until > System.currentTimeMillis();
+    }
+
+    /**
+     * ✅ Produits les plus contestés d'un client sur la fenêtre courante
+     */
+    public List<HotProduct> hottest(UUID clientId, int limit) {
+        long now = System.currentTimeMillis();
+        List<HotProduct> products = new ArrayList<>();
+
+        productConflicts.forEach((key, counter) -> {
+            long conflicts = counter.total(now);
+            if (!key.clientId().equals(clientId) || conflicts == 0) {
+                return;
+            }
+            List<HotLot> lots = new ArrayList<>();
+            lotConflicts.forEach((lotKey, lotCounter) -> {
+                if (lotKey.clientId().equals(clientId) && lotKey.productId().equals(key.productId())) {
+                    long lotTotal = lotCounter.total(now);
+                    if (lotTotal > 0) {
+                        lots.add(new HotLot(lotKey.stockItemId(), lotTotal));
+                    }
+                }
+            });
+            lots.sort(Comparator.comparingLong(HotLot::conflicts).reversed());
+            products.add(new HotProduct(key.productId(), conflicts,
+                    shouldSerialize(clientId, key.productId()), lots));
+        });
+
+        products.sort(Comparator.comparingLong(HotProduct::conflicts).reversed());
+        return products.size() > limit ? products.subList(0, limit) : products;
+    }
+
+    public long getWindowMs() {
+        return windowMs;
+    }
+
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+
+    /**
+     * Purge des compteurs retombés à zéro et des maintiens expirés
+     */
+    @Scheduled(fixedDelayString = "${easisell.stock.contention.window-ms:60000}")
+    public void purge() {
+        long now = System.currentTimeMillis();
+        productConflicts.values().removeIf(counter -> counter.total(now) == 0);
+        lotConflicts.values().removeIf(counter -> counter.total(now) == 0);
+        serializedUntil.values().removeIf(until -> until <= now);
+    }
+
+    private SlidingWindowCounter newCounter() {
+        return new SlidingWindowCounter(windowMs, buckets);
+    }
+}
@@ -0,0 +1,93 @@
+package esgi.easisell.service.stock;
+
+import esgi.easisell.service.metrics.CheckoutMetrics;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ✅ VERROU PAR PRODUIT, EN MÉMOIRE (PAR BANDES)
+ * Les caisses d'un même nœud qui vendent le même produit sont mises en file ici plutôt que de
+ * perdre sur @Version et de recommencer. Le verrou est tenu jusqu'à la fin de la transaction :
+ * relâché avant le commit, il laisserait la caisse suivante relire des lots périmés.
+ * Entre nœuds, la sécurité repose toujours sur le versioning optimiste.
+ */
+@Component
+@Slf4j
+public class StripedStockLock {
+
+    private static final Runnable NO_OP = () -> { };
+
+    private final boolean enabled;
+    private final long timeoutMs;
+    private final ReentrantLock[] stripes;
+    private final CheckoutMetrics checkoutMetrics;
+
+    public StripedStockLock(@Value("${easisell.stock.striped-lock.enabled:true}") boolean enabled,
+                            @Value("${easisell.stock.striped-lock.stripes:64}") int stripeCount,
+                            @Value("${easisell.stock.striped-lock.timeout-ms:2000}") long timeoutMs,
+                            CheckoutMetrics checkoutMetrics) {
+        this.enabled = enabled;
+        this.timeoutMs = timeoutMs;
+        this.checkoutMetrics = checkoutMetrics;
+        this.stripes = new ReentrantLock[Math.max(1, stripeCount)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public int stripeFor(UUID clientId, UUID productId) {
+        int hash = 31 * clientId.hashCode() + productId.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), stripes.length);
+    }
+
+    /**
+     * ✅ Verrouille la bande du produit. Dans une transaction, le verrou est relâché à sa fin
+     * et l'action retournée est vide ; hors transaction, l'appelant relâche via l'action retournée.
+     * Délai dépassé : on poursuit sans verrou, le versioning optimiste reste le filet de sécurité.
+     */
+    public Runnable acquire(UUID clientId, UUID productId) {
+        if (!enabled) {
+            return NO_OP;
+        }
+
+        int stripe = stripeFor(clientId, productId);
+        ReentrantLock lock = stripes[stripe];
+        Timer.Sample sample = checkoutMetrics.start();
+
+        boolean acquired = lock.tryLock();
+        if (!acquired) {
+            checkoutMetrics.increment(CheckoutMetrics.STOCK_LOCK_CONTENDED, clientId, "stripe", String.valueOf(stripe));
+            try {
+                acquired = lock.tryLock(timeoutMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        checkoutMetrics.stop(sample, CheckoutMetrics.STOCK_LOCK_WAIT, clientId,
+                acquired ? "acquired" : "timeout");
+
+        if (!acquired) {
+            log.warn("⏱️ Verrou stock non obtenu en {} ms (produit {}), poursuite en optimiste", timeoutMs, productId);
+            return NO_OP;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    lock.unlock();
+                }
+            });
+            return NO_OP;
+        }
+        return lock::unlock;
+    }
+}
@@ -0,0 +1,63 @@
+package esgi.easisell.service.tax;
+
+import esgi.easisell.model.Money;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Cumul des lignes par taux en centimes (long) : aucune allocation par ligne.
+ * Les prix de vente étant TTC, la TVA est extraite de chaque total par taux
+ * (TVA = TTC × t / (1 + t), arrondi HALF_UP), comme sur un ticket de caisse.
+ */
+public final class TaxAccumulator {
+
+    private static final long BASIS_POINTS = 10_000L;
+
+    // Quelques taux par panier au plus : une recherche linéaire suffit
+    private int[] rates = new int[4];
+    private long[] gross = new long[4];
+    private int size;
+
+    public void add(int rateBasisPoints, long grossCents) {
+        for (int i = 0; i < size; i++) {
+            if (rates[i] == rateBasisPoints) {
+                gross[i] += grossCents;
+                return;
+            }
+        }
+        if (size == rates.length) {
+            rates = Arrays.copyOf(rates, size * 2);
+            gross = Arrays.copyOf(gross, size * 2);
+        }
+        rates[size] = rateBasisPoints;
+        gross[size] = grossCents;
+        size++;
+    }
+
+    public TaxBreakdown toBreakdown() {
+        if (size == 0) {
+            return TaxBreakdown.EMPTY;
+        }
+        List<TaxBucket> buckets = new ArrayList<>(size);
+        long totalGross = 0;
+        long totalTax = 0;
+        for (int i = 0; i < size; i++) {
+            long tax = includedTax(gross[i], rates[i]);
+            buckets.add(new TaxBucket(rates[i], gross[i], tax));
+            totalGross += gross[i];
+            totalTax += tax;
+        }
+        buckets.sort((a, b) -> Integer.compare(a.rateBasisPoints(), b.rateBasisPoints()));
+        return new TaxBreakdown(List.copyOf(buckets), totalGross, totalTax);
+    }
+
+    /**
+     * TVA incluse dans un montant TTC, arrondie au centime le plus proche (HALF_UP)
+     */
+    public static long includedTax(long grossCents, int rateBasisPoints) {
+        return Money.divideHalfUp(Math.multiplyExact(grossCents, (long) rateBasisPoints),
+                BASIS_POINTS + rateBasisPoints);
+    }
+}
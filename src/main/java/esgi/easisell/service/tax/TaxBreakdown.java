@@ -0,0 +1,22 @@
+package esgi.easisell.service.tax;
+
+import esgi.easisell.model.Money;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Ventilation de la TVA d'un panier par taux
+ */
+public record TaxBreakdown(List<TaxBucket> buckets, long grossCents, long taxCents) {
+
+    public static final TaxBreakdown EMPTY = new TaxBreakdown(List.of(), 0, 0);
+
+    public BigDecimal taxAmount() {
+        return Money.toBigDecimal(taxCents);
+    }
+
+    public BigDecimal netAmount() {
+        return Money.toBigDecimal(grossCents - taxCents);
+    }
+}
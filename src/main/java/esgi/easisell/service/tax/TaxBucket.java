@@ -0,0 +1,31 @@
+package esgi.easisell.service.tax;
+
+import esgi.easisell.model.Money;
+
+import java.math.BigDecimal;
+
+/**
+ * Totaux d'un taux de TVA, en centimes (montants TTC)
+ */
+public record TaxBucket(int rateBasisPoints, long grossCents, long taxCents) {
+
+    public long netCents() {
+        return grossCents - taxCents;
+    }
+
+    public BigDecimal rate() {
+        return BigDecimal.valueOf(rateBasisPoints, 2);
+    }
+
+    public BigDecimal grossAmount() {
+        return Money.toBigDecimal(grossCents);
+    }
+
+    public BigDecimal taxAmount() {
+        return Money.toBigDecimal(taxCents);
+    }
+
+    public BigDecimal netAmount() {
+        return Money.toBigDecimal(netCents());
+    }
+}
@@ -0,0 +1,27 @@
+package esgi.easisell.service.tax;
+
+import esgi.easisell.entity.SaleItem;
+import esgi.easisell.model.Money;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * ✅ CALCUL DE LA TVA D'UN PANIER
+ * Chaque ligne est convertie une fois en centimes, puis cumulée par taux.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaxCalculator {
+
+    private final TaxRateResolver rateResolver;
+
+    public TaxBreakdown compute(List<SaleItem> items) {
+        TaxAccumulator accumulator = new TaxAccumulator();
+        for (SaleItem item : items) {
+            accumulator.add(rateResolver.rateFor(item.getProduct()), Money.toCents(item.getPriceAtSale()));
+        }
+        return accumulator.toBreakdown();
+    }
+}
@@ -0,0 +1,96 @@
+package esgi.easisell.service.tax;
+
+import esgi.easisell.entity.Category;
+import esgi.easisell.entity.Product;
+import esgi.easisell.repository.CategoryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * ✅ RÉSOLUTION DES TAUX DE TVA
+ * Priorité : taux du produit, puis taux de la catégorie (mis en cache), puis taux par défaut.
+ * Les taux sont manipulés en points de base (20.00 % = 2000).
+ */
+@Component
+@Slf4j
+public class TaxRateResolver {
+
+    private static final BigDecimal MAX_RATE_PERCENT = BigDecimal.valueOf(100);
+
+    private final CategoryRepository categoryRepository;
+    private final int defaultRateBasisPoints;
+    private final ConcurrentMap<UUID, Integer> categoryRates = new ConcurrentHashMap<>();
+
+    public TaxRateResolver(CategoryRepository categoryRepository,
+                           @Value("${easisell.tax.default-rate:20.00}") BigDecimal defaultRate) {
+        this.categoryRepository = categoryRepository;
+        this.defaultRateBasisPoints = toBasisPoints(requireValidRate(defaultRate));
+    }
+
+    public int rateFor(Product product) {
+        if (product.getVatRate() != null) {
+            return toBasisPoints(product.getVatRate());
+        }
+        Category category = product.getCategory();
+        if (category == null) {
+            return defaultRateBasisPoints;
+        }
+        // L'identifiant est lu sur le proxy : la catégorie n'est pas chargée
+        return categoryRates.computeIfAbsent(category.getCategoryId(), id -> categoryRepository.findVatRateById(id)
+                .map(TaxRateResolver::toBasisPoints)
+                .orElse(defaultRateBasisPoints));
+    }
+
+    /**
+     * Invalide le taux d'une catégorie, après le commit si une transaction est en cours
+     */
+    public void evictCategory(UUID categoryId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    categoryRates.remove(categoryId);
+                }
+            });
+        } else {
+            categoryRates.remove(categoryId);
+        }
+    }
+
+    /**
+     * Rafraîchissement périodique : borne le décalage entre instances (modifications faites ailleurs)
+     */
+    @Scheduled(fixedDelayString = "${easisell.tax.cache-refresh-ms:300000}")
+    public void clear() {
+        categoryRates.clear();
+    }
+
+    public static int toBasisPoints(BigDecimal ratePercent) {
+        return ratePercent.movePointRight(2).setScale(0, RoundingMode.HALF_UP).intValueExact();
+    }
+
+    /**
+     * ✅ Contrôle d'un taux saisi (produit ou catégorie) : null accepté (pas de taux propre), sinon entre 0 et 100 %.
+     * Un taux négatif donnerait une taxe négative, -100 % une division par zéro dans le calcul TTC → HT
+     *
+     * @throws IllegalArgumentException taux hors bornes
+     */
+    public static BigDecimal requireValidRate(BigDecimal ratePercent) {
+        if (ratePercent != null
+                && (ratePercent.signum() < 0 || ratePercent.compareTo(MAX_RATE_PERCENT) > 0)) {
+            throw new IllegalArgumentException("Taux de TVA invalide (" + ratePercent.toPlainString()
+                    + " %) : il doit être compris entre 0 et 100");
+        }
+        return ratePercent;
+    }
+}
@@ -0,0 +1,32 @@
+package esgi.easisell.utils;
+
+/**
+ * Comparaison des en-têtes conditionnels HTTP (If-None-Match)
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * Compare l'en-tête If-None-Match à un ETag (formes faible et forte acceptées)
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*")) {
+                return true;
+            }
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.replace("\"", "").equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
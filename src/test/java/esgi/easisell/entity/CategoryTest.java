@@ -17,6 +17,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.math.BigDecimal;
 import java.util.UUID;
 
 /**
@@ -100,4 +101,17 @@ class CategoryTest {
         assertNotNull(category.getName());
         assertFalse(category.getName().isEmpty());
     }
-}
\ No newline at end of file
+
+    /**
+     * Test vat rate.
+     */
+    @Test
+    @DisplayName("✅ Taux de TVA optionnel")
+    void testVatRate() {
+        assertNull(category.getVatRate());
+
+        category.setVatRate(new BigDecimal("5.50"));
+
+        assertEquals(new BigDecimal("5.50"), category.getVatRate());
+    }
+}
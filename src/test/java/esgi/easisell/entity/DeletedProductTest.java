@@ -0,0 +1,86 @@
+/**
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ * PROJET EASISELL - PLATEFORME DE GESTION COMMERCIALE
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ * @file        : DeletedProductTest.java
+ * @description : Tests unitaires pour l'entité DeletedProduct
+ * @author      : Chancy MOUYABI
+ * @version     : v1.0.0
+ * @date        : 19/10/2026
+ * @package     : esgi.easisell.entity
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ */
+package esgi.easisell.entity;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+
+/**
+ * The type Deleted product test.
+ */
+class DeletedProductTest {
+
+    private DeletedProduct deletedProduct;
+
+    /**
+     * Sets up.
+     */
+    @BeforeEach
+    void setUp() {
+        deletedProduct = new DeletedProduct();
+    }
+
+    /**
+     * Test builder constructor.
+     */
+    @Test
+    @DisplayName("✅ Constructeur Builder")
+    void testBuilderConstructor() {
+        UUID productId = UUID.randomUUID();
+        UUID clientId = UUID.randomUUID();
+        Timestamp deletedAt = new Timestamp(System.currentTimeMillis());
+
+        DeletedProduct newDeletedProduct = DeletedProduct.builder()
+                .productId(productId)
+                .clientId(clientId)
+                .deletedAt(deletedAt)
+                .build();
+
+        assertEquals(productId, newDeletedProduct.getProductId());
+        assertEquals(clientId, newDeletedProduct.getClientId());
+        assertEquals(deletedAt, newDeletedProduct.getDeletedAt());
+    }
+
+    /**
+     * Test deletion date set on create.
+     */
+    @Test
+    @DisplayName("✅ Date de suppression renseignée à la création")
+    void testDeletionDateSetOnCreate() {
+        deletedProduct.setProductId(UUID.randomUUID());
+        assertNull(deletedProduct.getDeletedAt());
+
+        deletedProduct.onCreate();
+
+        assertNotNull(deletedProduct.getDeletedAt());
+    }
+
+    /**
+     * Test existing deletion date kept.
+     */
+    @Test
+    @DisplayName("✅ Date de suppression existante conservée")
+    void testExistingDeletionDateKept() {
+        Timestamp deletedAt = new Timestamp(0L);
+        deletedProduct.setDeletedAt(deletedAt);
+
+        deletedProduct.onCreate();
+
+        assertEquals(deletedAt, deletedProduct.getDeletedAt());
+    }
+}
@@ -0,0 +1,69 @@
+/**
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ * PROJET EASISELL - PLATEFORME DE GESTION COMMERCIALE
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ * @file        : EmailCampaignTest.java
+ * @description : Tests unitaires pour l'entité EmailCampaign
+ * @author      : Chancy MOUYABI
+ * @version     : v1.0.0
+ * @date        : 19/10/2026
+ * @package     : esgi.easisell.entity
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ */
+package esgi.easisell.entity;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * The type Email campaign test.
+ */
+class EmailCampaignTest {
+
+    /**
+     * Test builder defaults.
+     */
+    @Test
+    @DisplayName("✅ Valeurs par défaut du Builder")
+    void testBuilderDefaults() {
+        EmailCampaign campaign = EmailCampaign.builder()
+                .contractStatus("ACTIVE")
+                .serviceName("Abonnement caisse")
+                .amount(new BigDecimal("29.90"))
+                .currency("EUR")
+                .dueDate(LocalDate.of(2026, 10, 30))
+                .build();
+
+        assertEquals(EmailCampaign.Status.RUNNING, campaign.getStatus());
+        assertFalse(campaign.getLate());
+        assertEquals(0, campaign.getTotalTargets());
+        assertEquals(0, campaign.getQueuedCount());
+        assertEquals(0, campaign.getSkippedCount());
+        assertNull(campaign.getLastClientId());
+    }
+
+    /**
+     * Test resume cursor.
+     */
+    @Test
+    @DisplayName("✅ Curseur de reprise")
+    void testResumeCursor() {
+        EmailCampaign campaign = new EmailCampaign();
+        UUID lastClientId = UUID.randomUUID();
+
+        campaign.setLastClientId(lastClientId);
+        campaign.setQueuedCount(100);
+        campaign.setSkippedCount(2);
+        campaign.setOwnerNode("1234@node-a");
+
+        assertEquals(lastClientId, campaign.getLastClientId());
+        assertEquals(100, campaign.getQueuedCount());
+        assertEquals(2, campaign.getSkippedCount());
+        assertEquals("1234@node-a", campaign.getOwnerNode());
+    }
+}
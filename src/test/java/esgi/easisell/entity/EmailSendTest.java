@@ -112,4 +112,28 @@ class EmailSendTest {
             assertEquals(type, emailSend.getEmailType());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Test outbox fields.
+     */
+    @Test
+    @DisplayName("✅ Champs d'outbox")
+    void testOutboxFields() {
+        Timestamp nextAttemptAt = Timestamp.valueOf(LocalDateTime.now().plusMinutes(1));
+
+        assertEquals(0, emailSend.getAttempts());
+
+        emailSend.setRecipient("info@easy-sell.net");
+        emailSend.setStatus(EmailSend.STATUS_PENDING);
+        emailSend.setAttempts(2);
+        emailSend.setNextAttemptAt(nextAttemptAt);
+        emailSend.setLastError("Connection refused");
+
+        assertNull(emailSend.getClient());
+        assertEquals("info@easy-sell.net", emailSend.getRecipient());
+        assertEquals("PENDING", emailSend.getStatus());
+        assertEquals(2, emailSend.getAttempts());
+        assertEquals(nextAttemptAt, emailSend.getNextAttemptAt());
+        assertEquals("Connection refused", emailSend.getLastError());
+    }
+}
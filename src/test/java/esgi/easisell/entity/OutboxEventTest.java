@@ -0,0 +1,94 @@
+/**
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ * PROJET EASISELL - PLATEFORME DE GESTION COMMERCIALE
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ * @file        : OutboxEventTest.java
+ * @description : Tests unitaires pour l'entité OutboxEvent
+ * @author      : Chancy MOUYABI
+ * @version     : v1.0.0
+ * @date        : 19/10/2026
+ * @package     : esgi.easisell.entity
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ */
+package esgi.easisell.entity;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * The type Outbox event test.
+ */
+class OutboxEventTest {
+
+    private OutboxEvent event;
+
+    /**
+     * Sets up.
+     */
+    @BeforeEach
+    void setUp() {
+        event = new OutboxEvent();
+    }
+
+    /**
+     * Test builder defaults.
+     */
+    @Test
+    @DisplayName("✅ Valeurs par défaut du Builder")
+    void testBuilderDefaults() {
+        UUID aggregateId = UUID.randomUUID();
+        UUID clientId = UUID.randomUUID();
+
+        OutboxEvent newEvent = OutboxEvent.builder()
+                .eventType(OutboxEvent.EventType.SALE_COMPLETED)
+                .aggregateId(aggregateId)
+                .clientId(clientId)
+                .payload("{}")
+                .build();
+
+        assertEquals(OutboxEvent.EventType.SALE_COMPLETED, newEvent.getEventType());
+        assertEquals(aggregateId, newEvent.getAggregateId());
+        assertEquals(clientId, newEvent.getClientId());
+        assertEquals(OutboxEvent.Status.PENDING, newEvent.getStatus());
+        assertEquals(0, newEvent.getAttempts());
+        assertNull(newEvent.getClaimedBy());
+    }
+
+    /**
+     * Test claim and delivery.
+     */
+    @Test
+    @DisplayName("✅ Réservation puis livraison")
+    void testClaimAndDelivery() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        event.setStatus(OutboxEvent.Status.CLAIMED);
+        event.setClaimedBy("relay-1");
+        event.setClaimedAt(now);
+        assertEquals(OutboxEvent.Status.CLAIMED, event.getStatus());
+        assertEquals("relay-1", event.getClaimedBy());
+
+        event.setStatus(OutboxEvent.Status.DELIVERED);
+        event.setDeliveredAt(now);
+        assertEquals(OutboxEvent.Status.DELIVERED, event.getStatus());
+        assertEquals(now, event.getDeliveredAt());
+    }
+
+    /**
+     * Test statuses.
+     */
+    @Test
+    @DisplayName("✅ Statuts")
+    void testStatuses() {
+        for (OutboxEvent.Status status : OutboxEvent.Status.values()) {
+            event.setStatus(status);
+            assertEquals(status, event.getStatus());
+        }
+    }
+}
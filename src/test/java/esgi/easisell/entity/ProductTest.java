@@ -120,4 +120,34 @@ class ProductTest {
         assertNotNull(product.getPromotions());
         assertTrue(product.getStockItems().isEmpty());
     }
+
+    /**
+     * Test calculate total price.
+     */
+    @Test
+    @DisplayName("✅ Prix total arrondi au centime")
+    void testCalculateTotalPrice() {
+        product.setUnitPrice(new BigDecimal("4.50"));
+
+        assertEquals(new BigDecimal("10.58"), product.calculateTotalPrice(new BigDecimal("2.350")));
+        assertEquals(new BigDecimal("13.50"), product.calculateTotalPrice(BigDecimal.valueOf(3)));
+        assertEquals(BigDecimal.ZERO, product.calculateTotalPrice(null));
+    }
+
+    /**
+     * Test search text normalization.
+     */
+    @Test
+    @DisplayName("✅ Formes de recherche sans accents")
+    void testSearchTextNormalization() {
+        product.setName("Crème Brûlée");
+        product.setBrand("Bœuf & Cie");
+        product.setDescription("Dessert  à l'œuf");
+
+        product.refreshSearchText();
+
+        assertEquals("creme brulee", product.getSearchName());
+        assertEquals("boeuf cie", product.getSearchBrand());
+        assertEquals("dessert a l oeuf", product.getSearchDescription());
+    }
 }
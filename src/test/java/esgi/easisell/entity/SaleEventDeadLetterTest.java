@@ -0,0 +1,75 @@
+/**
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ * PROJET EASISELL - PLATEFORME DE GESTION COMMERCIALE
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ * @file        : SaleEventDeadLetterTest.java
+ * @description : Tests unitaires pour l'entité SaleEventDeadLetter
+ * @author      : Chancy MOUYABI
+ * @version     : v1.0.0
+ * @date        : 19/10/2026
+ * @package     : esgi.easisell.entity
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ */
+package esgi.easisell.entity;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.UUID;
+
+/**
+ * The type Sale event dead letter test.
+ */
+class SaleEventDeadLetterTest {
+
+    private SaleEventDeadLetter deadLetter;
+
+    /**
+     * Sets up.
+     */
+    @BeforeEach
+    void setUp() {
+        deadLetter = new SaleEventDeadLetter();
+    }
+
+    /**
+     * Test builder constructor.
+     */
+    @Test
+    @DisplayName("✅ Constructeur Builder")
+    void testBuilderConstructor() {
+        UUID saleId = UUID.randomUUID();
+        UUID clientId = UUID.randomUUID();
+
+        SaleEventDeadLetter newDeadLetter = SaleEventDeadLetter.builder()
+                .saleId(saleId)
+                .clientId(clientId)
+                .consumerName("receipt-render")
+                .payload("{}")
+                .attempts(3)
+                .lastError("timeout")
+                .build();
+
+        assertEquals(saleId, newDeadLetter.getSaleId());
+        assertEquals(clientId, newDeadLetter.getClientId());
+        assertEquals("receipt-render", newDeadLetter.getConsumerName());
+        assertEquals("{}", newDeadLetter.getPayload());
+        assertEquals(3, newDeadLetter.getAttempts());
+        assertEquals("timeout", newDeadLetter.getLastError());
+    }
+
+    /**
+     * Test rejected event without consumer.
+     */
+    @Test
+    @DisplayName("✅ Événement rejeté sans consommateur")
+    void testRejectedEventWithoutConsumer() {
+        deadLetter.setSaleId(UUID.randomUUID());
+        deadLetter.setAttempts(0);
+
+        assertNull(deadLetter.getConsumerName());
+        assertEquals(0, deadLetter.getAttempts());
+    }
+}
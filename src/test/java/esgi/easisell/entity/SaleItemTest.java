@@ -136,4 +136,22 @@ class SaleItemTest {
 
         assertTrue(saleItem.getPriceAtSale().compareTo(BigDecimal.ZERO) >= 0);
     }
-}
\ No newline at end of file
+
+    /**
+     * Test discount amount.
+     */
+    @Test
+    @DisplayName("✅ Remise promotionnelle sur la ligne")
+    void testDiscountAmount() {
+        SaleItem discounted = SaleItem.builder()
+                .sale(sale)
+                .product(product)
+                .quantitySold(BigDecimal.valueOf(2))
+                .priceAtSale(new BigDecimal("9.00"))
+                .discountAmount(new BigDecimal("1.00"))
+                .build();
+
+        assertEquals(new BigDecimal("1.00"), discounted.getDiscountAmount());
+        assertNull(saleItem.getDiscountAmount());
+    }
+}
@@ -0,0 +1,97 @@
+/**
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ * PROJET EASISELL - PLATEFORME DE GESTION COMMERCIALE
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ * @file        : SaleReceiptTest.java
+ * @description : Tests unitaires pour l'entité SaleReceipt
+ * @author      : Chancy MOUYABI
+ * @version     : v1.0.0
+ * @date        : 19/10/2026
+ * @package     : esgi.easisell.entity
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ */
+package esgi.easisell.entity;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * The type Sale receipt test.
+ */
+class SaleReceiptTest {
+
+    private SaleReceipt receipt;
+
+    /**
+     * Sets up.
+     */
+    @BeforeEach
+    void setUp() {
+        receipt = new SaleReceipt();
+    }
+
+    /**
+     * Test builder constructor.
+     */
+    @Test
+    @DisplayName("✅ Constructeur Builder")
+    void testBuilderConstructor() {
+        UUID saleId = UUID.randomUUID();
+        UUID clientId = UUID.randomUUID();
+        String json = "{\"receiptNumber\":\"REC-1234ABCD\"}";
+        byte[] escPos = {0x1B, '@'};
+
+        SaleReceipt newReceipt = SaleReceipt.builder()
+                .saleId(saleId)
+                .clientId(clientId)
+                .receiptNumber("REC-1234ABCD")
+                .receiptJson(json)
+                .escPosPayload(escPos)
+                .etag("0123456789abcdef0123456789abcdef")
+                .build();
+
+        assertEquals(saleId, newReceipt.getSaleId());
+        assertEquals(clientId, newReceipt.getClientId());
+        assertEquals("REC-1234ABCD", newReceipt.getReceiptNumber());
+        assertEquals(json, newReceipt.getReceiptJson());
+        assertArrayEquals(escPos, newReceipt.getEscPosPayload());
+        assertEquals("0123456789abcdef0123456789abcdef", newReceipt.getEtag());
+    }
+
+    /**
+     * Test receipt getters setters.
+     */
+    @Test
+    @DisplayName("✅ Getters/Setters ticket")
+    void testReceiptGettersSetters() {
+        UUID receiptId = UUID.randomUUID();
+        Timestamp renderedAt = Timestamp.valueOf(LocalDateTime.now());
+
+        receipt.setReceiptId(receiptId);
+        receipt.setRenderedAt(renderedAt);
+
+        assertEquals(receiptId, receipt.getReceiptId());
+        assertEquals(renderedAt, receipt.getRenderedAt());
+    }
+
+    /**
+     * Test payload excluded from toString.
+     */
+    @Test
+    @DisplayName("✅ Contenu exclu du toString")
+    void testPayloadExcludedFromToString() {
+        receipt.setReceiptJson("{\"secret\":true}");
+        receipt.setEscPosPayload(new byte[]{0x1B, '@'});
+
+        String result = receipt.toString();
+
+        assertFalse(result.contains("secret"));
+        assertFalse(result.contains("escPosPayload"));
+    }
+}
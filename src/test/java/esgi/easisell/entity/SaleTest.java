@@ -122,4 +122,48 @@ class SaleTest {
         // Assert
         assertTrue(sale.getTotalAmount().compareTo(BigDecimal.ZERO) > 0);
     }
-}
\ No newline at end of file
+
+    /**
+     * Test outstanding balance.
+     */
+    @Test
+    @DisplayName("✅ Reste à payer après paiement partiel")
+    void testOutstandingBalance() {
+        // Arrange
+        Sale newSale = new Sale(client, Timestamp.valueOf(LocalDateTime.now()), new BigDecimal("30.00"), false);
+        Payment cash = new Payment();
+        cash.setAmount(new BigDecimal("10.00"));
+
+        // Act
+        newSale.getPayments().add(cash);
+        newSale.setBalanceDue(new BigDecimal("20.00"));
+
+        // Assert
+        assertEquals(new BigDecimal("20.00"), newSale.getOutstandingBalance());
+        assertFalse(newSale.isFullyPaid());
+
+        newSale.setBalanceDue(BigDecimal.ZERO);
+        assertTrue(newSale.isFullyPaid());
+    }
+
+    /**
+     * Test legacy sale without balance column.
+     */
+    @Test
+    @DisplayName("✅ Vente antérieure sans solde renseigné")
+    void testLegacySaleWithoutBalance() {
+        // Arrange
+        sale.setTotalAmount(new BigDecimal("15.00"));
+
+        // Assert
+        assertEquals(new BigDecimal("15.00"), sale.getOutstandingBalance());
+        assertFalse(sale.isFullyPaid());
+
+        // Act
+        sale.getPayments().add(new Payment());
+
+        // Assert
+        assertEquals(BigDecimal.ZERO, sale.getOutstandingBalance());
+        assertTrue(sale.isFullyPaid());
+    }
+}
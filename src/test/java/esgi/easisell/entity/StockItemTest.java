@@ -140,4 +140,20 @@ class StockItemTest {
         stockItem.setVersion(2L);
         assertEquals(2L, stockItem.getVersion());
     }
-}
\ No newline at end of file
+
+    /**
+     * Test quantity milli.
+     */
+    @Test
+    @DisplayName("✅ Quantité en millièmes - produit au poids")
+    void testQuantityMilli() {
+        stockItem.setQuantityMilli(2350L);
+
+        assertEquals(2350L, stockItem.getQuantityMilli());
+        assertEquals(2, stockItem.getQuantity());
+        assertEquals(new BigDecimal("2.350"), stockItem.getQuantityInUnits());
+
+        stockItem.setQuantity(4);
+        assertEquals(4000L, stockItem.getQuantityMilli());
+    }
+}
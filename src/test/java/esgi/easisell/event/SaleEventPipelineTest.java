@@ -0,0 +1,153 @@
+/**
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ * PROJET EASISELL - PLATEFORME DE GESTION COMMERCIALE
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ * @file        : SaleEventPipelineTest.java
+ * @description : Tests unitaires du rejeu des lettres mortes du pipeline de ventes
+ * @author      : Chancy MOUYABI
+ * @version     : v1.0.0
+ * @date        : 19/10/2026
+ * @package     : esgi.easisell.event
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ */
+package esgi.easisell.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import esgi.easisell.entity.SaleEventDeadLetter;
+import esgi.easisell.repository.SaleEventDeadLetterRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * The type Sale event pipeline test.
+ * Une file d'une place et un consommateur bloqué : le rejeu trouve la file pleine.
+ */
+class SaleEventPipelineTest {
+
+    private static final long DEAD_LETTER_ID = 42L;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final CountDownLatch consumerBlocked = new CountDownLatch(1);
+    private final LinkedBlockingQueue<UUID> consumed = new LinkedBlockingQueue<>();
+    private final UUID clientId = UUID.randomUUID();
+
+    private SaleEventDeadLetterRepository deadLetterRepository;
+    private SaleEventPipeline pipeline;
+
+    /**
+     * Sets up.
+     */
+    @BeforeEach
+    void setUp() {
+        deadLetterRepository = mock(SaleEventDeadLetterRepository.class);
+
+        SaleEventConsumer receipts = new SaleEventConsumer() {
+            @Override
+            public String getConsumerName() {
+                return "receipts";
+            }
+
+            @Override
+            public void consume(SaleSnapshot snapshot) throws Exception {
+                consumerBlocked.await();
+                consumed.add(snapshot.saleId());
+            }
+        };
+        pipeline = new SaleEventPipeline(List.of(receipts), deadLetterRepository, objectMapper,
+                mock(PlatformTransactionManager.class), 1, 1, 1, 0);
+    }
+
+    /**
+     * Tear down.
+     */
+    @AfterEach
+    void tearDown() {
+        consumerBlocked.countDown();
+        pipeline.shutdown();
+    }
+
+    /**
+     * Test replay keeps dead letter when lane is full.
+     */
+    @Test
+    @DisplayName("✅ Rejeu sur file pleine : refusé, lettre morte conservée puis rejouée")
+    void testReplayKeepsDeadLetterWhenLaneIsFull() throws Exception {
+        SaleSnapshot deadSale = snapshot();
+        when(deadLetterRepository.findById(DEAD_LETTER_ID)).thenReturn(Optional.of(deadLetter(deadSale, "receipts")));
+
+        // Une vente en cours de traitement, une en attente : la file d'une place est pleine
+        pipeline.submit(snapshot());
+        pipeline.submit(snapshot());
+
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+                () -> pipeline.replay(DEAD_LETTER_ID));
+        assertTrue(error.getMessage().contains("conservée"), error.getMessage());
+        verify(deadLetterRepository, never()).delete(any());
+
+        // File vidée : le rejeu passe, la lettre morte est supprimée et l'événement livré
+        consumerBlocked.countDown();
+        awaitIdle();
+        pipeline.replay(DEAD_LETTER_ID);
+        verify(deadLetterRepository).delete(any(SaleEventDeadLetter.class));
+
+        UUID delivered = null;
+        for (int i = 0; i < 3 && !deadSale.saleId().equals(delivered); i++) {
+            delivered = consumed.poll(5, TimeUnit.SECONDS);
+        }
+        assertEquals(deadSale.saleId(), delivered);
+    }
+
+    /**
+     * Test replay of unknown consumer keeps dead letter.
+     */
+    @Test
+    @DisplayName("✅ Rejeu vers un consommateur inconnu : lettre morte conservée")
+    void testReplayOfUnknownConsumerKeepsDeadLetter() throws Exception {
+        when(deadLetterRepository.findById(DEAD_LETTER_ID))
+                .thenReturn(Optional.of(deadLetter(snapshot(), "supprime")));
+
+        assertThrows(IllegalArgumentException.class, () -> pipeline.replay(DEAD_LETTER_ID));
+        verify(deadLetterRepository, never()).delete(any());
+    }
+
+    private void awaitIdle() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (((Number) pipeline.getMetrics().get("queued")).intValue() > 0
+                || ((Number) pipeline.getMetrics().get("inFlight")).intValue() > 0) {
+            assertTrue(System.currentTimeMillis() < deadline, "Le pipeline ne s'est pas vidé");
+            Thread.sleep(10);
+        }
+    }
+
+    private SaleSnapshot snapshot() {
+        return new SaleSnapshot(UUID.randomUUID(), clientId, new Timestamp(System.currentTimeMillis()),
+                new BigDecimal("12.50"), "EUR", List.of(), List.of(), Instant.now());
+    }
+
+    private SaleEventDeadLetter deadLetter(SaleSnapshot snapshot, String consumerName) throws Exception {
+        return SaleEventDeadLetter.builder()
+                .deadLetterId(DEAD_LETTER_ID)
+                .saleId(snapshot.saleId())
+                .clientId(snapshot.clientId())
+                .consumerName(consumerName)
+                .payload(objectMapper.writeValueAsString(snapshot))
+                .attempts(1)
+                .build();
+    }
+}
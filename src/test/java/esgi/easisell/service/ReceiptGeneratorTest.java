@@ -0,0 +1,91 @@
+/**
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ * PROJET EASISELL - PLATEFORME DE GESTION COMMERCIALE
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ * @file        : ReceiptGeneratorTest.java
+ * @description : Tests unitaires de la monnaie rendue sur le ticket
+ * @author      : Chancy MOUYABI
+ * @version     : v1.0.0
+ * @date        : 19/10/2026
+ * @package     : esgi.easisell.service
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ */
+package esgi.easisell.service;
+
+import esgi.easisell.dto.ReceiptDTO;
+import esgi.easisell.entity.Client;
+import esgi.easisell.entity.Payment;
+import esgi.easisell.entity.Sale;
+import esgi.easisell.service.tax.TaxBreakdown;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The type Receipt generator test.
+ */
+class ReceiptGeneratorTest {
+
+    private Sale sale;
+
+    /**
+     * Sets up.
+     */
+    @BeforeEach
+    void setUp() {
+        Client client = new Client();
+        client.setUserId(UUID.randomUUID());
+        client.setName("Supérette Test");
+        client.setCurrencyPreference("EUR");
+
+        sale = new Sale();
+        sale.setSaleId(UUID.randomUUID());
+        sale.setSaleTimestamp(new Timestamp(System.currentTimeMillis()));
+        sale.setClient(client);
+        sale.setTotalAmount(new BigDecimal("17.30"));
+    }
+
+    /**
+     * Test change from split payments.
+     */
+    @Test
+    @DisplayName("✅ Monnaie rendue : cumul des rendus enregistrés par paiement")
+    void testChangeFromSplitPayments() {
+        sale.getPayments().add(payment("CARD", "10.00", "0.00"));
+        sale.getPayments().add(payment("CASH", "10.00", "2.70"));
+
+        ReceiptDTO receipt = ReceiptGenerator.generate(sale, TaxBreakdown.EMPTY);
+
+        assertEquals(new BigDecimal("2.70"), receipt.getChangeAmount());
+    }
+
+    /**
+     * Test change for legacy payments.
+     */
+    @Test
+    @DisplayName("✅ Monnaie rendue : paiements sans rendu enregistré (total payé - total)")
+    void testChangeForLegacyPayments() {
+        sale.getPayments().add(payment("CASH", "20.00", null));
+
+        ReceiptDTO receipt = ReceiptGenerator.generate(sale, TaxBreakdown.EMPTY);
+
+        assertEquals(new BigDecimal("2.70"), receipt.getChangeAmount());
+    }
+
+    private Payment payment(String type, String amount, String change) {
+        Payment payment = new Payment();
+        payment.setType(type);
+        payment.setAmount(new BigDecimal(amount));
+        payment.setChangeAmount(change != null ? new BigDecimal(change) : null);
+        payment.setCurrency("EUR");
+        payment.setPaymentDate(new Timestamp(System.currentTimeMillis()));
+        payment.setSale(sale);
+        return payment;
+    }
+}
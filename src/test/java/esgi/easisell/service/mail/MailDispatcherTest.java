@@ -0,0 +1,180 @@
+/**
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ * PROJET EASISELL - PLATEFORME DE GESTION COMMERCIALE
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ * @file        : MailDispatcherTest.java
+ * @description : Tests unitaires du MailDispatcher sur un serveur SMTP local
+ * @author      : Chancy MOUYABI
+ * @version     : v1.0.0
+ * @date        : 19/10/2026
+ * @package     : esgi.easisell.service.mail
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ */
+package esgi.easisell.service.mail;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The type Mail dispatcher test.
+ * MailDispatcher construit directement sur un JavaMailSenderImpl pointé vers GreenMail, sans contexte Spring.
+ */
+class MailDispatcherTest {
+
+    private static final String HTML = "<html><body><p>Rappel de paiement : 29.90 EUR</p></body></html>";
+
+    private GreenMail smtp;
+    private JavaMailSenderImpl mailSender;
+    private MailDispatcher dispatcher;
+
+    /**
+     * Sets up.
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        smtp = new GreenMail(new ServerSetup(freePort(), null, ServerSetup.PROTOCOL_SMTP));
+        smtp.start();
+
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(smtp.getSmtp().getPort());
+        Properties properties = new Properties();
+        properties.put("mail.smtp.connectiontimeout", "5000");
+        properties.put("mail.smtp.timeout", "5000");
+        mailSender.setJavaMailProperties(properties);
+    }
+
+    /**
+     * Tear down.
+     */
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+        smtp.stop();
+    }
+
+    /**
+     * Test batch delivery reuses sessions.
+     */
+    @Test
+    @DisplayName("✅ Livraison complète par lots, sessions SMTP réutilisées")
+    void testBatchDeliveryReusesSessions() {
+        dispatcher = dispatcher(2, 100, 10, 0);
+        int messages = 50;
+
+        List<CompletableFuture<Void>> sends = new ArrayList<>(messages);
+        for (int i = 0; i < messages; i++) {
+            sends.add(dispatcher.submit("client-" + i + "@easisell.fr", "Rappel " + i, HTML));
+        }
+        CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).join();
+
+        assertTrue(smtp.waitForIncomingEmail(10_000, messages));
+        assertEquals(messages, smtp.getReceivedMessages().length);
+        long connections = (long) dispatcher.getMetrics().get("connections");
+        assertTrue(connections >= 1 && connections < messages, "Une session SMTP par email : " + connections);
+        assertEquals(0L, dispatcher.getMetrics().get("rejected"));
+    }
+
+    /**
+     * Test queue full rejection.
+     */
+    @Test
+    @DisplayName("✅ File pleine : envoi refusé sans bloquer l'appelant")
+    void testQueueFullRejection() {
+        // Un seul thread ralenti à 1 msg/s et une file d'une place : la rafale déborde
+        dispatcher = dispatcher(1, 1, 1, 1);
+
+        List<CompletableFuture<Void>> sends = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            sends.add(dispatcher.submit("client-" + i + "@easisell.fr", "Rappel " + i, HTML));
+        }
+
+        long refused = sends.stream().filter(CompletableFuture::isCompletedExceptionally).count();
+        assertTrue(refused >= 3, "Emails refusés : " + refused);
+        assertEquals(refused, dispatcher.getMetrics().get("rejected"));
+
+        CompletionException error = assertThrows(CompletionException.class,
+                () -> sends.get(sends.size() - 1).join());
+        assertInstanceOf(IllegalStateException.class, error.getCause());
+
+        // Les emails acceptés partent quand même
+        sends.stream().filter(send -> !send.isCompletedExceptionally()).forEach(CompletableFuture::join);
+        assertEquals(sends.size() - refused, smtp.getReceivedMessages().length);
+    }
+
+    /**
+     * Test reconnect after server restart.
+     */
+    @Test
+    @DisplayName("✅ Session coupée par le serveur : reconnexion et envoi")
+    void testReconnectAfterServerRestart() throws MessagingException {
+        // Session gardée ouverte entre les deux envois : c'est le serveur qui la coupe
+        dispatcher = dispatcher(1, 10, 10, 0, 30_000);
+
+        dispatcher.submit("avant@easisell.fr", "Avant", HTML).join();
+        smtp.reset();
+        dispatcher.submit("apres@easisell.fr", "Après", HTML).join();
+
+        assertTrue(smtp.waitForIncomingEmail(10_000, 1));
+        assertEquals("apres@easisell.fr", smtp.getReceivedMessages()[0].getAllRecipients()[0].toString());
+        assertEquals(2L, dispatcher.getMetrics().get("connections"));
+    }
+
+    /**
+     * Test provider rate limit.
+     */
+    @Test
+    @DisplayName("✅ Débit plafonné vers le fournisseur")
+    void testProviderRateLimit() {
+        dispatcher = dispatcher(2, 100, 10, 20);
+        int messages = 11;
+
+        long begin = System.nanoTime();
+        List<CompletableFuture<Void>> sends = new ArrayList<>(messages);
+        for (int i = 0; i < messages; i++) {
+            sends.add(dispatcher.submit("client-" + i + "@easisell.fr", "Rappel " + i, HTML));
+        }
+        CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).join();
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin);
+
+        // 20 msg/s partagés entre les deux threads : 10 intervalles de 50 ms au minimum
+        assertTrue(elapsedMs >= 450, "Envoi trop rapide : " + elapsedMs + " ms");
+        assertEquals(messages, smtp.getReceivedMessages().length);
+    }
+
+    private MailDispatcher dispatcher(int workers, int queueCapacity, int batchSize, double ratePerSecond) {
+        return dispatcher(workers, queueCapacity, batchSize, ratePerSecond, 200);
+    }
+
+    private MailDispatcher dispatcher(int workers, int queueCapacity, int batchSize, double ratePerSecond,
+                                      long idleCloseMs) {
+        return new MailDispatcher(mailSender, new SimpleMeterRegistry(), "no-reply@easisell.com",
+                workers, queueCapacity, batchSize, ratePerSecond, idleCloseMs);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
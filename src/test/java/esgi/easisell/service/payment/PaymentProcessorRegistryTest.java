@@ -0,0 +1,205 @@
+/**
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ * PROJET EASISELL - PLATEFORME DE GESTION COMMERCIALE
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ * @file        : PaymentProcessorRegistryTest.java
+ * @description : Tests unitaires du cloisonnement et du disjoncteur des paiements
+ * @author      : Chancy MOUYABI
+ * @version     : v1.0.0
+ * @date        : 19/10/2026
+ * @package     : esgi.easisell.service.payment
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ */
+package esgi.easisell.service.payment;
+
+import esgi.easisell.exception.PaymentFailedException;
+import esgi.easisell.model.PaymentResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The type Payment processor registry test.
+ */
+class PaymentProcessorRegistryTest {
+
+    private static final long OPEN_DURATION_MS = 50;
+
+    private final Deque<CompletableFuture<PaymentResult>> gatewayResponses = new ArrayDeque<>();
+    private final List<PaymentResult> voided = new CopyOnWriteArrayList<>();
+    private PaymentProcessorRegistry registry;
+
+    /**
+     * Sets up.
+     */
+    @BeforeEach
+    void setUp() {
+        // Deux autorisations simultanées, disjoncteur ouvert dès le premier échec technique
+        registry = registry(5000);
+    }
+
+    /**
+     * Test half open trial survives full bulkhead.
+     */
+    @Test
+    @DisplayName("✅ OPEN → HALF_OPEN → cloisonnement plein : l'essai aboutit et referme le disjoncteur")
+    void testHalfOpenTrialSurvivesFullBulkhead() throws InterruptedException {
+        CompletableFuture<PaymentResult> slowAuthorization = new CompletableFuture<>();
+        CompletableFuture<PaymentResult> trialAuthorization = new CompletableFuture<>();
+
+        // Une autorisation lente occupe une place, une panne ouvre le disjoncteur
+        CompletableFuture<PaymentResult> slow = authorize(slowAuthorization);
+        CompletableFuture<PaymentResult> failed = authorize(
+                CompletableFuture.failedFuture(new IllegalStateException("passerelle injoignable")));
+        assertTrue(failed.isCompletedExceptionally());
+        assertEquals(PaymentCircuitBreaker.State.OPEN, cardState());
+
+        // Délai écoulé : l'appel d'essai prend la dernière place
+        Thread.sleep(OPEN_DURATION_MS + 20);
+        CompletableFuture<PaymentResult> trial = authorize(trialAuthorization);
+        assertEquals(PaymentCircuitBreaker.State.HALF_OPEN, cardState());
+
+        // Cloisonnement plein : refus sans consommer ni bloquer le disjoncteur
+        PaymentFailedException refused = refusal(authorize(new CompletableFuture<>()));
+        assertTrue(refused.getMessage().startsWith("Trop de paiements"), refused.getMessage());
+        assertEquals(1, gatewayResponses.size(), "La passerelle ne doit pas être appelée");
+        gatewayResponses.clear();
+
+        trialAuthorization.complete(approved());
+        assertEquals(PaymentCircuitBreaker.State.CLOSED, cardState());
+
+        // La place de l'essai est rendue : les paiements reprennent
+        CompletableFuture<PaymentResult> next = authorize(CompletableFuture.completedFuture(approved()));
+        assertTrue(next.join().isSuccessful());
+        assertTrue(trial.join().isSuccessful());
+
+        slowAuthorization.complete(approved());
+        assertTrue(slow.join().isSuccessful());
+    }
+
+    /**
+     * Test open circuit releases bulkhead.
+     */
+    @Test
+    @DisplayName("✅ Disjoncteur ouvert : refus immédiat, place du cloisonnement rendue")
+    void testOpenCircuitReleasesBulkhead() throws InterruptedException {
+        authorize(CompletableFuture.failedFuture(new IllegalStateException("passerelle injoignable")));
+        assertEquals(PaymentCircuitBreaker.State.OPEN, cardState());
+
+        // Plus d'appels refusés que de places : aucune ne doit rester prise
+        for (int i = 0; i < 5; i++) {
+            PaymentFailedException refused = refusal(authorize(new CompletableFuture<>()));
+            assertTrue(refused.getMessage().contains("temporairement indisponible"), refused.getMessage());
+        }
+        gatewayResponses.clear();
+
+        Thread.sleep(OPEN_DURATION_MS + 20);
+        CompletableFuture<PaymentResult> first = authorize(CompletableFuture.completedFuture(approved()));
+        assertTrue(first.join().isSuccessful());
+        assertEquals(PaymentCircuitBreaker.State.CLOSED, cardState());
+
+        CompletableFuture<PaymentResult> pendingA = new CompletableFuture<>();
+        CompletableFuture<PaymentResult> pendingB = new CompletableFuture<>();
+        authorize(pendingA);
+        authorize(pendingB);
+        assertTrue(gatewayResponses.isEmpty(), "Les deux places doivent être libres");
+        pendingA.complete(approved());
+        pendingB.complete(approved());
+    }
+
+    /**
+     * Test timed out call keeps bulkhead until gateway answers.
+     */
+    @Test
+    @DisplayName("✅ Délai dépassé : place gardée jusqu'à la réponse passerelle, autorisation tardive annulée")
+    void testTimedOutCallKeepsBulkheadUntilGatewayAnswers() throws InterruptedException {
+        registry = registry(30);
+        CompletableFuture<PaymentResult> lateA = new CompletableFuture<>();
+        CompletableFuture<PaymentResult> lateB = new CompletableFuture<>();
+
+        CompletableFuture<PaymentResult> first = authorize(lateA);
+        CompletableFuture<PaymentResult> second = authorize(lateB);
+        CompletionException timeout = assertThrows(CompletionException.class, first::join);
+        assertInstanceOf(TimeoutException.class, timeout.getCause());
+        assertThrows(CompletionException.class, second::join);
+
+        // Les deux appels passerelle tournent toujours : aucune place libre
+        PaymentFailedException refused = refusal(authorize(new CompletableFuture<>()));
+        assertTrue(refused.getMessage().startsWith("Trop de paiements"), refused.getMessage());
+        gatewayResponses.clear();
+
+        // Réponses tardives : l'approbation est annulée, le refus n'a rien à annuler
+        PaymentResult lateApproval = approved();
+        lateA.complete(lateApproval);
+        lateB.complete(PaymentResult.builder().successful(false).build());
+        assertEquals(List.of(lateApproval), voided);
+
+        // Places rendues : après l'essai HALF_OPEN, deux autorisations repartent vers la passerelle
+        Thread.sleep(OPEN_DURATION_MS + 20);
+        assertTrue(authorize(CompletableFuture.completedFuture(approved())).join().isSuccessful());
+        CompletableFuture<PaymentResult> pendingA = new CompletableFuture<>();
+        CompletableFuture<PaymentResult> pendingB = new CompletableFuture<>();
+        authorize(pendingA);
+        authorize(pendingB);
+        assertTrue(gatewayResponses.isEmpty(), "Les deux places doivent être libres");
+        pendingA.complete(approved());
+        pendingB.complete(approved());
+    }
+
+    private PaymentProcessorRegistry registry(long timeoutMs) {
+        MockEnvironment env = new MockEnvironment()
+                .withProperty("easisell.payment.card.timeout-ms", String.valueOf(timeoutMs))
+                .withProperty("easisell.payment.card.max-concurrent", "2")
+                .withProperty("easisell.payment.card.failure-threshold", "1")
+                .withProperty("easisell.payment.card.open-duration-ms", String.valueOf(OPEN_DURATION_MS));
+
+        PaymentProcessor card = new PaymentProcessor() {
+            @Override
+            public String getPaymentType() {
+                return "CARD";
+            }
+
+            @Override
+            public CompletableFuture<PaymentResult> processPayment(BigDecimal totalAmount, BigDecimal amountReceived,
+                                                                   String currency) {
+                return gatewayResponses.removeFirst();
+            }
+
+            @Override
+            public void release(PaymentResult result) {
+                voided.add(result);
+            }
+        };
+        return new PaymentProcessorRegistry(List.of(card), env);
+    }
+
+    private CompletableFuture<PaymentResult> authorize(CompletableFuture<PaymentResult> gatewayResponse) {
+        gatewayResponses.addLast(gatewayResponse);
+        return registry.authorize("CARD", new BigDecimal("12.50"), new BigDecimal("12.50"), "EUR");
+    }
+
+    private PaymentCircuitBreaker.State cardState() {
+        return registry.getCircuitStates().get("CARD");
+    }
+
+    private static PaymentFailedException refusal(CompletableFuture<PaymentResult> authorization) {
+        CompletionException error = assertThrows(CompletionException.class, authorization::join);
+        return assertInstanceOf(PaymentFailedException.class, error.getCause());
+    }
+
+    private static PaymentResult approved() {
+        return PaymentResult.builder().successful(true).amountPaid(new BigDecimal("12.50")).currency("EUR").build();
+    }
+}
@@ -0,0 +1,212 @@
+/**
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ * PROJET EASISELL - PLATEFORME DE GESTION COMMERCIALE
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ * @file        : ProductTrieTest.java
+ * @description : Tests unitaires de l'arbre radix de l'autocomplétion
+ * @author      : Chancy MOUYABI
+ * @version     : v1.0.0
+ * @date        : 19/10/2026
+ * @package     : esgi.easisell.service.search
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ */
+package esgi.easisell.service.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The type Product trie test.
+ */
+class ProductTrieTest {
+
+    private final UUID creme = UUID.randomUUID();
+    private final UUID brut = UUID.randomUUID();
+    private final UUID brugnon = UUID.randomUUID();
+
+    private ProductTrie trie;
+
+    /**
+     * Sets up.
+     */
+    @BeforeEach
+    void setUp() {
+        trie = new ProductTrie();
+    }
+
+    /**
+     * Test prefix lookup.
+     */
+    @Test
+    @DisplayName("✅ Recherche par préfixe, au milieu d'une arête comme à un embranchement")
+    void testPrefixLookup() {
+        trie.add("creme", creme);
+        trie.add("brulee", creme);
+        trie.add("brut", brut);
+        trie.add("brugnon", brugnon);
+
+        assertEquals(Set.of(creme, brut, brugnon), withPrefix("bru"));
+        assertEquals(Set.of(creme, brut, brugnon), withPrefix("br"));
+        assertEquals(Set.of(creme), withPrefix("brul"));
+        assertEquals(Set.of(brugnon), withPrefix("brugnon"));
+        assertEquals(Set.of(creme), withPrefix("cr"));
+        assertEquals(Set.of(), withPrefix("brux"));
+        assertEquals(Set.of(), withPrefix("brulees"));
+        assertEquals(Set.of(creme, brut, brugnon), withPrefix(""));
+        assertEquals(4, trie.size());
+    }
+
+    /**
+     * Test edge split.
+     */
+    @Test
+    @DisplayName("✅ Découpe d'arête : un mot préfixe d'un autre devient un nœud")
+    void testEdgeSplit() {
+        trie.add("brulee", creme);
+        assertEquals(1, trie.nodeCount());
+
+        // "brulee" + "brut" → "bru" { "lee", "t" }
+        trie.add("brut", brut);
+        assertEquals(3, trie.nodeCount());
+
+        // "bru" existe déjà comme nœud d'embranchement : il porte maintenant un produit
+        trie.add("bru", brugnon);
+        assertEquals(3, trie.nodeCount());
+        assertEquals(Set.of(brugnon, creme, brut), withPrefix("bru"));
+    }
+
+    /**
+     * Test remove recompacts.
+     */
+    @Test
+    @DisplayName("✅ Suppression : élagage puis refusion des arêtes")
+    void testRemoveRecompacts() {
+        trie.add("brulee", creme);
+        trie.add("brut", brut);
+        assertEquals(3, trie.nodeCount());
+
+        trie.remove("brut", brut);
+
+        assertEquals(1, trie.nodeCount(), "\"bru\" + \"lee\" doit redevenir une seule arête");
+        assertEquals(Set.of(creme), withPrefix("bru"));
+        assertEquals(Set.of(creme), withPrefix("brulee"));
+        assertEquals(Set.of(), withPrefix("brut"));
+        assertEquals(1, trie.size());
+
+        trie.remove("brulee", creme);
+        assertEquals(0, trie.nodeCount());
+        assertEquals(0, trie.size());
+    }
+
+    /**
+     * Test remove keeps other products.
+     */
+    @Test
+    @DisplayName("✅ Suppression d'un produit sans toucher aux autres produits du même mot")
+    void testRemoveKeepsOtherProducts() {
+        trie.add("brut", brut);
+        trie.add("brut", brugnon);
+        trie.add("brut", brut);
+        assertEquals(2, trie.size());
+
+        trie.remove("brut", brut);
+        trie.remove("brut", creme);
+        trie.remove("bru", brugnon);
+        trie.remove("inconnu", brugnon);
+
+        assertEquals(Set.of(brugnon), withPrefix("br"));
+        assertEquals(1, trie.size());
+        assertEquals(1, trie.nodeCount());
+    }
+
+    /**
+     * Test random operations against model.
+     */
+    @Test
+    @DisplayName("✅ Ajouts et suppressions aléatoires conformes à un modèle naïf, arbre minimal")
+    void testRandomOperationsAgainstModel() {
+        Random random = new Random(42);
+        List<UUID> products = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            products.add(UUID.randomUUID());
+        }
+        Map<String, Set<UUID>> model = new HashMap<>();
+
+        for (int operation = 0; operation < 5_000; operation++) {
+            String word = randomWord(random);
+            UUID productId = products.get(random.nextInt(products.size()));
+            if (random.nextInt(3) == 0) {
+                trie.remove(word, productId);
+                Set<UUID> ids = model.get(word);
+                if (ids != null && ids.remove(productId) && ids.isEmpty()) {
+                    model.remove(word);
+                }
+            } else {
+                trie.add(word, productId);
+                model.computeIfAbsent(word, key -> new HashSet<>()).add(productId);
+            }
+
+            String probe = randomWord(random);
+            String prefix = probe.substring(0, random.nextInt(Math.min(3, probe.length() + 1)));
+            assertEquals(expected(model, prefix), withPrefix(prefix), "Préfixe \"" + prefix + "\"");
+            assertEquals(model.values().stream().mapToInt(Set::size).sum(), trie.size());
+            assertEquals(minimalNodeCount(model.keySet()), trie.nodeCount(), "Arbre non compacté");
+        }
+    }
+
+    private Set<UUID> withPrefix(String prefix) {
+        Set<UUID> found = new HashSet<>();
+        trie.forEachWithPrefix(prefix, found::add);
+        return found;
+    }
+
+    private static String randomWord(Random random) {
+        int length = 1 + random.nextInt(5);
+        StringBuilder word = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            word.append("abc".charAt(random.nextInt(3)));
+        }
+        return word.toString();
+    }
+
+    private static Set<UUID> expected(Map<String, Set<UUID>> model, String prefix) {
+        Set<UUID> ids = new HashSet<>();
+        model.forEach((word, products) -> {
+            if (word.startsWith(prefix)) {
+                ids.addAll(products);
+            }
+        });
+        return ids;
+    }
+
+    /**
+     * Nœuds d'un arbre radix minimal : les mots eux-mêmes et les préfixes où les mots divergent
+     */
+    private static int minimalNodeCount(Set<String> words) {
+        Set<String> nodes = new HashSet<>(words);
+        Map<String, Set<Character>> branches = new HashMap<>();
+        for (String word : words) {
+            for (int i = 1; i < word.length(); i++) {
+                branches.computeIfAbsent(word.substring(0, i), key -> new HashSet<>()).add(word.charAt(i));
+            }
+        }
+        branches.forEach((prefix, next) -> {
+            if (next.size() > 1) {
+                nodes.add(prefix);
+            }
+        });
+        return nodes.size();
+    }
+}
@@ -0,0 +1,144 @@
+/**
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ * PROJET EASISELL - PLATEFORME DE GESTION COMMERCIALE
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ * @file        : TrigramIndexTest.java
+ * @description : Tests unitaires de l'index de trigrammes des produits similaires
+ * @author      : Chancy MOUYABI
+ * @version     : v1.0.0
+ * @date        : 19/10/2026
+ * @package     : esgi.easisell.service.search
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ */
+package esgi.easisell.service.search;
+
+import esgi.easisell.service.search.ProductSimilarityIndex.SimilarProduct;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The type Trigram index test.
+ */
+class TrigramIndexTest {
+
+    private final UUID laitEntier = UUID.randomUUID();
+    private final UUID laitDemiEcreme = UUID.randomUUID();
+    private final UUID laitCoco = UUID.randomUUID();
+    private final UUID riz = UUID.randomUUID();
+
+    private TrigramIndex index;
+
+    /**
+     * Sets up.
+     */
+    @BeforeEach
+    void setUp() {
+        index = new TrigramIndex();
+        index.put(laitEntier, "Lait entier", "L", new BigDecimal("1.15"));
+        index.put(laitDemiEcreme, "Lait demi-écrémé", "L", new BigDecimal("0.99"));
+        index.put(laitCoco, "Lait de coco", "CL", new BigDecimal("2.40"));
+        index.put(riz, "Riz basmati", "KG", new BigDecimal("3.20"));
+    }
+
+    /**
+     * Test trigrams.
+     */
+    @Test
+    @DisplayName("✅ Trigrammes : mot complété d'espaces, accents et casse ignorés, doublons retirés")
+    void testTrigrams() {
+        // "  lait " → "  l", " la", "lai", "ait", "it "
+        assertEquals(5, TrigramIndex.trigrams("Lait").length);
+        assertArrayEquals(TrigramIndex.trigrams("lait"), TrigramIndex.trigrams("LAÏT"));
+        // "  aa " → "  a", " aa", "aa " ; "  aa " répété n'ajoute rien
+        assertEquals(3, TrigramIndex.trigrams("aa aa").length);
+        assertEquals(0, TrigramIndex.trigrams("  ").length);
+    }
+
+    /**
+     * Test ranking.
+     */
+    @Test
+    @DisplayName("✅ Classement par similarité décroissante, limité à k, total des candidats retenus")
+    void testRanking() {
+        int[] total = new int[1];
+        List<SimilarProduct> nearest = index.nearest("lait entier", null, 2, 0.05, total);
+
+        assertEquals(2, nearest.size());
+        assertEquals(laitEntier, nearest.get(0).productId());
+        assertEquals(1.0, nearest.get(0).score(), 1e-9);
+        assertTrue(nearest.get(0).score() > nearest.get(1).score());
+        assertEquals(3, total[0], "Les trois laits partagent des trigrammes, pas le riz");
+
+        // Seuil de similarité : seul le nom identique passe
+        nearest = index.nearest("lait entier", null, 10, 0.9, total);
+        assertEquals(List.of(laitEntier), nearest.stream().map(SimilarProduct::productId).toList());
+        assertEquals(1, total[0]);
+
+        assertTrue(index.nearest("", null, 10, 0.0, total).isEmpty());
+    }
+
+    /**
+     * Test unit filter.
+     */
+    @Test
+    @DisplayName("✅ Filtre sur l'unité, insensible à la casse")
+    void testUnitFilter() {
+        int[] total = new int[1];
+        List<SimilarProduct> nearest = index.nearest("lait", "cl", 10, 0.0, total);
+
+        assertEquals(List.of(laitCoco), nearest.stream().map(SimilarProduct::productId).toList());
+        assertEquals("CL", nearest.get(0).unitLabel());
+        assertEquals(new BigDecimal("2.40"), nearest.get(0).unitPrice());
+        assertEquals(1, total[0]);
+    }
+
+    /**
+     * Test update tombstones previous name.
+     */
+    @Test
+    @DisplayName("✅ Mise à jour : l'ancien nom n'est plus retrouvé, le produit n'est pas compté deux fois")
+    void testUpdateTombstonesPreviousName() {
+        index.put(laitCoco, "Crème de coco", "CL", new BigDecimal("2.60"));
+
+        assertEquals(4, index.size());
+        int[] total = new int[1];
+        List<SimilarProduct> nearest = index.nearest("lait", null, 10, 0.0, total);
+        assertFalse(nearest.stream().anyMatch(p -> p.productId().equals(laitCoco)));
+        assertEquals(2, total[0]);
+
+        nearest = index.nearest("creme coco", null, 10, 0.0, total);
+        assertEquals(laitCoco, nearest.get(0).productId());
+        assertEquals("Crème de coco", nearest.get(0).name());
+        assertEquals(new BigDecimal("2.60"), nearest.get(0).unitPrice());
+        assertEquals(1, nearest.stream().filter(p -> p.productId().equals(laitCoco)).count());
+    }
+
+    /**
+     * Test remove.
+     */
+    @Test
+    @DisplayName("✅ Suppression : produit ignoré à la recherche, suppression répétée sans effet")
+    void testRemove() {
+        index.remove(laitEntier);
+        index.remove(laitEntier);
+        index.remove(UUID.randomUUID());
+
+        assertEquals(3, index.size());
+        int[] total = new int[1];
+        List<SimilarProduct> nearest = index.nearest("lait entier", null, 10, 0.0, total);
+        assertFalse(nearest.stream().anyMatch(p -> p.productId().equals(laitEntier)));
+        assertEquals(2, total[0]);
+
+        // Réinsertion après suppression : retrouvé de nouveau
+        index.put(laitEntier, "Lait entier", "L", new BigDecimal("1.15"));
+        assertEquals(laitEntier, index.nearest("lait entier", "L", 1, 0.0, total).get(0).productId());
+        assertEquals(4, index.size());
+    }
+}
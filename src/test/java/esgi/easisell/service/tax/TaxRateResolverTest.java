@@ -0,0 +1,52 @@
+/**
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ * PROJET EASISELL - PLATEFORME DE GESTION COMMERCIALE
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ * @file        : TaxRateResolverTest.java
+ * @description : Tests unitaires du contrôle des taux de TVA
+ * @author      : Chancy MOUYABI
+ * @version     : v1.0.0
+ * @date        : 19/10/2026
+ * @package     : esgi.easisell.service.tax
+ * ━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━
+ */
+package esgi.easisell.service.tax;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The type Tax rate resolver test.
+ */
+class TaxRateResolverTest {
+
+    /**
+     * Test valid rates.
+     */
+    @Test
+    @DisplayName("✅ Taux acceptés : absent, 0 %, taux courants, 100 %")
+    void testValidRates() {
+        assertNull(TaxRateResolver.requireValidRate(null));
+        assertEquals(BigDecimal.ZERO, TaxRateResolver.requireValidRate(BigDecimal.ZERO));
+        assertEquals(new BigDecimal("5.50"), TaxRateResolver.requireValidRate(new BigDecimal("5.50")));
+        assertEquals(new BigDecimal("100.00"), TaxRateResolver.requireValidRate(new BigDecimal("100.00")));
+        assertEquals(550, TaxRateResolver.toBasisPoints(new BigDecimal("5.50")));
+    }
+
+    /**
+     * Test invalid rates.
+     */
+    @Test
+    @DisplayName("✅ Taux refusés : négatif (dont -100 %) ou supérieur à 100 %")
+    void testInvalidRates() {
+        for (String rate : new String[]{"-0.01", "-100", "100.01", "2000"}) {
+            IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                    () -> TaxRateResolver.requireValidRate(new BigDecimal(rate)));
+            assertTrue(error.getMessage().startsWith("Taux de TVA invalide"), error.getMessage());
+        }
+    }
+}